@@ -6,6 +6,7 @@ import dev.illichitcat.common.exception.BizException;
 import dev.illichitcat.common.utils.JwtUtil;
 import dev.illichitcat.common.utils.UserAgentUtils;
 import dev.illichitcat.system.config.RateLimit;
+import dev.illichitcat.system.manager.TokenCacheManager;
 import dev.illichitcat.system.model.entity.LoginLog;
 import dev.illichitcat.system.model.entity.User;
 import dev.illichitcat.system.model.entity.UserOnline;
@@ -64,6 +65,9 @@ public class AuthController {
     @Autowired
     private LoginLogService loginLogService;
 
+    @Autowired
+    private TokenCacheManager tokenCacheManager;
+
     /**
      * 记录登录日志
      *
@@ -148,7 +152,6 @@ public class AuthController {
 
         String token = generateToken(user);
         List<String> permissions = permissionService.selectPermsByUserId(user.getId());
-        storeUserPermissions(user.getId(), permissions);
         storeUserToken(user.getId(), token);
 
         String sessionId = addOnlineUser(user, request);
@@ -185,9 +188,10 @@ public class AuthController {
 
         String token = generateToken(user);
         List<String> permissions = permissionService.selectPermsByUserId(user.getId());
-        storeUserPermissions(user.getId(), permissions);
         storeUserToken(user.getId(), token);
-        addOnlineUser(user, request);
+
+        String sessionId = addOnlineUser(user, request);
+        storeSessionTokenMapping(sessionId, token);
 
         // 处理记住我功能
         String rememberMeToken = null;
@@ -276,32 +280,19 @@ public class AuthController {
         return jwtUtil.generateToken(claims);
     }
 
-    /**
-     * 存储用户权限到Redis
-     */
-    private void storeUserPermissions(Long userId, List<String> permissions) {
-        String permKey = "user_perms:" + userId;
-        redisTemplate.delete(permKey);
-        if (!permissions.isEmpty()) {
-            redisTemplate.opsForSet().add(permKey, permissions.toArray(new String[0]));
-            redisTemplate.expire(permKey, 24, TimeUnit.HOURS);
-        }
-    }
-
     /**
      * 存储用户token到Redis
      */
     private void storeUserToken(Long userId, String token) {
-        String tokenKey = "user_token:" + userId;
-        redisTemplate.opsForValue().set(tokenKey, token, 24, TimeUnit.HOURS);
+        tokenCacheManager.storeUserToken(userId, token, 24, TimeUnit.HOURS);
     }
 
     /**
-     * 存储会话ID与token的映射关系
+     * 存储会话ID与token的映射关系（含 token -> 会话 反向索引）
      */
     private void storeSessionTokenMapping(String sessionId, String token) {
         if (sessionId != null) {
-            redisTemplate.opsForValue().set("session_token:" + sessionId, token, 24, TimeUnit.HOURS);
+            userOnlineService.bindSessionToken(sessionId, token);
         }
     }
 
@@ -382,9 +373,8 @@ public class AuthController {
     public Result<Void> logout(@RequestAttribute(required = false) Long userId,
                                @RequestHeader(value = "Authorization", required = false) String authHeader) {
         if (userId != null) {
-            // 清除Redis中的token和权限
-            redisTemplate.delete("user_token:" + userId);
-            redisTemplate.delete("user_perms:" + userId);
+            // 清除Redis中的token，并在集群内吊销本地token缓存
+            tokenCacheManager.revokeUserToken(userId);
 
             // 删除在线用户记录
             String tokenPrefix = "Bearer ";
@@ -392,19 +382,8 @@ public class AuthController {
                 if (authHeader != null && authHeader.startsWith(tokenPrefix)) {
                     String token = authHeader.substring(7);
 
-                    // 通过token查找对应的sessionId
-                    String sessionId = null;
-                    java.util.Set<String> sessionKeys = redisTemplate.keys("session_token:*");
-                    for (String key : sessionKeys) {
-                        String storedToken = redisTemplate.opsForValue().get(key);
-                        if (storedToken != null && storedToken.equals(token)) {
-                            sessionId = key.substring("session_token:".length());
-                            // 删除会话映射
-                            redisTemplate.delete(key);
-                            break;
-                        }
-                    }
-
+                    // 通过反向索引查找对应的sessionId，会话映射在踢出时一并删除
+                    String sessionId = userOnlineService.getSessionIdByToken(token, userId);
                     if (sessionId != null) {
                         userOnlineService.kickoutBySessionId(sessionId);
                     }
@@ -1,6 +1,7 @@
 package dev.illichitcat.api.monitor.controller;
 
 import dev.illichitcat.common.common.result.Result;
+import dev.illichitcat.system.config.CacheSpec;
 import dev.illichitcat.system.model.vo.CacheInfoVO;
 import dev.illichitcat.system.model.vo.KeyDetailVO;
 import dev.illichitcat.system.service.CacheService;
@@ -11,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 缓存监控控制器
@@ -110,4 +112,26 @@ public class CacheController {
             return Result.fail("清空数据库失败: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "获取一级缓存规格")
+    @GetMapping("/specs")
+    public Result<Map<String, CacheSpec>> getCacheSpecs() {
+        try {
+            return Result.ok(cacheService.getCacheSpecs());
+        } catch (Exception e) {
+            log.error("获取缓存规格失败", e);
+            return Result.fail("获取缓存规格失败: " + e.getMessage());
+        }
+    }
+
+    @Operation(summary = "调整一级缓存规格")
+    @PutMapping("/spec/{cacheName}")
+    public Result<CacheSpec> updateCacheSpec(@PathVariable String cacheName, @RequestBody CacheSpec changes) {
+        try {
+            return Result.ok(cacheService.updateCacheSpec(cacheName, changes));
+        } catch (Exception e) {
+            log.error("调整缓存规格失败", e);
+            return Result.fail("调整缓存规格失败: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package dev.illichitcat.api.system.controller;
+
+import dev.illichitcat.common.common.result.Result;
+import dev.illichitcat.common.exception.BizException;
+import dev.illichitcat.common.utils.ExcelUtils;
+import dev.illichitcat.system.manager.DataJobManager;
+import dev.illichitcat.system.model.vo.DataJobVO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * 后台导入导出任务控制器
+ * <p>
+ * 导入导出接口提交任务后返回任务ID，前端轮询任务状态，导出完成后下载结果文件
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/system/data-job")
+@RequiredArgsConstructor
+@Tag(name = "后台任务", description = "导入导出后台任务相关接口")
+public class DataJobController {
+
+    private static final String XLSX = ".xlsx";
+
+    private final DataJobManager dataJobManager;
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "查询任务状态与进度")
+    public Result<DataJobVO> getJob(
+            @Parameter(description = "任务ID") @PathVariable String jobId,
+            HttpServletRequest request) {
+        Long userId = (Long) request.getAttribute("userId");
+        return Result.ok(dataJobManager.getJob(jobId, userId));
+    }
+
+    @GetMapping("/{jobId}/download")
+    @Operation(summary = "下载任务结果文件")
+    public void download(
+            @Parameter(description = "任务ID") @PathVariable String jobId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Long userId = (Long) request.getAttribute("userId");
+        DataJobVO job = dataJobManager.getJob(jobId, userId);
+        if (job.getFileName() == null) {
+            throw new BizException("任务没有可下载的结果文件");
+        }
+
+        String fileName = job.getFileName().endsWith(XLSX)
+                ? job.getFileName().substring(0, job.getFileName().length() - XLSX.length())
+                : job.getFileName();
+        ExcelUtils.setExcelResponseHeader(response, fileName);
+        dataJobManager.writeResult(jobId, userId, response.getOutputStream());
+    }
+}
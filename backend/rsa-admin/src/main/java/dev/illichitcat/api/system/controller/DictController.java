@@ -6,17 +6,20 @@ import dev.illichitcat.common.common.result.Result;
 import dev.illichitcat.common.utils.ExcelUtils;
 import dev.illichitcat.system.config.OperationLog;
 import dev.illichitcat.system.config.RequirePermission;
+import dev.illichitcat.system.manager.DataJobManager;
 import dev.illichitcat.system.model.dto.DictDTO;
 import dev.illichitcat.system.model.dto.DictExcelDTO;
 import dev.illichitcat.system.model.dto.DictItemDTO;
 import dev.illichitcat.system.model.entity.Dict;
 import dev.illichitcat.system.model.entity.DictItem;
 import dev.illichitcat.system.model.query.DictQuery;
+import dev.illichitcat.system.service.DictCacheService;
 import dev.illichitcat.system.service.DictItemService;
 import dev.illichitcat.system.service.DictService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
@@ -25,9 +28,11 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 字典管理控制器
@@ -47,6 +52,12 @@ public class DictController {
     @Autowired
     private DictItemService dictItemService;
 
+    @Autowired
+    private DictCacheService dictCacheService;
+
+    @Autowired
+    private DataJobManager dataJobManager;
+
     /**
      * 分页查询字典列表
      *
@@ -196,6 +207,21 @@ public class DictController {
         return Result.ok(items);
     }
 
+    /**
+     * 根据字典编码批量查询字典项列表（优先读取缓存）
+     *
+     * @param dictCodes 字典编码列表
+     * @return 字典编码 -> 字典项列表
+     */
+    @Operation(summary = "根据字典编码批量查询字典项列表")
+    @RequirePermission("dict:list")
+    @GetMapping("/items")
+    public Result<Map<String, List<DictItem>>> getItemsByDictCodes(
+            @Parameter(description = "字典编码，多个用逗号分隔") @RequestParam("codes") List<String> dictCodes) {
+        Map<String, List<DictItem>> items = dictCacheService.getDictItemsFromCache(dictCodes);
+        return Result.ok(items);
+    }
+
     /**
      * 根据ID查询字典项
      *
@@ -272,35 +298,52 @@ public class DictController {
     }
 
     /**
-     * 导出字典数据
+     * 导出字典数据（后台任务）
      *
-     * @param ids 字典ID数组，为空则导出所有
+     * @param ids     字典ID数组，为空则导出所有
+     * @param request HTTP请求
+     * @return 任务ID，通过任务接口查询进度并下载结果
      */
     @Operation(summary = "导出字典数据")
     @RequirePermission("dict:export")
     @OperationLog(title = "字典管理", businessType = OperationLog.BusinessType.EXPORT)
     @PostMapping("/export")
-    public void export(@RequestBody(required = false) Long[] ids, HttpServletResponse response) throws IOException {
+    public Result<String> export(@RequestBody(required = false) Long[] ids, HttpServletRequest request) {
         List<Long> dictIds = ids != null ? Arrays.asList(ids) : null;
-        List<DictExcelDTO> dictList = dictService.exportDicts(dictIds);
-        ExcelUtils.exportExcel(response, dictList, DictExcelDTO.class, "字典数据", "字典列表");
+        Long userId = (Long) request.getAttribute("userId");
+        String jobId = dataJobManager.submitExport("导出字典数据", "字典数据", userId, context -> {
+            List<DictExcelDTO> dictList = dictService.exportDicts(dictIds);
+            context.total(dictList.size());
+            long count = ExcelUtils.exportExcelStream(context.openOutput(), DictExcelDTO.class, "字典列表",
+                    sink -> dictList.forEach(row -> {
+                        sink.accept(row);
+                        context.advance(1);
+                    }));
+            return String.format("导出完成：共%d条", count);
+        });
+        return Result.ok(jobId);
     }
 
     /**
      * 导入字典数据
      *
-     * @param file Excel文件
-     * @return 操作结果
+     * @param file    Excel文件
+     * @param request HTTP请求
+     * @return 任务ID，通过任务接口查询进度与导入结果
      */
     @Operation(summary = "导入字典数据")
     @RequirePermission("dict:import")
     @OperationLog(title = "字典管理", businessType = OperationLog.BusinessType.IMPORT)
     @PostMapping("/import")
-    public Result<String> importData(@RequestParam("file") MultipartFile file) {
+    public Result<String> importData(@RequestParam("file") MultipartFile file, HttpServletRequest request) {
         try {
-            List<DictExcelDTO> dictList = ExcelUtils.importExcel(file, DictExcelDTO.class);
-            String result = dictService.importDicts(dictList);
-            return Result.ok(result);
+            Long userId = (Long) request.getAttribute("userId");
+            String jobId = dataJobManager.submitImport("导入字典数据", file, userId, context -> {
+                try (InputStream inputStream = context.openInput()) {
+                    return dictService.importDicts(inputStream, context::advance);
+                }
+            });
+            return Result.ok(jobId);
         } catch (IOException e) {
             log.error("导入字典数据失败", e);
             return Result.fail("文件解析失败：" + e.getMessage());
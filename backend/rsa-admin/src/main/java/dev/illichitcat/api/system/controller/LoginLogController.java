@@ -18,8 +18,6 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 登录日志控制器
@@ -138,27 +136,22 @@ public class LoginLogController {
         loginLog.setIp(query.getIp());
         loginLog.setStatus(query.getStatus());
 
-        List<LoginLog> loginLogList = loginLogService.exportLoginLogList(
-                loginLog,
-                query.getStartTime(),
-                query.getEndTime()
-        );
-
-        List<LoginLogExportVO> exportVOList = loginLogList.stream()
-                .map(log -> {
-                    LoginLogExportVO vo = new LoginLogExportVO();
-                    BeanUtils.copyProperties(log, vo);
-                    vo.setStatus(log.getStatus() == 1 ? "成功" : "失败");
-                    return vo;
-                })
-                .collect(Collectors.toList());
-
-        ExcelUtils.exportExcel(
+        ExcelUtils.exportExcelStream(
                 response,
-                exportVOList,
                 LoginLogExportVO.class,
                 "登录日志_" + System.currentTimeMillis(),
-                "登录日志"
+                "登录日志",
+                sink -> loginLogService.exportLoginLogList(
+                        loginLog,
+                        query.getStartTime(),
+                        query.getEndTime(),
+                        log -> {
+                            LoginLogExportVO vo = new LoginLogExportVO();
+                            BeanUtils.copyProperties(log, vo);
+                            vo.setStatus(log.getStatus() == 1 ? "成功" : "失败");
+                            sink.accept(vo);
+                        }
+                )
         );
     }
 }
\ No newline at end of file
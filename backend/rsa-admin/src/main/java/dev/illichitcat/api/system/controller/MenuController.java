@@ -90,8 +90,7 @@ public class MenuController {
     @Operation(summary = "根据用户ID查询菜单树")
     @GetMapping("/user/{userId}")
     public Result<List<MenuVO>> getUserMenus(@Parameter(description = "用户ID") @PathVariable Long userId) {
-        List<Menu> menuList = menuService.selectMenusByUserId(userId);
-        List<MenuVO> tree = menuService.buildMenuTree(menuList);
+        List<MenuVO> tree = menuService.selectMenuTreeByUserId(userId);
         return Result.ok(tree);
     }
 
@@ -109,8 +108,7 @@ public class MenuController {
             return Result.fail(ExceptionCodes.UNAUTHORIZED, "用户未登录");
         }
 
-        List<Menu> menuList = menuService.selectMenusByUserId(userId);
-        List<MenuVO> tree = menuService.buildMenuTree(menuList);
+        List<MenuVO> tree = menuService.selectMenuTreeByUserId(userId);
         return Result.ok(tree);
     }
 
@@ -213,8 +211,7 @@ public class MenuController {
     @PostMapping("/import")
     public Result<String> importData(@RequestParam("file") MultipartFile file) {
         try {
-            List<MenuExcelDTO> menuList = ExcelUtils.importExcel(file, MenuExcelDTO.class);
-            String result = menuService.importMenus(menuList);
+            String result = menuService.importMenus(file);
             return Result.ok(result);
         } catch (IOException e) {
             log.error("导入菜单数据失败", e);
@@ -19,7 +19,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * 操作日志控制器
@@ -134,16 +133,12 @@ public class OperLogController {
             operLog.setOperName(query.getOperName());
             operLog.setStatus(query.getStatus());
         }
-        LocalDateTime startTime = null;
-        LocalDateTime endTime = null;
-        if (query != null && query.getStartTime() != null) {
-            startTime = LocalDateTime.parse(query.getStartTime().toString());
-        }
-        if (query != null && query.getEndTime() != null) {
-            endTime = LocalDateTime.parse(query.getEndTime().toString());
-        }
-        List<OperLogExcelDTO> logList = operLogService.exportOperLogs(operLog, startTime, endTime);
-        ExcelUtils.exportExcel(response, logList, OperLogExcelDTO.class, "操作日志", "操作日志列表");
+        LocalDateTime startTime = query != null && query.getStartTime() != null
+                ? LocalDateTime.parse(query.getStartTime().toString()) : null;
+        LocalDateTime endTime = query != null && query.getEndTime() != null
+                ? LocalDateTime.parse(query.getEndTime().toString()) : null;
+        ExcelUtils.exportExcelStream(response, OperLogExcelDTO.class, "操作日志", "操作日志列表",
+                sink -> operLogService.exportOperLogs(operLog, startTime, endTime, sink));
     }
 
     private Result.PageInfo toPageInfo(IPage<?> page) {
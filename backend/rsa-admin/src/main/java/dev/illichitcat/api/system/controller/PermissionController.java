@@ -3,10 +3,12 @@ package dev.illichitcat.api.system.controller;
 import dev.illichitcat.common.common.result.Result;
 import dev.illichitcat.common.utils.ExcelUtils;
 import dev.illichitcat.system.config.OperationLog;
+import dev.illichitcat.system.config.PermissionRegistry;
 import dev.illichitcat.system.config.RequirePermission;
 import dev.illichitcat.system.model.dto.PermissionDTO;
 import dev.illichitcat.system.model.dto.PermissionExcelDTO;
 import dev.illichitcat.system.model.entity.Permission;
+import dev.illichitcat.system.model.vo.PermissionRouteVO;
 import dev.illichitcat.system.service.PermissionService;
 import dev.illichitcat.system.service.RolePermService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -42,6 +44,9 @@ public class PermissionController {
     @Autowired
     private RolePermService rolePermService;
 
+    @Autowired
+    private PermissionRegistry permissionRegistry;
+
     /**
      * 查询权限列表
      *
@@ -78,6 +83,18 @@ public class PermissionController {
         return Result.ok(list);
     }
 
+    /**
+     * 查询受权限保护的接口路由
+     *
+     * @return 接口路由及其所需权限
+     */
+    @Operation(summary = "查询受权限保护的接口路由")
+    @RequirePermission("permission:list")
+    @GetMapping("/routes")
+    public Result<List<PermissionRouteVO>> routes() {
+        return Result.ok(permissionRegistry.getProtectedRoutes());
+    }
+
     /**
      * 根据ID查询权限
      *
@@ -249,8 +249,7 @@ public class RoleController {
     @PostMapping("/import")
     public Result<String> importData(@RequestParam("file") MultipartFile file) {
         try {
-            List<RoleExcelDTO> roleList = ExcelUtils.importExcel(file, RoleExcelDTO.class);
-            String result = roleService.importRoles(roleList);
+            String result = roleService.importRoles(file);
             return Result.ok(result);
         } catch (IOException e) {
             log.error("导入角色数据失败", e);
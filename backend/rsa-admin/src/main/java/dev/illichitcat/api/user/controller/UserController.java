@@ -7,16 +7,21 @@ import dev.illichitcat.common.common.result.Result;
 import dev.illichitcat.common.utils.ExcelUtils;
 import dev.illichitcat.system.config.OperationLog;
 import dev.illichitcat.system.config.RequirePermission;
+import dev.illichitcat.system.manager.DataJobManager;
 import dev.illichitcat.system.model.dto.UserDTO;
 import dev.illichitcat.system.model.dto.UserExcelDTO;
+import dev.illichitcat.system.model.entity.Role;
 import dev.illichitcat.system.model.entity.User;
 import dev.illichitcat.system.model.query.UserQuery;
+import dev.illichitcat.system.model.vo.RoleVO;
 import dev.illichitcat.system.model.vo.UserVO;
 import dev.illichitcat.system.service.PermissionService;
+import dev.illichitcat.system.service.RoleService;
 import dev.illichitcat.system.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -27,9 +32,11 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 用户管理控制器
@@ -50,6 +57,12 @@ public class UserController {
     @Autowired
     private PermissionService permissionService;
 
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private DataJobManager dataJobManager;
+
     /**
      * 分页查询用户列表
      *
@@ -67,8 +80,10 @@ public class UserController {
         Page<User> page = new Page<>(query.getCurrent(), query.getSize());
         IPage<User> userPage = userService.selectUserList(page, user);
 
-        // 转换为VO
-        IPage<UserVO> voPage = userPage.convert(this::toVO);
+        // 转换为VO，本页用户的角色一次批量解析
+        Map<Long, List<Role>> userRolesMap = roleService.selectRolesByUserIds(
+                userPage.getRecords().stream().map(User::getId).toList());
+        IPage<UserVO> voPage = userPage.convert(u -> toVO(u, userRolesMap.getOrDefault(u.getId(), List.of())));
         return Result.ok(voPage, toPageInfo(userPage));
     }
 
@@ -210,6 +225,16 @@ public class UserController {
         return vo;
     }
 
+    private UserVO toVO(User user, List<Role> roles) {
+        UserVO vo = toVO(user);
+        vo.setRoles(roles.stream().map(role -> {
+            RoleVO roleVO = new RoleVO();
+            BeanUtils.copyProperties(role, roleVO);
+            return roleVO;
+        }).toList());
+        return vo;
+    }
+
     private Result.PageInfo toPageInfo(IPage<?> page) {
         return new Result.PageInfo()
                 .setTotal(page.getTotal())
@@ -218,35 +243,52 @@ public class UserController {
     }
 
     /**
-     * 导出用户数据
+     * 导出用户数据（后台任务）
      *
-     * @param ids 用户ID数组，为空则导出所有
+     * @param ids     用户ID数组，为空则导出所有
+     * @param request HTTP请求
+     * @return 任务ID，通过任务接口查询进度并下载结果
      */
     @Operation(summary = "导出用户数据")
     @RequirePermission("user:export")
     @OperationLog(title = "用户管理", businessType = OperationLog.BusinessType.EXPORT)
     @PostMapping("/export")
-    public void export(@RequestBody(required = false) Long[] ids, HttpServletResponse response) throws IOException {
+    public Result<String> export(@RequestBody(required = false) Long[] ids, HttpServletRequest request) {
         List<Long> userIds = ids != null ? Arrays.asList(ids) : null;
-        List<UserExcelDTO> userList = userService.exportUsers(userIds);
-        ExcelUtils.exportExcel(response, userList, UserExcelDTO.class, "用户数据", "用户列表");
+        Long userId = (Long) request.getAttribute("userId");
+        String jobId = dataJobManager.submitExport("导出用户数据", "用户数据", userId, context -> {
+            List<UserExcelDTO> userList = userService.exportUsers(userIds);
+            context.total(userList.size());
+            long count = ExcelUtils.exportExcelStream(context.openOutput(), UserExcelDTO.class, "用户列表",
+                    sink -> userList.forEach(row -> {
+                        sink.accept(row);
+                        context.advance(1);
+                    }));
+            return String.format("导出完成：共%d条", count);
+        });
+        return Result.ok(jobId);
     }
 
     /**
      * 导入用户数据
      *
-     * @param file Excel文件
-     * @return 操作结果
+     * @param file    Excel文件
+     * @param request HTTP请求
+     * @return 任务ID，通过任务接口查询进度与导入结果
      */
     @Operation(summary = "导入用户数据")
     @RequirePermission("user:import")
     @OperationLog(title = "用户管理", businessType = OperationLog.BusinessType.IMPORT)
     @PostMapping("/import")
-    public Result<String> importData(@RequestParam("file") MultipartFile file) {
+    public Result<String> importData(@RequestParam("file") MultipartFile file, HttpServletRequest request) {
         try {
-            List<UserExcelDTO> userList = ExcelUtils.importExcel(file, UserExcelDTO.class);
-            String result = userService.importUsers(userList);
-            return Result.ok(result);
+            Long userId = (Long) request.getAttribute("userId");
+            String jobId = dataJobManager.submitImport("导入用户数据", file, userId, context -> {
+                try (InputStream inputStream = context.openInput()) {
+                    return userService.importUsers(inputStream, context::advance);
+                }
+            });
+            return Result.ok(jobId);
         } catch (IOException e) {
             log.error("导入用户数据失败", e);
             return Result.fail("文件解析失败：" + e.getMessage());
@@ -18,11 +18,38 @@ public final class JwtConstants {
     public static final String TOKEN_COOKIE_NAME = "token";
     public static final String UNKNOWN_USER = "未知";
 
+    /**
+     * 请求属性：已校验的JWT声明（JwtUtil.VerifiedClaims），由JwtInterceptor写入
+     */
+    public static final String CLAIMS_REQUEST_ATTRIBUTE = "jwtClaims";
+
     /**
      * Redis相关常量
      */
     public static final String USER_TOKEN_REDIS_PREFIX = "user_token:";
     public static final String SESSION_TOKEN_REDIS_PREFIX = "session_token:";
+    public static final String ONLINE_USER_REDIS_PREFIX = "online:user:";
+    /**
+     * token吊销广播频道（Redis pub/sub）
+     */
+    public static final String TOKEN_REVOKE_CHANNEL = "channel:token_revoke";
+    /**
+     * token吊销消息前缀：按用户吊销 / 按token指纹吊销
+     */
+    public static final String TOKEN_REVOKE_USER_PREFIX = "u:";
+    public static final String TOKEN_REVOKE_TOKEN_PREFIX = "t:";
+    /**
+     * token指纹 -> 会话ID 反向索引前缀
+     */
+    public static final String TOKEN_SESSION_REDIS_PREFIX = "token_session:";
+    /**
+     * 会话映射有效期（小时），与登录token保持一致
+     */
+    public static final long SESSION_MAPPING_EXPIRE_HOURS = 24L;
+    /**
+     * 反向索引未命中时的占位值有效期（分钟），避免无会话的token反复回源
+     */
+    public static final long TOKEN_SESSION_MISS_EXPIRE_MINUTES = 10L;
 
     private JwtConstants() {
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
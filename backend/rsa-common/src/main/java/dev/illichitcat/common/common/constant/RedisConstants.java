@@ -35,6 +35,11 @@ public final class RedisConstants {
     public static final long TTL_NO_EXPIRE = -1L;
     public static final long TTL_KEY_NOT_EXIST = -2L;
 
+    /**
+     * 本地缓存失效广播频道
+     */
+    public static final String CACHE_INVALIDATE_CHANNEL = "channel:cache_invalidate";
+
     /**
      * 私有构造函数，防止实例化
      */
@@ -15,4 +15,27 @@ import java.util.List;
 @ConfigurationProperties(prefix = "security")
 public class SecurityProperties {
     private List<String> ignoreUrls = List.of();
+
+    /**
+     * 本地已验证token缓存配置
+     */
+    private TokenCache tokenCache = new TokenCache();
+
+    @Data
+    public static class TokenCache {
+        /**
+         * 是否启用本地token缓存（关闭时每次请求都查询Redis）
+         */
+        private boolean enabled = true;
+
+        /**
+         * 最大缓存条目数
+         */
+        private long maximumSize = 10000;
+
+        /**
+         * 写入后过期时间（秒），即吊销广播丢失时本地缓存的最大陈旧时间
+         */
+        private long expireAfterWrite = 60;
+    }
 }
\ No newline at end of file
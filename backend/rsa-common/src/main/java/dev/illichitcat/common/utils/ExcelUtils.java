@@ -16,10 +16,13 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * Excel工具类
@@ -32,6 +35,11 @@ import java.util.List;
 @Slf4j
 public class ExcelUtils {
 
+    /**
+     * 流式导出时每次写入工作表的行数
+     */
+    private static final int STREAM_CHUNK_SIZE = 1000;
+
     /**
      * 导出Excel
      *
@@ -45,11 +53,7 @@ public class ExcelUtils {
     public static <T> void exportExcel(HttpServletResponse response, List<T> dataList, Class<T> clazz,
                                        String fileName, String sheetName) {
         try {
-            // 设置响应头
-            response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
-            response.setCharacterEncoding("utf-8");
-            String encodedFileName = URLEncoder.encode(fileName, StandardCharsets.UTF_8).replaceAll("\\+", "%20");
-            response.setHeader("Content-disposition", "attachment;filename*=utf-8''" + encodedFileName + ".xlsx");
+            setExcelResponseHeader(response, fileName);
 
             try (ExcelWriter excelWriter = FastExcel.write(response.getOutputStream(), clazz).build()) {
                 WriteSheet writeSheet = FastExcel.writerSheet(sheetName).build();
@@ -73,6 +77,79 @@ public class ExcelUtils {
         }
     }
 
+    /**
+     * 流式导出Excel
+     * <p>
+     * 由 rowProducer 逐行推送数据，按固定块大小写入工作表并直接输出到响应流，
+     * 内存占用只与块大小相关，与总行数无关。rowProducer 通常包装一次游标查询。
+     *
+     * @param response    HTTP响应
+     * @param clazz       实体类Class对象
+     * @param fileName    文件名（不含扩展名）
+     * @param sheetName   工作表名
+     * @param rowProducer 行数据生产者，接收一个行消费者并逐行推送
+     * @param <T>         实体类型
+     */
+    public static <T> void exportExcelStream(HttpServletResponse response, Class<T> clazz, String fileName,
+                                             String sheetName, Consumer<Consumer<T>> rowProducer) {
+        try {
+            setExcelResponseHeader(response, fileName);
+            long total = exportExcelStream(response.getOutputStream(), clazz, sheetName, rowProducer);
+            log.info("Excel 流式导出成功，文件名：{}，共 {} 行", fileName, total);
+        } catch (IOException e) {
+            log.error("Excel 导出失败", e);
+            throw new RuntimeException("Excel 导出失败", e);
+        }
+    }
+
+    /**
+     * 流式导出Excel到输出流，用法同 {@link #exportExcelStream(HttpServletResponse, Class, String, String, Consumer)}
+     *
+     * @param outputStream 输出流，写入完成后关闭
+     * @param clazz        实体类Class对象
+     * @param sheetName    工作表名
+     * @param rowProducer  行数据生产者，接收一个行消费者并逐行推送
+     * @param <T>          实体类型
+     * @return 写入的行数
+     */
+    public static <T> long exportExcelStream(OutputStream outputStream, Class<T> clazz, String sheetName,
+                                             Consumer<Consumer<T>> rowProducer) {
+        try (ExcelWriter excelWriter = FastExcel.write(outputStream, clazz).build()) {
+            WriteSheet writeSheet = FastExcel.writerSheet(sheetName).build();
+            List<T> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+            long[] total = {0};
+
+            rowProducer.accept(row -> {
+                chunk.add(row);
+                if (chunk.size() >= STREAM_CHUNK_SIZE) {
+                    excelWriter.write(chunk, writeSheet);
+                    total[0] += chunk.size();
+                    chunk.clear();
+                }
+            });
+
+            // 写入剩余数据；无数据时也写入一次以输出表头
+            if (!chunk.isEmpty() || total[0] == 0) {
+                excelWriter.write(chunk, writeSheet);
+                total[0] += chunk.size();
+            }
+            return total[0];
+        }
+    }
+
+    /**
+     * 设置 Excel 下载响应头
+     *
+     * @param response HTTP响应
+     * @param fileName 文件名（不含扩展名）
+     */
+    public static void setExcelResponseHeader(HttpServletResponse response, String fileName) {
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        response.setCharacterEncoding("utf-8");
+        String encodedFileName = URLEncoder.encode(fileName, StandardCharsets.UTF_8).replaceAll("\\+", "%20");
+        response.setHeader("Content-disposition", "attachment;filename*=utf-8''" + encodedFileName + ".xlsx");
+    }
+
     /**
      * 导入Excel
      *
@@ -119,6 +196,65 @@ public class ExcelUtils {
         }
     }
 
+    /**
+     * 分块导入Excel
+     * <p>
+     * 边解析边按块回调，内存中最多只保留一块数据。回调参数为本块数据和块内首行在 Excel 中的行号
+     * （第1行为表头，数据从第2行开始）
+     *
+     * @param file         Excel文件
+     * @param clazz        实体类Class对象
+     * @param chunkSize    每块行数
+     * @param chunkHandler 块处理函数
+     * @param <T>          实体类型
+     */
+    public static <T> void importExcelInChunks(MultipartFile file, Class<T> clazz, int chunkSize,
+                                               BiConsumer<List<T>, Integer> chunkHandler) throws IOException {
+        try (InputStream inputStream = file.getInputStream()) {
+            importExcelInChunks(inputStream, clazz, chunkSize, chunkHandler);
+        }
+    }
+
+    /**
+     * 从输入流分块导入Excel，用法同 {@link #importExcelInChunks(MultipartFile, Class, int, BiConsumer)}
+     *
+     * @param inputStream  输入流，由调用方关闭
+     * @param clazz        实体类Class对象
+     * @param chunkSize    每块行数
+     * @param chunkHandler 块处理函数
+     * @param <T>          实体类型
+     */
+    public static <T> void importExcelInChunks(InputStream inputStream, Class<T> clazz, int chunkSize,
+                                               BiConsumer<List<T>, Integer> chunkHandler) {
+        FastExcel.read(inputStream, clazz, new AnalysisEventListener<T>() {
+            private List<T> chunk = new ArrayList<>(chunkSize);
+            private int firstRowNum = 2;
+
+            @Override
+            public void invoke(T data, AnalysisContext context) {
+                chunk.add(data);
+                if (chunk.size() >= chunkSize) {
+                    flush();
+                }
+            }
+
+            @Override
+            public void doAfterAllAnalysed(AnalysisContext context) {
+                if (!chunk.isEmpty()) {
+                    flush();
+                }
+                log.info("Excel 分块解析完成，共读取 {} 条数据", firstRowNum - 2);
+            }
+
+            private void flush() {
+                List<T> rows = chunk;
+                chunk = new ArrayList<>(chunkSize);
+                chunkHandler.accept(rows, firstRowNum);
+                firstRowNum += rows.size();
+            }
+        }).doReadAll();
+    }
+
     /**
      * 创建简单的读取监听器
      *
@@ -1,6 +1,8 @@
 package dev.illichitcat.common.utils;
 
+import cn.hutool.crypto.digest.DigestUtil;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -32,6 +34,12 @@ public class JwtUtil {
      * JWT密钥（使用固定密钥，确保生成和验证时使用相同的密钥）
      */
     private static final SecretKey SECRET_KEY = Jwts.SIG.HS512.key().build();
+
+    /**
+     * JWT解析器（不可变且线程安全，全局复用，避免每次校验都重新构建）
+     */
+    private static final JwtParser PARSER = Jwts.parser().verifyWith(SECRET_KEY).build();
+
     /**
      * JWT过期时间（默认24小时）
      */
@@ -61,16 +69,33 @@ public class JwtUtil {
      */
     public Claims parseClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(SECRET_KEY)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return PARSER.parseSignedClaims(token).getPayload();
         } catch (Exception e) {
             return null;
         }
     }
 
+    /**
+     * 校验签名并解析出不可变的声明对象
+     * <p>
+     * 一次请求只需调用一次，结果可放入请求作用域供后续组件复用，避免重复验签
+     *
+     * @param token JWT令牌
+     * @return 已校验的声明，令牌无效（签名错误、过期、格式错误）时返回 null
+     */
+    public VerifiedClaims parseVerified(String token) {
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            return null;
+        }
+        Object userId = claims.get(USERID);
+        Object username = claims.get(USERNAME);
+        return new VerifiedClaims(
+                userId == null ? null : Long.valueOf(userId.toString()),
+                username == null ? null : username.toString(),
+                claims.getExpiration());
+    }
+
     /**
      * 验证JWT令牌是否有效
      *
@@ -78,12 +103,7 @@ public class JwtUtil {
      * @return 是否有效
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser().verifyWith(SECRET_KEY).build().parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return parseClaims(token) != null;
     }
 
     /**
@@ -122,6 +142,16 @@ public class JwtUtil {
         }
     }
 
+    /**
+     * 计算JWT令牌指纹（SHA-256），用于Redis键等需要定长标识的场景，避免直接以原始token作为键
+     *
+     * @param token JWT令牌
+     * @return 十六进制指纹
+     */
+    public String getTokenFingerprint(String token) {
+        return DigestUtil.sha256Hex(token);
+    }
+
     /**
      * 判断JWT令牌是否过期
      *
@@ -139,4 +169,32 @@ public class JwtUtil {
             return true;
         }
     }
+
+    /**
+     * 已校验的JWT声明（不可变）
+     */
+    public static final class VerifiedClaims {
+
+        private final Long userId;
+        private final String username;
+        private final Date expiration;
+
+        public VerifiedClaims(Long userId, String username, Date expiration) {
+            this.userId = userId;
+            this.username = username;
+            this.expiration = expiration == null ? null : new Date(expiration.getTime());
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public Date getExpiration() {
+            return expiration == null ? null : new Date(expiration.getTime());
+        }
+    }
 }
\ No newline at end of file
@@ -260,6 +260,15 @@ public class MinioUtils {
         }
     }
 
+    /**
+     * MinIO 是否已配置
+     *
+     * @return 客户端与配置均可用时返回 true
+     */
+    public boolean isAvailable() {
+        return minioClient != null && minioProperties != null;
+    }
+
     public boolean fileExists(String fileName) {
         if (minioClient == null || minioProperties == null) {
             return false;
@@ -0,0 +1,36 @@
+package dev.illichitcat.common.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 事务工具类
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+public final class TransactionUtils {
+
+    private TransactionUtils() {
+    }
+
+    /**
+     * 在当前事务提交后执行；没有活动事务时立即执行
+     * <p>
+     * 用于清除缓存等操作：事务提交前清除，并发请求可能读到旧数据并重新写入缓存；事务回滚时也不应清除
+     *
+     * @param action 待执行的操作
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
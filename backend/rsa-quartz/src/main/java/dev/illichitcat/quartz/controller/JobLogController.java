@@ -16,8 +16,6 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 定时任务调度日志控制器
@@ -116,23 +114,17 @@ public class JobLogController {
     @Operation(summary = "导出定时任务日志")
     @PostMapping("/export")
     public void export(JobLog jobLog, HttpServletResponse response) {
-        List<JobLog> jobLogList = jobLogService.exportJobLogList(jobLog);
-
-        List<JobLogExportVO> exportVOList = jobLogList.stream()
-                .map(log -> {
+        ExcelUtils.exportExcelStream(
+                response,
+                JobLogExportVO.class,
+                "任务日志_" + System.currentTimeMillis(),
+                "任务日志",
+                sink -> jobLogService.exportJobLogList(jobLog, log -> {
                     JobLogExportVO vo = new JobLogExportVO();
                     BeanUtils.copyProperties(log, vo);
                     vo.setStatus("0".equals(log.getStatus()) ? "正常" : "失败");
-                    return vo;
+                    sink.accept(vo);
                 })
-                .collect(Collectors.toList());
-
-        ExcelUtils.exportExcel(
-                response,
-                exportVOList,
-                JobLogExportVO.class,
-                "任务日志_" + System.currentTimeMillis(),
-                "任务日志"
         );
     }
 }
\ No newline at end of file
@@ -5,6 +5,8 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
 import dev.illichitcat.quartz.model.entity.JobLog;
 
+import java.util.function.Consumer;
+
 /**
  * 定时任务调度日志服务接口
  *
@@ -47,11 +49,11 @@ public interface JobLogService extends IService<JobLog> {
 
     /**
      * 导出任务日志列表
+     * <p>
+     * 游标逐行读取，每行直接交给 consumer，不在内存中保留完整列表
      *
-     * @param jobLog 查询条件
-     * @return 任务日志列表
+     * @param jobLog   查询条件
+     * @param consumer 任务日志消费者
      */
-    java.util.List<dev.illichitcat.quartz.model.entity.JobLog> exportJobLogList(
-            dev.illichitcat.quartz.model.entity.JobLog jobLog
-    );
+    void exportJobLogList(JobLog jobLog, Consumer<JobLog> consumer);
 }
\ No newline at end of file
@@ -13,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.function.Consumer;
 
 /**
  * 定时任务调度日志服务实现类
@@ -50,9 +51,9 @@ public class JobLogServiceImpl extends ServiceImpl<JobLogMapper, JobLog> impleme
     }
 
     @Override
-    public java.util.List<JobLog> exportJobLogList(JobLog jobLog) {
+    public void exportJobLogList(JobLog jobLog, Consumer<JobLog> consumer) {
         LambdaQueryWrapper<JobLog> wrapper = buildQueryWrapper(jobLog);
-        return this.baseMapper.selectList(wrapper);
+        this.baseMapper.selectStream(wrapper, context -> consumer.accept(context.getResultObject()));
     }
 
     /**
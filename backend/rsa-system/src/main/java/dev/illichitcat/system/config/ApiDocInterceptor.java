@@ -2,11 +2,11 @@ package dev.illichitcat.system.config;
 
 import dev.illichitcat.common.common.constant.ExceptionCodes;
 import dev.illichitcat.common.exception.AuthException;
+import dev.illichitcat.system.manager.PermissionBitsetManager;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
@@ -20,7 +20,7 @@ import org.springframework.web.servlet.HandlerInterceptor;
 public class ApiDocInterceptor implements HandlerInterceptor {
 
     private static final String DOC_PATH = "/doc.html";
-    private final StringRedisTemplate redisTemplate;
+    private final PermissionBitsetManager permissionBitsetManager;
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
@@ -37,11 +37,10 @@ public class ApiDocInterceptor implements HandlerInterceptor {
                 throw new AuthException(ExceptionCodes.UNAUTHORIZED, "用户未登录");
             }
 
-            String key = "user_perms:" + userId;
-            Boolean hasPermission = redisTemplate.opsForSet().isMember(key, "api-doc:view");
+            boolean hasPermission = permissionBitsetManager.hasPermission(userId, "api-doc:view");
             log.info("ApiDocInterceptor - hasPermission: {}", hasPermission);
 
-            if (Boolean.FALSE.equals(hasPermission)) {
+            if (!hasPermission) {
                 throw new AuthException(ExceptionCodes.FORBIDDEN, "无权限访问API文档");
             }
         }
@@ -0,0 +1,179 @@
+package dev.illichitcat.system.config;
+
+import dev.illichitcat.system.manager.codec.CacheCodecFormat;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 缓存全局配置（各业务缓存共用的加载策略）
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache")
+public class CacheGlobalProperties {
+
+    /**
+     * 缓存未命中时的合并加载配置
+     */
+    private SingleFlight singleFlight = new SingleFlight();
+
+    /**
+     * 多节点本地缓存失效广播配置
+     */
+    private Invalidation invalidation = new Invalidation();
+
+    /**
+     * 缓存命名空间代数配置
+     */
+    private Generation generation = new Generation();
+
+    /**
+     * 二级缓存编码配置
+     */
+    private Codec codec = new Codec();
+
+    /**
+     * 二级缓存异步批量写入配置
+     */
+    private WriteBehind writeBehind = new WriteBehind();
+
+    /**
+     * 按缓存名称覆盖 Caffeine 缓存规格（未配置的字段沿用所属分组的默认值）
+     */
+    private Map<String, CacheSpec> specs = new HashMap<>();
+
+    /**
+     * 运行时缓存规格同步配置
+     */
+    private SpecSync specSync = new SpecSync();
+
+    /**
+     * 一级缓存内存预算配置
+     */
+    private Memory memory = new Memory();
+
+    @Data
+    public static class SingleFlight {
+        /**
+         * 是否启用合并加载（同一缓存键同时只允许一个线程回源数据库）
+         */
+        private boolean enabled = true;
+
+        /**
+         * 等待其他线程加载结果的超时时间（毫秒），超时后自行回源
+         */
+        private long timeout = 3000;
+    }
+
+    @Data
+    public static class Invalidation {
+        /**
+         * 是否启用失效广播（清除缓存时通知其他节点清除各自的 Caffeine 一级缓存）
+         */
+        private boolean enabled = true;
+    }
+
+    @Data
+    public static class Generation {
+        /**
+         * 本地代数与 Redis 同步的间隔（秒），作为失效广播丢失时的兜底
+         */
+        private long refreshInterval = 30;
+
+        /**
+         * 是否在代数递增后后台清理旧代数的键（关闭时仅依赖键自身的过期时间）
+         */
+        private boolean sweepEnabled = true;
+
+        /**
+         * 清理旧代数时每批 SCAN / UNLINK 的键数量
+         */
+        private int sweepBatchSize = 500;
+    }
+
+    @Data
+    public static class Codec {
+        /**
+         * 默认编码格式
+         */
+        private CacheCodecFormat format = CacheCodecFormat.JSON_DEFLATE;
+
+        /**
+         * 按缓存名称覆盖编码格式
+         */
+        private Map<String, CacheCodecFormat> formats = new HashMap<>();
+
+        /**
+         * 压缩阈值（字节），编码结果小于该值时不压缩
+         */
+        private int compressThreshold = 1024;
+    }
+
+    @Data
+    public static class WriteBehind {
+        /**
+         * 是否启用异步批量写入（关闭时回填 Redis 在调用线程同步写入）
+         */
+        private boolean enabled = true;
+
+        /**
+         * 队列容量（待写入的键数）
+         */
+        private int capacity = 10000;
+
+        /**
+         * 单批管道写入的最大键数
+         */
+        private int batchSize = 500;
+
+        /**
+         * 刷新间隔（毫秒），队列未凑满一批时最多等待该时间后写入
+         */
+        private long flushInterval = 20;
+
+        /**
+         * 队列满时调用方等待空位的最长时间（毫秒），超时后丢弃本次写入
+         */
+        private long offerTimeout = 100;
+
+        /**
+         * 停机时等待队列写完的最长时间（毫秒）
+         */
+        private long shutdownTimeout = 5000;
+    }
+
+    @Data
+    public static class SpecSync {
+        /**
+         * 是否定时从系统配置（cache.spec.缓存名称）同步缓存规格，多节点依赖该同步生效
+         */
+        private boolean enabled = true;
+
+        /**
+         * 同步间隔（秒）
+         */
+        private long interval = 60;
+    }
+
+    @Data
+    public static class Memory {
+        /**
+         * 所有 Caffeine 一级缓存共享的内存预算（字节），0 表示不限制
+         * 大于 0 时所有缓存按估算的条目字节数淘汰：在 cache.specs 中配置了 maximum-weight 的缓存使用各自的预算，
+         * 其余缓存按各自 maximum-size 的比例分摊剩余预算
+         */
+        private long maxBytes = 64L * 1024 * 1024;
+
+        /**
+         * 分摊预算时单个缓存的最小预算（字节）
+         */
+        private long minCacheBytes = 256L * 1024;
+    }
+}
@@ -0,0 +1,55 @@
+package dev.illichitcat.system.config;
+
+import lombok.Data;
+
+/**
+ * 缓存穿透防护配置（空值缓存 + 布隆过滤器）
+ * 作为各 *CacheProperties 的嵌套配置项使用
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Data
+public class CachePenetrationProperties {
+
+    /**
+     * 空值缓存配置
+     */
+    private NullValue nullValue = new NullValue();
+
+    /**
+     * 布隆过滤器配置
+     */
+    private BloomFilter bloomFilter = new BloomFilter();
+
+    @Data
+    public static class NullValue {
+        /**
+         * 是否缓存数据库中不存在的键（一级、二级缓存均写入空值哨兵）
+         */
+        private boolean enabled = true;
+
+        /**
+         * 空值过期时间（秒）
+         */
+        private long expireTime = 60;
+    }
+
+    @Data
+    public static class BloomFilter {
+        /**
+         * 是否启用布隆过滤器（预热时由全部存在的键构建，仅对能枚举全部键的缓存生效）
+         */
+        private boolean enabled = false;
+
+        /**
+         * 预计键数量
+         */
+        private int expectedInsertions = 10000;
+
+        /**
+         * 每个键占用的位数（10 位约对应 1% 误判率）
+         */
+        private int bitsPerKey = 10;
+    }
+}
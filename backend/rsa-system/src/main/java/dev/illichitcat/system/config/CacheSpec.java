@@ -0,0 +1,96 @@
+package dev.illichitcat.system.config;
+
+import lombok.Data;
+
+/**
+ * 单个 Caffeine 缓存的规格（容量、过期、刷新）
+ * 默认值来自各 *CacheProperties.Caffeine 分组配置，可按缓存名称在 cache.specs 或系统配置中逐项覆盖；
+ * 字段为 null 表示沿用默认值
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Data
+public class CacheSpec {
+
+    /**
+     * 初始容量
+     */
+    private Integer initialCapacity;
+
+    /**
+     * 最大条目数（maximumWeight 大于 0 时不生效，仅作为分摊全局内存预算的比例）
+     */
+    private Long maximumSize;
+
+    /**
+     * 内存预算（字节），大于 0 时按估算的条目字节数淘汰
+     */
+    private Long maximumWeight;
+
+    /**
+     * 写入后过期时间（分钟）
+     */
+    private Long expireAfterWrite;
+
+    /**
+     * 访问后过期时间（分钟），0 表示不按访问过期
+     */
+    private Long expireAfterAccess;
+
+    /**
+     * 提前刷新阈值（分钟），0 表示不提前刷新
+     */
+    private Long refreshAfterWrite;
+
+    /**
+     * 是否启用统计
+     */
+    private Boolean recordStats;
+
+    /**
+     * 创建完整规格
+     */
+    public static CacheSpec of(int initialCapacity, long maximumSize, long expireAfterWrite,
+                               long expireAfterAccess, long refreshAfterWrite, boolean recordStats) {
+        CacheSpec spec = new CacheSpec();
+        spec.setInitialCapacity(initialCapacity);
+        spec.setMaximumSize(maximumSize);
+        spec.setMaximumWeight(0L);
+        spec.setExpireAfterWrite(expireAfterWrite);
+        spec.setExpireAfterAccess(expireAfterAccess);
+        spec.setRefreshAfterWrite(refreshAfterWrite);
+        spec.setRecordStats(recordStats);
+        return spec;
+    }
+
+    /**
+     * 以 override 中非 null 的字段覆盖当前规格，返回新规格
+     *
+     * @param override 覆盖项，可为 null
+     * @return 合并后的规格
+     */
+    public CacheSpec merge(CacheSpec override) {
+        CacheSpec o = override != null ? override : new CacheSpec();
+        CacheSpec merged = new CacheSpec();
+        merged.setInitialCapacity(pick(o.getInitialCapacity(), initialCapacity));
+        merged.setMaximumSize(pick(o.getMaximumSize(), maximumSize));
+        merged.setMaximumWeight(pick(o.getMaximumWeight(), maximumWeight));
+        merged.setExpireAfterWrite(pick(o.getExpireAfterWrite(), expireAfterWrite));
+        merged.setExpireAfterAccess(pick(o.getExpireAfterAccess(), expireAfterAccess));
+        merged.setRefreshAfterWrite(pick(o.getRefreshAfterWrite(), refreshAfterWrite));
+        merged.setRecordStats(pick(o.getRecordStats(), recordStats));
+        return merged;
+    }
+
+    /**
+     * 是否按内存预算淘汰
+     */
+    public boolean isWeighted() {
+        return maximumWeight != null && maximumWeight > 0;
+    }
+
+    private static <T> T pick(T override, T current) {
+        return override != null ? override : current;
+    }
+}
@@ -0,0 +1,196 @@
+package dev.illichitcat.system.config;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 一级缓存条目权重计算器：按估算的堆内保留字节数（键 + 值）计权
+ * <p>
+ * 估算基于 64 位 JVM + 压缩指针（对象头 12 字节、引用 4 字节、8 字节对齐），
+ * 常见 JDK 类型使用固定大小，业务实体按字段反射递归估算（字段列表按类缓存）。
+ * 估算不追踪共享引用，同一对象被多次引用时会重复计算，结果偏保守
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+public final class CacheValueWeigher implements Weigher<Object, Object> {
+
+    public static final CacheValueWeigher INSTANCE = new CacheValueWeigher();
+
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int MAX_DEPTH = 8;
+
+    /**
+     * 类 -> 浅大小及引用类型字段
+     */
+    private static final ClassValue<Layout> LAYOUTS = new ClassValue<>() {
+        @Override
+        protected Layout computeValue(Class<?> type) {
+            return Layout.of(type);
+        }
+    };
+
+    private CacheValueWeigher() {
+    }
+
+    @Override
+    public int weigh(Object key, Object value) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, sizeOf(key, 0) + sizeOf(value, 0)));
+    }
+
+    /**
+     * 估算对象的保留大小（字节）
+     *
+     * @param value 对象
+     * @return 估算字节数
+     */
+    public static long sizeOf(Object value) {
+        return sizeOf(value, 0);
+    }
+
+    private static long sizeOf(Object value, int depth) {
+        if (value == null || value instanceof Enum<?> || value instanceof Class<?>) {
+            return 0;
+        }
+        if (value instanceof String s) {
+            return align(OBJECT_HEADER + 12) + align(ARRAY_HEADER + (long) s.length() * (isLatin1(s) ? 1 : 2));
+        }
+        if (value instanceof Long || value instanceof Double) {
+            return 24;
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return 16;
+        }
+        if (value instanceof LocalDateTime) {
+            return 72;
+        }
+        if (value instanceof LocalDate || value instanceof LocalTime || value instanceof Date) {
+            return 24;
+        }
+        if (value instanceof BigDecimal || value instanceof BigInteger) {
+            return 64;
+        }
+        if (depth >= MAX_DEPTH) {
+            return REFERENCE;
+        }
+
+        if (value instanceof Collection<?> collection) {
+            // ArrayList / HashSet 等：容器对象 + 引用数组（或哈希节点）+ 元素
+            long size = align(OBJECT_HEADER + 12) + align(ARRAY_HEADER + (long) collection.size() * REFERENCE);
+            if (!(collection instanceof List<?>)) {
+                size += 32L * collection.size();
+            }
+            for (Object element : collection) {
+                size += sizeOf(element, depth + 1);
+            }
+            return size;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = align(OBJECT_HEADER + 36) + align(ARRAY_HEADER + (long) map.size() * REFERENCE) + 32L * map.size();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += sizeOf(entry.getKey(), depth + 1) + sizeOf(entry.getValue(), depth + 1);
+            }
+            return size;
+        }
+        Class<?> type = value.getClass();
+        if (type.isArray()) {
+            int length = Array.getLength(value);
+            Class<?> component = type.getComponentType();
+            if (component.isPrimitive()) {
+                return align(ARRAY_HEADER + (long) length * primitiveSize(component));
+            }
+            long size = align(ARRAY_HEADER + (long) length * REFERENCE);
+            for (int i = 0; i < length; i++) {
+                size += sizeOf(Array.get(value, i), depth + 1);
+            }
+            return size;
+        }
+
+        Layout layout = LAYOUTS.get(type);
+        long size = layout.shallowSize;
+        for (Field field : layout.referenceFields) {
+            try {
+                size += sizeOf(field.get(value), depth + 1);
+            } catch (IllegalAccessException e) {
+                size += REFERENCE;
+            }
+        }
+        return size;
+    }
+
+    private static boolean isLatin1(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int primitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    /**
+     * 类的内存布局估算：浅大小（对象头 + 字段）及需要递归估算的引用字段
+     */
+    private record Layout(long shallowSize, List<Field> referenceFields) {
+
+        static Layout of(Class<?> type) {
+            long shallow = OBJECT_HEADER;
+            List<Field> references = new ArrayList<>();
+            // JDK 内部类型无法反射访问，按对象头 + 一个字段估算
+            boolean inspectable = !type.getName().startsWith("java.") && !type.getName().startsWith("jdk.");
+            for (Class<?> c = type; inspectable && c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    if (field.getType().isPrimitive()) {
+                        shallow += primitiveSize(field.getType());
+                        continue;
+                    }
+                    shallow += REFERENCE;
+                    try {
+                        field.setAccessible(true);
+                        references.add(field);
+                    } catch (RuntimeException e) {
+                        // 不可访问的字段只计引用本身
+                    }
+                }
+            }
+            if (!inspectable) {
+                shallow += 8;
+            }
+            return new Layout(align(shallow), List.copyOf(references));
+        }
+    }
+}
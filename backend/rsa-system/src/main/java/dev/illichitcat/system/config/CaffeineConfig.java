@@ -1,6 +1,10 @@
 package dev.illichitcat.system.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import dev.illichitcat.system.manager.CacheSpecManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
@@ -10,7 +14,9 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -29,17 +35,28 @@ public class CaffeineConfig {
      */
     private static final TimeUnit TIME_UNIT = TimeUnit.MINUTES;
 
+    private final CacheSpecManager cacheSpecManager;
+
+    public CaffeineConfig(CacheSpecManager cacheSpecManager) {
+        this.cacheSpecManager = cacheSpecManager;
+    }
+
     @Bean
-    public CacheManager cacheManager(DictCacheProperties dictCacheProperties, RoleCacheProperties roleCacheProperties, MenuCacheProperties menuCacheProperties, PermissionCacheProperties permissionCacheProperties, ConfigCacheProperties configCacheProperties) {
+    public CacheManager cacheManager(DictCacheProperties dictCacheProperties, RoleCacheProperties roleCacheProperties, MenuCacheProperties menuCacheProperties, PermissionCacheProperties permissionCacheProperties, ConfigCacheProperties configCacheProperties,
+                                     MeterRegistry meterRegistry) {
         SimpleCacheManager cacheManager = new SimpleCacheManager();
-        List<CaffeineCache> caches = new ArrayList<>(16);
+        Map<String, CacheSpec> defaults = new LinkedHashMap<>(16);
 
         // 配置各种类型的缓存
-        caches.addAll(configureDictCaches(dictCacheProperties));
-        caches.addAll(configureRoleCaches(roleCacheProperties));
-        caches.addAll(configureMenuCaches(menuCacheProperties));
-        caches.addAll(configurePermissionCaches(permissionCacheProperties));
-        caches.addAll(configureConfigCaches(configCacheProperties));
+        register(defaults, configureDictCaches(dictCacheProperties));
+        register(defaults, configureRoleCaches(roleCacheProperties));
+        register(defaults, configureMenuCaches(menuCacheProperties));
+        register(defaults, configurePermissionCaches(permissionCacheProperties));
+        register(defaults, configureConfigCaches(configCacheProperties));
+
+        // 统一登记后再构建，全局内存预算需要在所有缓存之间分摊
+        List<CaffeineCache> caches = new ArrayList<>(defaults.size());
+        cacheSpecManager.define(defaults).forEach((cacheName, spec) -> caches.add(buildCache(cacheName, spec, meterRegistry)));
 
         cacheManager.setCaches(caches);
         return cacheManager;
@@ -49,18 +66,21 @@ public class CaffeineConfig {
      * 配置字典缓存
      *
      * @param dictCacheProperties 字典缓存配置属性
-     * @return 字典缓存列表
+     * @return 字典缓存名称 -> 默认规格
      */
-    private List<CaffeineCache> configureDictCaches(DictCacheProperties dictCacheProperties) {
-        List<CaffeineCache> caches = new ArrayList<>(3);
+    private Map<String, CacheSpec> configureDictCaches(DictCacheProperties dictCacheProperties) {
+        Map<String, CacheSpec> specs = new LinkedHashMap<>(3);
         DictCacheProperties.Caffeine dictCaffeineConfig = dictCacheProperties.getCaffeine();
 
         if (dictCaffeineConfig.isEnabled()) {
-            Caffeine<Object, Object> caffeineBuilder = buildCaffeine(dictCaffeineConfig);
+            CacheSpec defaults = CacheSpec.of(dictCaffeineConfig.getInitialCapacity(), dictCaffeineConfig.getMaximumSize(),
+                    dictCaffeineConfig.getExpireAfterWrite(), dictCaffeineConfig.getExpireAfterAccess(),
+                    dictCaffeineConfig.isRefreshAfterWrite() ? dictCaffeineConfig.getRefreshAfterWriteMinutes() : 0,
+                    dictCaffeineConfig.isRecordStats());
 
-            caches.add(new CaffeineCache("dict", caffeineBuilder.build()));
-            caches.add(new CaffeineCache("dictItem", caffeineBuilder.build()));
-            caches.add(new CaffeineCache("dictItems", caffeineBuilder.build()));
+            specs.put("dict", defaults);
+            specs.put("dictItem", defaults);
+            specs.put("dictItems", defaults);
 
             log.info("Caffeine 字典缓存已启用: initialCapacity={}, maximumSize={}, expireAfterWrite={}min, expireAfterAccess={}min",
                     dictCaffeineConfig.getInitialCapacity(),
@@ -71,26 +91,29 @@ public class CaffeineConfig {
             log.info("Caffeine 字典缓存已禁用");
         }
 
-        return caches;
+        return specs;
     }
 
     /**
      * 配置角色缓存
      *
      * @param roleCacheProperties 角色缓存配置属性
-     * @return 角色缓存列表
+     * @return 角色缓存名称 -> 默认规格
      */
-    private List<CaffeineCache> configureRoleCaches(RoleCacheProperties roleCacheProperties) {
-        List<CaffeineCache> caches = new ArrayList<>(4);
+    private Map<String, CacheSpec> configureRoleCaches(RoleCacheProperties roleCacheProperties) {
+        Map<String, CacheSpec> specs = new LinkedHashMap<>(4);
         RoleCacheProperties.Caffeine roleCaffeineConfig = roleCacheProperties.getCaffeine();
 
         if (roleCaffeineConfig.isEnabled()) {
-            Caffeine<Object, Object> caffeineBuilder = buildCaffeine(roleCaffeineConfig);
+            CacheSpec defaults = CacheSpec.of(roleCaffeineConfig.getInitialCapacity(), roleCaffeineConfig.getMaximumSize(),
+                    roleCaffeineConfig.getExpireAfterWrite(), roleCaffeineConfig.getExpireAfterAccess(),
+                    roleCaffeineConfig.isRefreshAfterWrite() ? roleCaffeineConfig.getRefreshAfterWriteMinutes() : 0,
+                    roleCaffeineConfig.isRecordStats());
 
-            caches.add(new CaffeineCache("role", caffeineBuilder.build()));
-            caches.add(new CaffeineCache("rolePerms", caffeineBuilder.build()));
-            caches.add(new CaffeineCache("roleMenus", caffeineBuilder.build()));
-            caches.add(new CaffeineCache("userRoles", caffeineBuilder.build()));
+            specs.put("role", defaults);
+            specs.put("rolePerms", defaults);
+            specs.put("roleMenus", defaults);
+            specs.put("userRoles", defaults);
 
             log.info("Caffeine 角色缓存已启用: initialCapacity={}, maximumSize={}, expireAfterWrite={}min, expireAfterAccess={}min",
                     roleCaffeineConfig.getInitialCapacity(),
@@ -101,24 +124,29 @@ public class CaffeineConfig {
             log.info("Caffeine 角色缓存已禁用");
         }
 
-        return caches;
+        return specs;
     }
 
     /**
      * 配置菜单缓存
      *
      * @param menuCacheProperties 菜单缓存配置属性
-     * @return 菜单缓存列表
+     * @return 菜单缓存名称 -> 默认规格
      */
-    private List<CaffeineCache> configureMenuCaches(MenuCacheProperties menuCacheProperties) {
-        List<CaffeineCache> caches = new ArrayList<>(2);
+    private Map<String, CacheSpec> configureMenuCaches(MenuCacheProperties menuCacheProperties) {
+        Map<String, CacheSpec> specs = new LinkedHashMap<>(4);
         MenuCacheProperties.Caffeine menuCaffeineConfig = menuCacheProperties.getCaffeine();
 
         if (menuCaffeineConfig.isEnabled()) {
-            Caffeine<Object, Object> caffeineBuilder = buildCaffeine(menuCaffeineConfig);
+            CacheSpec defaults = CacheSpec.of(menuCaffeineConfig.getInitialCapacity(), menuCaffeineConfig.getMaximumSize(),
+                    menuCaffeineConfig.getExpireAfterWrite(), menuCaffeineConfig.getExpireAfterAccess(),
+                    menuCaffeineConfig.isRefreshAfterWrite() ? menuCaffeineConfig.getRefreshAfterWriteMinutes() : 0,
+                    menuCaffeineConfig.isRecordStats());
 
-            caches.add(new CaffeineCache("userMenus", caffeineBuilder.build()));
-            caches.add(new CaffeineCache("roleMenus", caffeineBuilder.build()));
+            specs.put("roleSetMenus", defaults);
+            specs.put("roleMenuList", defaults);
+            specs.put("roleMenuTree", defaults);
+            specs.put("roleSetMenuTree", defaults);
 
             log.info("Caffeine 菜单缓存已启用: initialCapacity={}, maximumSize={}, expireAfterWrite={}min, expireAfterAccess={}min",
                     menuCaffeineConfig.getInitialCapacity(),
@@ -129,25 +157,28 @@ public class CaffeineConfig {
             log.info("Caffeine 菜单缓存已禁用");
         }
 
-        return caches;
+        return specs;
     }
 
     /**
      * 配置权限缓存
      *
      * @param permissionCacheProperties 权限缓存配置属性
-     * @return 权限缓存列表
+     * @return 权限缓存名称 -> 默认规格
      */
-    private List<CaffeineCache> configurePermissionCaches(PermissionCacheProperties permissionCacheProperties) {
-        List<CaffeineCache> caches = new ArrayList<>(3);
+    private Map<String, CacheSpec> configurePermissionCaches(PermissionCacheProperties permissionCacheProperties) {
+        Map<String, CacheSpec> specs = new LinkedHashMap<>(3);
         PermissionCacheProperties.Caffeine permissionCaffeineConfig = permissionCacheProperties.getCaffeine();
 
         if (permissionCaffeineConfig.isEnabled()) {
-            Caffeine<Object, Object> caffeineBuilder = buildCaffeine(permissionCaffeineConfig);
+            CacheSpec defaults = CacheSpec.of(permissionCaffeineConfig.getInitialCapacity(), permissionCaffeineConfig.getMaximumSize(),
+                    permissionCaffeineConfig.getExpireAfterWrite(), permissionCaffeineConfig.getExpireAfterAccess(),
+                    permissionCaffeineConfig.isRefreshAfterWrite() ? permissionCaffeineConfig.getRefreshAfterWriteMinutes() : 0,
+                    permissionCaffeineConfig.isRecordStats());
 
-            caches.add(new CaffeineCache("userPermissions", caffeineBuilder.build()));
-            caches.add(new CaffeineCache("userPerms", caffeineBuilder.build()));
-            caches.add(new CaffeineCache("rolePermissions", caffeineBuilder.build()));
+            specs.put("roleSetPermissions", defaults);
+            specs.put("roleSetPerms", defaults);
+            specs.put("rolePermissions", defaults);
 
             log.info("Caffeine 权限缓存已启用: initialCapacity={}, maximumSize={}, expireAfterWrite={}min, expireAfterAccess={}min",
                     permissionCaffeineConfig.getInitialCapacity(),
@@ -158,24 +189,27 @@ public class CaffeineConfig {
             log.info("Caffeine 权限缓存已禁用");
         }
 
-        return caches;
+        return specs;
     }
 
     /**
      * 配置系统配置缓存
      *
      * @param configCacheProperties 配置缓存属性
-     * @return 配置缓存列表
+     * @return 配置缓存名称 -> 默认规格
      */
-    private List<CaffeineCache> configureConfigCaches(ConfigCacheProperties configCacheProperties) {
-        List<CaffeineCache> caches = new ArrayList<>(2);
+    private Map<String, CacheSpec> configureConfigCaches(ConfigCacheProperties configCacheProperties) {
+        Map<String, CacheSpec> specs = new LinkedHashMap<>(2);
         ConfigCacheProperties.Caffeine configCaffeineConfig = configCacheProperties.getCaffeine();
 
         if (configCaffeineConfig.isEnabled()) {
-            Caffeine<Object, Object> caffeineBuilder = buildCaffeine(configCaffeineConfig);
+            CacheSpec defaults = CacheSpec.of(configCaffeineConfig.getInitialCapacity(), configCaffeineConfig.getMaximumSize(),
+                    configCaffeineConfig.getExpireAfterWrite(), configCaffeineConfig.getExpireAfterAccess(),
+                    configCaffeineConfig.isRefreshAfterWrite() ? configCaffeineConfig.getRefreshAfterWriteMinutes() : 0,
+                    configCaffeineConfig.isRecordStats());
 
-            caches.add(new CaffeineCache("config", caffeineBuilder.build()));
-            caches.add(new CaffeineCache("configValue", caffeineBuilder.build()));
+            specs.put("config", defaults);
+            specs.put("configValue", defaults);
 
             log.info("Caffeine 系统配置缓存已启用: initialCapacity={}, maximumSize={}, expireAfterWrite={}min, expireAfterAccess={}min",
                     configCaffeineConfig.getInitialCapacity(),
@@ -186,44 +220,61 @@ public class CaffeineConfig {
             log.info("Caffeine 系统配置缓存已禁用");
         }
 
-        return caches;
+        return specs;
     }
 
     /**
-     * 构建 Caffeine 缓存构建器
-     * 使用反射来支持不同类型的缓存配置类
+     * 合并分组的缓存规格，缓存名称在分组之间不能重复
      *
-     * @param caffeineConfig Caffeine 配置对象（DictCacheProperties.Caffeine、RoleCacheProperties.Caffeine 等）
-     * @return Caffeine 构建器
+     * @param defaults 全部缓存规格
+     * @param group    分组缓存规格
      */
-    private Caffeine<Object, Object> buildCaffeine(Object caffeineConfig) {
-        try {
-            // 使用反射获取配置字段
-            boolean isEnabled = (boolean) caffeineConfig.getClass().getMethod("isEnabled").invoke(caffeineConfig);
-            if (!isEnabled) {
-                return null;
-            }
-
-            int initialCapacity = (int) caffeineConfig.getClass().getMethod("getInitialCapacity").invoke(caffeineConfig);
-            long maximumSize = (long) caffeineConfig.getClass().getMethod("getMaximumSize").invoke(caffeineConfig);
-            long expireAfterWrite = (long) caffeineConfig.getClass().getMethod("getExpireAfterWrite").invoke(caffeineConfig);
-            long expireAfterAccess = (long) caffeineConfig.getClass().getMethod("getExpireAfterAccess").invoke(caffeineConfig);
-            boolean recordStats = (boolean) caffeineConfig.getClass().getMethod("isRecordStats").invoke(caffeineConfig);
-
-            Caffeine<Object, Object> builder = Caffeine.newBuilder()
-                    .initialCapacity(initialCapacity)
-                    .maximumSize(maximumSize)
-                    .expireAfterWrite(expireAfterWrite, TIME_UNIT)
-                    .expireAfterAccess(expireAfterAccess, TIME_UNIT);
-
-            if (recordStats) {
-                builder.recordStats();
+    private void register(Map<String, CacheSpec> defaults, Map<String, CacheSpec> group) {
+        group.forEach((cacheName, spec) -> {
+            if (defaults.putIfAbsent(cacheName, spec) != null) {
+                throw new IllegalStateException("缓存名称重复登记: " + cacheName);
             }
+        });
+    }
 
-            return builder;
-        } catch (Exception e) {
-            log.error("构建 Caffeine 配置失败", e);
-            throw new RuntimeException("构建 Caffeine 配置失败", e);
+    /**
+     * 按生效规格构建缓存
+     * 配置了内存预算时按 {@link CacheValueWeigher} 估算的条目字节数淘汰，否则按条目数淘汰
+     * 容量淘汰计入 cache.tier.evictions（reason=size），与显式清除（reason=explicit）区分
+     *
+     * @param cacheName     缓存名称
+     * @param spec          生效规格
+     * @param meterRegistry 指标注册表
+     * @return Caffeine 缓存
+     */
+    private CaffeineCache buildCache(String cacheName, CacheSpec spec, MeterRegistry meterRegistry) {
+        Counter sizeEvictions = Counter.builder("cache.tier.evictions")
+                .description("缓存清除次数")
+                .tag("cache", cacheName)
+                .tag("tier", "caffeine")
+                .tag("reason", "size")
+                .register(meterRegistry);
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .initialCapacity(spec.getInitialCapacity())
+                .expireAfterWrite(spec.getExpireAfterWrite(), TIME_UNIT)
+                .evictionListener((key, value, cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        sizeEvictions.increment();
+                    }
+                });
+        if (spec.isWeighted()) {
+            builder.maximumWeight(spec.getMaximumWeight())
+                    .weigher(CacheValueWeigher.INSTANCE);
+        } else {
+            builder.maximumSize(spec.getMaximumSize());
+        }
+        if (spec.getExpireAfterAccess() > 0) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess(), TIME_UNIT);
         }
+        if (Boolean.TRUE.equals(spec.getRecordStats())) {
+            builder.recordStats();
+        }
+
+        return new CaffeineCache(cacheName, builder.build());
     }
-}
\ No newline at end of file
+}
@@ -40,6 +40,11 @@ public class ConfigCacheProperties {
      */
     private Scheduled scheduled = new Scheduled();
 
+    /**
+     * 缓存穿透防护配置
+     */
+    private CachePenetrationProperties penetration = new CachePenetrationProperties();
+
     /**
      * @author Illichitcat
      * @since 2026/01/03
@@ -75,6 +80,16 @@ public class ConfigCacheProperties {
          * 是否启用统计
          */
         private boolean recordStats = true;
+
+        /**
+         * 是否启用异步刷新
+         */
+        private boolean refreshAfterWrite = true;
+
+        /**
+         * 异步刷新间隔（分钟）
+         */
+        private long refreshAfterWriteMinutes = 25;
     }
 
     @Data
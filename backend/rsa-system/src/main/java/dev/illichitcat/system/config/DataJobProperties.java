@@ -0,0 +1,52 @@
+package dev.illichitcat.system.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 后台导入导出任务配置
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "data-job")
+public class DataJobProperties {
+
+    /**
+     * 单实例同时执行的任务数，超出的任务排队等待
+     */
+    private int globalConcurrency = 4;
+
+    /**
+     * 单个用户同时进行中（排队或执行）的任务数，超出时拒绝提交
+     */
+    private int perUserConcurrency = 2;
+
+    /**
+     * 结果文件存储：auto（MinIO 可用时使用 MinIO，否则本地）、minio、local
+     */
+    private String storage = "auto";
+
+    /**
+     * 本地存储目录，同时用于暂存上传文件和生成中的结果文件
+     */
+    private String localDir = System.getProperty("java.io.tmpdir") + "/rsa-data-job";
+
+    /**
+     * 任务状态与结果文件保留时间（小时）
+     */
+    private long expireHours = 24;
+
+    /**
+     * 进度写入 Redis 的最小间隔（毫秒）
+     */
+    private long progressInterval = 1000;
+
+    /**
+     * 过期结果清理间隔（秒）
+     */
+    private long cleanupInterval = 3600;
+}
@@ -0,0 +1,120 @@
+package dev.illichitcat.system.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.illichitcat.common.common.properties.SecurityProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PatternParseException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 白名单URL匹配器
+ * <p>
+ * 将 security.ignore-urls 一次性编译为 PathPattern（不支持的写法回退到 AntPathMatcher），
+ * 并缓存最近的URI匹配结果；JwtInterceptor、PermissionInterceptor 与 SecurityConfig 共用。
+ * 配置重新绑定（列表被替换）或上下文刷新时自动重新编译。
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IgnoreUrlMatcher {
+
+    /**
+     * 最近URI匹配结果的缓存上限
+     */
+    private static final long RESULT_CACHE_SIZE = 4096;
+
+    private final SecurityProperties securityProps;
+
+    private final Cache<String, Boolean> results = Caffeine.newBuilder()
+            .maximumSize(RESULT_CACHE_SIZE)
+            .build();
+
+    private volatile Compiled compiled;
+
+    /**
+     * 判断URI是否在白名单中
+     *
+     * @param uri 请求URI
+     * @return 是否忽略认证/鉴权
+     */
+    public boolean matches(String uri) {
+        if (uri == null) {
+            return false;
+        }
+        Compiled current = compiled;
+        if (current == null || current.source != securityProps.getIgnoreUrls()) {
+            current = compile(false);
+        }
+        Compiled snapshot = current;
+        return results.get(uri, snapshot::matches);
+    }
+
+    /**
+     * 重新编译白名单并清空匹配结果缓存
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void reload() {
+        compile(true);
+    }
+
+    private synchronized Compiled compile(boolean force) {
+        List<String> source = securityProps.getIgnoreUrls();
+        if (!force && compiled != null && compiled.source == source) {
+            return compiled;
+        }
+        Compiled fresh = new Compiled(source);
+        compiled = fresh;
+        results.invalidateAll();
+        log.info("白名单URL已编译，规则数: {}", source.size());
+        return fresh;
+    }
+
+    /**
+     * 编译后的白名单规则
+     */
+    private static final class Compiled {
+
+        private final List<String> source;
+        private final List<Predicate<String>> matchers;
+
+        private Compiled(List<String> source) {
+            this.source = source;
+            this.matchers = new ArrayList<>(source.size());
+            PathPatternParser parser = new PathPatternParser();
+            AntPathMatcher antPathMatcher = new AntPathMatcher();
+            for (String pattern : source) {
+                try {
+                    PathPattern pathPattern = parser.parse(pattern);
+                    matchers.add(uri -> pathPattern.matches(PathContainer.parsePath(uri)));
+                } catch (PatternParseException e) {
+                    log.debug("白名单规则 {} 无法编译为 PathPattern，回退到 AntPathMatcher", pattern);
+                    matchers.add(uri -> antPathMatcher.match(pattern, uri));
+                }
+            }
+        }
+
+        private boolean matches(String uri) {
+            for (Predicate<String> matcher : matchers) {
+                if (matcher.test(uri)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -2,21 +2,19 @@ package dev.illichitcat.system.config;
 
 import dev.illichitcat.common.common.constant.ExceptionCodes;
 import dev.illichitcat.common.common.constant.JwtConstants;
-import dev.illichitcat.common.common.properties.SecurityProperties;
 import dev.illichitcat.common.exception.BizException;
 import dev.illichitcat.common.utils.JwtUtil;
+import dev.illichitcat.system.manager.TokenCacheManager;
 import dev.illichitcat.system.service.UserOnlineService;
 import dev.illichitcat.system.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import java.util.Collections;
@@ -34,10 +32,9 @@ public class JwtInterceptor implements HandlerInterceptor {
 
     private final JwtUtil jwtUtil;
     private final UserService userService;
-    private final StringRedisTemplate redisTemplate;
-    private final SecurityProperties securityProps;
+    private final TokenCacheManager tokenCacheManager;
+    private final IgnoreUrlMatcher ignoreUrlMatcher;
     private final UserOnlineService userOnlineService;
-    private final AntPathMatcher matcher = new AntPathMatcher();
     // 移除重复的常量，使用UserAgentConstants中的常量
 
     @Override
@@ -58,37 +55,26 @@ public class JwtInterceptor implements HandlerInterceptor {
             throw new BizException(ExceptionCodes.UNAUTHORIZED, "Token 缺失");
         }
 
-        /* 3. 统一 JWT 校验（含过期、签名、Redis 一致性） */
-        if (!jwtUtil.validateToken(token)) {
+        /* 3. 统一 JWT 校验（含过期、签名、Redis 一致性），整个请求只验签一次 */
+        JwtUtil.VerifiedClaims claims = jwtUtil.parseVerified(token);
+        if (claims == null) {
             throw new BizException(ExceptionCodes.UNAUTHORIZED, "Token 无效");
         }
 
-        Long userId = jwtUtil.getUserIdFromToken(token);
-        if (userService.selectUserById(userId) == null) {
+        Long userId = claims.getUserId();
+        if (userId == null || userService.selectUserById(userId) == null) {
             throw new BizException(ExceptionCodes.USER_NOT_FOUND, "用户不存在");
         }
 
-        /* 4. 单点登录一致性 */
-        String redisToken = redisTemplate.opsForValue().get(JwtConstants.USER_TOKEN_REDIS_PREFIX + userId);
-        if (redisToken == null) {
-            throw new BizException(ExceptionCodes.UNAUTHORIZED, "认证已失效，请重新登录");
-        }
-        if (!redisToken.equals(token)) {
+        /* 4. 单点登录一致性（本地缓存命中时无需访问Redis） */
+        if (!tokenCacheManager.isTokenActive(userId, token)) {
             throw new BizException(ExceptionCodes.UNAUTHORIZED, "认证已失效，请重新登录");
         }
 
         /* 5. 更新在线用户最后访问时间 */
         try {
-            // 通过token查找对应的sessionId
-            String sessionId = null;
-            java.util.Set<String> sessionKeys = redisTemplate.keys(JwtConstants.SESSION_TOKEN_REDIS_PREFIX + "*");
-            for (String key : sessionKeys) {
-                String storedToken = redisTemplate.opsForValue().get(key);
-                if (storedToken != null && storedToken.equals(token)) {
-                    sessionId = key.substring(JwtConstants.SESSION_TOKEN_REDIS_PREFIX.length());
-                    break;
-                }
-            }
+            // 通过 token -> 会话 反向索引查找对应的sessionId
+            String sessionId = userOnlineService.getSessionIdByToken(token, userId);
 
             if (sessionId != null) {
                 userOnlineService.updateLastAccessTime(sessionId);
@@ -102,8 +88,9 @@ public class JwtInterceptor implements HandlerInterceptor {
         UsernamePasswordAuthenticationToken auth =
                 new UsernamePasswordAuthenticationToken(userId, null, Collections.emptyList());
         SecurityContextHolder.getContext().setAuthentication(auth);
+        request.setAttribute(JwtConstants.CLAIMS_REQUEST_ATTRIBUTE, claims);
         request.setAttribute("userId", userId);
-        request.setAttribute("username", jwtUtil.getUsernameFromToken(token));
+        request.setAttribute("username", claims.getUsername());
         return true;
     }
 
@@ -134,7 +121,6 @@ public class JwtInterceptor implements HandlerInterceptor {
     }
 
     private boolean isIgnoreUrl(String uri) {
-        return securityProps.getIgnoreUrls().stream()
-                .anyMatch(pattern -> matcher.match(pattern, uri));
+        return ignoreUrlMatcher.matches(uri);
     }
 }
\ No newline at end of file
@@ -24,7 +24,7 @@ public class MenuCacheProperties {
      * 缓存键前缀
      */
     private String menuPrefix = "menu:";
-    private String userMenusPrefix = "user_menus:";
+    private String roleSetMenusPrefix = "role_set_menus:";
     private String roleMenusPrefix = "role_menus:";
 
     /**
@@ -42,6 +42,11 @@ public class MenuCacheProperties {
      */
     private Scheduled scheduled = new Scheduled();
 
+    /**
+     * 缓存穿透防护配置
+     */
+    private CachePenetrationProperties penetration = new CachePenetrationProperties();
+
     /**
      * @author Illichitcat
      * @since 2026/01/03
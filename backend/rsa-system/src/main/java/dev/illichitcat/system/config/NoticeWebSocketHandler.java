@@ -97,15 +97,16 @@ public class NoticeWebSocketHandler extends TextWebSocketHandler {
                     return;
                 }
 
-                // 验证 token
-                if (!jwtUtil.validateToken(token)) {
+                // 验证 token（一次验签同时取出声明）
+                JwtUtil.VerifiedClaims claims = jwtUtil.parseVerified(token);
+                if (claims == null) {
                     log.error("WebSocket连接失败：token无效，SessionID: {}", session.getId());
                     session.close();
                     return;
                 }
 
                 // 获取用户ID
-                Long userId = jwtUtil.getUserIdFromToken(token);
+                Long userId = claims.getUserId();
                 if (userId == null) {
                     log.error("WebSocket连接失败：无法从token获取用户ID，SessionID: {}", session.getId());
                     session.close();
@@ -0,0 +1,45 @@
+package dev.illichitcat.system.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 在线用户配置
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "online.user")
+public class OnlineUserProperties {
+
+    /**
+     * 最后访问时间写合并缓冲配置
+     */
+    private AccessBuffer accessBuffer = new AccessBuffer();
+
+    @Data
+    public static class AccessBuffer {
+        /**
+         * 是否启用写合并缓冲（关闭时每次请求同步写库）
+         */
+        private boolean enabled = true;
+
+        /**
+         * 刷新间隔（秒）
+         */
+        private long flushInterval = 10;
+
+        /**
+         * 单条批量 UPDATE 语句包含的最大会话数
+         */
+        private int batchSize = 500;
+
+        /**
+         * 在线会话Redis记录的续期时间（小时）
+         */
+        private long expireHours = 24;
+    }
+}
@@ -63,8 +63,12 @@ public class OperationLogAspect {
             log.setOperUrl(request.getRequestURI());
             log.setOperIp(IpUtils.getClientIp(request));
 
+            // 优先复用 JwtInterceptor 已校验的声明，避免再次验签
+            Object claims = request.getAttribute(JwtConstants.CLAIMS_REQUEST_ATTRIBUTE);
             String token = request.getHeader(JwtConstants.AUTHORIZATION_HEADER);
-            if (token != null && token.startsWith(JwtConstants.BEARER_TOKEN_TYPE)) {
+            if (claims instanceof JwtUtil.VerifiedClaims verifiedClaims) {
+                log.setOperName(verifiedClaims.getUsername());
+            } else if (token != null && token.startsWith(JwtConstants.BEARER_TOKEN_TYPE)) {
                 try {
                     String username = jwtUtil.getUsernameFromToken(token.substring(JwtConstants.TOKEN_EXTRACT_POSITION));
                     log.setOperName(username);
@@ -24,8 +24,8 @@ public class PermissionCacheProperties {
      * 缓存键前缀
      */
     private String permissionPrefix = "permission:";
-    private String userPermissionsPrefix = "user_permissions:";
-    private String userPermsPrefix = "user_perms:";
+    private String roleSetPermissionsPrefix = "role_set_permissions:";
+    private String roleSetPermsPrefix = "role_set_perms:";
     private String rolePermissionsPrefix = "role_permissions:";
 
     /**
@@ -43,6 +43,16 @@ public class PermissionCacheProperties {
      */
     private Scheduled scheduled = new Scheduled();
 
+    /**
+     * 缓存穿透防护配置
+     */
+    private CachePenetrationProperties penetration = new CachePenetrationProperties();
+
+    /**
+     * 权限位图（权限校验使用的本地位图缓存）配置
+     */
+    private Bitset bitset = new Bitset();
+
     /**
      * @author Illichitcat
      * @since 2026/01/03
@@ -115,4 +125,17 @@ public class PermissionCacheProperties {
          */
         private String warmUpCron = "0 0 4 * * ?";
     }
+
+    @Data
+    public static class Bitset {
+        /**
+         * 最多缓存的用户位图数
+         */
+        private long maximumUsers = 10000;
+
+        /**
+         * 写入后过期时间（分钟），即变更广播丢失时的最大陈旧时间
+         */
+        private long expireAfterWrite = 30;
+    }
 }
\ No newline at end of file
@@ -1,20 +1,16 @@
 package dev.illichitcat.system.config;
 
 import dev.illichitcat.common.common.constant.ExceptionCodes;
-import dev.illichitcat.common.common.properties.SecurityProperties;
 import dev.illichitcat.common.exception.AuthException;
+import dev.illichitcat.system.manager.PermissionBitsetManager;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 
-import java.lang.reflect.Method;
-
 /**
  * 权限检查拦截器
  *
@@ -26,10 +22,9 @@ import java.lang.reflect.Method;
 @Slf4j
 public class PermissionInterceptor implements HandlerInterceptor {
 
-    private final StringRedisTemplate redisTemplate;
-    private final SecurityProperties securityProps;
-
-    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final PermissionBitsetManager permissionBitsetManager;
+    private final IgnoreUrlMatcher ignoreUrlMatcher;
+    private final PermissionRegistry permissionRegistry;
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
@@ -38,30 +33,15 @@ public class PermissionInterceptor implements HandlerInterceptor {
             return true;
         }
 
-        // 对于Swagger等特殊路径，直接放行
-        String uri = request.getRequestURI();
-        if (isIgnoreUrl(uri)) {
-            return true;
-        }
-
-        HandlerMethod handlerMethod = (HandlerMethod) handler;
-        Method method = handlerMethod.getMethod();
-
-        // 检查是否有RequirePermission注解
-        RequirePermission requirePermission = method.getAnnotation(RequirePermission.class);
-        if (requirePermission == null) {
-            // 检查类上是否有RequirePermission注解
-            requirePermission = method.getDeclaringClass().getAnnotation(RequirePermission.class);
-        }
-
-        // 如果没有权限注解，直接放行
-        if (requirePermission == null) {
+        // 从启动时预先解析的注册表获取所需权限，没有权限注解时直接放行
+        String permission = permissionRegistry.getRequiredPermission((HandlerMethod) handler);
+        if (permission == null) {
             return true;
         }
 
-        // 获取需要的权限
-        String permission = requirePermission.value();
-        if (permission == null || permission.isEmpty()) {
+        // 对于Swagger等特殊路径，直接放行
+        String uri = request.getRequestURI();
+        if (isIgnoreUrl(uri)) {
             return true;
         }
 
@@ -71,11 +51,10 @@ public class PermissionInterceptor implements HandlerInterceptor {
             throw new AuthException(ExceptionCodes.UNAUTHORIZED, "用户未登录");
         }
 
-        String key = "user_perms:" + userId;
-        Boolean hasPermission = redisTemplate.opsForSet().isMember(key, permission);
+        boolean hasPermission = permissionBitsetManager.hasPermission(userId, permission);
         log.debug("权限检查: 用户ID={}, 需要权限={}, 是否有权限={}", userId, permission, hasPermission);
 
-        if (Boolean.FALSE.equals(hasPermission)) {
+        if (!hasPermission) {
             throw new AuthException(ExceptionCodes.FORBIDDEN, "用户权限不足");
         }
 
@@ -83,7 +62,6 @@ public class PermissionInterceptor implements HandlerInterceptor {
     }
 
     private boolean isIgnoreUrl(String uri) {
-        return securityProps.getIgnoreUrls().stream()
-                .anyMatch(pattern -> matcher.match(pattern, uri));
+        return ignoreUrlMatcher.matches(uri);
     }
 }
\ No newline at end of file
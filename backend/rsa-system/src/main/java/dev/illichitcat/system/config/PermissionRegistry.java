@@ -0,0 +1,131 @@
+package dev.illichitcat.system.config;
+
+import dev.illichitcat.system.model.vo.PermissionRouteVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 接口权限注册表
+ * <p>
+ * 启动时从所有 RequestMappingHandlerMapping 中预先解析每个处理方法所需的 {@link RequirePermission}，
+ * 以 Method 对象为键（按引用比较）存入只读表，请求时无需再反射读取注解
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PermissionRegistry implements SmartInitializingSingleton {
+
+    /**
+     * 无需权限的占位值
+     */
+    private static final String NONE = "";
+
+    private final ApplicationContext applicationContext;
+
+    /**
+     * 处理方法 -> 所需权限（NONE 表示无需权限）
+     */
+    private volatile Map<Method, String> permissions = Collections.emptyMap();
+
+    /**
+     * 启动后才出现的处理方法（如动态注册的接口）按需解析的结果
+     */
+    private final Map<Method, String> lateResolved = new ConcurrentHashMap<>();
+
+    private volatile List<PermissionRouteVO> routes = Collections.emptyList();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<Method, String> table = new IdentityHashMap<>();
+        List<PermissionRouteVO> protectedRoutes = new ArrayList<>();
+
+        Map<String, RequestMappingHandlerMapping> mappings =
+                applicationContext.getBeansOfType(RequestMappingHandlerMapping.class);
+        for (RequestMappingHandlerMapping mapping : mappings.values()) {
+            for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : mapping.getHandlerMethods().entrySet()) {
+                HandlerMethod handlerMethod = entry.getValue();
+                String permission = resolve(handlerMethod.getMethod());
+                table.put(handlerMethod.getMethod(), permission);
+                if (!NONE.equals(permission)) {
+                    protectedRoutes.add(toRoute(entry.getKey(), handlerMethod, permission));
+                }
+            }
+        }
+
+        protectedRoutes.sort(Comparator.comparing(route -> String.join(",", route.getPatterns())));
+        this.permissions = Collections.unmodifiableMap(table);
+        this.routes = Collections.unmodifiableList(protectedRoutes);
+        log.info("接口权限注册表初始化完成，处理方法数: {}, 受保护接口数: {}", table.size(), protectedRoutes.size());
+    }
+
+    /**
+     * 获取处理方法所需的权限标识
+     *
+     * @param handlerMethod 处理方法
+     * @return 权限标识，无需权限时返回 null
+     */
+    public String getRequiredPermission(HandlerMethod handlerMethod) {
+        Method method = handlerMethod.getMethod();
+        String permission = permissions.get(method);
+        if (permission == null) {
+            permission = lateResolved.computeIfAbsent(method, PermissionRegistry::resolve);
+        }
+        return NONE.equals(permission) ? null : permission;
+    }
+
+    /**
+     * 获取所有受权限保护的接口路由
+     *
+     * @return 路由列表（只读）
+     */
+    public List<PermissionRouteVO> getProtectedRoutes() {
+        return routes;
+    }
+
+    /**
+     * 解析方法所需权限，方法上的注解优先于类上的注解
+     */
+    private static String resolve(Method method) {
+        RequirePermission requirePermission = method.getAnnotation(RequirePermission.class);
+        if (requirePermission == null) {
+            requirePermission = method.getDeclaringClass().getAnnotation(RequirePermission.class);
+        }
+        if (requirePermission == null || requirePermission.value().isEmpty()) {
+            return NONE;
+        }
+        return requirePermission.value();
+    }
+
+    private static PermissionRouteVO toRoute(RequestMappingInfo info, HandlerMethod handlerMethod, String permission) {
+        PermissionRouteVO route = new PermissionRouteVO();
+        TreeSet<String> methods = new TreeSet<>();
+        for (RequestMethod requestMethod : info.getMethodsCondition().getMethods()) {
+            methods.add(requestMethod.name());
+        }
+        route.setMethods(methods);
+        route.setPatterns(new TreeSet<>(info.getPatternValues()));
+        route.setHandler(handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName());
+        route.setPermission(permission);
+        return route;
+    }
+}
@@ -43,6 +43,11 @@ public class RoleCacheProperties {
      */
     private Scheduled scheduled = new Scheduled();
 
+    /**
+     * 缓存穿透防护配置
+     */
+    private CachePenetrationProperties penetration = new CachePenetrationProperties();
+
     /**
      * @author Illichitcat
      * @since 2026/01/10
@@ -1,8 +1,12 @@
 package dev.illichitcat.system.dao.mapper;
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
 import dev.illichitcat.system.model.entity.OperLog;
-import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
 
 /**
  * 操作日志 Mapper
@@ -12,4 +16,18 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface OperLogMapper extends BaseMapper<OperLog> {
+
+    /**
+     * 流式查询操作日志
+     * <p>
+     * 以只进游标逐行回调，不在内存中组装结果集；fetchSize 为 Integer.MIN_VALUE 时
+     * MySQL 驱动按行流式读取
+     *
+     * @param queryWrapper 查询条件
+     * @param handler      行处理器
+     */
+    @Select("SELECT * FROM sys_oper_log ${ew.customSqlSegment}")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(OperLog.class)
+    void selectStream(@Param(Constants.WRAPPER) Wrapper<OperLog> queryWrapper, ResultHandler<OperLog> handler);
 }
@@ -64,4 +64,36 @@ public interface PermissionMapper extends BaseMapper<Permission> {
             "INNER JOIN sys_user_role ur ON rp.role_id = ur.role_id " +
             "WHERE ur.user_id = #{userId}")
     List<String> selectPermsByUserId(@Param("userId") Long userId);
-}
\ No newline at end of file
+
+    /**
+     * 根据角色ID列表查询权限列表（去重）
+     *
+     * @param roleIds 角色ID列表
+     * @return List<Permission>
+     */
+    @Select("<script>" +
+            "SELECT DISTINCT p.* FROM sys_permission p " +
+            "INNER JOIN sys_role_perm rp ON p.id = rp.perm_id " +
+            "WHERE rp.role_id IN " +
+            "<foreach collection='roleIds' item='roleId' open='(' separator=',' close=')'>" +
+            "#{roleId}" +
+            "</foreach>" +
+            "</script>")
+    List<Permission> selectPermissionsByRoleIds(@Param("roleIds") List<Long> roleIds);
+
+    /**
+     * 根据角色ID列表查询权限标识列表（去重）
+     *
+     * @param roleIds 角色ID列表
+     * @return List<String>
+     */
+    @Select("<script>" +
+            "SELECT DISTINCT p.perm FROM sys_permission p " +
+            "INNER JOIN sys_role_perm rp ON p.id = rp.perm_id " +
+            "WHERE rp.role_id IN " +
+            "<foreach collection='roleIds' item='roleId' open='(' separator=',' close=')'>" +
+            "#{roleId}" +
+            "</foreach>" +
+            "</script>")
+    List<String> selectPermsByRoleIds(@Param("roleIds") List<Long> roleIds);
+}
@@ -1,11 +1,13 @@
 package dev.illichitcat.system.dao.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import dev.illichitcat.system.model.dto.UserRoleDetailDTO;
 import dev.illichitcat.system.model.entity.Role;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -27,4 +29,21 @@ public interface RoleMapper extends BaseMapper<Role> {
             "INNER JOIN sys_user_role ur ON r.id = ur.role_id " +
             "WHERE ur.user_id = #{userId}")
     List<Role> selectRolesByUserId(@Param("userId") Long userId);
-}
\ No newline at end of file
+
+    /**
+     * 根据用户ID集合批量查询用户角色，一次关联查询返回所有用户与角色的对应关系
+     *
+     * @param userIds 用户ID集合
+     * @return 用户角色关联列表，按用户ID、角色排序
+     */
+    @Select("<script>" +
+            "SELECT ur.user_id, r.* FROM sys_user_role ur " +
+            "INNER JOIN sys_role r ON r.id = ur.role_id AND r.del_flag = 0 " +
+            "WHERE ur.user_id IN " +
+            "<foreach collection='userIds' item='userId' open='(' separator=',' close=')'>" +
+            "#{userId}" +
+            "</foreach>" +
+            " ORDER BY ur.user_id, r.sort, r.id" +
+            "</script>")
+    List<UserRoleDetailDTO> selectUserRolesByUserIds(@Param("userIds") Collection<Long> userIds);
+}
@@ -57,4 +57,12 @@ public interface UserOnlineMapper extends BaseMapper<UserOnline> {
      * @return 更新结果
      */
     int updateLastTime(@Param("sessionId") String sessionId, @Param("lastTime") LocalDateTime lastTime);
+
+    /**
+     * 批量更新最后访问时间（单条 UPDATE ... CASE 语句）
+     *
+     * @param sessions 会话列表（仅使用 id 与 lastTime）
+     * @return 更新结果
+     */
+    int batchUpdateLastTime(@Param("sessions") List<UserOnline> sessions);
 }
\ No newline at end of file
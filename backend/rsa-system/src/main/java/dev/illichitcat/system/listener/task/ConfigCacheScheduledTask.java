@@ -10,6 +10,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -32,7 +34,13 @@ public class ConfigCacheScheduledTask {
     private ConfigCacheProperties cacheProperties;
 
     /**
-     * 定时检查配置更新情况，刷新缓存
+     * 变更检测水位线：取自数据库更新时间，首次检测覆盖数据库最近一次变更前的一个检测周期
+     */
+    private final UpdateTimeWatermark watermark = new UpdateTimeWatermark(Duration.ofMinutes(15));
+
+    /**
+     * 定时检查配置更新情况，仅清除水位线之后有变更的配置缓存
+     * 不限制状态和删除标记，禁用或删除的配置同样需要失效
      */
     @Scheduled(cron = "#{${config.cache.scheduled.enabled} ? '0 */15 * * * ?' : '-'}")
     public void refreshConfigCache() {
@@ -41,19 +49,41 @@ public class ConfigCacheScheduledTask {
                 return;
             }
 
-            log.info("开始定时刷新系统配置缓存");
-
-            // 获取所有启用的配置
+            // 只查询水位线（减去重叠窗口）之后变更且尚未处理过的配置
+            LocalDateTime since = watermark.since(() -> {
+                List<Config> latest = configMapper.selectList(new LambdaQueryWrapper<Config>()
+                        .select(Config::getUpdateTime)
+                        .orderByDesc(Config::getUpdateTime)
+                        .last("LIMIT 1"));
+                return latest.isEmpty() ? null : latest.getFirst().getUpdateTime();
+            });
+            if (since == null) {
+                return;
+            }
             LambdaQueryWrapper<Config> wrapper = new LambdaQueryWrapper<>();
-            wrapper.eq(Config::getStatus, 1)
-                    .eq(Config::getDelFlag, 0);
-            List<Config> configList = configMapper.selectList(wrapper);
-            if (configList.isEmpty()) {
-                log.info("没有配置数据需要刷新");
+            wrapper.select(Config::getId, Config::getConfigKey, Config::getUpdateTime)
+                    .gt(Config::getUpdateTime, since);
+            List<Config> changedList = configMapper.selectList(wrapper).stream()
+                    .filter(config -> watermark.isUnprocessed(config.getId(), config.getUpdateTime()))
+                    .toList();
+            if (changedList.isEmpty()) {
+                log.debug("系统配置无变更, since={}", since);
                 return;
             }
 
-            log.info("定时刷新系统配置缓存完成, 总配置数={}", configList.size());
+            for (Config config : changedList) {
+                try {
+                    // 清除配置对象和配置值缓存，下次访问时会重新加载
+                    configCacheService.evictConfigCache(config.getConfigKey());
+                    configCacheService.evictConfigValueCache(config.getConfigKey());
+                    log.debug("刷新系统配置缓存, configId={}, configKey={}", config.getId(), config.getConfigKey());
+                } catch (Exception e) {
+                    log.error("刷新系统配置缓存失败, configId={}, configKey={}", config.getId(), config.getConfigKey(), e);
+                }
+                watermark.markProcessed(config.getId(), config.getUpdateTime());
+            }
+
+            log.info("定时刷新系统配置缓存完成, 变更配置数={}, watermark={}", changedList.size(), watermark.current());
         } catch (Exception e) {
             log.error("定时刷新系统配置缓存失败", e);
         }
@@ -1,5 +1,6 @@
 package dev.illichitcat.system.listener.task;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import dev.illichitcat.system.config.DictCacheProperties;
 import dev.illichitcat.system.model.entity.Dict;
 import dev.illichitcat.system.service.DictCacheService;
@@ -9,8 +10,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 /**
@@ -33,7 +34,13 @@ public class DictCacheScheduledTask {
     private DictCacheProperties cacheProperties;
 
     /**
-     * 定时检查字典更新情况，刷新缓存
+     * 变更检测水位线：取自数据库更新时间，首次检测覆盖数据库最近一次变更前的一个检测周期
+     */
+    private final UpdateTimeWatermark watermark = new UpdateTimeWatermark(Duration.ofMinutes(10));
+
+    /**
+     * 定时检查字典更新情况，仅清除水位线之后有变更的字典缓存
+     * 热点字典由一级缓存提前刷新（refresh-after-write）保持新鲜，这里只负责兜底其他节点直接改库的变更
      */
     @Scheduled(cron = "#{${dict.cache.scheduled.enabled} ? '0 */10 * * * ?' : '-'}")
     public void refreshDictCache() {
@@ -42,33 +49,41 @@ public class DictCacheScheduledTask {
                 return;
             }
 
-            log.info("开始定时刷新字典缓存");
-
-            // 获取所有字典
-            List<Dict> dictList = dictService.list();
-            if (dictList.isEmpty()) {
-                log.info("没有字典数据需要刷新");
+            // 只查询水位线（减去重叠窗口）之后变更且尚未处理过的字典
+            LocalDateTime since = watermark.since(() -> {
+                Dict latest = dictService.getOne(new LambdaQueryWrapper<Dict>()
+                        .select(Dict::getUpdateTime)
+                        .orderByDesc(Dict::getUpdateTime)
+                        .last("LIMIT 1"), false);
+                return latest != null ? latest.getUpdateTime() : null;
+            });
+            if (since == null) {
+                return;
+            }
+            List<Dict> changedList = dictService.list(new LambdaQueryWrapper<Dict>()
+                    .select(Dict::getId, Dict::getDictCode, Dict::getUpdateTime)
+                    .gt(Dict::getUpdateTime, since))
+                    .stream()
+                    .filter(dict -> watermark.isUnprocessed(dict.getId(), dict.getUpdateTime()))
+                    .toList();
+            if (changedList.isEmpty()) {
+                log.debug("字典无变更, since={}", since);
                 return;
             }
 
-            int refreshedCount = 0;
-            for (Dict dict : dictList) {
+            for (Dict dict : changedList) {
                 try {
-                    // 检查字典是否需要刷新
-                    if (shouldRefreshDict(dict)) {
-                        // 清除缓存，下次访问时会重新加载
-                        dictCacheService.evictDictCache(dict.getId());
-                        dictCacheService.evictDictCache(dict.getDictCode());
-                        refreshedCount++;
-
-                        log.debug("刷新字典缓存, dictId={}, dictCode={}", dict.getId(), dict.getDictCode());
-                    }
+                    // 清除缓存，下次访问时会重新加载
+                    dictCacheService.evictDictCache(dict.getId());
+                    dictCacheService.evictDictCache(dict.getDictCode());
+                    log.debug("刷新字典缓存, dictId={}, dictCode={}", dict.getId(), dict.getDictCode());
                 } catch (Exception e) {
                     log.error("刷新字典缓存失败, dictId={}, dictCode={}", dict.getId(), dict.getDictCode(), e);
                 }
+                watermark.markProcessed(dict.getId(), dict.getUpdateTime());
             }
 
-            log.info("定时刷新字典缓存完成, 总字典数={}, 刷新数={}", dictList.size(), refreshedCount);
+            log.info("定时刷新字典缓存完成, 变更字典数={}, watermark={}", changedList.size(), watermark.current());
         } catch (Exception e) {
             log.error("定时刷新字典缓存失败", e);
         }
@@ -91,26 +106,4 @@ public class DictCacheScheduledTask {
             log.error("字典缓存预热任务失败", e);
         }
     }
-
-    /**
-     * 判断字典是否需要刷新
-     *
-     * @param dict 字典对象
-     * @return 是否需要刷新
-     */
-    private boolean shouldRefreshDict(Dict dict) {
-        if (dict == null) {
-            return false;
-        }
-
-        // 检查字典是否在时间窗口内有更新
-        if (dict.getUpdateTime() != null) {
-            LocalDateTime updateTime = dict.getUpdateTime();
-            LocalDateTime now = LocalDateTime.now();
-            long minutesBetween = ChronoUnit.MINUTES.between(updateTime, now);
-            return minutesBetween <= 10;
-        }
-
-        return false;
-    }
-}
\ No newline at end of file
+}
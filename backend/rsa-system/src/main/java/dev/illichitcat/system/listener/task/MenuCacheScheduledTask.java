@@ -1,5 +1,6 @@
 package dev.illichitcat.system.listener.task;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import dev.illichitcat.system.config.MenuCacheProperties;
 import dev.illichitcat.system.model.entity.Menu;
 import dev.illichitcat.system.service.MenuCacheService;
@@ -9,8 +10,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 /**
@@ -33,7 +34,13 @@ public class MenuCacheScheduledTask {
     private MenuCacheProperties cacheProperties;
 
     /**
-     * 定时检查菜单更新情况，刷新缓存
+     * 变更检测水位线：取自数据库更新时间，首次检测覆盖数据库最近一次变更前的一个检测周期
+     */
+    private final UpdateTimeWatermark watermark = new UpdateTimeWatermark(Duration.ofMinutes(15));
+
+    /**
+     * 定时检查菜单更新情况，水位线之后有菜单变更时清除所有菜单缓存
+     * 菜单缓存按用户、角色聚合，单个菜单变更会影响多个键，因此只判断是否有变更并整体失效
      */
     @Scheduled(cron = "#{${menu.cache.scheduled.enabled} ? '0 */15 * * * ?' : '-'}")
     public void refreshMenuCache() {
@@ -42,33 +49,33 @@ public class MenuCacheScheduledTask {
                 return;
             }
 
-            log.info("开始定时刷新菜单缓存");
-
-            // 获取所有菜单
-            List<Menu> menuList = menuService.list();
-            if (menuList.isEmpty()) {
-                log.info("没有菜单数据需要刷新");
+            // 只查询水位线（减去重叠窗口）之后变更且尚未处理过的菜单
+            LocalDateTime since = watermark.since(() -> {
+                Menu latest = menuService.getOne(new LambdaQueryWrapper<Menu>()
+                        .select(Menu::getUpdateTime)
+                        .orderByDesc(Menu::getUpdateTime)
+                        .last("LIMIT 1"), false);
+                return latest != null ? latest.getUpdateTime() : null;
+            });
+            if (since == null) {
                 return;
             }
-
-            int refreshedCount = 0;
-            for (Menu menu : menuList) {
-                try {
-                    // 检查菜单是否需要刷新
-                    if (shouldRefreshMenu(menu)) {
-                        // 清除所有菜单缓存，下次访问时会重新加载
-                        menuCacheService.evictAllMenuCache();
-                        refreshedCount++;
-                        log.debug("刷新菜单缓存, menuId={}, menuName={}", menu.getId(), menu.getName());
-                        // 找到一个需要刷新的菜单就清除所有缓存，然后退出循环
-                        break;
-                    }
-                } catch (Exception e) {
-                    log.error("刷新菜单缓存失败, menuId={}, menuName={}", menu.getId(), menu.getName(), e);
-                }
+            List<Menu> changedList = menuService.list(new LambdaQueryWrapper<Menu>()
+                    .select(Menu::getId, Menu::getName, Menu::getUpdateTime)
+                    .gt(Menu::getUpdateTime, since))
+                    .stream()
+                    .filter(menu -> watermark.isUnprocessed(menu.getId(), menu.getUpdateTime()))
+                    .toList();
+            if (changedList.isEmpty()) {
+                log.debug("菜单无变更, since={}", since);
+                return;
             }
 
-            log.info("定时刷新菜单缓存完成, 总菜单数={}, 刷新数={}", menuList.size(), refreshedCount);
+            // 清除所有菜单缓存，下次访问时会重新加载
+            menuCacheService.evictAllMenuCache();
+            changedList.forEach(menu -> watermark.markProcessed(menu.getId(), menu.getUpdateTime()));
+
+            log.info("定时刷新菜单缓存完成, 变更菜单数={}, watermark={}", changedList.size(), watermark.current());
         } catch (Exception e) {
             log.error("定时刷新菜单缓存失败", e);
         }
@@ -91,26 +98,4 @@ public class MenuCacheScheduledTask {
             log.error("菜单缓存预热任务失败", e);
         }
     }
-
-    /**
-     * 判断菜单是否需要刷新
-     *
-     * @param menu 菜单对象
-     * @return 是否需要刷新
-     */
-    private boolean shouldRefreshMenu(Menu menu) {
-        if (menu == null) {
-            return false;
-        }
-
-        // 检查菜单是否在时间窗口内有更新
-        if (menu.getUpdateTime() != null) {
-            LocalDateTime updateTime = menu.getUpdateTime();
-            LocalDateTime now = LocalDateTime.now();
-            long minutesBetween = ChronoUnit.MINUTES.between(updateTime, now);
-            return minutesBetween <= 15;
-        }
-
-        return false;
-    }
-}
\ No newline at end of file
+}
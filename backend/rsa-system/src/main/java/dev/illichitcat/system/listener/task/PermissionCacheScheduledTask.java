@@ -11,6 +11,7 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * 权限缓存定时任务
@@ -32,7 +33,14 @@ public class PermissionCacheScheduledTask {
     private PermissionCacheProperties cacheProperties;
 
     /**
-     * 定时检查权限更新情况，刷新缓存
+     * 上次检测到的权限数据指纹，null 表示尚未建立基线
+     */
+    private volatile Long fingerprint;
+
+    /**
+     * 定时检查权限更新情况，权限数据指纹变化时清除所有权限缓存
+     * sys_permission 没有 update_time 列，无法按水位线增量查询，改为只投影 id、perm、menu_id 计算指纹；
+     * 热点权限缓存由一级缓存提前刷新（refresh-after-write）保持新鲜
      */
     @Scheduled(cron = "#{${permission.cache.scheduled.enabled} ? '0 */15 * * * ?' : '-'}")
     public void refreshPermissionCache() {
@@ -41,17 +49,25 @@ public class PermissionCacheScheduledTask {
                 return;
             }
 
-            log.info("开始定时刷新权限缓存");
-
-            // 获取所有权限
             LambdaQueryWrapper<Permission> wrapper = new LambdaQueryWrapper<>();
+            wrapper.select(Permission::getId, Permission::getPerm, Permission::getMenuId)
+                    .orderByAsc(Permission::getId);
             List<Permission> permissionList = permissionMapper.selectList(wrapper);
-            if (permissionList.isEmpty()) {
-                log.info("没有权限数据需要刷新");
+            long current = 1;
+            for (Permission permission : permissionList) {
+                current = 31 * current + Objects.hash(permission.getId(), permission.getPerm(), permission.getMenuId());
+            }
+
+            Long previous = fingerprint;
+            fingerprint = current;
+            if (previous == null || previous == current) {
+                log.debug("权限无变更, 总权限数={}", permissionList.size());
                 return;
             }
 
-            log.info("定时刷新权限缓存完成, 总权限数={}", permissionList.size());
+            // 清除所有权限缓存，下次访问时会重新加载
+            permissionCacheService.evictAllPermissionCache();
+            log.info("定时刷新权限缓存完成, 权限数据已变更, 总权限数={}", permissionList.size());
         } catch (Exception e) {
             log.error("定时刷新权限缓存失败", e);
         }
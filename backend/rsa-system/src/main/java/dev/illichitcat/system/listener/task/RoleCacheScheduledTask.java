@@ -1,5 +1,6 @@
 package dev.illichitcat.system.listener.task;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import dev.illichitcat.system.config.RoleCacheProperties;
 import dev.illichitcat.system.model.entity.Role;
 import dev.illichitcat.system.service.RoleCacheService;
@@ -9,8 +10,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 /**
@@ -33,7 +34,13 @@ public class RoleCacheScheduledTask {
     private RoleCacheProperties cacheProperties;
 
     /**
-     * 定时检查角色更新情况，刷新缓存
+     * 变更检测水位线：取自数据库更新时间，首次检测覆盖数据库最近一次变更前的一个检测周期
+     */
+    private final UpdateTimeWatermark watermark = new UpdateTimeWatermark(Duration.ofMinutes(15));
+
+    /**
+     * 定时检查角色更新情况，仅清除水位线之后有变更的角色缓存
+     * 热点角色由一级缓存提前刷新（refresh-after-write）保持新鲜，这里只负责兜底其他节点直接改库的变更
      */
     @Scheduled(cron = "#{${role.cache.scheduled.enabled} ? '0 */15 * * * ?' : '-'}")
     public void refreshRoleCache() {
@@ -42,35 +49,43 @@ public class RoleCacheScheduledTask {
                 return;
             }
 
-            log.info("开始定时刷新角色缓存");
-
-            // 获取所有角色
-            List<Role> roleList = roleService.list();
-            if (roleList.isEmpty()) {
-                log.info("没有角色数据需要刷新");
+            // 只查询水位线（减去重叠窗口）之后变更且尚未处理过的角色
+            LocalDateTime since = watermark.since(() -> {
+                Role latest = roleService.getOne(new LambdaQueryWrapper<Role>()
+                        .select(Role::getUpdateTime)
+                        .orderByDesc(Role::getUpdateTime)
+                        .last("LIMIT 1"), false);
+                return latest != null ? latest.getUpdateTime() : null;
+            });
+            if (since == null) {
+                return;
+            }
+            List<Role> changedList = roleService.list(new LambdaQueryWrapper<Role>()
+                    .select(Role::getId, Role::getCode, Role::getUpdateTime)
+                    .gt(Role::getUpdateTime, since))
+                    .stream()
+                    .filter(role -> watermark.isUnprocessed(role.getId(), role.getUpdateTime()))
+                    .toList();
+            if (changedList.isEmpty()) {
+                log.debug("角色无变更, since={}", since);
                 return;
             }
 
-            int refreshedCount = 0;
-            for (Role role : roleList) {
+            for (Role role : changedList) {
                 try {
-                    // 检查角色是否需要刷新
-                    if (shouldRefreshRole(role)) {
-                        // 清除缓存，下次访问时会重新加载
-                        roleCacheService.evictRoleCache(role.getId());
-                        if (role.getCode() != null) {
-                            roleCacheService.evictRoleCache(role.getCode());
-                        }
-                        refreshedCount++;
-
-                        log.debug("刷新角色缓存, roleId={}, roleCode={}", role.getId(), role.getCode());
+                    // 清除缓存，下次访问时会重新加载
+                    roleCacheService.evictRoleCache(role.getId());
+                    if (role.getCode() != null) {
+                        roleCacheService.evictRoleCache(role.getCode());
                     }
+                    log.debug("刷新角色缓存, roleId={}, roleCode={}", role.getId(), role.getCode());
                 } catch (Exception e) {
                     log.error("刷新角色缓存失败, roleId={}, roleCode={}", role.getId(), role.getCode(), e);
                 }
+                watermark.markProcessed(role.getId(), role.getUpdateTime());
             }
 
-            log.info("定时刷新角色缓存完成, 总角色数={}, 刷新数={}", roleList.size(), refreshedCount);
+            log.info("定时刷新角色缓存完成, 变更角色数={}, watermark={}", changedList.size(), watermark.current());
         } catch (Exception e) {
             log.error("定时刷新角色缓存失败", e);
         }
@@ -93,26 +108,4 @@ public class RoleCacheScheduledTask {
             log.error("角色缓存预热任务失败", e);
         }
     }
-
-    /**
-     * 判断角色是否需要刷新
-     *
-     * @param role 角色对象
-     * @return 是否需要刷新
-     */
-    private boolean shouldRefreshRole(Role role) {
-        if (role == null) {
-            return false;
-        }
-
-        // 检查角色是否在时间窗口内有更新
-        if (role.getUpdateTime() != null) {
-            LocalDateTime updateTime = role.getUpdateTime();
-            LocalDateTime now = LocalDateTime.now();
-            long minutesBetween = ChronoUnit.MINUTES.between(updateTime, now);
-            return minutesBetween <= 15;
-        }
-
-        return false;
-    }
-}
\ No newline at end of file
+}
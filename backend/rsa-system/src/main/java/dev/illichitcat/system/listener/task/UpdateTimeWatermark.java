@@ -0,0 +1,97 @@
+package dev.illichitcat.system.listener.task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 基于 update_time 的变更检测水位线
+ * <p>
+ * 水位线取自数据库中的更新时间而不是本机时钟；每次查询在水位线基础上回退一个重叠窗口，
+ * 覆盖晚提交但更新时间较早的行以及节点与数据库之间的时钟偏差；
+ * 重叠窗口内已处理过的变更（ID + 更新时间）不再重复处理
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+final class UpdateTimeWatermark {
+
+    /**
+     * 重叠窗口
+     */
+    static final Duration OVERLAP = Duration.ofMinutes(5);
+
+    /**
+     * 首次检测时从数据库最大更新时间回看的时长
+     */
+    private final Duration initialLookback;
+
+    /**
+     * 已处理变更中的最大更新时间，首次检测前为空
+     */
+    private LocalDateTime watermark;
+
+    /**
+     * 重叠窗口内已处理的变更：ID -> 更新时间
+     */
+    private final Map<Object, LocalDateTime> processed = new HashMap<>();
+
+    UpdateTimeWatermark(Duration initialLookback) {
+        this.initialLookback = initialLookback;
+    }
+
+    /**
+     * 获取本次查询的起始时间（水位线减去重叠窗口）
+     * 首次调用时以数据库中的最大更新时间减去首次回看时长初始化水位线
+     *
+     * @param latestLoader 查询数据库中的最大更新时间，表为空时返回 null
+     * @return 查询起始时间，表为空时返回 null
+     */
+    synchronized LocalDateTime since(Supplier<LocalDateTime> latestLoader) {
+        if (watermark == null) {
+            LocalDateTime latest = latestLoader.get();
+            if (latest == null) {
+                return null;
+            }
+            watermark = latest.minus(initialLookback);
+        }
+        return watermark.minus(OVERLAP);
+    }
+
+    /**
+     * 是否为尚未处理过的变更
+     *
+     * @param id         行ID
+     * @param updateTime 更新时间
+     * @return 是否需要处理
+     */
+    synchronized boolean isUnprocessed(Object id, LocalDateTime updateTime) {
+        return updateTime != null && !updateTime.equals(processed.get(id));
+    }
+
+    /**
+     * 记录已处理的变更并推进水位线，清理已移出重叠窗口的记录
+     *
+     * @param id         行ID
+     * @param updateTime 更新时间
+     */
+    synchronized void markProcessed(Object id, LocalDateTime updateTime) {
+        processed.put(id, updateTime);
+        if (watermark == null || updateTime.isAfter(watermark)) {
+            watermark = updateTime;
+        }
+        LocalDateTime floor = watermark.minus(OVERLAP);
+        processed.values().removeIf(time -> !time.isAfter(floor));
+    }
+
+    /**
+     * 当前水位线
+     *
+     * @return 水位线
+     */
+    synchronized LocalDateTime current() {
+        return watermark;
+    }
+}
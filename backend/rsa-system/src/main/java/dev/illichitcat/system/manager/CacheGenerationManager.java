@@ -0,0 +1,41 @@
+package dev.illichitcat.system.manager;
+
+/**
+ * 缓存代数管理器接口
+ * 每个缓存命名空间在 Redis 中维护一个代数，二级缓存键格式为 {@code 命名空间:g代数:原始键}，
+ * 批量清除缓存时只需递增代数，旧代数的键由过期时间或后台清理任务回收
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+public interface CacheGenerationManager {
+
+    /**
+     * 代数计数器在 Redis 中的键前缀（清空 Redis 等批量删除操作须跳过这些键）
+     */
+    String GENERATION_KEY_PREFIX = "cache:generation:";
+
+    /**
+     * 生成带代数的 Redis 键
+     *
+     * @param namespace 命名空间
+     * @param key       原始键
+     * @return 带代数的 Redis 键
+     */
+    String versionedKey(String namespace, String key);
+
+    /**
+     * 递增命名空间代数（使该命名空间下所有旧键立即失效），并在后台清理旧代数的键
+     *
+     * @param namespace 命名空间
+     * @return 新代数
+     */
+    long advance(String namespace);
+
+    /**
+     * 从 Redis 重新读取命名空间代数（收到其他节点的清空广播时调用）
+     *
+     * @param namespace 命名空间
+     */
+    void refresh(String namespace);
+}
@@ -0,0 +1,56 @@
+package dev.illichitcat.system.manager;
+
+import java.util.Collection;
+
+/**
+ * 缓存失效广播管理器接口
+ * 负责通过 Redis pub/sub 在节点间同步 Caffeine 一级缓存的清除操作
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+public interface CacheInvalidationManager {
+
+    /**
+     * 广播清除指定缓存键（其他节点收到后清除各自的一级缓存）
+     *
+     * @param cacheName 缓存名称
+     * @param keys      缓存键（一级缓存 Key）
+     */
+    void publishEvict(String cacheName, Collection<String> keys);
+
+    /**
+     * 广播清空指定缓存
+     *
+     * @param cacheNames 缓存名称
+     */
+    void publishClear(Collection<String> cacheNames);
+
+    /**
+     * 注册远程失效监听器（用于同步一级缓存以外的本地状态，如布隆过滤器）
+     *
+     * @param listener 监听器
+     */
+    void addListener(Listener listener);
+
+    /**
+     * 远程失效监听器
+     */
+    interface Listener {
+
+        /**
+         * 其他节点清除了缓存键
+         *
+         * @param cacheName 缓存名称
+         * @param key       缓存键
+         */
+        void onRemoteEvict(String cacheName, String key);
+
+        /**
+         * 其他节点清空了缓存
+         *
+         * @param cacheName 缓存名称
+         */
+        void onRemoteClear(String cacheName);
+    }
+}
@@ -0,0 +1,24 @@
+package dev.illichitcat.system.manager;
+
+import java.util.function.Supplier;
+
+/**
+ * 缓存加载管理器接口
+ * 负责合并同一缓存键的并发回源请求，避免缓存失效瞬间大量请求同时查询数据库
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+public interface CacheLoadManager {
+
+    /**
+     * 合并加载：同一缓存键同时只有一个调用方执行加载器，其余调用方等待其结果
+     *
+     * @param cacheName 缓存名称
+     * @param key       缓存键
+     * @param loader    加载器（回源查询并回填缓存）
+     * @param <V>       值类型
+     * @return 加载结果
+     */
+    <V> V load(String cacheName, String key, Supplier<V> loader);
+}
@@ -0,0 +1,79 @@
+package dev.illichitcat.system.manager;
+
+import dev.illichitcat.system.model.vo.CacheStatVO;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 缓存指标管理器接口
+ * 按缓存名称和缓存层级（Caffeine / Redis / 数据库）记录命中、未命中、加载耗时和清除次数，注册到 Micrometer
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+public interface CacheMetricsManager {
+
+    /**
+     * 缓存层级
+     */
+    enum Tier {
+        /**
+         * Caffeine 一级缓存
+         */
+        CAFFEINE,
+        /**
+         * Redis 二级缓存
+         */
+        REDIS
+    }
+
+    /**
+     * 注册缓存的条目数、权重指标
+     *
+     * @param cacheName 缓存名称
+     */
+    void register(String cacheName);
+
+    /**
+     * 记录一次缓存查询结果
+     *
+     * @param cacheName 缓存名称
+     * @param tier      缓存层级
+     * @param hit       是否命中
+     */
+    void recordGet(String cacheName, Tier tier, boolean hit);
+
+    /**
+     * 记录一次被布隆过滤器或空值缓存拦截的查询
+     *
+     * @param cacheName 缓存名称
+     */
+    void recordAbsent(String cacheName);
+
+    /**
+     * 执行并记录一次数据库加载
+     *
+     * @param cacheName 缓存名称
+     * @param mode      加载方式：single / batch / refresh
+     * @param loader    加载逻辑
+     * @param <V>       值类型
+     * @return 加载结果
+     */
+    <V> V recordLoad(String cacheName, String mode, Supplier<V> loader);
+
+    /**
+     * 记录缓存清除
+     *
+     * @param cacheName 缓存名称
+     * @param tier      缓存层级
+     */
+    void recordEviction(String cacheName, Tier tier);
+
+    /**
+     * 获取各缓存的分级统计汇总
+     *
+     * @return 统计列表（按缓存名称排序）
+     */
+    List<CacheStatVO> getCacheStats();
+}
@@ -0,0 +1,64 @@
+package dev.illichitcat.system.manager;
+
+import dev.illichitcat.system.config.CacheSpec;
+
+import java.util.Map;
+
+/**
+ * 缓存规格管理器接口
+ * 以缓存名称为键登记每个 Caffeine 缓存的规格，并支持运行时通过 Caffeine Policy API 调整容量和过期时间；
+ * 运行时调整保存在系统配置 {@code cache.spec.缓存名称}（JSON）中，各节点定时同步
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+public interface CacheSpecManager {
+
+    /**
+     * 系统配置键前缀
+     */
+    String CONFIG_KEY_PREFIX = "cache.spec.";
+
+    /**
+     * 登记全部缓存规格（创建 CacheManager 时调用）：以 cache.specs 中的同名配置覆盖分组默认值，
+     * 再将全局内存预算中未被单独配置的部分分摊给其余缓存
+     *
+     * @param defaults 缓存名称 -> 分组默认规格
+     * @return 缓存名称 -> 生效的规格（顺序同入参）
+     * @throws IllegalStateException 缓存名称重复登记，或单独配置的预算之和超过全局预算
+     */
+    Map<String, CacheSpec> define(Map<String, CacheSpec> defaults);
+
+    /**
+     * 获取缓存当前规格
+     *
+     * @param cacheName 缓存名称
+     * @return 规格，未登记时返回 null
+     */
+    CacheSpec getSpec(String cacheName);
+
+    /**
+     * 获取全部缓存规格
+     *
+     * @return 缓存名称 -> 规格（按名称排序）
+     */
+    Map<String, CacheSpec> getSpecs();
+
+    /**
+     * 获取全局内存预算（字节）
+     *
+     * @return 全局预算，0 表示不限制
+     */
+    long getMemoryBudget();
+
+    /**
+     * 在本节点调整缓存规格：容量和过期时间通过 Policy API 直接作用于现有缓存，不重建、不清空
+     * 初始容量、统计开关以及容量的计量方式（条目数 / 权重）只能在启动时确定，调整时忽略
+     *
+     * @param cacheName 缓存名称
+     * @param changes   调整项（null 字段不变）
+     * @return 调整后的规格
+     * @throws IllegalArgumentException 缓存未登记，或调整后各缓存预算之和超过全局预算
+     */
+    CacheSpec apply(String cacheName, CacheSpec changes);
+}
@@ -0,0 +1,28 @@
+package dev.illichitcat.system.manager;
+
+/**
+ * 二级缓存异步写入管理器接口
+ * 回填 Redis 的写入先进入内存队列，由后台线程按数量或时间合并为一次管道（pipeline）批量 SET EX，
+ * 调用方只负责入队，不等待 Redis 写入完成
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+public interface CacheWriteBehindManager {
+
+    /**
+     * 提交一次 Redis 写入；同一键尚未写入的旧值会被新值覆盖，只写入最后一次
+     *
+     * @param redisKey      Redis 键（已带命名空间代数）
+     * @param value         已编码的值
+     * @param expireSeconds 过期时间（秒）
+     */
+    void enqueue(String redisKey, byte[] value, long expireSeconds);
+
+    /**
+     * 取消键尚未写入的值，并等待正在执行的批次写完（删除 Redis 键之前调用，避免旧值在删除后被写回）
+     *
+     * @param redisKey Redis 键（已带命名空间代数）
+     */
+    void cancel(String redisKey);
+}
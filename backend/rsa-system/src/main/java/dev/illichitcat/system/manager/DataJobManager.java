@@ -0,0 +1,113 @@
+package dev.illichitcat.system.manager;
+
+import dev.illichitcat.system.model.vo.DataJobVO;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 后台导入导出任务管理器接口
+ * 大文件导入导出不再占用请求线程：提交后立即返回任务ID，任务在虚拟线程上执行，
+ * 进度、行数与错误信息记录在 Redis 中，导出结果写入 MinIO 或本地存储供下载
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+public interface DataJobManager {
+
+    /**
+     * 提交导出任务
+     *
+     * @param name     任务名称
+     * @param fileName 结果文件名（不含扩展名）
+     * @param userId   提交用户ID
+     * @param task     任务逻辑，向 {@link Context#openOutput()} 写入 xlsx 内容
+     * @return 任务ID
+     */
+    String submitExport(String name, String fileName, Long userId, Task task);
+
+    /**
+     * 提交导入任务，上传文件在请求结束前转存到本地，任务通过 {@link Context#openInput()} 读取
+     *
+     * @param name   任务名称
+     * @param file   上传的文件
+     * @param userId 提交用户ID
+     * @param task   任务逻辑
+     * @return 任务ID
+     * @throws IOException 转存上传文件失败
+     */
+    String submitImport(String name, MultipartFile file, Long userId, Task task) throws IOException;
+
+    /**
+     * 查询任务，只能查询自己提交的任务
+     *
+     * @param jobId  任务ID
+     * @param userId 当前用户ID
+     * @return 任务信息
+     */
+    DataJobVO getJob(String jobId, Long userId);
+
+    /**
+     * 将任务结果文件写入输出流
+     *
+     * @param jobId  任务ID
+     * @param userId 当前用户ID
+     * @param out    输出流
+     * @throws IOException 读取或写出失败
+     */
+    void writeResult(String jobId, Long userId, OutputStream out) throws IOException;
+
+    /**
+     * 任务逻辑
+     */
+    @FunctionalInterface
+    interface Task {
+
+        /**
+         * 执行任务
+         *
+         * @param context 任务上下文
+         * @return 结果信息，如导入结果汇总
+         * @throws Exception 任务失败，异常信息记录为任务错误信息
+         */
+        String execute(Context context) throws Exception;
+    }
+
+    /**
+     * 任务上下文
+     */
+    interface Context {
+
+        /**
+         * 打开导入任务的上传文件
+         *
+         * @return 输入流
+         * @throws IOException 读取失败
+         */
+        InputStream openInput() throws IOException;
+
+        /**
+         * 打开导出任务的结果文件，由任务结束后统一关闭
+         *
+         * @return 输出流
+         * @throws IOException 创建失败
+         */
+        OutputStream openOutput() throws IOException;
+
+        /**
+         * 设置总行数
+         *
+         * @param total 总行数
+         */
+        void total(long total);
+
+        /**
+         * 累加已处理行数，按配置的间隔写入 Redis
+         *
+         * @param rows 本次处理的行数
+         */
+        void advance(long rows);
+    }
+}
@@ -0,0 +1,44 @@
+package dev.illichitcat.system.manager;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 批量导入管理器接口
+ * 导入文件按块读取，每块先用集合查询统一校验，再在独立事务中以 JDBC 批量写入；
+ * 整块写入失败时回滚并逐行重试，保证逐行的错误信息与原来一致
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+public interface ImportManager {
+
+    /**
+     * 每块读取、校验与写入的行数
+     */
+    int CHUNK_SIZE = 1000;
+
+    /**
+     * 在虚拟线程上并行映射，结果顺序与输入一致；用于密码哈希等 CPU 密集的逐行计算
+     *
+     * @param items  输入列表
+     * @param mapper 映射函数
+     * @param <T>    输入类型
+     * @param <R>    结果类型
+     * @return 映射结果
+     */
+    <T, R> List<R> parallelMap(List<T> items, Function<T, R> mapper);
+
+    /**
+     * 在独立事务中批量写入一块数据；整块失败时回滚，再对每行单独开启事务重试
+     *
+     * @param entities 待写入实体
+     * @param writer   写入逻辑，接收整块或单行组成的列表，需自行处理关联表
+     * @param onError  单行重试失败回调，参数为该行在块内的下标和异常
+     * @param <E>      实体类型
+     * @return 写入成功的行数
+     */
+    <E> int writeChunk(List<E> entities, Consumer<List<E>> writer, BiConsumer<Integer, Exception> onError);
+}
@@ -0,0 +1,39 @@
+package dev.illichitcat.system.manager;
+
+/**
+ * 权限位图管理器接口
+ * 将权限标识映射为稠密整数ID，按角色、用户以位图形式缓存在本地，权限校验只需一次位运算
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+public interface PermissionBitsetManager {
+
+    /**
+     * 判断用户是否拥有指定权限
+     *
+     * @param userId     用户ID
+     * @param permission 权限标识
+     * @return 是否拥有
+     */
+    boolean hasPermission(Long userId, String permission);
+
+    /**
+     * 角色权限分配变更后重建该角色位图，并使持有该角色的用户位图失效（集群广播）
+     *
+     * @param roleId 角色ID
+     */
+    void refreshRole(Long roleId);
+
+    /**
+     * 用户角色分配变更后使该用户位图失效（集群广播）
+     *
+     * @param userId 用户ID
+     */
+    void evictUser(Long userId);
+
+    /**
+     * 权限定义变更后清空全部位图（集群广播）
+     */
+    void reloadAll();
+}
@@ -17,4 +17,13 @@ public interface RoleManager {
      * @return 角色列表
      */
     java.util.List<dev.illichitcat.system.model.entity.Role> selectRolesByUserId(Long userId);
+
+    /**
+     * 批量获取用户角色列表（带缓存）
+     *
+     * @param userIds 用户ID集合
+     * @return 用户ID -> 角色列表
+     */
+    java.util.Map<Long, java.util.List<dev.illichitcat.system.model.entity.Role>> selectRolesByUserIds(
+            java.util.Collection<Long> userIds);
 }
\ No newline at end of file
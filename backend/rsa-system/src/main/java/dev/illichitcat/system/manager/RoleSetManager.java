@@ -0,0 +1,62 @@
+package dev.illichitcat.system.manager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 角色集合指纹管理器接口
+ * 大量用户只持有少数几种角色组合，用户菜单、权限按角色集合指纹（去重排序后的角色ID，如 {@code 1,3,7}）缓存并在用户之间共享；
+ * 已使用的指纹登记在 Redis 中，角色的菜单或权限变更时只需失效包含该角色的指纹
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+public interface RoleSetManager {
+
+    /**
+     * 计算用户当前角色集合的指纹（用户角色取自角色缓存）
+     *
+     * @param userId 用户ID
+     * @return 指纹，用户没有角色时返回空字符串
+     */
+    String fingerprintOfUser(Long userId);
+
+    /**
+     * 计算角色集合的指纹
+     *
+     * @param roleIds 角色ID集合
+     * @return 指纹，集合为空时返回空字符串
+     */
+    String fingerprint(Collection<Long> roleIds);
+
+    /**
+     * 解析指纹中的角色ID
+     *
+     * @param fingerprint 指纹
+     * @return 角色ID列表（升序）
+     */
+    List<Long> roleIds(String fingerprint);
+
+    /**
+     * 登记已缓存的指纹
+     *
+     * @param fingerprint 指纹
+     */
+    void track(String fingerprint);
+
+    /**
+     * 获取已登记的全部指纹
+     *
+     * @return 指纹集合
+     */
+    Set<String> getFingerprints();
+
+    /**
+     * 获取包含指定角色的已登记指纹
+     *
+     * @param roleId 角色ID
+     * @return 指纹集合
+     */
+    Set<String> getFingerprintsContaining(Long roleId);
+}
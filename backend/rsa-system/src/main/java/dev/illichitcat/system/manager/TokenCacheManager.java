@@ -0,0 +1,48 @@
+package dev.illichitcat.system.manager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 登录token管理器接口
+ * 负责单点登录token的存取校验，在本地缓存已验证的token，并通过Redis广播在集群内吊销
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+public interface TokenCacheManager {
+
+    /**
+     * 校验token是否为该用户当前有效的登录token
+     * <p>
+     * 优先命中本地缓存，未命中时查询Redis并回填本地缓存
+     *
+     * @param userId 用户ID
+     * @param token  已验签的JWT令牌
+     * @return 是否有效
+     */
+    boolean isTokenActive(Long userId, String token);
+
+    /**
+     * 存储用户当前登录token，被替换的旧token在集群内吊销
+     *
+     * @param userId  用户ID
+     * @param token   JWT令牌
+     * @param timeout 有效期
+     * @param unit    有效期单位
+     */
+    void storeUserToken(Long userId, String token, long timeout, TimeUnit unit);
+
+    /**
+     * 删除用户登录token并在集群内吊销该用户的所有本地缓存
+     *
+     * @param userId 用户ID
+     */
+    void revokeUserToken(Long userId);
+
+    /**
+     * 在集群内吊销指定token的本地缓存（不修改Redis中的登录token）
+     *
+     * @param token JWT令牌
+     */
+    void evictToken(String token);
+}
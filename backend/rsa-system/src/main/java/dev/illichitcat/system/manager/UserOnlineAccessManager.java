@@ -0,0 +1,28 @@
+package dev.illichitcat.system.manager;
+
+import java.time.LocalDateTime;
+
+/**
+ * 在线用户访问时间管理器接口
+ * 负责合并同一会话的高频最后访问时间写入，定时批量落库并续期Redis记录
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+public interface UserOnlineAccessManager {
+
+    /**
+     * 记录会话访问时间（仅写入内存缓冲区，同一会话只保留最新值）
+     *
+     * @param sessionId  会话ID
+     * @param accessTime 访问时间
+     */
+    void recordAccess(String sessionId, LocalDateTime accessTime);
+
+    /**
+     * 将缓冲区中的访问时间批量写入数据库，并以管道方式续期Redis记录
+     *
+     * @return 本次写入的会话数
+     */
+    int flush();
+}
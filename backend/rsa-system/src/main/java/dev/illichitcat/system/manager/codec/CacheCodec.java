@@ -0,0 +1,32 @@
+package dev.illichitcat.system.manager.codec;
+
+import java.io.IOException;
+
+/**
+ * 二级缓存编解码器
+ * 每个缓存名称注册一个编解码器，Redis 中存储其编码后的字节，读取时一次解码为目标类型
+ *
+ * @param <T> 缓存值类型
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+public interface CacheCodec<T> {
+
+    /**
+     * 编码
+     *
+     * @param value 缓存值
+     * @return 字节数组
+     * @throws IOException 编码失败
+     */
+    byte[] encode(T value) throws IOException;
+
+    /**
+     * 解码
+     *
+     * @param bytes 字节数组
+     * @return 缓存值
+     * @throws IOException 解码失败（数据格式不匹配时调用方按未命中处理）
+     */
+    T decode(byte[] bytes) throws IOException;
+}
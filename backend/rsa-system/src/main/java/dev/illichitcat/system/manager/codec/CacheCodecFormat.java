@@ -0,0 +1,40 @@
+package dev.illichitcat.system.manager.codec;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 二级缓存编码格式
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+public enum CacheCodecFormat {
+
+    /**
+     * 类型化 JSON
+     */
+    JSON,
+
+    /**
+     * 类型化 JSON，超过阈值时 Deflate 压缩
+     */
+    JSON_DEFLATE;
+
+    /**
+     * 创建编解码器
+     *
+     * @param objectMapper      ObjectMapper
+     * @param type              缓存值类型
+     * @param compressThreshold 压缩阈值（字节）
+     * @param <T>               缓存值类型
+     * @return 编解码器
+     */
+    public <T> CacheCodec<T> create(ObjectMapper objectMapper, JavaType type, int compressThreshold) {
+        CacheCodec<T> json = new JacksonCacheCodec<>(objectMapper, type);
+        return switch (this) {
+            case JSON -> json;
+            case JSON_DEFLATE -> new DeflateCacheCodec<>(json, compressThreshold);
+        };
+    }
+}
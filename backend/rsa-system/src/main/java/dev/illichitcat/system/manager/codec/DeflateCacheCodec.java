@@ -0,0 +1,94 @@
+package dev.illichitcat.system.manager.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 压缩编解码器
+ * 包装其他编解码器，编码结果超过阈值时使用 Deflate 压缩；首字节标记是否压缩
+ *
+ * @param <T> 缓存值类型
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+public class DeflateCacheCodec<T> implements CacheCodec<T> {
+
+    private static final byte PLAIN = 0;
+    private static final byte DEFLATED = 1;
+    private static final int BUFFER_SIZE = 4096;
+
+    private final CacheCodec<T> delegate;
+    private final int threshold;
+
+    public DeflateCacheCodec(CacheCodec<T> delegate, int threshold) {
+        this.delegate = delegate;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public byte[] encode(T value) throws IOException {
+        byte[] raw = delegate.encode(value);
+        if (raw.length < threshold) {
+            return withHeader(PLAIN, raw);
+        }
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 1);
+            out.write(DEFLATED);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public T decode(byte[] bytes) throws IOException {
+        if (bytes.length == 0) {
+            throw new IOException("缓存数据为空");
+        }
+        if (bytes[0] == PLAIN) {
+            byte[] raw = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, raw, 0, raw.length);
+            return delegate.decode(raw);
+        }
+        if (bytes[0] != DEFLATED) {
+            throw new IOException("未知的缓存压缩标记: " + bytes[0]);
+        }
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, 1, bytes.length - 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 4);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("缓存压缩数据不完整");
+                }
+                out.write(buffer, 0, count);
+            }
+            return delegate.decode(out.toByteArray());
+        } catch (DataFormatException e) {
+            throw new IOException("缓存压缩数据格式错误", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] withHeader(byte header, byte[] data) {
+        byte[] result = new byte[data.length + 1];
+        result[0] = header;
+        System.arraycopy(data, 0, result, 1, data.length);
+        return result;
+    }
+}
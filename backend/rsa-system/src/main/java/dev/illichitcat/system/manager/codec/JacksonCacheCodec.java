@@ -0,0 +1,38 @@
+package dev.illichitcat.system.manager.codec;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+
+/**
+ * 基于 Jackson 的类型化编解码器
+ * 按注册的目标类型预先构建 ObjectReader / ObjectWriter，直接在字节与实体之间转换，
+ * 不经过中间 JSON 字符串和 LinkedHashMap
+ *
+ * @param <T> 缓存值类型
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+public class JacksonCacheCodec<T> implements CacheCodec<T> {
+
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    public JacksonCacheCodec(ObjectMapper objectMapper, JavaType type) {
+        this.reader = objectMapper.readerFor(type);
+        this.writer = objectMapper.writerFor(type);
+    }
+
+    @Override
+    public byte[] encode(T value) throws IOException {
+        return writer.writeValueAsBytes(value);
+    }
+
+    @Override
+    public T decode(byte[] bytes) throws IOException {
+        return reader.readValue(bytes);
+    }
+}
@@ -0,0 +1,147 @@
+package dev.illichitcat.system.manager.impl;
+
+import dev.illichitcat.system.config.CacheGlobalProperties;
+import dev.illichitcat.system.manager.CacheGenerationManager;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 缓存代数管理器实现类
+ * <p>
+ * 代数保存在 Redis 的 {@code cache:generation:命名空间} 中并在本地镜像，读写缓存时不访问 Redis 获取代数；
+ * 计数器以时间戳播种，Redis 被清空后重新播种的代数大于之前发放过的任何代数；
+ * 本节点递增代数时立即更新镜像，其他节点通过失效广播或定时同步更新。
+ * 旧代数的键使用 SCAN + UNLINK 分批清理，不会像 KEYS + DEL 那样阻塞 Redis
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Slf4j
+@Component
+public class CacheGenerationManagerImpl implements CacheGenerationManager {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final CacheGlobalProperties.Generation props;
+
+    @Resource(name = "virtualThreadExecutor")
+    private ExecutorService virtualThreadExecutor;
+
+    /**
+     * 命名空间 -> 本地镜像的代数
+     */
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
+    public CacheGenerationManagerImpl(StringRedisTemplate stringRedisTemplate,
+                                      CacheGlobalProperties cacheGlobalProperties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.props = cacheGlobalProperties.getGeneration();
+    }
+
+    @Override
+    public String versionedKey(String namespace, String key) {
+        return namespacePrefix(namespace, generations.computeIfAbsent(namespace, this::loadGeneration)) + key;
+    }
+
+    @Override
+    public long advance(String namespace) {
+        long previous = generations.computeIfAbsent(namespace, this::loadGeneration);
+        // 计数器缺失时先按时间戳播种，避免 INCR 从 1 重新计数
+        loadGeneration(namespace);
+        Long next = stringRedisTemplate.opsForValue().increment(GENERATION_KEY_PREFIX + namespace);
+        long generation = next != null ? next : previous + 1;
+        generations.put(namespace, generation);
+        log.info("缓存命名空间代数递增: namespace={}, generation={} -> {}", namespace, previous, generation);
+
+        if (props.isSweepEnabled()) {
+            // 只清理递增前的代数与本地镜像的代数：更早的代数已由递增它们的节点清理，计数器重新播种后中间的代数也不存在对应的键
+            virtualThreadExecutor.execute(() -> {
+                sweep(namespace, generation - 1);
+                if (previous != generation - 1) {
+                    sweep(namespace, previous);
+                }
+            });
+        }
+        return generation;
+    }
+
+    @Override
+    public void refresh(String namespace) {
+        generations.put(namespace, loadGeneration(namespace));
+    }
+
+    /**
+     * 定时与 Redis 同步所有已使用的命名空间代数
+     */
+    @Scheduled(fixedDelayString = "#{${cache.generation.refresh-interval:30} * 1000}")
+    public void refreshAll() {
+        for (String namespace : generations.keySet()) {
+            try {
+                refresh(namespace);
+            } catch (Exception e) {
+                log.warn("同步缓存命名空间代数失败: namespace={}", namespace, e);
+            }
+        }
+    }
+
+    /**
+     * 读取命名空间代数；计数器不存在（首次使用或 Redis 被清空）时以当前毫秒时间戳播种
+     * 时间戳单调增长且远大于递增次数，重新播种后的代数不会与之前发放过的代数重复，持有旧数据的节点不会把旧键当作当前代数读取
+     */
+    private long loadGeneration(String namespace) {
+        String key = GENERATION_KEY_PREFIX + namespace;
+        String value = stringRedisTemplate.opsForValue().get(key);
+        if (value == null) {
+            stringRedisTemplate.opsForValue().setIfAbsent(key, String.valueOf(System.currentTimeMillis()));
+            value = stringRedisTemplate.opsForValue().get(key);
+        }
+        return value != null ? Long.parseLong(value) : System.currentTimeMillis();
+    }
+
+    /**
+     * 分批清理指定代数的键
+     */
+    private void sweep(String namespace, long generation) {
+        long removed = 0;
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(namespacePrefix(namespace, generation) + "*")
+                .count(props.getSweepBatchSize())
+                .build();
+        List<String> batch = new ArrayList<>(props.getSweepBatchSize());
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= props.getSweepBatchSize()) {
+                    removed += unlink(batch);
+                }
+            }
+            removed += unlink(batch);
+        } catch (Exception e) {
+            log.warn("清理旧代数缓存键失败: namespace={}, generation={}", namespace, generation, e);
+        }
+        log.info("旧代数缓存键清理完成: namespace={}, generation={}, removed={}", namespace, generation, removed);
+    }
+
+    private long unlink(List<String> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Long count = stringRedisTemplate.unlink(batch);
+        batch.clear();
+        return count != null ? count : 0;
+    }
+
+    private static String namespacePrefix(String namespace, long generation) {
+        return namespace + ":g" + generation + ":";
+    }
+}
@@ -0,0 +1,170 @@
+package dev.illichitcat.system.manager.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.illichitcat.common.common.constant.RedisConstants;
+import dev.illichitcat.system.config.CacheGlobalProperties;
+import dev.illichitcat.system.manager.CacheInvalidationManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 缓存失效广播管理器实现类
+ * <p>
+ * 每个节点启动时生成唯一的来源标识，消息中携带该标识；节点收到自己发出的消息时直接丢弃，
+ * 收到其他节点的消息时清除本地 CacheManager 中对应的一级缓存并通知已注册的监听器
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Slf4j
+@Component
+public class CacheInvalidationManagerImpl implements CacheInvalidationManager, MessageListener {
+
+    private static final String OP_EVICT = "evict";
+    private static final String OP_CLEAR = "clear";
+
+    /**
+     * 当前节点来源标识
+     */
+    private final String origin = UUID.randomUUID().toString();
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final CacheGlobalProperties.Invalidation props;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private final Counter publishedCounter;
+    private final Counter receivedCounter;
+    private final Counter selfSkippedCounter;
+
+    public CacheInvalidationManagerImpl(CacheManager cacheManager,
+                                        StringRedisTemplate stringRedisTemplate,
+                                        RedisMessageListenerContainer listenerContainer,
+                                        ObjectMapper objectMapper,
+                                        CacheGlobalProperties cacheGlobalProperties,
+                                        MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.props = cacheGlobalProperties.getInvalidation();
+
+        this.publishedCounter = Counter.builder("cache.invalidation.published")
+                .description("发布的缓存失效消息数")
+                .register(meterRegistry);
+        this.receivedCounter = Counter.builder("cache.invalidation.received")
+                .description("处理的其他节点缓存失效消息数")
+                .register(meterRegistry);
+        this.selfSkippedCounter = Counter.builder("cache.invalidation.self.skipped")
+                .description("丢弃的本节点缓存失效消息数")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        if (props.isEnabled()) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(RedisConstants.CACHE_INVALIDATE_CHANNEL));
+            log.info("缓存失效广播已启用, origin={}", origin);
+        }
+    }
+
+    @Override
+    public void publishEvict(String cacheName, Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+        publish(new InvalidationMessage(origin, OP_EVICT, List.of(cacheName), List.copyOf(keys)));
+    }
+
+    @Override
+    public void publishClear(Collection<String> cacheNames) {
+        if (cacheNames == null || cacheNames.isEmpty()) {
+            return;
+        }
+        publish(new InvalidationMessage(origin, OP_CLEAR, List.copyOf(cacheNames), List.of()));
+    }
+
+    @Override
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        InvalidationMessage msg;
+        try {
+            msg = objectMapper.readValue(message.getBody(), InvalidationMessage.class);
+        } catch (Exception e) {
+            log.warn("解析缓存失效消息失败", e);
+            return;
+        }
+
+        if (origin.equals(msg.origin())) {
+            // 本节点发出的消息，本地已清除
+            selfSkippedCounter.increment();
+            return;
+        }
+
+        receivedCounter.increment();
+        for (String cacheName : msg.cacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (OP_CLEAR.equals(msg.op())) {
+                if (cache != null) {
+                    cache.clear();
+                }
+                listeners.forEach(listener -> listener.onRemoteClear(cacheName));
+            } else {
+                for (String key : msg.keys()) {
+                    if (cache != null) {
+                        cache.evict(key);
+                    }
+                    listeners.forEach(listener -> listener.onRemoteEvict(cacheName, key));
+                }
+            }
+        }
+        log.debug("处理缓存失效消息: origin={}, op={}, cacheNames={}, keys={}",
+                msg.origin(), msg.op(), msg.cacheNames(), msg.keys().size());
+    }
+
+    private void publish(InvalidationMessage message) {
+        if (!props.isEnabled()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.convertAndSend(RedisConstants.CACHE_INVALIDATE_CHANNEL,
+                    objectMapper.writeValueAsString(message));
+            publishedCounter.increment();
+        } catch (Exception e) {
+            log.error("发布缓存失效消息失败: op={}, cacheNames={}", message.op(), message.cacheNames(), e);
+        }
+    }
+
+    /**
+     * 缓存失效消息
+     *
+     * @param origin     来源节点标识
+     * @param op         操作类型：evict-清除键，clear-清空缓存
+     * @param cacheNames 缓存名称
+     * @param keys       缓存键（仅 evict 使用）
+     */
+    record InvalidationMessage(String origin, String op, List<String> cacheNames, List<String> keys) {
+    }
+}
@@ -0,0 +1,109 @@
+package dev.illichitcat.system.manager.impl;
+
+import dev.illichitcat.system.config.CacheGlobalProperties;
+import dev.illichitcat.system.manager.CacheLoadManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 缓存加载管理器实现类
+ * <p>
+ * 以 "缓存名称:缓存键" 为粒度维护进行中的加载任务：第一个未命中的调用方负责回源并回填缓存，
+ * 其余调用方等待同一个 Future；等待超时则自行回源，保证单次慢查询不会拖住所有请求
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Slf4j
+@Component
+public class CacheLoadManagerImpl implements CacheLoadManager {
+
+    private final CacheGlobalProperties.SingleFlight props;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public CacheLoadManagerImpl(CacheGlobalProperties cacheGlobalProperties, MeterRegistry meterRegistry) {
+        this.props = cacheGlobalProperties.getSingleFlight();
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("cache.load.inflight", inFlight, Map::size)
+                .description("进行中的回源加载数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> V load(String cacheName, String key, Supplier<V> loader) {
+        if (!props.isEnabled()) {
+            return loader.get();
+        }
+
+        String flightKey = cacheName + ":" + key;
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, own);
+
+        if (existing == null) {
+            // 当前线程负责回源
+            counter("cache.load.leader", cacheName, "执行回源加载的次数").increment();
+            try {
+                V value = loader.get();
+                own.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                own.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(flightKey, own);
+            }
+        }
+
+        // 等待其他线程的加载结果
+        counter("cache.load.coalesced", cacheName, "合并等待（未重复回源）的次数").increment();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return (V) existing.get(props.getTimeout(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            counter("cache.load.timeout", cacheName, "合并等待超时后自行回源的次数").increment();
+            log.warn("等待缓存加载超时，自行回源: cacheName={}, key={}, timeout={}ms",
+                    cacheName, key, props.getTimeout());
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return loader.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("缓存加载失败: " + flightKey, cause);
+        } finally {
+            sample.stop(Timer.builder("cache.load.wait")
+                    .description("合并等待耗时")
+                    .tag("cache", cacheName)
+                    .register(meterRegistry));
+        }
+    }
+
+    private Counter counter(String name, String cacheName, String description) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,259 @@
+package dev.illichitcat.system.manager.impl;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import dev.illichitcat.system.manager.CacheMetricsManager;
+import dev.illichitcat.system.manager.CacheSpecManager;
+import dev.illichitcat.system.model.vo.CacheStatVO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 缓存指标管理器实现类
+ * <p>
+ * 指标（均带 cache 标签）：
+ * <ul>
+ *     <li>cache.tier.gets：按 tier（caffeine / redis / negative）和 result（hit / miss）统计的查询次数</li>
+ *     <li>cache.tier.load：按 mode（single / batch / refresh）和 result（found / absent / failure）统计的数据库加载耗时</li>
+ *     <li>cache.tier.evictions：按 tier 和 reason（explicit 显式清除 / size 一级缓存容量淘汰）统计的清除次数</li>
+ *     <li>cache.tier.entries / cache.tier.weight：一级缓存条目数和权重（估算字节数）</li>
+ *     <li>cache.tier.weight.max：一级缓存内存预算</li>
+ * </ul>
+ * 另有不带 cache 标签的 cache.memory.weight / cache.memory.budget：全部一级缓存的估算字节数之和及全局内存预算
+ * 计数器按标签组合缓存在本地，热路径上不重复查找注册表
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Slf4j
+@Component
+public class CacheMetricsManagerImpl implements CacheMetricsManager {
+
+    private static final String TIER_NEGATIVE = "negative";
+    private static final String[] LOAD_MODES = {"single", "batch", "refresh"};
+
+    private final MeterRegistry meterRegistry;
+    private final CacheManager cacheManager;
+    private final CacheSpecManager cacheSpecManager;
+
+    private final Set<String> cacheNames = new ConcurrentSkipListSet<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public CacheMetricsManagerImpl(MeterRegistry meterRegistry, CacheManager cacheManager, CacheSpecManager cacheSpecManager) {
+        this.meterRegistry = meterRegistry;
+        this.cacheManager = cacheManager;
+        this.cacheSpecManager = cacheSpecManager;
+    }
+
+    /**
+     * 注册全局内存指标（构造完成后注册，避免在构造器中泄露 this）
+     */
+    @PostConstruct
+    public void registerGauges() {
+        Gauge.builder("cache.memory.weight", this, CacheMetricsManagerImpl::totalWeight)
+                .description("全部按内存预算淘汰的一级缓存的估算字节数之和")
+                .register(meterRegistry);
+        Gauge.builder("cache.memory.budget", cacheSpecManager, CacheSpecManager::getMemoryBudget)
+                .description("一级缓存全局内存预算（字节），0 表示不限制")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void register(String cacheName) {
+        if (!cacheNames.add(cacheName)) {
+            return;
+        }
+        Gauge.builder("cache.tier.entries", this, manager -> manager.estimatedSize(cacheName))
+                .description("一级缓存条目数")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        Gauge.builder("cache.tier.weight", this, manager -> manager.weightedSize(cacheName))
+                .description("一级缓存权重（估算字节数，未配置内存预算时为条目数）")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        Gauge.builder("cache.tier.weight.max", this, manager -> manager.maximumWeight(cacheName))
+                .description("一级缓存内存预算（字节）")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordGet(String cacheName, Tier tier, boolean hit) {
+        getCounter(cacheName, tierTag(tier), hit ? "hit" : "miss").increment();
+    }
+
+    @Override
+    public void recordAbsent(String cacheName) {
+        getCounter(cacheName, TIER_NEGATIVE, "hit").increment();
+    }
+
+    @Override
+    public <V> V recordLoad(String cacheName, String mode, Supplier<V> loader) {
+        long start = System.nanoTime();
+        String result = "failure";
+        try {
+            V value = loader.get();
+            result = value != null ? "found" : "absent";
+            return value;
+        } finally {
+            getTimer(cacheName, mode, result).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void recordEviction(String cacheName, Tier tier) {
+        counters.computeIfAbsent("evictions:" + cacheName + ":" + tierTag(tier), id ->
+                Counter.builder("cache.tier.evictions")
+                        .description("缓存清除次数")
+                        .tag("cache", cacheName)
+                        .tag("tier", tierTag(tier))
+                        .tag("reason", "explicit")
+                        .register(meterRegistry)).increment();
+    }
+
+    @Override
+    public List<CacheStatVO> getCacheStats() {
+        List<CacheStatVO> stats = new ArrayList<>(cacheNames.size());
+        for (String cacheName : cacheNames) {
+            CacheStatVO stat = new CacheStatVO();
+            stat.setName(cacheName);
+            stat.setCaffeineHits(count(cacheName, tierTag(Tier.CAFFEINE), "hit"));
+            stat.setCaffeineMisses(count(cacheName, tierTag(Tier.CAFFEINE), "miss"));
+            stat.setRedisHits(count(cacheName, tierTag(Tier.REDIS), "hit"));
+            stat.setRedisMisses(count(cacheName, tierTag(Tier.REDIS), "miss"));
+            stat.setAbsentHits(count(cacheName, TIER_NEGATIVE, "hit"));
+
+            long loads = 0;
+            long failures = 0;
+            double totalMillis = 0;
+            for (String mode : LOAD_MODES) {
+                for (String result : new String[]{"found", "absent", "failure"}) {
+                    Timer timer = timers.get(timerId(cacheName, mode, result));
+                    if (timer != null) {
+                        loads += timer.count();
+                        totalMillis += timer.totalTime(TimeUnit.MILLISECONDS);
+                        if ("failure".equals(result)) {
+                            failures += timer.count();
+                        }
+                    }
+                }
+            }
+            stat.setLoads(loads);
+            stat.setLoadFailures(failures);
+            stat.setLoadAvgMillis(loads > 0 ? totalMillis / loads : 0D);
+
+            long evictions = 0;
+            for (Tier tier : Tier.values()) {
+                Counter counter = counters.get("evictions:" + cacheName + ":" + tierTag(tier));
+                evictions += counter != null ? (long) counter.count() : 0;
+            }
+            // 一级缓存容量淘汰由缓存的淘汰监听器计数
+            Counter sizeEvictions = meterRegistry.find("cache.tier.evictions")
+                    .tags("cache", cacheName, "reason", "size")
+                    .counter();
+            evictions += sizeEvictions != null ? (long) sizeEvictions.count() : 0;
+            stat.setEvictions(evictions);
+            stat.setSize((long) estimatedSize(cacheName));
+            stat.setWeightedSize((long) weightedSize(cacheName));
+            stat.setMaximumWeight((long) maximumWeight(cacheName));
+
+            // 每次查询都先经过一级缓存；一级缓存禁用时以二级缓存查询次数为准
+            long requests = stat.getCaffeineHits() + stat.getCaffeineMisses();
+            if (requests == 0) {
+                requests = stat.getRedisHits() + stat.getRedisMisses() + stat.getAbsentHits();
+            }
+            long hits = stat.getCaffeineHits() + stat.getRedisHits() + stat.getAbsentHits();
+            stat.setHitRate(requests > 0 ? (double) hits / requests : 0D);
+            stats.add(stat);
+        }
+        return stats;
+    }
+
+    private Counter getCounter(String cacheName, String tier, String result) {
+        return counters.computeIfAbsent("gets:" + cacheName + ":" + tier + ":" + result, id ->
+                Counter.builder("cache.tier.gets")
+                        .description("按层级统计的缓存查询次数")
+                        .tag("cache", cacheName)
+                        .tag("tier", tier)
+                        .tag("result", result)
+                        .register(meterRegistry));
+    }
+
+    private Timer getTimer(String cacheName, String mode, String result) {
+        return timers.computeIfAbsent(timerId(cacheName, mode, result), id ->
+                Timer.builder("cache.tier.load")
+                        .description("缓存未命中时的数据库加载耗时")
+                        .tag("cache", cacheName)
+                        .tag("mode", mode)
+                        .tag("result", result)
+                        .register(meterRegistry));
+    }
+
+    private long count(String cacheName, String tier, String result) {
+        Counter counter = counters.get("gets:" + cacheName + ":" + tier + ":" + result);
+        return counter != null ? (long) counter.count() : 0;
+    }
+
+    private static String timerId(String cacheName, String mode, String result) {
+        return cacheName + ":" + mode + ":" + result;
+    }
+
+    private static String tierTag(Tier tier) {
+        return tier.name().toLowerCase(Locale.ROOT);
+    }
+
+    private double estimatedSize(String cacheName) {
+        return cacheManager.getCache(cacheName) instanceof CaffeineCache cache
+                ? cache.getNativeCache().estimatedSize() : 0;
+    }
+
+    private double weightedSize(String cacheName) {
+        if (!(cacheManager.getCache(cacheName) instanceof CaffeineCache cache)) {
+            return 0;
+        }
+        return cache.getNativeCache().policy().eviction()
+                .filter(Policy.Eviction::isWeighted)
+                .map(eviction -> (double) eviction.weightedSize().orElse(0))
+                .orElseGet(() -> (double) cache.getNativeCache().estimatedSize());
+    }
+
+    private double maximumWeight(String cacheName) {
+        if (!(cacheManager.getCache(cacheName) instanceof CaffeineCache cache)) {
+            return 0;
+        }
+        return cache.getNativeCache().policy().eviction()
+                .filter(Policy.Eviction::isWeighted)
+                .map(eviction -> (double) eviction.getMaximum())
+                .orElse(0D);
+    }
+
+    private double totalWeight() {
+        double total = 0;
+        for (String cacheName : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(cacheName) instanceof CaffeineCache cache) {
+                total += cache.getNativeCache().policy().eviction()
+                        .filter(Policy.Eviction::isWeighted)
+                        .map(eviction -> eviction.weightedSize().orElse(0))
+                        .orElse(0L);
+            }
+        }
+        return total;
+    }
+}
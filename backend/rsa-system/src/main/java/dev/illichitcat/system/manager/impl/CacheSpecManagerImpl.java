@@ -0,0 +1,231 @@
+package dev.illichitcat.system.manager.impl;
+
+import cn.hutool.core.util.StrUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import dev.illichitcat.system.config.CacheGlobalProperties;
+import dev.illichitcat.system.config.CacheSpec;
+import dev.illichitcat.system.manager.CacheSpecManager;
+import dev.illichitcat.system.service.ConfigService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 缓存规格管理器实现类
+ * <p>
+ * 登记的规格分两份保存：启动时的规格（用于撤销运行时调整）和当前规格。
+ * CacheManager 和 ConfigService 都间接依赖本管理器，因此延迟获取
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Slf4j
+@Component
+public class CacheSpecManagerImpl implements CacheSpecManager {
+
+    private final CacheGlobalProperties cacheGlobalProperties;
+    private final ObjectProvider<CacheManager> cacheManagerProvider;
+    private final ObjectProvider<ConfigService> configServiceProvider;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 缓存名称 -> 启动时的规格
+     */
+    private final Map<String, CacheSpec> definedSpecs = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存名称 -> 当前规格
+     */
+    private final Map<String, CacheSpec> specs = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存名称 -> 上次同步到的系统配置原始值
+     */
+    private final Map<String, String> syncedValues = new ConcurrentHashMap<>();
+
+    public CacheSpecManagerImpl(CacheGlobalProperties cacheGlobalProperties,
+                                ObjectProvider<CacheManager> cacheManagerProvider,
+                                ObjectProvider<ConfigService> configServiceProvider,
+                                ObjectMapper objectMapper) {
+        this.cacheGlobalProperties = cacheGlobalProperties;
+        this.cacheManagerProvider = cacheManagerProvider;
+        this.configServiceProvider = configServiceProvider;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized Map<String, CacheSpec> define(Map<String, CacheSpec> defaults) {
+        Map<String, CacheSpec> effective = new LinkedHashMap<>();
+        defaults.forEach((cacheName, spec) -> {
+            if (specs.containsKey(cacheName)) {
+                throw new IllegalStateException("缓存名称重复登记: " + cacheName);
+            }
+            CacheSpec merged = spec.merge(cacheGlobalProperties.getSpecs().get(cacheName));
+            validate(cacheName, merged);
+            effective.put(cacheName, merged);
+        });
+        allocateMemoryBudget(effective);
+
+        definedSpecs.putAll(effective);
+        specs.putAll(effective);
+        return effective;
+    }
+
+    @Override
+    public CacheSpec getSpec(String cacheName) {
+        return specs.get(cacheName);
+    }
+
+    @Override
+    public Map<String, CacheSpec> getSpecs() {
+        return Collections.unmodifiableMap(new TreeMap<>(specs));
+    }
+
+    @Override
+    public long getMemoryBudget() {
+        return Math.max(0, cacheGlobalProperties.getMemory().getMaxBytes());
+    }
+
+    @Override
+    public synchronized CacheSpec apply(String cacheName, CacheSpec changes) {
+        CacheSpec current = specs.get(cacheName);
+        if (current == null) {
+            throw new IllegalArgumentException("缓存不存在或未启用: " + cacheName);
+        }
+        CacheSpec target = current.merge(changes);
+        target.setInitialCapacity(current.getInitialCapacity());
+        target.setRecordStats(current.getRecordStats());
+        if (current.isWeighted() != target.isWeighted()) {
+            target.setMaximumWeight(current.getMaximumWeight());
+        }
+        validate(cacheName, target);
+        long budget = getMemoryBudget();
+        if (budget > 0 && target.isWeighted() && target.getMaximumWeight() > current.getMaximumWeight()) {
+            long total = weightedTotal(cacheName) + target.getMaximumWeight();
+            if (total > budget) {
+                throw new IllegalArgumentException("缓存预算之和 " + total + " 字节超过全局内存预算 " + budget + " 字节: " + cacheName);
+            }
+        }
+
+        Policy<Object, Object> policy = nativeCache(cacheName).policy();
+        policy.eviction().ifPresent(eviction ->
+                eviction.setMaximum(target.isWeighted() ? target.getMaximumWeight() : target.getMaximumSize()));
+        policy.expireAfterWrite().ifPresentOrElse(
+                expiration -> expiration.setExpiresAfter(Duration.ofMinutes(target.getExpireAfterWrite())),
+                () -> target.setExpireAfterWrite(current.getExpireAfterWrite()));
+        // 启动时未开启访问过期的缓存无法在运行时开启，已开启的也不能关闭（0 会让条目立即过期）
+        if (target.getExpireAfterAccess() > 0 && policy.expireAfterAccess().isPresent()) {
+            policy.expireAfterAccess().get().setExpiresAfter(Duration.ofMinutes(target.getExpireAfterAccess()));
+        } else {
+            target.setExpireAfterAccess(current.getExpireAfterAccess());
+        }
+
+        specs.put(cacheName, target);
+        log.info("缓存规格已调整: cache={}, {} -> {}", cacheName, current, target);
+        return target;
+    }
+
+    /**
+     * 定时从系统配置同步运行时调整；配置被删除时恢复启动时的规格
+     */
+    @Scheduled(fixedDelayString = "#{${cache.spec-sync.interval:60} * 1000}")
+    public void sync() {
+        if (!cacheGlobalProperties.getSpecSync().isEnabled() || specs.isEmpty()) {
+            return;
+        }
+        ConfigService configService = configServiceProvider.getObject();
+        for (String cacheName : definedSpecs.keySet()) {
+            try {
+                String raw = StrUtil.trimToEmpty(configService.getConfigValue(CONFIG_KEY_PREFIX + cacheName, ""));
+                String previous = syncedValues.getOrDefault(cacheName, "");
+                if (raw.equals(previous)) {
+                    continue;
+                }
+                CacheSpec changes = raw.isEmpty() ? definedSpecs.get(cacheName) : objectMapper.readValue(raw, CacheSpec.class);
+                apply(cacheName, changes);
+                syncedValues.put(cacheName, raw);
+            } catch (Exception e) {
+                log.error("同步缓存规格失败: cache={}", cacheName, e);
+            }
+        }
+    }
+
+    /**
+     * 分摊全局内存预算：单独配置了预算的缓存先占用，剩余部分按 maximumSize 比例分给其余缓存
+     */
+    private void allocateMemoryBudget(Map<String, CacheSpec> effective) {
+        long budget = getMemoryBudget();
+        if (budget <= 0) {
+            return;
+        }
+        long reserved = weightedTotal(null);
+        long shares = 0;
+        for (CacheSpec spec : effective.values()) {
+            if (spec.isWeighted()) {
+                reserved += spec.getMaximumWeight();
+            } else {
+                shares += Math.max(1, spec.getMaximumSize());
+            }
+        }
+        if (reserved > budget) {
+            throw new IllegalStateException("单独配置的缓存预算之和 " + reserved + " 字节超过全局内存预算 " + budget + " 字节");
+        }
+
+        long remaining = budget - reserved;
+        long minCacheBytes = cacheGlobalProperties.getMemory().getMinCacheBytes();
+        for (CacheSpec spec : effective.values()) {
+            if (!spec.isWeighted()) {
+                long share = (long) ((double) remaining * Math.max(1, spec.getMaximumSize()) / shares);
+                spec.setMaximumWeight(Math.max(minCacheBytes, share));
+            }
+        }
+        log.info("Caffeine 一级缓存内存预算: total={}B, reserved={}B, shared={}B", budget, reserved, remaining);
+    }
+
+    /**
+     * 已登记缓存的预算之和
+     *
+     * @param excludeCacheName 排除的缓存名称，可为 null
+     */
+    private long weightedTotal(String excludeCacheName) {
+        long total = 0;
+        for (Map.Entry<String, CacheSpec> entry : specs.entrySet()) {
+            if (!entry.getKey().equals(excludeCacheName) && entry.getValue().isWeighted()) {
+                total += entry.getValue().getMaximumWeight();
+            }
+        }
+        return total;
+    }
+
+    private Cache<Object, Object> nativeCache(String cacheName) {
+        org.springframework.cache.Cache cache = cacheManagerProvider.getObject().getCache(cacheName);
+        if (!(cache instanceof CaffeineCache caffeineCache)) {
+            throw new IllegalArgumentException("缓存不存在或不是 Caffeine 缓存: " + cacheName);
+        }
+        return caffeineCache.getNativeCache();
+    }
+
+    private static void validate(String cacheName, CacheSpec spec) {
+        if (spec.getMaximumSize() == null || spec.getMaximumSize() < 0
+                || spec.getMaximumWeight() == null || spec.getMaximumWeight() < 0) {
+            throw new IllegalArgumentException("缓存容量不能为负数: " + cacheName);
+        }
+        if (spec.getExpireAfterWrite() == null || spec.getExpireAfterWrite() <= 0
+                || spec.getExpireAfterAccess() == null || spec.getExpireAfterAccess() < 0
+                || spec.getRefreshAfterWrite() == null || spec.getRefreshAfterWrite() < 0) {
+            throw new IllegalArgumentException("缓存过期时间配置无效: " + cacheName);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package dev.illichitcat.system.manager.impl;
+
+import dev.illichitcat.system.config.CacheGlobalProperties;
+import dev.illichitcat.system.manager.CacheWriteBehindManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 二级缓存异步写入管理器实现类
+ * <p>
+ * 待写入的值按 Redis 键合并保存，键按提交顺序进入队列；后台虚拟线程攒够一批或等待超过刷新间隔后，
+ * 以一次管道提交整批 SET EX。队列容量由信号量限制，队列满时调用方最多等待 offer-timeout，
+ * 仍无空位则丢弃本次写入（只影响缓存命中率，不影响正确性）；停机时写完队列中剩余的值
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Slf4j
+@Component
+public class CacheWriteBehindManagerImpl implements CacheWriteBehindManager {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final CacheGlobalProperties.WriteBehind props;
+
+    /**
+     * Redis 键 -> 最后一次提交的待写入值
+     */
+    private final Map<String, PendingWrite> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 待写入的键（按提交顺序），每个元素占用一个容量许可
+     */
+    private final BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+    private final Semaphore permits;
+
+    /**
+     * 批次写入与取消互斥，保证删除键之前正在写入的旧值已经落地
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter flushedCounter;
+    private final Counter coalescedCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public CacheWriteBehindManagerImpl(RedisTemplate<String, Object> redisTemplate,
+                                       CacheGlobalProperties cacheGlobalProperties,
+                                       MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.props = cacheGlobalProperties.getWriteBehind();
+        this.permits = new Semaphore(props.getCapacity());
+
+        this.flushedCounter = Counter.builder("cache.write.behind.flushed")
+                .description("批量写入 Redis 的键数")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("cache.write.behind.coalesced")
+                .description("写入前被同一键新值覆盖的次数")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("cache.write.behind.dropped")
+                .description("队列已满被丢弃的写入次数")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("cache.write.behind.failed")
+                .description("批量写入失败的键数")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("cache.write.behind.batch")
+                .description("单批管道写入耗时")
+                .register(meterRegistry);
+        Gauge.builder("cache.write.behind.pending", pending, Map::size)
+                .description("等待写入 Redis 的键数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 启动后台写入线程
+     */
+    @PostConstruct
+    public void start() {
+        if (!props.isEnabled()) {
+            log.info("二级缓存异步写入已禁用，回填 Redis 时同步写入");
+            return;
+        }
+        running = true;
+        flusher = Thread.ofVirtual().name("cache-write-behind").start(this::runLoop);
+        log.info("二级缓存异步写入已启动: capacity={}, batchSize={}, flushInterval={}ms",
+                props.getCapacity(), props.getBatchSize(), props.getFlushInterval());
+    }
+
+    /**
+     * 停机时停止接收新写入，写完队列中剩余的值
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        try {
+            if (!flusher.join(Duration.ofMillis(props.getShutdownTimeout()))) {
+                log.warn("二级缓存异步写入未在超时时间内写完, 剩余键数={}", pending.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("二级缓存异步写入已停止");
+    }
+
+    @Override
+    public void enqueue(String redisKey, byte[] value, long expireSeconds) {
+        PendingWrite write = new PendingWrite(redisKey, value, expireSeconds);
+        if (!running) {
+            // 未启用或正在停机，直接写入
+            writeBatch(List.of(write));
+            return;
+        }
+
+        // 先取得容量许可再发布到待写入表：表中的键一定已经（或即将）入队，丢弃时不会留下永远不会写入的键
+        boolean acquired = false;
+        while (true) {
+            if (pending.computeIfPresent(redisKey, (key, old) -> write) != null) {
+                // 键已在队列中，等待写入时取最新值
+                if (acquired) {
+                    permits.release();
+                }
+                coalescedCounter.increment();
+                return;
+            }
+            if (!acquired) {
+                try {
+                    acquired = permits.tryAcquire(props.getOfferTimeout(), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (!acquired) {
+                    droppedCounter.increment();
+                    log.warn("二级缓存写入队列已满，丢弃写入: key={}", redisKey);
+                    return;
+                }
+            }
+            if (pending.putIfAbsent(redisKey, write) == null) {
+                queue.add(redisKey);
+                return;
+            }
+            // 等待许可期间其他线程已将该键入队，重新尝试合并
+        }
+    }
+
+    @Override
+    public void cancel(String redisKey) {
+        if (flusher == null) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            pending.remove(redisKey);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 后台写入循环：取到第一个键后继续收集，直到凑满一批或超过刷新间隔
+     */
+    private void runLoop() {
+        int batchSize = props.getBatchSize();
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(props.getFlushInterval());
+        while (running || !queue.isEmpty()) {
+            try {
+                String first = queue.poll(props.getFlushInterval(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                List<String> keys = new ArrayList<>(batchSize);
+                keys.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (keys.size() < batchSize) {
+                    queue.drainTo(keys, batchSize - keys.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (keys.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    String next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    keys.add(next);
+                }
+                flush(keys);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("二级缓存异步写入异常", e);
+            }
+        }
+    }
+
+    /**
+     * 取出一批键的最新值并写入 Redis
+     */
+    private void flush(List<String> keys) {
+        flushLock.lock();
+        try {
+            List<PendingWrite> writes = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                PendingWrite write = pending.remove(key);
+                permits.release();
+                if (write != null) {
+                    writes.add(write);
+                }
+            }
+            writeBatch(writes);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 以一次管道写入一批值
+     */
+    private void writeBatch(List<PendingWrite> writes) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (PendingWrite write : writes) {
+                    connection.stringCommands().set(write.redisKey().getBytes(StandardCharsets.UTF_8), write.value(),
+                            Expiration.seconds(write.expireSeconds()), RedisStringCommands.SetOption.upsert());
+                }
+                return null;
+            });
+            flushedCounter.increment(writes.size());
+        } catch (Exception e) {
+            failedCounter.increment(writes.size());
+            log.error("批量写入 Redis 缓存失败, count={}", writes.size(), e);
+        } finally {
+            sample.stop(batchTimer);
+        }
+    }
+
+    /**
+     * 待写入的值
+     */
+    private record PendingWrite(String redisKey, byte[] value, long expireSeconds) {
+    }
+}
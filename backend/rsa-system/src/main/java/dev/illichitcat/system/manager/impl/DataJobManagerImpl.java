@@ -0,0 +1,424 @@
+package dev.illichitcat.system.manager.impl;
+
+import dev.illichitcat.common.exception.BizException;
+import dev.illichitcat.common.utils.MinioUtils;
+import dev.illichitcat.system.config.DataJobProperties;
+import dev.illichitcat.system.manager.DataJobManager;
+import dev.illichitcat.system.model.vo.DataJobVO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 后台导入导出任务管理器实现类
+ * <p>
+ * 任务状态保存在 Redis 哈希 {@code data_job:{jobId}} 中，任意节点都可查询；
+ * 并发限制在单实例内生效：全局信号量控制同时执行的任务数，超出的任务在虚拟线程上排队，
+ * 单个用户进行中的任务数超出上限时直接拒绝提交。本地存储的结果文件只能由生成它的实例下载，
+ * 多实例部署应使用 MinIO
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Slf4j
+@Component
+public class DataJobManagerImpl implements DataJobManager {
+
+    private static final String JOB_KEY_PREFIX = "data_job:";
+    private static final String RESULTS_KEY = "data_job:results";
+    private static final String OBJECT_PREFIX = "data-job/";
+    private static final String XLSX = ".xlsx";
+    private static final String INPUT_SUFFIX = ".input";
+    private static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    private static final String TYPE_IMPORT = "IMPORT";
+    private static final String TYPE_EXPORT = "EXPORT";
+    private static final String STATUS_PENDING = "PENDING";
+    private static final String STATUS_RUNNING = "RUNNING";
+    private static final String STATUS_SUCCESS = "SUCCESS";
+    private static final String STATUS_FAILED = "FAILED";
+    private static final String STORAGE_MINIO = "minio";
+    private static final String STORAGE_LOCAL = "local";
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private DataJobProperties dataJobProperties;
+
+    @Autowired
+    private MinioUtils minioUtils;
+
+    @Resource(name = "virtualThreadExecutor")
+    private ExecutorService virtualThreadExecutor;
+
+    /**
+     * 用户ID -> 进行中（排队或执行）的任务数
+     */
+    private final Map<Long, Integer> activeByUser = new ConcurrentHashMap<>();
+
+    private Semaphore permits;
+
+    private Path localDir;
+
+    @PostConstruct
+    public void init() throws IOException {
+        permits = new Semaphore(Math.max(1, dataJobProperties.getGlobalConcurrency()), true);
+        localDir = Paths.get(dataJobProperties.getLocalDir());
+        Files.createDirectories(localDir);
+    }
+
+    @Override
+    public String submitExport(String name, String fileName, Long userId, Task task) {
+        acquireUserSlot(userId);
+        String jobId = newJobId();
+        start(new JobContext(jobId, TYPE_EXPORT, userId, null, localDir.resolve(jobId + XLSX)),
+                name, fileName + XLSX, task);
+        return jobId;
+    }
+
+    @Override
+    public String submitImport(String name, MultipartFile file, Long userId, Task task) throws IOException {
+        acquireUserSlot(userId);
+        String jobId = newJobId();
+        Path input = localDir.resolve(jobId + INPUT_SUFFIX);
+        try {
+            file.transferTo(input);
+        } catch (IOException e) {
+            releaseUserSlot(userId);
+            throw e;
+        }
+        start(new JobContext(jobId, TYPE_IMPORT, userId, input, null), name, null, task);
+        return jobId;
+    }
+
+    @Override
+    public DataJobVO getJob(String jobId, Long userId) {
+        Map<String, String> fields = loadOwnedJob(jobId, userId);
+
+        DataJobVO vo = new DataJobVO();
+        vo.setJobId(jobId);
+        vo.setName(fields.get("name"));
+        vo.setType(fields.get("type"));
+        vo.setStatus(fields.get("status"));
+        vo.setUserId(parseLong(fields.get("userId")));
+        vo.setProcessed(parseLong(fields.get("processed")));
+        vo.setTotal(parseLong(fields.get("total")));
+        vo.setMessage(fields.get("message"));
+        vo.setCreateTime(parseLong(fields.get("createTime")));
+        vo.setFinishTime(parseLong(fields.get("finishTime")));
+        if (STATUS_SUCCESS.equals(vo.getStatus()) && fields.containsKey("storage")) {
+            vo.setFileName(fields.get("fileName"));
+        }
+        return vo;
+    }
+
+    @Override
+    public void writeResult(String jobId, Long userId, OutputStream out) throws IOException {
+        Map<String, String> fields = loadOwnedJob(jobId, userId);
+        String storage = fields.get("storage");
+        if (!STATUS_SUCCESS.equals(fields.get("status")) || storage == null) {
+            throw new BizException("任务没有可下载的结果文件");
+        }
+
+        if (STORAGE_MINIO.equals(storage)) {
+            try (InputStream in = minioUtils.downloadFile(OBJECT_PREFIX + jobId + XLSX)) {
+                in.transferTo(out);
+            }
+            return;
+        }
+        Path result = localDir.resolve(jobId + XLSX);
+        if (!Files.exists(result)) {
+            throw new BizException("结果文件不存在或已过期");
+        }
+        Files.copy(result, out);
+    }
+
+    /**
+     * 清理过期的结果文件：MinIO 中的结果按登记时间清理，本地目录按文件修改时间清理
+     */
+    @Scheduled(fixedDelayString = "#{${data-job.cleanup-interval:3600} * 1000}")
+    public void cleanup() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(dataJobProperties.getExpireHours());
+
+        Set<String> expired = stringRedisTemplate.opsForZSet().rangeByScore(RESULTS_KEY, 0, cutoff);
+        if (expired != null) {
+            for (String jobId : expired) {
+                try {
+                    minioUtils.deleteFile(OBJECT_PREFIX + jobId + XLSX);
+                    stringRedisTemplate.opsForZSet().remove(RESULTS_KEY, jobId);
+                } catch (Exception e) {
+                    log.warn("清理过期任务结果失败, jobId={}, error={}", jobId, e.getMessage());
+                }
+            }
+        }
+
+        try (Stream<Path> files = Files.list(localDir)) {
+            files.filter(path -> isOlderThan(path, cutoff)).forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("清理本地任务目录失败, dir={}, error={}", localDir, e.getMessage());
+        }
+    }
+
+    /**
+     * 登记任务并提交到虚拟线程执行
+     */
+    private void start(JobContext context, String name, String fileName, Task task) {
+        Map<String, String> fields = new HashMap<>(8);
+        fields.put("name", name);
+        fields.put("type", context.type);
+        fields.put("status", STATUS_PENDING);
+        fields.put("userId", String.valueOf(context.userId));
+        fields.put("processed", "0");
+        fields.put("createTime", String.valueOf(System.currentTimeMillis()));
+        if (fileName != null) {
+            fields.put("fileName", fileName);
+        }
+
+        try {
+            saveFields(context.jobId, fields);
+            virtualThreadExecutor.execute(() -> run(context, task));
+        } catch (RuntimeException e) {
+            log.error("后台任务提交失败, jobId={}", context.jobId, e);
+            releaseUserSlot(context.userId);
+            deleteQuietly(context.input);
+            throw new BizException("任务提交失败，请稍后再试");
+        }
+        log.info("后台任务已提交, jobId={}, type={}, name={}, userId={}", context.jobId, context.type, name, context.userId);
+    }
+
+    /**
+     * 执行任务：等待全局许可，执行任务逻辑，保存结果文件并记录最终状态
+     */
+    private void run(JobContext context, Task task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            releaseUserSlot(context.userId);
+            deleteQuietly(context.input);
+            finish(context, STATUS_FAILED, "任务被中断", null);
+            return;
+        }
+
+        try {
+            saveFields(context.jobId, Map.of("status", STATUS_RUNNING));
+            String message = task.execute(context);
+            context.closeOutput();
+            String storage = context.outputOpened ? storeResult(context) : null;
+            finish(context, STATUS_SUCCESS, message, storage);
+            log.info("后台任务完成, jobId={}, processed={}", context.jobId, context.processed.get());
+        } catch (Exception e) {
+            log.error("后台任务失败, jobId={}", context.jobId, e);
+            context.closeOutput();
+            deleteQuietly(context.output);
+            finish(context, STATUS_FAILED, rootMessage(e), null);
+        } finally {
+            permits.release();
+            releaseUserSlot(context.userId);
+            deleteQuietly(context.input);
+        }
+    }
+
+    /**
+     * 保存结果文件，返回实际使用的存储方式；auto 模式下 MinIO 上传失败时保留本地文件
+     */
+    private String storeResult(JobContext context) throws IOException {
+        String storage = dataJobProperties.getStorage();
+        boolean useMinio = STORAGE_MINIO.equals(storage)
+                || (!STORAGE_LOCAL.equals(storage) && minioUtils.isAvailable());
+        if (!useMinio) {
+            return STORAGE_LOCAL;
+        }
+
+        try (InputStream in = Files.newInputStream(context.output)) {
+            minioUtils.uploadFile(OBJECT_PREFIX + context.jobId + XLSX, in, XLSX_CONTENT_TYPE, Files.size(context.output));
+        } catch (RuntimeException e) {
+            if (STORAGE_MINIO.equals(storage)) {
+                throw e;
+            }
+            log.warn("任务结果上传 MinIO 失败，改用本地存储, jobId={}, error={}", context.jobId, e.getMessage());
+            return STORAGE_LOCAL;
+        }
+        deleteQuietly(context.output);
+        stringRedisTemplate.opsForZSet().add(RESULTS_KEY, context.jobId, System.currentTimeMillis());
+        return STORAGE_MINIO;
+    }
+
+    private void finish(JobContext context, String status, String message, String storage) {
+        Map<String, String> fields = new HashMap<>(8);
+        fields.put("status", status);
+        fields.put("processed", String.valueOf(context.processed.get()));
+        fields.put("finishTime", String.valueOf(System.currentTimeMillis()));
+        if (message != null) {
+            fields.put("message", message);
+        }
+        if (storage != null) {
+            fields.put("storage", storage);
+        }
+        saveFields(context.jobId, fields);
+    }
+
+    private void saveFields(String jobId, Map<String, String> fields) {
+        String key = JOB_KEY_PREFIX + jobId;
+        stringRedisTemplate.opsForHash().putAll(key, fields);
+        stringRedisTemplate.expire(key, dataJobProperties.getExpireHours(), TimeUnit.HOURS);
+    }
+
+    private Map<String, String> loadOwnedJob(String jobId, Long userId) {
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(JOB_KEY_PREFIX + jobId);
+        if (entries.isEmpty()) {
+            throw new BizException("任务不存在或已过期");
+        }
+        Map<String, String> fields = new HashMap<>(entries.size());
+        entries.forEach((k, v) -> fields.put(String.valueOf(k), String.valueOf(v)));
+        if (!String.valueOf(userId).equals(fields.get("userId"))) {
+            throw new BizException("无权访问该任务");
+        }
+        return fields;
+    }
+
+    private void acquireUserSlot(Long userId) {
+        int limit = Math.max(1, dataJobProperties.getPerUserConcurrency());
+        activeByUser.compute(userKey(userId), (id, active) -> {
+            int count = active == null ? 0 : active;
+            if (count >= limit) {
+                throw new BizException("进行中的导入导出任务过多，请等待已有任务完成后再试");
+            }
+            return count + 1;
+        });
+    }
+
+    private void releaseUserSlot(Long userId) {
+        activeByUser.computeIfPresent(userKey(userId), (id, active) -> active <= 1 ? null : active - 1);
+    }
+
+    private static Long userKey(Long userId) {
+        return userId == null ? 0L : userId;
+    }
+
+    private static String newJobId() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    private static Long parseLong(String value) {
+        return value == null ? null : Long.valueOf(value);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    private static boolean isOlderThan(Path path, long cutoff) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis() < cutoff;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除任务文件失败, path={}, error={}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * 单个任务的上下文，进度按间隔写入 Redis
+     */
+    private class JobContext implements Context {
+
+        private final String jobId;
+        private final String type;
+        private final Long userId;
+        private final Path input;
+        private final Path output;
+        private final AtomicLong processed = new AtomicLong();
+        private volatile long lastFlushTime;
+        private OutputStream out;
+        private boolean outputOpened;
+
+        JobContext(String jobId, String type, Long userId, Path input, Path output) {
+            this.jobId = jobId;
+            this.type = type;
+            this.userId = userId;
+            this.input = input;
+            this.output = output;
+        }
+
+        @Override
+        public InputStream openInput() throws IOException {
+            if (input == null) {
+                throw new IllegalStateException("导出任务没有输入文件");
+            }
+            return Files.newInputStream(input);
+        }
+
+        @Override
+        public OutputStream openOutput() throws IOException {
+            if (output == null) {
+                throw new IllegalStateException("导入任务没有结果文件");
+            }
+            if (out == null) {
+                out = Files.newOutputStream(output);
+                outputOpened = true;
+            }
+            return out;
+        }
+
+        @Override
+        public void total(long total) {
+            saveFields(jobId, Map.of("total", String.valueOf(total)));
+        }
+
+        @Override
+        public void advance(long rows) {
+            long current = processed.addAndGet(rows);
+            long now = System.currentTimeMillis();
+            if (now - lastFlushTime >= dataJobProperties.getProgressInterval()) {
+                lastFlushTime = now;
+                saveFields(jobId, Map.of("processed", String.valueOf(current)));
+            }
+        }
+
+        void closeOutput() {
+            if (out == null) {
+                return;
+            }
+            try {
+                out.close();
+            } catch (IOException e) {
+                log.warn("关闭任务结果文件失败, jobId={}, error={}", jobId, e.getMessage());
+            }
+            out = null;
+        }
+    }
+}
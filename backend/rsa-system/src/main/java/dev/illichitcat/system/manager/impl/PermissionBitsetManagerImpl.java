@@ -0,0 +1,193 @@
+package dev.illichitcat.system.manager.impl;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import dev.illichitcat.system.config.PermissionCacheProperties;
+import dev.illichitcat.system.dao.mapper.PermissionMapper;
+import dev.illichitcat.system.dao.mapper.UserRoleMapper;
+import dev.illichitcat.system.manager.PermissionBitsetManager;
+import dev.illichitcat.system.model.entity.Permission;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 权限位图管理器实现类
+ * <p>
+ * 权限标识首次出现时分配稠密ID（只增不减）；角色位图由 sys_role_perm 构建，
+ * 用户位图为其所有角色位图的并集。位图构建后不再修改，可无锁并发读取。
+ * 变更通过 Redis pub/sub 通知其他节点，写入后过期时间作为兜底。
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Slf4j
+@Component
+public class PermissionBitsetManagerImpl implements PermissionBitsetManager, MessageListener {
+
+    /**
+     * 权限位图变更广播频道
+     */
+    private static final String CHANNEL = "channel:perm_bitset";
+    private static final String MSG_ROLE = "role:";
+    private static final String MSG_USER = "user:";
+    private static final String MSG_ALL = "all";
+
+    private final PermissionMapper permissionMapper;
+    private final UserRoleMapper userRoleMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * 权限标识 -> 稠密ID
+     */
+    private final Map<String, Integer> permIndex = new ConcurrentHashMap<>();
+    private final AtomicInteger nextPermId = new AtomicInteger();
+
+    private final LoadingCache<Long, BitSet> roleBits;
+    private final LoadingCache<Long, UserBits> userBits;
+
+    public PermissionBitsetManagerImpl(PermissionMapper permissionMapper,
+                                       UserRoleMapper userRoleMapper,
+                                       StringRedisTemplate stringRedisTemplate,
+                                       RedisMessageListenerContainer listenerContainer,
+                                       PermissionCacheProperties permissionCacheProperties) {
+        this.permissionMapper = permissionMapper;
+        this.userRoleMapper = userRoleMapper;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+
+        PermissionCacheProperties.Bitset props = permissionCacheProperties.getBitset();
+        this.roleBits = Caffeine.newBuilder()
+                .expireAfterWrite(props.getExpireAfterWrite(), TimeUnit.MINUTES)
+                .build(this::loadRoleBits);
+        this.userBits = Caffeine.newBuilder()
+                .maximumSize(props.getMaximumUsers())
+                .expireAfterWrite(props.getExpireAfterWrite(), TimeUnit.MINUTES)
+                .build(this::loadUserBits);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @Override
+    public boolean hasPermission(Long userId, String permission) {
+        if (userId == null || permission == null) {
+            return false;
+        }
+        // 先加载用户位图，确保其角色涉及的权限标识均已分配ID
+        UserBits bits = userBits.get(userId);
+        Integer permId = permIndex.get(permission);
+        return permId != null && bits.bits.get(permId);
+    }
+
+    @Override
+    public void refreshRole(Long roleId) {
+        if (roleId == null) {
+            return;
+        }
+        evictRoleLocally(roleId);
+        publish(MSG_ROLE + roleId);
+    }
+
+    @Override
+    public void evictUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        userBits.invalidate(userId);
+        publish(MSG_USER + userId);
+    }
+
+    @Override
+    public void reloadAll() {
+        roleBits.invalidateAll();
+        userBits.invalidateAll();
+        publish(MSG_ALL);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            if (body.startsWith(MSG_ROLE)) {
+                evictRoleLocally(Long.valueOf(body.substring(MSG_ROLE.length())));
+            } else if (body.startsWith(MSG_USER)) {
+                userBits.invalidate(Long.valueOf(body.substring(MSG_USER.length())));
+            } else if (MSG_ALL.equals(body)) {
+                roleBits.invalidateAll();
+                userBits.invalidateAll();
+            }
+        } catch (Exception e) {
+            log.warn("处理权限位图变更消息失败: {}", body, e);
+        }
+    }
+
+    private void evictRoleLocally(Long roleId) {
+        roleBits.invalidate(roleId);
+        userBits.asMap().values().removeIf(user -> user.roleIds.contains(roleId));
+    }
+
+    private BitSet loadRoleBits(Long roleId) {
+        List<Permission> permissions = permissionMapper.selectPermissionsByRoleId(roleId);
+        BitSet bits = new BitSet();
+        for (Permission permission : permissions) {
+            if (permission.getPerm() != null && !permission.getPerm().isEmpty()) {
+                bits.set(intern(permission.getPerm()));
+            }
+        }
+        log.debug("构建角色权限位图: roleId={}, 权限数={}", roleId, bits.cardinality());
+        return bits;
+    }
+
+    private UserBits loadUserBits(Long userId) {
+        Set<Long> roleIds = Set.copyOf(userRoleMapper.selectRoleIdsByUserId(userId));
+        BitSet bits = new BitSet();
+        for (BitSet role : roleBits.getAll(roleIds).values()) {
+            bits.or(role);
+        }
+        return new UserBits(roleIds, bits);
+    }
+
+    private int intern(String permission) {
+        return permIndex.computeIfAbsent(permission, key -> nextPermId.getAndIncrement());
+    }
+
+    private void publish(String message) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, message);
+        } catch (Exception e) {
+            log.error("发布权限位图变更广播失败: {}", message, e);
+        }
+    }
+
+    /**
+     * 用户权限位图（构建后只读）
+     */
+    private static final class UserBits {
+
+        private final Set<Long> roleIds;
+        private final BitSet bits;
+
+        private UserBits(Set<Long> roleIds, BitSet bits) {
+            this.roleIds = roleIds;
+            this.bits = bits;
+        }
+    }
+}
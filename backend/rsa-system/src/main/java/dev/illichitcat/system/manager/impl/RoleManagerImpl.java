@@ -8,7 +8,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 角色管理器实现类
@@ -32,4 +34,10 @@ public class RoleManagerImpl implements RoleManager {
         // 从缓存获取用户角色列表
         return roleCacheService.getUserRolesFromCache(userId);
     }
+
+    @Override
+    public Map<Long, List<Role>> selectRolesByUserIds(Collection<Long> userIds) {
+        log.debug("通过Manager批量获取用户角色，用户数: {}", userIds.size());
+        return roleCacheService.getUserRolesFromCache(userIds);
+    }
 }
\ No newline at end of file
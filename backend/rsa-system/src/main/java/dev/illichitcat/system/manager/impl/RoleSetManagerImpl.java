@@ -0,0 +1,122 @@
+package dev.illichitcat.system.manager.impl;
+
+import dev.illichitcat.system.manager.RoleSetManager;
+import dev.illichitcat.system.model.entity.Role;
+import dev.illichitcat.system.service.RoleCacheService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 角色集合指纹管理器实现类
+ * <p>
+ * 指纹登记在 Redis 集合 {@code cache:role_set:fingerprints} 中供所有节点查询，本地再保留一份，
+ * Redis 不可用时至少能失效本节点登记过的指纹。角色组合数量很少，登记集合不做清理
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Slf4j
+@Component
+public class RoleSetManagerImpl implements RoleSetManager {
+
+    private static final String FINGERPRINTS_KEY = "cache:role_set:fingerprints";
+    private static final String SEPARATOR = ",";
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    @Lazy
+    private RoleCacheService roleCacheService;
+
+    /**
+     * 本节点登记过的指纹
+     */
+    private final Set<String> localFingerprints = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public String fingerprintOfUser(Long userId) {
+        List<Role> roles = roleCacheService.getUserRolesFromCache(userId);
+        if (roles == null || roles.isEmpty()) {
+            return "";
+        }
+        return fingerprint(roles.stream().map(Role::getId).toList());
+    }
+
+    @Override
+    public String fingerprint(Collection<Long> roleIds) {
+        if (roleIds == null || roleIds.isEmpty()) {
+            return "";
+        }
+        return roleIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(SEPARATOR));
+    }
+
+    @Override
+    public List<Long> roleIds(String fingerprint) {
+        if (fingerprint == null || fingerprint.isEmpty()) {
+            return List.of();
+        }
+        String[] parts = fingerprint.split(SEPARATOR);
+        List<Long> roleIds = new ArrayList<>(parts.length);
+        for (String part : parts) {
+            roleIds.add(Long.valueOf(part));
+        }
+        return roleIds;
+    }
+
+    @Override
+    public void track(String fingerprint) {
+        if (fingerprint == null || fingerprint.isEmpty() || !localFingerprints.add(fingerprint)) {
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForSet().add(FINGERPRINTS_KEY, fingerprint);
+        } catch (Exception e) {
+            // 允许下次再尝试登记
+            localFingerprints.remove(fingerprint);
+            log.warn("登记角色集合指纹失败: fingerprint={}", fingerprint, e);
+        }
+    }
+
+    @Override
+    public Set<String> getFingerprints() {
+        Set<String> fingerprints = new HashSet<>(localFingerprints);
+        try {
+            Set<String> members = stringRedisTemplate.opsForSet().members(FINGERPRINTS_KEY);
+            if (members != null) {
+                fingerprints.addAll(members);
+            }
+        } catch (Exception e) {
+            log.warn("读取角色集合指纹失败，仅使用本节点登记的指纹", e);
+        }
+        return fingerprints;
+    }
+
+    @Override
+    public Set<String> getFingerprintsContaining(Long roleId) {
+        Set<String> result = new HashSet<>();
+        for (String fingerprint : getFingerprints()) {
+            if (roleIds(fingerprint).contains(roleId)) {
+                result.add(fingerprint);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,157 @@
+package dev.illichitcat.system.manager.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.illichitcat.common.common.constant.JwtConstants;
+import dev.illichitcat.common.common.properties.SecurityProperties;
+import dev.illichitcat.common.utils.JwtUtil;
+import dev.illichitcat.system.manager.TokenCacheManager;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 登录token管理器实现类
+ * <p>
+ * 本地缓存以 token指纹 -> 用户ID 存储已通过单点登录校验的token，命中时无需访问Redis；
+ * 踢出、注销、修改/重置密码及重新登录时通过 Redis pub/sub 通知所有节点吊销。
+ * 广播丢失时由写入后过期时间兜底，保证吊销在有限时间内生效。
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Slf4j
+@Component
+public class TokenCacheManagerImpl implements TokenCacheManager, MessageListener {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final JwtUtil jwtUtil;
+    private final SecurityProperties.TokenCache props;
+    private final Cache<String, CachedToken> cache;
+
+    public TokenCacheManagerImpl(StringRedisTemplate stringRedisTemplate,
+                                 RedisMessageListenerContainer listenerContainer,
+                                 JwtUtil jwtUtil,
+                                 SecurityProperties securityProperties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.jwtUtil = jwtUtil;
+        this.props = securityProperties.getTokenCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(props.getMaximumSize())
+                .expireAfterWrite(props.getExpireAfterWrite(), TimeUnit.SECONDS)
+                .build();
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(JwtConstants.TOKEN_REVOKE_CHANNEL));
+        log.info("已订阅token吊销广播频道: {}", JwtConstants.TOKEN_REVOKE_CHANNEL);
+    }
+
+    @Override
+    public boolean isTokenActive(Long userId, String token) {
+        if (userId == null || token == null) {
+            return false;
+        }
+
+        String fingerprint = null;
+        if (props.isEnabled()) {
+            fingerprint = jwtUtil.getTokenFingerprint(token);
+            CachedToken cached = cache.getIfPresent(fingerprint);
+            if (cached != null && cached.userId.equals(userId)) {
+                return true;
+            }
+        }
+
+        String redisToken = stringRedisTemplate.opsForValue().get(JwtConstants.USER_TOKEN_REDIS_PREFIX + userId);
+        if (!token.equals(redisToken)) {
+            return false;
+        }
+
+        if (fingerprint != null) {
+            cache.put(fingerprint, new CachedToken(userId));
+        }
+        return true;
+    }
+
+    @Override
+    public void storeUserToken(Long userId, String token, long timeout, TimeUnit unit) {
+        String oldToken = stringRedisTemplate.opsForValue()
+                .setGet(JwtConstants.USER_TOKEN_REDIS_PREFIX + userId, token, timeout, unit);
+        if (oldToken != null && !oldToken.equals(token)) {
+            // 单点登录：旧token被新登录替换
+            evictToken(oldToken);
+        }
+    }
+
+    @Override
+    public void revokeUserToken(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        stringRedisTemplate.delete(JwtConstants.USER_TOKEN_REDIS_PREFIX + userId);
+        evictUserLocally(userId);
+        publish(JwtConstants.TOKEN_REVOKE_USER_PREFIX + userId);
+    }
+
+    @Override
+    public void evictToken(String token) {
+        if (token == null) {
+            return;
+        }
+        String fingerprint = jwtUtil.getTokenFingerprint(token);
+        cache.invalidate(fingerprint);
+        publish(JwtConstants.TOKEN_REVOKE_TOKEN_PREFIX + fingerprint);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            if (body.startsWith(JwtConstants.TOKEN_REVOKE_USER_PREFIX)) {
+                evictUserLocally(Long.valueOf(body.substring(JwtConstants.TOKEN_REVOKE_USER_PREFIX.length())));
+            } else if (body.startsWith(JwtConstants.TOKEN_REVOKE_TOKEN_PREFIX)) {
+                cache.invalidate(body.substring(JwtConstants.TOKEN_REVOKE_TOKEN_PREFIX.length()));
+            } else {
+                log.warn("未知的token吊销消息: {}", body);
+            }
+        } catch (Exception e) {
+            log.warn("处理token吊销消息失败: {}", body, e);
+        }
+    }
+
+    private void evictUserLocally(Long userId) {
+        cache.asMap().values().removeIf(cached -> cached.userId.equals(userId));
+    }
+
+    private void publish(String message) {
+        try {
+            stringRedisTemplate.convertAndSend(JwtConstants.TOKEN_REVOKE_CHANNEL, message);
+        } catch (Exception e) {
+            // 广播失败时其他节点的缓存将在过期后失效
+            log.error("发布token吊销广播失败: {}", message, e);
+        }
+    }
+
+    /**
+     * 本地缓存的已验证token
+     */
+    private static final class CachedToken {
+
+        private final Long userId;
+
+        private CachedToken(Long userId) {
+            this.userId = userId;
+        }
+    }
+}
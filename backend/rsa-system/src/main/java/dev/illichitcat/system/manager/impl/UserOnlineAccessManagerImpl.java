@@ -0,0 +1,220 @@
+package dev.illichitcat.system.manager.impl;
+
+import dev.illichitcat.common.common.constant.JwtConstants;
+import dev.illichitcat.system.config.OnlineUserProperties;
+import dev.illichitcat.system.dao.mapper.UserOnlineMapper;
+import dev.illichitcat.system.manager.UserOnlineAccessManager;
+import dev.illichitcat.system.model.entity.UserOnline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 在线用户访问时间管理器实现类
+ * <p>
+ * 每次请求只写入 sessionId -> 最新访问时间 的并发映射，由定时任务按批次生成
+ * UPDATE ... CASE 语句落库，并通过 Redis 管道批量 EXPIRE；应用关闭时刷出剩余数据
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Slf4j
+@Component
+public class UserOnlineAccessManagerImpl implements UserOnlineAccessManager, SmartLifecycle {
+
+    /**
+     * 在 Web 服务器停止（Integer.MAX_VALUE - 2048）之后、Redis 连接工厂关闭（0）之前刷出
+     */
+    private static final int SHUTDOWN_PHASE = Integer.MAX_VALUE - 4096;
+
+    private final UserOnlineMapper userOnlineMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final OnlineUserProperties.AccessBuffer props;
+
+    private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    private final Counter recordedCounter;
+    private final Counter coalescedCounter;
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+    private final Timer flushTimer;
+
+    private volatile boolean running = false;
+
+    public UserOnlineAccessManagerImpl(UserOnlineMapper userOnlineMapper,
+                                       StringRedisTemplate stringRedisTemplate,
+                                       OnlineUserProperties onlineUserProperties,
+                                       MeterRegistry meterRegistry) {
+        this.userOnlineMapper = userOnlineMapper;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.props = onlineUserProperties.getAccessBuffer();
+
+        this.recordedCounter = Counter.builder("online.access.recorded")
+                .description("记录的会话访问次数")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("online.access.coalesced")
+                .description("被合并（未单独落库）的访问次数")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("online.access.flushed")
+                .description("批量落库的会话数")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("online.access.flush.failed")
+                .description("批量落库失败次数")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("online.access.flush")
+                .description("批量刷新耗时")
+                .register(meterRegistry);
+        Gauge.builder("online.access.pending", pending, Map::size)
+                .description("待刷新的会话数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordAccess(String sessionId, LocalDateTime accessTime) {
+        if (sessionId == null) {
+            return;
+        }
+
+        if (!props.isEnabled()) {
+            // 未启用缓冲时保持原有的同步写入行为
+            userOnlineMapper.updateLastTime(sessionId, accessTime);
+            stringRedisTemplate.expire(JwtConstants.ONLINE_USER_REDIS_PREFIX + sessionId,
+                    props.getExpireHours(), TimeUnit.HOURS);
+            return;
+        }
+
+        recordedCounter.increment();
+        LocalDateTime previous = pending.put(sessionId, accessTime);
+        if (previous != null) {
+            coalescedCounter.increment();
+            if (previous.isAfter(accessTime)) {
+                // 并发写入乱序时保留较新的时间
+                pending.merge(sessionId, previous, (a, b) -> a.isAfter(b) ? a : b);
+            }
+        }
+    }
+
+    /**
+     * 定时刷新缓冲区
+     */
+    @Scheduled(fixedDelayString = "#{${online.user.access-buffer.flush-interval:10} * 1000}")
+    public void scheduledFlush() {
+        try {
+            int count = flush();
+            if (count > 0) {
+                log.debug("在线用户访问时间批量刷新完成，会话数: {}", count);
+            }
+        } catch (Exception e) {
+            log.error("在线用户访问时间批量刷新失败", e);
+        }
+    }
+
+    @Override
+    public int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        // 逐键移除，移除时拿到的一定是该会话的最新值；移除后的新写入留待下次刷新
+        List<UserOnline> batch = new ArrayList<>(pending.size());
+        for (String sessionId : pending.keySet()) {
+            LocalDateTime lastTime = pending.remove(sessionId);
+            if (lastTime != null) {
+                UserOnline session = new UserOnline();
+                session.setId(sessionId);
+                session.setLastTime(lastTime);
+                batch.add(session);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        return flushTimer.record(() -> {
+            int batchSize = Math.max(1, props.getBatchSize());
+            int written = 0;
+            for (int from = 0; from < batch.size(); from += batchSize) {
+                List<UserOnline> chunk = batch.subList(from, Math.min(from + batchSize, batch.size()));
+                try {
+                    userOnlineMapper.batchUpdateLastTime(chunk);
+                    written += chunk.size();
+                } catch (Exception e) {
+                    failedCounter.increment();
+                    log.error("批量更新最后访问时间失败，会话数: {}，将于下次刷新重试", chunk.size(), e);
+                    // 放回缓冲区，期间若有更新的访问时间则以新值为准
+                    for (UserOnline session : chunk) {
+                        pending.merge(session.getId(), session.getLastTime(), (a, b) -> a.isAfter(b) ? a : b);
+                    }
+                }
+            }
+            flushedCounter.increment(written);
+
+            expireSessions(batch);
+            return written;
+        });
+    }
+
+    /**
+     * 以管道方式批量续期在线会话的Redis记录
+     */
+    private void expireSessions(List<UserOnline> sessions) {
+        long expireSeconds = TimeUnit.HOURS.toSeconds(props.getExpireHours());
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                expireAll(connection, sessions, expireSeconds);
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("批量续期在线会话Redis记录失败，会话数: {}", sessions.size(), e);
+        }
+    }
+
+    private void expireAll(RedisConnection connection, List<UserOnline> sessions, long expireSeconds) {
+        for (UserOnline session : sessions) {
+            byte[] key = (JwtConstants.ONLINE_USER_REDIS_PREFIX + session.getId()).getBytes(StandardCharsets.UTF_8);
+            connection.keyCommands().expire(key, expireSeconds);
+        }
+    }
+
+    @Override
+    public void start() {
+        this.running = true;
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+        try {
+            int count = flush();
+            log.info("应用关闭，已刷出在线用户访问时间缓冲区，会话数: {}", count);
+        } catch (Exception e) {
+            log.error("应用关闭时刷出在线用户访问时间缓冲区失败", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SHUTDOWN_PHASE;
+    }
+}
@@ -0,0 +1,21 @@
+package dev.illichitcat.system.model.dto;
+
+import dev.illichitcat.system.model.entity.Role;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 用户角色关联查询结果，一行对应一个用户的一个角色
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Schema(description = "用户角色关联查询结果")
+public class UserRoleDetailDTO extends Role {
+
+    @Schema(description = "用户ID")
+    private Long userId;
+}
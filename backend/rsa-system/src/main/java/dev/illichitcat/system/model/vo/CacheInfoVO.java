@@ -29,4 +29,7 @@ public class CacheInfoVO implements Serializable {
 
     @Schema(description = "命令统计列表")
     private List<CommandStatVO> commandStats;
+
+    @Schema(description = "业务缓存分级统计列表")
+    private List<CacheStatVO> cacheStats;
 }
\ No newline at end of file
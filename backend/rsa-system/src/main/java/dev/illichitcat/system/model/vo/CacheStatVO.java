@@ -0,0 +1,63 @@
+package dev.illichitcat.system.model.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 业务缓存分级统计视图对象
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Data
+@Schema(description = "业务缓存分级统计视图对象")
+public class CacheStatVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "缓存名称")
+    private String name;
+
+    @Schema(description = "一级缓存(Caffeine)命中次数")
+    private Long caffeineHits;
+
+    @Schema(description = "一级缓存(Caffeine)未命中次数")
+    private Long caffeineMisses;
+
+    @Schema(description = "二级缓存(Redis)命中次数")
+    private Long redisHits;
+
+    @Schema(description = "二级缓存(Redis)未命中次数")
+    private Long redisMisses;
+
+    @Schema(description = "已知不存在的键被拦截次数（布隆过滤器或空值缓存）")
+    private Long absentHits;
+
+    @Schema(description = "数据库加载次数")
+    private Long loads;
+
+    @Schema(description = "数据库加载失败次数")
+    private Long loadFailures;
+
+    @Schema(description = "数据库加载平均耗时(毫秒)")
+    private Double loadAvgMillis;
+
+    @Schema(description = "清除次数")
+    private Long evictions;
+
+    @Schema(description = "一级缓存条目数")
+    private Long size;
+
+    @Schema(description = "一级缓存权重：估算的占用字节数（未配置内存预算时为条目数）")
+    private Long weightedSize;
+
+    @Schema(description = "一级缓存内存预算（字节），未配置时为 0")
+    private Long maximumWeight;
+
+    @Schema(description = "综合命中率（一级或二级缓存命中、已知不存在的请求占比）")
+    private Double hitRate;
+}
@@ -0,0 +1,54 @@
+package dev.illichitcat.system.model.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 后台导入导出任务视图对象
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Data
+@Schema(description = "后台导入导出任务视图对象")
+public class DataJobVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "任务ID")
+    private String jobId;
+
+    @Schema(description = "任务名称")
+    private String name;
+
+    @Schema(description = "任务类型 IMPORT 导入 EXPORT 导出")
+    private String type;
+
+    @Schema(description = "任务状态 PENDING 排队中 RUNNING 执行中 SUCCESS 成功 FAILED 失败")
+    private String status;
+
+    @Schema(description = "提交用户ID")
+    private Long userId;
+
+    @Schema(description = "已处理行数")
+    private Long processed;
+
+    @Schema(description = "总行数，未知时为空")
+    private Long total;
+
+    @Schema(description = "结果信息或错误信息")
+    private String message;
+
+    @Schema(description = "结果文件名，无结果文件时为空")
+    private String fileName;
+
+    @Schema(description = "提交时间（毫秒时间戳）")
+    private Long createTime;
+
+    @Schema(description = "结束时间（毫秒时间戳）")
+    private Long finishTime;
+}
@@ -0,0 +1,34 @@
+package dev.illichitcat.system.model.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * 受权限保护的接口路由视图对象
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+@Data
+@Schema(description = "受权限保护的接口路由视图对象")
+public class PermissionRouteVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "请求方法")
+    private Set<String> methods;
+
+    @Schema(description = "路径模式")
+    private Set<String> patterns;
+
+    @Schema(description = "处理方法")
+    private String handler;
+
+    @Schema(description = "所需权限标识")
+    private String permission;
+}
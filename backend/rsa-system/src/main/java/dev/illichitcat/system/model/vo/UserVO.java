@@ -6,6 +6,7 @@ import lombok.Data;
 import java.io.Serial;
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 用户视图对象
@@ -41,6 +42,9 @@ public class UserVO implements Serializable {
     @Schema(description = "状态 1 正常 0 禁用")
     private Integer status;
 
+    @Schema(description = "角色列表")
+    private List<RoleVO> roles;
+
     @Schema(description = "创建时间")
     private LocalDateTime createTime;
 
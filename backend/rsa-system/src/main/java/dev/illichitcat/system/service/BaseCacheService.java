@@ -1,14 +1,42 @@
 package dev.illichitcat.system.service;
 
+import cn.hutool.bloomfilter.BitSetBloomFilter;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.illichitcat.system.config.CacheGlobalProperties;
+import dev.illichitcat.system.config.CachePenetrationProperties;
+import dev.illichitcat.system.config.CacheSpec;
+import dev.illichitcat.system.manager.CacheGenerationManager;
+import dev.illichitcat.system.manager.CacheInvalidationManager;
+import dev.illichitcat.system.manager.CacheLoadManager;
+import dev.illichitcat.system.manager.CacheMetricsManager;
+import dev.illichitcat.system.manager.CacheSpecManager;
+import dev.illichitcat.system.manager.CacheWriteBehindManager;
+import dev.illichitcat.system.manager.codec.CacheCodec;
+import dev.illichitcat.system.manager.codec.CacheCodecFormat;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.scheduling.annotation.Async;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
@@ -23,6 +51,32 @@ import java.util.function.Function;
 @Slf4j
 public abstract class BaseCacheService {
 
+    /**
+     * Redis 空值哨兵
+     */
+    protected static final String NULL_VALUE = "__NULL__";
+    private static final byte[] NULL_VALUE_BYTES = NULL_VALUE.getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 布隆过滤器每个键的最多哈希函数个数（BitSetBloomFilter 限制）
+     */
+    private static final int MAX_BLOOM_HASHES = 8;
+
+    /**
+     * 缓存名称 -> 布隆过滤器（仅预热后存在；不存在时视为所有键都可能存在）
+     */
+    private final Map<String, KeyFilter> bloomFilters = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存名称 -> 二级缓存编解码器
+     */
+    private final Map<String, CacheCodec<Object>> codecs = new ConcurrentHashMap<>();
+
+    /**
+     * 正在提前刷新的缓存键（cacheName:cacheKey），避免同一键重复提交刷新任务
+     */
+    private final Set<String> refreshingKeys = ConcurrentHashMap.newKeySet();
+
     @Autowired
     protected CacheManager cacheManager;
 
@@ -32,19 +86,74 @@ public abstract class BaseCacheService {
     @Autowired
     protected ObjectMapper objectMapper;
 
+    @Autowired
+    protected CacheLoadManager cacheLoadManager;
+
+    @Autowired
+    protected CacheInvalidationManager cacheInvalidationManager;
+
+    @Autowired
+    protected CacheGenerationManager cacheGenerationManager;
+
+    @Autowired
+    protected CacheGlobalProperties cacheGlobalProperties;
+
+    @Autowired
+    protected CacheWriteBehindManager cacheWriteBehindManager;
+
+    @Autowired
+    protected CacheMetricsManager cacheMetricsManager;
+
+    @Autowired
+    protected CacheSpecManager cacheSpecManager;
+
+    @Resource(name = "virtualThreadExecutor")
+    private ExecutorService refreshExecutor;
+
+    /**
+     * 初始化：注册各缓存的二级缓存编解码器，订阅其他节点的缓存失效消息
+     */
+    @PostConstruct
+    public void initCacheSupport() {
+        CacheGlobalProperties.Codec codecConfig = cacheGlobalProperties.getCodec();
+        getCacheValueTypes().forEach((cacheName, type) -> {
+            CacheCodecFormat format = codecConfig.getFormats().getOrDefault(cacheName, codecConfig.getFormat());
+            codecs.put(cacheName, format.create(objectMapper, type, codecConfig.getCompressThreshold()));
+            cacheMetricsManager.register(cacheName);
+        });
+
+        // 同步本地布隆过滤器和命名空间代数；一级缓存本身由 CacheInvalidationManager 统一清除
+        cacheInvalidationManager.addListener(new CacheInvalidationManager.Listener() {
+            @Override
+            public void onRemoteEvict(String cacheName, String key) {
+                addToBloomFilter(cacheName, key);
+            }
+
+            @Override
+            public void onRemoteClear(String cacheName) {
+                // 只处理属于本服务的缓存，避免任一清空消息都重新读取所有命名空间的代数
+                if (!codecs.containsKey(cacheName)) {
+                    return;
+                }
+                bloomFilters.remove(cacheName);
+                cacheGenerationManager.refresh(getCacheNamespace());
+            }
+        });
+    }
+
     /**
-     * 获取缓存是否启用
+     * 获取缓存是否禁用，禁用时读写直接绕过缓存
      *
-     * @return true-启用，false-禁用
+     * @return true-禁用，false-启用
      */
-    protected abstract boolean isCacheEnabled();
+    protected abstract boolean isCacheDisabled();
 
     /**
-     * 获取 Caffeine 缓存是否启用
+     * 获取 Caffeine 缓存是否禁用，禁用时跳过一级缓存
      *
-     * @return true-启用，false-禁用
+     * @return true-禁用，false-启用
      */
-    protected abstract boolean isCaffeineEnabled();
+    protected abstract boolean isCaffeineDisabled();
 
     /**
      * 获取 Redis 缓存是否启用
@@ -68,6 +177,27 @@ public abstract class BaseCacheService {
      */
     protected abstract String getRedisPrefixByCacheName(String cacheName);
 
+    /**
+     * 获取缓存穿透防护配置
+     *
+     * @return 空值缓存与布隆过滤器配置
+     */
+    protected abstract CachePenetrationProperties getPenetrationProperties();
+
+    /**
+     * 获取 Redis 缓存命名空间（批量清除缓存时以命名空间为单位递增代数）
+     *
+     * @return 命名空间
+     */
+    protected abstract String getCacheNamespace();
+
+    /**
+     * 获取各缓存的值类型，用于注册二级缓存编解码器（Redis 命中时直接解码为该类型）
+     *
+     * @return 缓存名称 -> 值类型
+     */
+    protected abstract Map<String, JavaType> getCacheValueTypes();
+
     /**
      * 通用缓存获取方法（Cache-Aside 模式）
      * 1. 先查 Caffeine 一级缓存
@@ -88,33 +218,34 @@ public abstract class BaseCacheService {
                                     Function<String, String> keyGenerator,
                                     Function<K, V> dbLoader,
                                     Function<V, Void> cacheWriter) {
-        if (isCacheEnabled()) {
+        if (isCacheDisabled()) {
             return dbLoader.apply(key);
         }
 
         // 1. 先查 Caffeine 一级缓存
-        V value = getFromCaffeine(cacheName, keyGenerator.apply(""));
+        String cacheKey = keyGenerator.apply("");
+        String redisKey = keyGenerator.apply(getRedisPrefixByCacheName(cacheName));
+        V value = getFromCaffeine(cacheName, cacheKey);
         if (value != null) {
+            refreshIfStale(cacheName, cacheKey, redisKey, key, dbLoader, cacheWriter);
             return value;
         }
 
-        // 2. 未命中查 Redis 二级缓存
-        V redisValue = getFromRedis(keyGenerator.apply(getRedisPrefixByCacheName(cacheName)));
+        // 2. 已知不存在的键（布隆过滤器拒绝或已缓存空值）直接返回
+        if (isKnownAbsent(cacheName, cacheKey)) {
+            return null;
+        }
+
+        // 3. 未命中查 Redis 二级缓存
+        V redisValue = getFromRedis(cacheName, redisKey);
         if (redisValue != null) {
             // 回填 Caffeine 缓存
-            putToCaffeine(cacheName, keyGenerator.apply(""), redisValue);
+            putToCaffeine(cacheName, cacheKey, redisValue);
             return redisValue;
         }
 
-        // 3. 都未命中查数据库
-        log.debug("缓存未命中，查询数据库: cacheName={}, key={}", cacheName, key);
-        V dbValue = dbLoader.apply(key);
-        if (dbValue != null) {
-            // 回填缓存
-            cacheWriter.apply(dbValue);
-        }
-
-        return dbValue;
+        // 4. 都未命中查数据库（并发未命中合并为一次回源）
+        return loadFromDb(cacheName, cacheKey, redisKey, key, dbLoader, cacheWriter);
     }
 
     /**
@@ -137,35 +268,361 @@ public abstract class BaseCacheService {
                                              Function<String, String> keyGenerator,
                                              Function<K, V> dbLoader,
                                              Function<V, Void> cacheWriter) {
-        if (isCacheEnabled()) {
+        if (isCacheDisabled()) {
             return dbLoader.apply(key);
         }
 
         // 1. 先查 Caffeine 一级缓存
-        V value = getFromCaffeine(cacheName, keyGenerator.apply(""));
+        String cacheKey = keyGenerator.apply("");
+        String redisKey = keyGenerator.apply(getRedisPrefixByCacheName(cacheName));
+        V value = getFromCaffeine(cacheName, cacheKey);
         if (value != null) {
             log.debug("Caffeine 命中: cacheName={}, key={}", cacheName, key);
+            refreshIfStale(cacheName, cacheKey, redisKey, key, dbLoader, cacheWriter);
             return value;
         }
 
-        // 2. 未命中查 Redis 二级缓存
-        value = getFromRedis(keyGenerator.apply(getRedisPrefixByCacheName(cacheName)));
+        // 2. 已知不存在的键（布隆过滤器拒绝或已缓存空值）直接返回
+        if (isKnownAbsent(cacheName, cacheKey)) {
+            return null;
+        }
+
+        // 3. 未命中查 Redis 二级缓存
+        value = getFromRedis(cacheName, redisKey);
         if (value != null) {
             // 回填 Caffeine 缓存
-            putToCaffeine(cacheName, keyGenerator.apply(""), value);
+            putToCaffeine(cacheName, cacheKey, value);
             return value;
         }
 
-        // 3. 都未命中查数据库
-        log.debug("缓存未命中，从数据库加载: cacheName={}, key={}", cacheName, key);
-        value = dbLoader.apply(key);
+        // 4. 都未命中查数据库并回填缓存（并发未命中合并为一次回源）
+        return loadFromDb(cacheName, cacheKey, redisKey, key, dbLoader, cacheWriter);
+    }
 
-        // 4. 回填缓存
-        if (value != null) {
-            cacheWriter.apply(value);
+    /**
+     * 回源数据库并回填缓存
+     * 同一缓存键的并发未命中只有一个线程执行 dbLoader，其余线程等待其结果；
+     * 数据库中不存在的键写入空值哨兵，避免反复穿透
+     *
+     * @param cacheName   缓存名称
+     * @param cacheKey    缓存键（一级缓存 Key）
+     * @param redisKey    Redis 缓存键
+     * @param key         业务键
+     * @param dbLoader    数据库加载器
+     * @param cacheWriter 缓存写入器
+     * @param <K>         键类型
+     * @param <V>         值类型
+     * @return 数据库值
+     */
+    protected <K, V> V loadFromDb(String cacheName,
+                                  String cacheKey,
+                                  String redisKey,
+                                  K key,
+                                  Function<K, V> dbLoader,
+                                  Function<V, Void> cacheWriter) {
+        return cacheLoadManager.load(cacheName, cacheKey, () -> {
+            // 其他节点已确认该键不存在
+            if (isNullCachedInRedis(redisKey)) {
+                putNullToCaffeine(cacheName, cacheKey);
+                return null;
+            }
+
+            log.debug("缓存未命中，从数据库加载: cacheName={}, key={}", cacheName, key);
+            V value = cacheMetricsManager.recordLoad(cacheName, "single", () -> dbLoader.apply(key));
+            if (value != null) {
+                cacheWriter.apply(value);
+            } else {
+                cacheNullValue(cacheName, cacheKey, redisKey);
+            }
+            return value;
+        });
+    }
+
+    /**
+     * 批量缓存获取方法
+     * 1. 先查 Caffeine 一级缓存
+     * 2. 剩余键一次 MGET 查 Redis 二级缓存
+     * 3. 仍未命中的键通过批量加载器一次查询数据库（IN 查询），
+     *    查到的值回填两级缓存（Redis 写入经异步队列合并为管道写入），查不到的键写入空值哨兵
+     *
+     * @param keys              业务键集合
+     * @param cacheName         缓存名称
+     * @param cacheKeyGenerator 一级缓存 Key 生成器
+     * @param redisKeyGenerator Redis 缓存键生成器
+     * @param batchLoader       批量数据库加载器，返回 业务键 -> 值，不存在的键不返回
+     * @param <K>               键类型
+     * @param <V>               值类型
+     * @return 业务键 -> 缓存值（按传入顺序，不存在的键不返回）
+     */
+    protected <K, V> Map<K, V> getAllFromCache(Collection<K> keys,
+                                               String cacheName,
+                                               Function<K, String> cacheKeyGenerator,
+                                               Function<K, String> redisKeyGenerator,
+                                               Function<Collection<K>, Map<K, V>> batchLoader) {
+        if (keys == null || keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        if (isCacheDisabled()) {
+            return batchLoader.apply(keys);
+        }
+
+        Map<K, V> result = new LinkedHashMap<>(keys.size() * 2);
+        List<K> redisMisses = new ArrayList<>();
+
+        // 1. 先查 Caffeine 一级缓存
+        for (K key : new LinkedHashSet<>(keys)) {
+            String cacheKey = cacheKeyGenerator.apply(key);
+            V value = getFromCaffeine(cacheName, cacheKey);
+            if (value != null) {
+                result.put(key, value);
+                refreshIfStale(cacheName, cacheKey, redisKeyGenerator.apply(key), key,
+                        k -> batchLoader.apply(List.of(k)).get(k), v -> {
+                            putToCaffeine(cacheName, cacheKey, v);
+                            asyncPutToRedis(cacheName, redisKeyGenerator.apply(key), v);
+                            return null;
+                        });
+            } else if (!isKnownAbsent(cacheName, cacheKey)) {
+                result.put(key, null);
+                redisMisses.add(key);
+            }
+        }
+
+        // 2. 剩余键一次 MGET 查 Redis 二级缓存
+        List<K> dbMisses = redisMisses;
+        if (!redisMisses.isEmpty() && isRedisEnabled()) {
+            dbMisses = new ArrayList<>();
+            try {
+                List<byte[]> values = getRedisBytes(redisMisses.stream()
+                        .map(key -> versionedKey(redisKeyGenerator.apply(key)))
+                        .toList());
+                for (int i = 0; i < redisMisses.size(); i++) {
+                    K key = redisMisses.get(i);
+                    byte[] bytes = values.get(i);
+                    if (Arrays.equals(NULL_VALUE_BYTES, bytes)) {
+                        // 其他节点已确认该键不存在
+                        cacheMetricsManager.recordAbsent(cacheName);
+                        result.remove(key);
+                        putNullToCaffeine(cacheName, cacheKeyGenerator.apply(key));
+                        continue;
+                    }
+                    V value = decodeRedisValue(cacheName, redisKeyGenerator.apply(key), bytes);
+                    cacheMetricsManager.recordGet(cacheName, CacheMetricsManager.Tier.REDIS, value != null);
+                    if (value != null) {
+                        result.put(key, value);
+                        putToCaffeine(cacheName, cacheKeyGenerator.apply(key), value);
+                    } else {
+                        dbMisses.add(key);
+                    }
+                }
+            } catch (Exception e) {
+                log.error("批量获取 Redis 缓存失败, cacheName={}, count={}", cacheName, redisMisses.size(), e);
+                dbMisses = redisMisses;
+            }
+        }
+
+        // 3. 仍未命中的键批量查询数据库并回填缓存
+        if (!dbMisses.isEmpty()) {
+            log.debug("缓存未命中，批量从数据库加载: cacheName={}, count={}", cacheName, dbMisses.size());
+            List<K> loadKeys = dbMisses;
+            Map<K, V> loaded = cacheMetricsManager.recordLoad(cacheName, "batch", () -> batchLoader.apply(loadKeys));
+            for (K key : dbMisses) {
+                V value = loaded.get(key);
+                if (value != null) {
+                    result.put(key, value);
+                    putToCaffeine(cacheName, cacheKeyGenerator.apply(key), value);
+                    asyncPutToRedis(cacheName, redisKeyGenerator.apply(key), value);
+                } else {
+                    result.remove(key);
+                    cacheNullValue(cacheName, cacheKeyGenerator.apply(key), redisKeyGenerator.apply(key));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 提前刷新（Refresh-Ahead）
+     * 一级缓存命中的键写入时长超过刷新阈值时，在虚拟线程中异步从数据库重新加载并回填两级缓存；
+     * 刷新完成前继续返回旧值，热点键不会因过期而集中回源，冷门键则按原有过期策略自然淘汰
+     *
+     * @param cacheName   缓存名称
+     * @param cacheKey    缓存键（一级缓存 Key）
+     * @param redisKey    Redis 缓存键
+     * @param key         业务键
+     * @param dbLoader    数据库加载器
+     * @param cacheWriter 缓存写入器
+     * @param <K>         键类型
+     * @param <V>         值类型
+     */
+    protected <K, V> void refreshIfStale(String cacheName,
+                                         String cacheKey,
+                                         String redisKey,
+                                         K key,
+                                         Function<K, V> dbLoader,
+                                         Function<V, Void> cacheWriter) {
+        CacheSpec spec = cacheSpecManager.getSpec(cacheName);
+        long refreshAfterWrite = spec != null ? spec.getRefreshAfterWrite() : 0;
+        if (refreshAfterWrite <= 0 || isCaffeineDisabled()
+                || !(cacheManager.getCache(cacheName) instanceof CaffeineCache caffeineCache)) {
+            return;
+        }
+
+        boolean stale = caffeineCache.getNativeCache().policy().expireAfterWrite()
+                .map(policy -> policy.ageOf(cacheKey, TimeUnit.MINUTES).orElse(0) >= refreshAfterWrite)
+                .orElse(false);
+        String refreshKey = cacheName + ":" + cacheKey;
+        if (!stale || !refreshingKeys.add(refreshKey)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    V value = cacheMetricsManager.recordLoad(cacheName, "refresh", () -> dbLoader.apply(key));
+                    if (value != null) {
+                        cacheWriter.apply(value);
+                    } else {
+                        evictFromCaffeine(cacheName, cacheKey);
+                        cacheNullValue(cacheName, cacheKey, redisKey);
+                    }
+                    log.debug("缓存提前刷新完成: cacheName={}, key={}", cacheName, key);
+                } catch (Exception e) {
+                    log.warn("缓存提前刷新失败，继续使用旧值: cacheName={}, key={}", cacheName, key, e);
+                } finally {
+                    refreshingKeys.remove(refreshKey);
+                }
+            });
+        } catch (Exception e) {
+            refreshingKeys.remove(refreshKey);
+            log.warn("提交缓存提前刷新任务失败: cacheName={}, key={}", cacheName, key, e);
+        }
+    }
+
+    // ==================== 缓存穿透防护 ====================
+
+    /**
+     * 判断键是否已知不存在：布隆过滤器判定不存在，或一级缓存中存在未过期的空值
+     *
+     * @param cacheName 缓存名称
+     * @param cacheKey  缓存键（一级缓存 Key）
+     * @return true-已知不存在，可直接返回 null
+     */
+    protected boolean isKnownAbsent(String cacheName, String cacheKey) {
+        KeyFilter filter = bloomFilters.get(cacheName);
+        if (filter != null && !filter.mightContain(cacheKey)) {
+            log.debug("布隆过滤器拦截: cacheName={}, key={}", cacheName, cacheKey);
+            cacheMetricsManager.recordAbsent(cacheName);
+            return true;
+        }
+        if (isNullCachedInCaffeine(cacheName, cacheKey)) {
+            cacheMetricsManager.recordAbsent(cacheName);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 缓存空值：一级缓存写入带过期时间的空值标记，Redis 写入空值哨兵
+     *
+     * @param cacheName 缓存名称
+     * @param cacheKey  缓存键（一级缓存 Key）
+     * @param redisKey  Redis 缓存键
+     */
+    protected void cacheNullValue(String cacheName, String cacheKey, String redisKey) {
+        CachePenetrationProperties.NullValue config = getPenetrationProperties().getNullValue();
+        if (isCacheDisabled() || !config.isEnabled()) {
+            return;
+        }
+
+        putNullToCaffeine(cacheName, cacheKey);
+        if (isRedisEnabled() && redisKey != null) {
+            cacheWriteBehindManager.enqueue(versionedKey(redisKey), NULL_VALUE_BYTES, config.getExpireTime());
+        }
+    }
+
+    /**
+     * 以缓存中全部存在的键重建布隆过滤器（在预热时调用）
+     *
+     * @param cacheName 缓存名称
+     * @param cacheKeys 全部存在的缓存键（一级缓存 Key）
+     */
+    protected void rebuildBloomFilter(String cacheName, Collection<String> cacheKeys) {
+        CachePenetrationProperties.BloomFilter config = getPenetrationProperties().getBloomFilter();
+        if (!config.isEnabled()) {
+            bloomFilters.remove(cacheName);
+            return;
         }
 
-        return value;
+        KeyFilter filter = new KeyFilter(Math.max(config.getExpectedInsertions(), cacheKeys.size()),
+                config.getBitsPerKey());
+        cacheKeys.forEach(filter::put);
+        bloomFilters.put(cacheName, filter);
+        log.info("布隆过滤器已重建: cacheName={}, keys={}", cacheName, cacheKeys.size());
+    }
+
+    /**
+     * 将键加入布隆过滤器（键被写入或变更时调用，防止新增数据被误拦截）
+     *
+     * @param cacheName 缓存名称
+     * @param cacheKey  缓存键（一级缓存 Key）
+     */
+    private void addToBloomFilter(String cacheName, String cacheKey) {
+        KeyFilter filter = bloomFilters.get(cacheName);
+        if (filter != null) {
+            filter.put(cacheKey);
+        }
+    }
+
+    /**
+     * 一级缓存中是否存在未过期的空值标记
+     */
+    private boolean isNullCachedInCaffeine(String cacheName, String cacheKey) {
+        if (isCaffeineDisabled()) {
+            return false;
+        }
+        org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return false;
+        }
+        org.springframework.cache.Cache.ValueWrapper wrapper = cache.get(cacheKey);
+        if (wrapper != null && wrapper.get() instanceof NullValue nullValue) {
+            if (nullValue.isExpired()) {
+                cache.evict(cacheKey);
+                return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Redis 中是否存在空值哨兵
+     */
+    private boolean isNullCachedInRedis(String redisKey) {
+        if (!isRedisEnabled() || redisKey == null || !getPenetrationProperties().getNullValue().isEnabled()) {
+            return false;
+        }
+        try {
+            return Arrays.equals(NULL_VALUE_BYTES, getRedisBytes(versionedKey(redisKey)));
+        } catch (Exception e) {
+            log.error("获取 Redis 空值缓存失败, key={}", redisKey, e);
+            return false;
+        }
+    }
+
+    /**
+     * 一级缓存写入空值标记
+     */
+    private void putNullToCaffeine(String cacheName, String cacheKey) {
+        CachePenetrationProperties.NullValue config = getPenetrationProperties().getNullValue();
+        if (isCaffeineDisabled() || !config.isEnabled()) {
+            return;
+        }
+        org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.put(cacheKey, new NullValue(System.currentTimeMillis()
+                    + TimeUnit.SECONDS.toMillis(config.getExpireTime())));
+        }
     }
 
     /**
@@ -177,7 +634,7 @@ public abstract class BaseCacheService {
      * @param <T>       值类型
      */
     protected <T> void cacheData(String cacheName, Function<String, String> key, T value) {
-        if (isCacheEnabled() || value == null) {
+        if (isCacheDisabled() || value == null) {
             return;
         }
 
@@ -186,7 +643,7 @@ public abstract class BaseCacheService {
 
         // 写入 Redis 二级缓存
         if (isRedisEnabled()) {
-            asyncPutToRedis(key.apply(getRedisPrefixByCacheName(cacheName)), value);
+            asyncPutToRedis(cacheName, key.apply(getRedisPrefixByCacheName(cacheName)), value);
         }
     }
 
@@ -197,11 +654,42 @@ public abstract class BaseCacheService {
      * @param key       Key 生成器
      */
     protected void evictCache(String cacheName, Function<String, String> key) {
-        if (isCacheEnabled()) {
+        if (isCacheDisabled()) {
             return;
         }
-        evictFromCaffeine(cacheName, key.apply(""));
+        // 被清除的键通常是刚新增或修改的数据，加入布隆过滤器避免被误拦截
+        String cacheKey = key.apply("");
+        addToBloomFilter(cacheName, cacheKey);
+        evictFromCaffeine(cacheName, cacheKey);
         evictFromRedis(key.apply(getRedisPrefixByCacheName(cacheName)));
+        recordEviction(cacheName);
+        // 通知其他节点清除一级缓存
+        cacheInvalidationManager.publishEvict(cacheName, List.of(cacheKey));
+    }
+
+    /**
+     * 批量清除缓存：一级缓存逐键清除，二级缓存以一次管道删除，失效通知按缓存名称各广播一次
+     *
+     * @param evictions 待清除的缓存键
+     */
+    protected void evictCaches(Collection<CacheEviction> evictions) {
+        if (isCacheDisabled() || evictions.isEmpty()) {
+            return;
+        }
+        Map<String, List<String>> cacheKeys = new LinkedHashMap<>();
+        List<String> redisKeys = new ArrayList<>(evictions.size());
+        for (CacheEviction eviction : evictions) {
+            String cacheName = eviction.cacheName();
+            String cacheKey = eviction.key().apply("");
+            addToBloomFilter(cacheName, cacheKey);
+            evictFromCaffeine(cacheName, cacheKey);
+            recordEviction(cacheName);
+            cacheKeys.computeIfAbsent(cacheName, name -> new ArrayList<>()).add(cacheKey);
+            redisKeys.add(eviction.key().apply(getRedisPrefixByCacheName(cacheName)));
+        }
+        evictFromRedis(redisKeys);
+        // 通知其他节点清除一级缓存
+        cacheKeys.forEach(cacheInvalidationManager::publishEvict);
     }
 
     /**
@@ -210,28 +698,40 @@ public abstract class BaseCacheService {
      * @param cacheNames 缓存名称列表
      */
     protected void evictAllCache(String... cacheNames) {
-        if (isCacheEnabled()) {
+        if (isCacheDisabled()) {
             return;
         }
 
-        // 清除 Caffeine 缓存
+        // 清除 Caffeine 缓存，布隆过滤器失效至下次预热重建
         for (String cacheName : cacheNames) {
             clearCaffeine(cacheName);
+            bloomFilters.remove(cacheName);
+            recordEviction(cacheName);
         }
 
-        // 清除 Redis 缓存
+        // 清除 Redis 缓存：递增命名空间代数使旧键立即失效，旧键由后台任务或过期时间回收
         if (isRedisEnabled()) {
-            for (String cacheName : cacheNames) {
-                String prefix = getRedisPrefixByCacheName(cacheName);
-                if (prefix != null && !prefix.isEmpty()) {
-                    redisTemplate.delete(redisTemplate.keys(prefix + "*"));
-                }
-            }
+            cacheGenerationManager.advance(getCacheNamespace());
         }
 
+        // 通知其他节点清空一级缓存
+        cacheInvalidationManager.publishClear(Arrays.asList(cacheNames));
+
         log.info("清除所有缓存成功, cacheNames={}", (Object) cacheNames);
     }
 
+    /**
+     * 记录一次清除（分别计入已启用的一级、二级缓存）
+     */
+    private void recordEviction(String cacheName) {
+        if (!isCaffeineDisabled()) {
+            cacheMetricsManager.recordEviction(cacheName, CacheMetricsManager.Tier.CAFFEINE);
+        }
+        if (isRedisEnabled()) {
+            cacheMetricsManager.recordEviction(cacheName, CacheMetricsManager.Tier.REDIS);
+        }
+    }
+
     // ==================== Caffeine 缓存操作 ====================
 
     /**
@@ -244,13 +744,18 @@ public abstract class BaseCacheService {
      */
     @SuppressWarnings("unchecked")
     protected <T> T getFromCaffeine(String cacheName, String key) {
-        if (isCaffeineEnabled()) {
+        if (isCaffeineDisabled()) {
             return null;
         }
         org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
         if (cache != null) {
             org.springframework.cache.Cache.ValueWrapper wrapper = cache.get(key);
-            return wrapper != null ? (T) wrapper.get() : null;
+            if (wrapper == null || wrapper.get() instanceof NullValue) {
+                cacheMetricsManager.recordGet(cacheName, CacheMetricsManager.Tier.CAFFEINE, false);
+                return null;
+            }
+            cacheMetricsManager.recordGet(cacheName, CacheMetricsManager.Tier.CAFFEINE, true);
+            return (T) wrapper.get();
         }
         return null;
     }
@@ -264,7 +769,8 @@ public abstract class BaseCacheService {
      * @param <T>       值类型
      */
     protected <T> void putToCaffeine(String cacheName, String key, T value) {
-        if (isCaffeineEnabled()) {
+        addToBloomFilter(cacheName, key);
+        if (isCaffeineDisabled()) {
             return;
         }
         org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
@@ -280,7 +786,7 @@ public abstract class BaseCacheService {
      * @param key       缓存键
      */
     protected void evictFromCaffeine(String cacheName, String key) {
-        if (isCaffeineEnabled()) {
+        if (isCaffeineDisabled()) {
             return;
         }
         org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
@@ -295,7 +801,7 @@ public abstract class BaseCacheService {
      * @param cacheName 缓存名称
      */
     protected void clearCaffeine(String cacheName) {
-        if (isCaffeineEnabled()) {
+        if (isCaffeineDisabled()) {
             return;
         }
         org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
@@ -307,20 +813,22 @@ public abstract class BaseCacheService {
     // ==================== Redis 缓存操作 ====================
 
     /**
-     * 从 Redis 获取原始缓存字符串
+     * 从 Redis 获取缓存并使用该缓存注册的编解码器解码
+     * 数据格式不匹配（如旧版本写入的数据）时按未命中处理
      *
-     * @param key 缓存键
-     * @return 原始缓存字符串
+     * @param cacheName 缓存名称
+     * @param key       缓存键
+     * @param <T>       值类型
+     * @return 缓存值
      */
-    protected String getFromRedisRaw(String key) {
+    protected <T> T getFromRedis(String cacheName, String key) {
         if (!isRedisEnabled()) {
             return null;
         }
         try {
-            Object cached = redisTemplate.opsForValue().get(key);
-            if (cached != null) {
-                return cached.toString();
-            }
+            T value = decodeRedisValue(cacheName, key, getRedisBytes(versionedKey(key)));
+            cacheMetricsManager.recordGet(cacheName, CacheMetricsManager.Tier.REDIS, value != null);
+            return value;
         } catch (Exception e) {
             log.error("获取 Redis 缓存失败, key={}", key, e);
         }
@@ -328,85 +836,79 @@ public abstract class BaseCacheService {
     }
 
     /**
-     * 从 Redis 获取缓存并反序列化
-     * 注意：此方法仅用于返回非 List 类型的数据
-     * 对于 List 类型，请使用 getFromRedisAsList 方法
+     * 解码 Redis 原始字节；空值哨兵返回 null，解码失败时按未命中处理
+     * 不删除该键：键可能被其他缓存共用，由随后的回源写入覆盖
      *
-     * @param key 缓存键
-     * @param <T> 值类型
+     * @param cacheName 缓存名称
+     * @param key       缓存键（不带代数）
+     * @param bytes     Redis 原始字节
+     * @param <T>       值类型
      * @return 缓存值
      */
     @SuppressWarnings("unchecked")
-    protected <T> T getFromRedis(String key) {
-        if (!isRedisEnabled()) {
+    private <T> T decodeRedisValue(String cacheName, String key, byte[] bytes) {
+        if (bytes == null || Arrays.equals(NULL_VALUE_BYTES, bytes)) {
             return null;
         }
         try {
-            Object cached = redisTemplate.opsForValue().get(key);
-            if (cached != null) {
-                // 如果是 String 类型，说明是 JSON 字符串，需要反序列化
-                if (cached instanceof String jsonValue) {
-                    return (T) objectMapper.readValue(jsonValue, Object.class);
-                }
-                return (T) cached;
-            }
+            return (T) getCodec(cacheName).decode(bytes);
         } catch (Exception e) {
-            log.error("获取 Redis 缓存失败, key={}", key, e);
+            log.warn("解码 Redis 缓存失败，按未命中处理, cacheName={}, key={}", cacheName, key, e);
         }
         return null;
     }
 
     /**
-     * 从 Redis 获取 List 类型的缓存并反序列化
+     * 解码缓存监控查看的 Redis 键值
+     * 按命名空间代数前缀判断键是否属于本服务，再依次尝试 Redis 前缀匹配（最长优先）的缓存的编解码器
      *
-     * @param key 缓存键
-     * @param <T> 列表元素类型
-     * @return 缓存值列表
+     * @param redisKey Redis 完整键（含命名空间与代数）
+     * @param bytes    Redis 原始字节
+     * @return 解码后的值；键不属于本服务或无法解码时为空
      */
-    @SuppressWarnings("unchecked")
-    protected <T> List<T> getFromRedisAsList(String key) {
-        if (!isRedisEnabled()) {
-            return null;
+    public Optional<Object> decodeRawValue(String redisKey, byte[] bytes) {
+        String namespacePrefix = getCacheNamespace() + ":g";
+        int separator = redisKey.indexOf(':', namespacePrefix.length());
+        if (bytes == null || !redisKey.startsWith(namespacePrefix) || separator < 0) {
+            return Optional.empty();
         }
-        try {
-            Object cached = redisTemplate.opsForValue().get(key);
-            if (cached != null) {
-                // 如果是 String 类型，说明是 JSON 字符串，需要反序列化
-                if (cached instanceof String jsonValue) {
-                    return objectMapper.readValue(jsonValue,
-                            objectMapper.getTypeFactory().constructCollectionType(List.class, Object.class));
-                }
-                // 如果已经是 List 类型，直接返回
-                if (cached instanceof List) {
-                    return (List<T>) cached;
-                }
+        if (Arrays.equals(NULL_VALUE_BYTES, bytes)) {
+            return Optional.of(NULL_VALUE);
+        }
+        String key = redisKey.substring(separator + 1);
+        List<String> candidates = getCacheValueTypes().keySet().stream()
+                .filter(cacheName -> key.startsWith(getRedisPrefixByCacheName(cacheName)))
+                .sorted(Comparator.comparingInt((String cacheName) -> getRedisPrefixByCacheName(cacheName).length())
+                        .reversed())
+                .toList();
+        for (String cacheName : candidates) {
+            try {
+                return Optional.ofNullable(getCodec(cacheName).decode(bytes));
+            } catch (Exception e) {
+                log.debug("按缓存编解码器解码失败, cacheName={}, key={}", cacheName, redisKey);
             }
-        } catch (Exception e) {
-            log.error("获取 Redis 缓存失败, key={}", key, e);
         }
-        return null;
+        return Optional.empty();
     }
 
     /**
-     * 异步写入 Redis 缓存
+     * 异步写入 Redis 缓存：编码后提交到写入队列，由后台线程批量管道写入，调用方不等待 Redis
      *
-     * @param key   缓存键
-     * @param value 缓存值
-     * @param <T>   值类型
+     * @param cacheName 缓存名称
+     * @param key       缓存键
+     * @param value     缓存值
+     * @param <T>       值类型
      */
-    @Async
-    protected <T> void asyncPutToRedis(String key, T value) {
+    protected <T> void asyncPutToRedis(String cacheName, String key, T value) {
         if (!isRedisEnabled()) {
-            CompletableFuture.completedFuture(null);
             return;
         }
         try {
-            String jsonValue = objectMapper.writeValueAsString(value);
-            redisTemplate.opsForValue().set(key, jsonValue, getRedisExpireTime(), TimeUnit.MINUTES);
+            byte[] bytes = getCodec(cacheName).encode(value);
+            cacheWriteBehindManager.enqueue(versionedKey(key), bytes, TimeUnit.MINUTES.toSeconds(getRedisExpireTime()));
         } catch (Exception e) {
             log.error("异步写入 Redis 缓存失败, key={}", key, e);
         }
-        CompletableFuture.completedFuture(null);
     }
 
     /**
@@ -419,9 +921,117 @@ public abstract class BaseCacheService {
             return;
         }
         try {
-            redisTemplate.delete(key);
+            // 先取消尚未写入的旧值，避免删除后被写回
+            String redisKey = versionedKey(key);
+            cacheWriteBehindManager.cancel(redisKey);
+            redisTemplate.delete(redisKey);
         } catch (Exception e) {
             log.error("删除 Redis 缓存失败, key={}", key, e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 以一次管道批量清除 Redis 缓存
+     *
+     * @param keys 缓存键列表
+     */
+    protected void evictFromRedis(List<String> keys) {
+        if (!isRedisEnabled() || keys.isEmpty()) {
+            return;
+        }
+        try {
+            List<String> redisKeys = keys.stream().map(this::versionedKey).toList();
+            // 先取消尚未写入的旧值，避免删除后被写回
+            redisKeys.forEach(cacheWriteBehindManager::cancel);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String redisKey : redisKeys) {
+                    connection.keyCommands().del(redisKey.getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("批量删除 Redis 缓存失败, count={}", keys.size(), e);
+        }
+    }
+
+    /**
+     * 获取缓存的编解码器，未注册时使用无类型 JSON
+     */
+    private CacheCodec<Object> getCodec(String cacheName) {
+        return codecs.computeIfAbsent(cacheName, name -> CacheCodecFormat.JSON.create(objectMapper,
+                objectMapper.getTypeFactory().constructType(Object.class), 0));
+    }
+
+    /**
+     * 读取 Redis 原始字节（不经过 RedisTemplate 的值序列化器）
+     */
+    private byte[] getRedisBytes(String redisKey) {
+        byte[] keyBytes = redisKey.getBytes(StandardCharsets.UTF_8);
+        return redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(keyBytes));
+    }
+
+    /**
+     * 一次 MGET 批量读取 Redis 原始字节，结果与键一一对应
+     */
+    private List<byte[]> getRedisBytes(List<String> redisKeys) {
+        byte[][] keyBytes = redisKeys.stream()
+                .map(redisKey -> redisKey.getBytes(StandardCharsets.UTF_8))
+                .toArray(byte[][]::new);
+        List<byte[]> values = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.stringCommands().mGet(keyBytes));
+        return values != null ? values : Collections.nCopies(redisKeys.size(), null);
+    }
+
+    /**
+     * 为 Redis 键加上当前命名空间代数
+     *
+     * @param key 原始键
+     * @return 带代数的 Redis 键
+     */
+    protected String versionedKey(String key) {
+        return cacheGenerationManager.versionedKey(getCacheNamespace(), key);
+    }
+
+    /**
+     * 待批量清除的缓存键
+     *
+     * @param cacheName 缓存名称
+     * @param key       Key 生成器，与 {@link #evictCache(String, Function)} 的约定相同
+     */
+    public record CacheEviction(String cacheName, Function<String, String> key) {
+    }
+
+    /**
+     * 一级缓存空值标记（Caffeine 不支持按条目设置过期时间，读取时自行判断）
+     */
+    private record NullValue(long expireAt) {
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expireAt;
+        }
+    }
+
+    /**
+     * 线程安全的布隆过滤器包装
+     */
+    private static final class KeyFilter {
+
+        private final BitSetBloomFilter filter;
+
+        KeyFilter(int expectedInsertions, int bitsPerKey) {
+            int hashes = Math.clamp(Math.round(bitsPerKey * Math.log(2)), 1, MAX_BLOOM_HASHES);
+            long bits = (long) expectedInsertions * bitsPerKey;
+            // BitSetBloomFilter 的位数组大小为 c * k，按目标位数反推 c
+            int c = (int) Math.min(Integer.MAX_VALUE, (bits + hashes - 1) / hashes);
+            this.filter = new BitSetBloomFilter(c, expectedInsertions, hashes);
+        }
+
+        synchronized void put(String key) {
+            filter.add(key);
+        }
+
+        synchronized boolean mightContain(String key) {
+            return filter.contains(key);
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package dev.illichitcat.system.service;
 
+import dev.illichitcat.system.config.CacheSpec;
 import dev.illichitcat.system.model.vo.CacheInfoVO;
 import dev.illichitcat.system.model.vo.KeyDetailVO;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 缓存监控服务接口
@@ -63,4 +65,20 @@ public interface CacheService {
      * 清空数据库
      */
     void clearDb();
-}
\ No newline at end of file
+
+    /**
+     * 获取各业务缓存的一级缓存规格
+     *
+     * @return 缓存名称 -> 规格
+     */
+    Map<String, CacheSpec> getCacheSpecs();
+
+    /**
+     * 调整一级缓存规格：本节点立即生效，并写入系统配置供其他节点定时同步
+     *
+     * @param cacheName 缓存名称
+     * @param changes   调整项（null 字段不变）
+     * @return 调整后的规格
+     */
+    CacheSpec updateCacheSpec(String cacheName, CacheSpec changes);
+}
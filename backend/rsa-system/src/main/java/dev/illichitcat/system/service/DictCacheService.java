@@ -3,7 +3,9 @@ package dev.illichitcat.system.service;
 import dev.illichitcat.system.model.entity.Dict;
 import dev.illichitcat.system.model.entity.DictItem;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 字典缓存服务接口
@@ -56,6 +58,14 @@ public interface DictCacheService {
      */
     List<DictItem> getDictItemsFromCache(String dictCode);
 
+    /**
+     * 批量获取字典项列表缓存（一级缓存、Redis MGET、数据库 IN 查询逐级补齐）
+     *
+     * @param dictCodes 字典编码集合
+     * @return 字典编码 -> 字典项列表
+     */
+    Map<String, List<DictItem>> getDictItemsFromCache(Collection<String> dictCodes);
+
     /**
      * 缓存字典
      *
@@ -100,6 +110,13 @@ public interface DictCacheService {
      */
     void evictDictCache(String dictCode);
 
+    /**
+     * 批量清除字典缓存（按ID与编码，含字典项列表），以一次批量操作完成
+     *
+     * @param dicts 字典列表
+     */
+    void evictDictCaches(Collection<Dict> dicts);
+
     /**
      * 清除字典项缓存
      *
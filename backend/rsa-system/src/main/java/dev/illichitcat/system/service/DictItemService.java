@@ -3,7 +3,9 @@ package dev.illichitcat.system.service;
 import com.baomidou.mybatisplus.extension.service.IService;
 import dev.illichitcat.system.model.entity.DictItem;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 字典项服务接口
@@ -29,6 +31,14 @@ public interface DictItemService extends IService<DictItem> {
      */
     List<DictItem> selectItemsByDictCode(String dictCode);
 
+    /**
+     * 根据字典编码批量查询字典项列表
+     *
+     * @param dictCodes 字典编码集合
+     * @return 字典编码 -> 字典项列表（字典不存在时为空列表）
+     */
+    Map<String, List<DictItem>> selectItemsByDictCodes(Collection<String> dictCodes);
+
     /**
      * 根据ID查询字典项
      *
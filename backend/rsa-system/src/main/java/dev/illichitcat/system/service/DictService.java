@@ -6,7 +6,9 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import dev.illichitcat.system.model.dto.DictExcelDTO;
 import dev.illichitcat.system.model.entity.Dict;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.LongConsumer;
 
 /**
  * 字典服务接口
@@ -83,10 +85,11 @@ public interface DictService extends IService<Dict> {
     /**
      * 从Excel导入字典数据
      *
-     * @param dictExcelDTOList 字典Excel数据列表
+     * @param inputStream Excel文件输入流，按块读取与写入
+     * @param progress    每处理完一块回调本块行数
      * @return 导入结果信息
      */
-    String importDicts(List<DictExcelDTO> dictExcelDTOList);
+    String importDicts(InputStream inputStream, LongConsumer progress);
 
     /**
      * 批量删除字典
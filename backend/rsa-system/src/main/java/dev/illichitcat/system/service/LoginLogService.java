@@ -6,6 +6,7 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import dev.illichitcat.system.model.entity.LoginLog;
 
 import java.time.LocalDateTime;
+import java.util.function.Consumer;
 
 /**
  * 登录日志服务接口
@@ -83,15 +84,14 @@ public interface LoginLogService extends IService<LoginLog> {
 
     /**
      * 导出登录日志列表
+     * <p>
+     * 游标逐行读取，每行直接交给 consumer，不在内存中保留完整列表
      *
      * @param loginLog  查询条件
      * @param startTime 开始时间
      * @param endTime   结束时间
-     * @return 登录日志列表
+     * @param consumer  登录日志消费者
      */
-    java.util.List<dev.illichitcat.system.model.entity.LoginLog> exportLoginLogList(
-            dev.illichitcat.system.model.entity.LoginLog loginLog,
-            java.time.LocalDateTime startTime,
-            java.time.LocalDateTime endTime
-    );
+    void exportLoginLogList(LoginLog loginLog, LocalDateTime startTime, LocalDateTime endTime,
+                            Consumer<LoginLog> consumer);
 }
\ No newline at end of file
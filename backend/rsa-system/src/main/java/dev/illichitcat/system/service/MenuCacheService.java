@@ -1,6 +1,7 @@
 package dev.illichitcat.system.service;
 
 import dev.illichitcat.system.model.entity.Menu;
+import dev.illichitcat.system.model.vo.MenuVO;
 
 import java.util.List;
 
@@ -14,6 +15,7 @@ public interface MenuCacheService {
 
     /**
      * 获取用户菜单缓存（Cache-Aside 模式）
+     * 菜单按用户角色集合指纹缓存，持有相同角色组合的用户共享同一份菜单
      * 1. 先查 Caffeine 一级缓存
      * 2. 未命中查 Redis 二级缓存
      * 3. 都未命中查数据库并回填缓存
@@ -32,12 +34,12 @@ public interface MenuCacheService {
     List<Menu> getRoleMenusFromCache(Long roleId);
 
     /**
-     * 缓存用户菜单
+     * 缓存角色集合菜单
      *
-     * @param userId 用户ID
-     * @param menus  菜单列表
+     * @param fingerprint 角色集合指纹
+     * @param menus       菜单列表
      */
-    void cacheUserMenus(Long userId, List<Menu> menus);
+    void cacheRoleSetMenus(String fingerprint, List<Menu> menus);
 
     /**
      * 缓存角色菜单
@@ -48,14 +50,47 @@ public interface MenuCacheService {
     void cacheRoleMenus(Long roleId, List<Menu> menus);
 
     /**
-     * 清除用户菜单缓存
+     * 获取角色菜单树缓存（仅一级缓存，树由菜单缓存构建，重建代价低）
      *
-     * @param userId 用户ID
+     * @param roleId 角色ID
+     * @return 菜单树，未缓存时返回 null
+     */
+    List<MenuVO> getRoleMenuTreeFromCache(Long roleId);
+
+    /**
+     * 缓存角色菜单树
+     *
+     * @param roleId 角色ID
+     * @param tree   菜单树（不可修改）
+     */
+    void cacheRoleMenuTree(Long roleId, List<MenuVO> tree);
+
+    /**
+     * 获取角色集合菜单树缓存（仅一级缓存，由各角色菜单树合并而成）
+     *
+     * @param fingerprint 角色集合指纹
+     * @return 菜单树，未缓存时返回 null
+     */
+    List<MenuVO> getRoleSetMenuTreeFromCache(String fingerprint);
+
+    /**
+     * 缓存角色集合菜单树
+     *
+     * @param fingerprint 角色集合指纹
+     * @param tree        菜单树（不可修改）
+     */
+    void cacheRoleSetMenuTree(String fingerprint, List<MenuVO> tree);
+
+    /**
+     * 清除包含指定角色的角色集合菜单缓存（包括角色集合菜单树，角色菜单分配变更时调用）
+     * 用户角色分配变更无需调用：用户的指纹随角色缓存一起失效
+     *
+     * @param roleId 角色ID
      */
-    void evictUserMenusCache(Long userId);
+    void evictRoleSetMenusCache(Long roleId);
 
     /**
-     * 清除角色菜单缓存
+     * 清除角色菜单缓存（包括角色菜单树）
      *
      * @param roleId 角色ID
      */
@@ -4,7 +4,9 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import dev.illichitcat.system.model.dto.MenuExcelDTO;
 import dev.illichitcat.system.model.entity.Menu;
 import dev.illichitcat.system.model.vo.MenuVO;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -75,10 +77,19 @@ public interface MenuService extends IService<Menu> {
      * 构建菜单树
      *
      * @param menus 菜单列表
-     * @return 菜单树
+     * @return 菜单树（不可修改）
      */
     List<MenuVO> buildMenuTree(List<Menu> menus);
 
+    /**
+     * 根据用户ID查询菜单树
+     * 由用户各角色的菜单树合并而成，角色菜单树和合并结果（按角色集合）均会缓存
+     *
+     * @param userId 用户ID
+     * @return 菜单树（不可修改，多个用户共享，不得修改节点）
+     */
+    List<MenuVO> selectMenuTreeByUserId(Long userId);
+
     /**
      * 导出菜单数据到Excel
      *
@@ -90,10 +101,10 @@ public interface MenuService extends IService<Menu> {
     /**
      * 从Excel导入菜单数据
      *
-     * @param menuExcelDTOList 菜单Excel数据列表
+     * @param file Excel文件，按块读取与写入
      * @return 导入结果信息
      */
-    String importMenus(List<MenuExcelDTO> menuExcelDTOList);
+    String importMenus(MultipartFile file) throws IOException;
 
     /**
      * 批量删除菜单
@@ -7,7 +7,7 @@ import dev.illichitcat.system.model.dto.OperLogExcelDTO;
 import dev.illichitcat.system.model.entity.OperLog;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 操作日志服务接口
@@ -77,11 +77,14 @@ public interface OperLogService extends IService<OperLog> {
 
     /**
      * 导出操作日志
+     * <p>
+     * 游标逐行读取并转换，转换结果直接交给 consumer，不在内存中保留完整列表
      *
      * @param operLog   查询条件
      * @param startTime 开始时间
      * @param endTime   结束时间
-     * @return 操作日志Excel数据列表
+     * @param consumer  操作日志Excel数据消费者
      */
-    List<OperLogExcelDTO> exportOperLogs(OperLog operLog, LocalDateTime startTime, LocalDateTime endTime);
+    void exportOperLogs(OperLog operLog, LocalDateTime startTime, LocalDateTime endTime,
+                        Consumer<OperLogExcelDTO> consumer);
 }
\ No newline at end of file
@@ -14,6 +14,7 @@ public interface PermissionCacheService {
 
     /**
      * 获取用户权限缓存（Cache-Aside 模式）
+     * 权限按用户角色集合指纹缓存，持有相同角色组合的用户共享同一份权限
      * 1. 先查 Caffeine 一级缓存
      * 2. 未命中查 Redis 二级缓存
      * 3. 都未命中查数据库并回填缓存
@@ -44,24 +45,22 @@ public interface PermissionCacheService {
     List<Permission> getRolePermissionsFromCache(Long roleId);
 
     /**
-     * 缓存用户权限
-     * 将用户的权限列表缓存到 Caffeine 一级缓存和 Redis 二级缓存
-     * 该方法会同时更新两级缓存，确保数据一致性
+     * 缓存角色集合权限
+     * 将角色集合的权限列表缓存到 Caffeine 一级缓存和 Redis 二级缓存，并登记该指纹
      *
-     * @param userId      用户ID，用于标识要缓存权限的用户
-     * @param permissions 权限列表，包含该用户拥有的所有权限对象
+     * @param fingerprint 角色集合指纹
+     * @param permissions 权限列表，包含该角色集合拥有的所有权限对象
      */
-    void cacheUserPermissions(Long userId, List<Permission> permissions);
+    void cacheRoleSetPermissions(String fingerprint, List<Permission> permissions);
 
     /**
-     * 缓存用户权限标识
-     * 将用户的权限标识列表（权限字符串）缓存到 Caffeine 一级缓存和 Redis 二级缓存
-     * 该方法会同时更新两级缓存，确保数据一致性
+     * 缓存角色集合权限标识
+     * 将角色集合的权限标识列表（权限字符串）缓存到 Caffeine 一级缓存和 Redis 二级缓存，并登记该指纹
      *
-     * @param userId 用户ID，用于标识要缓存权限标识的用户
-     * @param perms  权限标识列表，包含该用户拥有的所有权限标识字符串
+     * @param fingerprint 角色集合指纹
+     * @param perms       权限标识列表，包含该角色集合拥有的所有权限标识字符串
      */
-    void cacheUserPerms(Long userId, List<String> perms);
+    void cacheRoleSetPerms(String fingerprint, List<String> perms);
 
     /**
      * 缓存角色权限
@@ -74,22 +73,13 @@ public interface PermissionCacheService {
     void cacheRolePermissions(Long roleId, List<Permission> permissions);
 
     /**
-     * 清除用户权限缓存
-     * 根据用户ID清除指定的用户权限对象缓存，包括 Caffeine 一级缓存和 Redis 二级缓存
-     * 该方法不会清除用户权限标识缓存，如需同时清除，请调用 evictUserPermsCache
-     *
-     * @param userId 用户ID，用于标识要清除权限的用户
-     */
-    void evictUserPermissionsCache(Long userId);
-
-    /**
-     * 清除用户权限标识缓存
-     * 根据用户ID清除指定的用户权限标识缓存，包括 Caffeine 一级缓存和 Redis 二级缓存
-     * 该方法不会清除用户权限对象缓存，如需同时清除，请调用 evictUserPermissionsCache
+     * 清除包含指定角色的角色集合权限缓存
+     * 同时清除权限对象和权限标识缓存，包括 Caffeine 一级缓存和 Redis 二级缓存
+     * 该方法在角色权限分配变更时调用；用户角色分配变更无需调用，用户的指纹随角色缓存一起失效
      *
-     * @param userId 用户ID，用于标识要清除权限标识的用户
+     * @param roleId 角色ID
      */
-    void evictUserPermsCache(Long userId);
+    void evictRoleSetPermissionsCache(Long roleId);
 
     /**
      * 清除角色权限缓存
@@ -102,7 +92,7 @@ public interface PermissionCacheService {
 
     /**
      * 清除所有权限缓存
-     * 清除系统中所有的权限缓存，包括用户权限、用户权限标识、角色权限
+     * 清除系统中所有的权限缓存，包括角色集合权限、角色集合权限标识、角色权限
      * 包括 Caffeine 一级缓存和 Redis 二级缓存
      * 该方法通常在系统权限批量更新或系统重置时调用
      */
@@ -2,7 +2,9 @@ package dev.illichitcat.system.service;
 
 import dev.illichitcat.system.model.entity.Role;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 角色缓存服务接口
@@ -55,6 +57,14 @@ public interface RoleCacheService {
      */
     List<Role> getUserRolesFromCache(Long userId);
 
+    /**
+     * 批量获取用户角色列表缓存（一级缓存、Redis MGET、数据库 IN 查询逐级补齐）
+     *
+     * @param userIds 用户ID集合
+     * @return 用户ID -> 角色列表
+     */
+    Map<Long, List<Role>> getUserRolesFromCache(Collection<Long> userIds);
+
     /**
      * 缓存角色
      *
@@ -100,6 +110,13 @@ public interface RoleCacheService {
      */
     void evictRoleCache(String roleCode);
 
+    /**
+     * 批量清除角色缓存（按ID与编码，含角色权限、角色菜单），以一次批量操作完成
+     *
+     * @param roles 角色列表
+     */
+    void evictRoleCaches(Collection<Role> roles);
+
     /**
      * 清除角色权限缓存
      *
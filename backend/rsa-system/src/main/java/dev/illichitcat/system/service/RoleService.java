@@ -5,8 +5,12 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
 import dev.illichitcat.system.model.dto.RoleExcelDTO;
 import dev.illichitcat.system.model.entity.Role;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 角色服务接口
@@ -65,6 +69,14 @@ public interface RoleService extends IService<Role> {
      */
     List<Role> selectRolesByUserId(Long userId);
 
+    /**
+     * 批量获取用户角色列表
+     *
+     * @param userIds 用户ID集合
+     * @return 用户ID -> 角色列表
+     */
+    Map<Long, List<Role>> selectRolesByUserIds(Collection<Long> userIds);
+
     /**
      * 导出角色数据到Excel
      *
@@ -76,10 +88,10 @@ public interface RoleService extends IService<Role> {
     /**
      * 从Excel导入角色数据
      *
-     * @param roleExcelDTOList 角色Excel数据列表
+     * @param file Excel文件，按块读取与写入
      * @return 导入结果信息
      */
-    String importRoles(List<RoleExcelDTO> roleExcelDTOList);
+    String importRoles(MultipartFile file) throws IOException;
 
     /**
      * 批量删除角色
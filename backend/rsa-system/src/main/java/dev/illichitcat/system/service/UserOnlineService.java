@@ -57,6 +57,25 @@ public interface UserOnlineService extends IService<UserOnline> {
      */
     boolean addOnlineUser(UserOnline userOnline);
 
+    /**
+     * 绑定会话与token，同时维护 token -> 会话 的反向索引
+     *
+     * @param sessionId 会话ID
+     * @param token     JWT令牌
+     */
+    void bindSessionToken(String sessionId, String token);
+
+    /**
+     * 根据token查找会话ID（单键查询）
+     * <p>
+     * 反向索引缺失时（如升级前创建的会话）回退到该用户自身的会话列表进行匹配并回填索引
+     *
+     * @param token  JWT令牌
+     * @param userId 用户ID
+     * @return 会话ID，不存在时返回 null
+     */
+    String getSessionIdByToken(String token, Long userId);
+
     /**
      * 更新用户会话最后访问时间
      *
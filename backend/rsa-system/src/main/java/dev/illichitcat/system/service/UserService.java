@@ -5,7 +5,9 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import dev.illichitcat.system.model.dto.UserExcelDTO;
 import dev.illichitcat.system.model.entity.User;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.LongConsumer;
 
 /**
  * 用户服务接口
@@ -109,10 +111,11 @@ public interface UserService extends IService<User> {
     /**
      * 从Excel导入用户数据
      *
-     * @param userExcelDTOList 用户Excel数据列表
+     * @param inputStream Excel文件输入流，按块读取与写入
+     * @param progress    每处理完一块回调本块行数
      * @return 导入结果信息
      */
-    String importUsers(List<UserExcelDTO> userExcelDTOList);
+    String importUsers(InputStream inputStream, LongConsumer progress);
 
     /**
      * 更新用户头像
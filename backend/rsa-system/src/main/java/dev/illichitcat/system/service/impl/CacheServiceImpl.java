@@ -1,15 +1,28 @@
 package dev.illichitcat.system.service.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.illichitcat.common.common.constant.RedisConstants;
+import dev.illichitcat.system.config.CacheSpec;
+import dev.illichitcat.system.manager.CacheGenerationManager;
+import dev.illichitcat.system.manager.CacheInvalidationManager;
+import dev.illichitcat.system.manager.CacheMetricsManager;
+import dev.illichitcat.system.manager.CacheSpecManager;
 import dev.illichitcat.system.model.vo.CacheInfoVO;
 import dev.illichitcat.system.model.vo.CommandStatVO;
 import dev.illichitcat.system.model.vo.KeyDetailVO;
+import dev.illichitcat.system.service.BaseCacheService;
 import dev.illichitcat.system.service.CacheService;
+import dev.illichitcat.system.service.ConfigService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -24,9 +37,35 @@ import java.util.*;
 @Service
 public class CacheServiceImpl implements CacheService {
 
+    /**
+     * SCAN 每批键数
+     */
+    private static final int SCAN_BATCH_SIZE = 1000;
+
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheInvalidationManager cacheInvalidationManager;
+
+    @Autowired
+    private CacheMetricsManager cacheMetricsManager;
+
+    @Autowired
+    private CacheSpecManager cacheSpecManager;
+
+    @Autowired
+    private ConfigService configService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private List<BaseCacheService> cacheServices;
+
     @Override
     public CacheInfoVO getCacheInfo() {
         Properties info = redisTemplate.execute((RedisCallback<Properties>) connection -> connection.serverCommands().info());
@@ -96,21 +135,55 @@ public class CacheServiceImpl implements CacheService {
         }
         cacheInfo.setCommandStats(commandStatsList);
 
+        // 业务缓存分级统计（Caffeine / Redis / 数据库）
+        cacheInfo.setCacheStats(cacheMetricsManager.getCacheStats());
+
         return cacheInfo;
     }
 
     @Override
     public List<String> getKeys(String pattern) {
-        Set<String> keys = redisTemplate.keys(pattern);
-        List<String> keyList = new ArrayList<>(keys.size());
-        keyList.addAll(keys);
+        // 使用 SCAN 分批遍历，避免 KEYS 阻塞 Redis
+        List<String> keyList = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(SCAN_BATCH_SIZE).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(keyList::add);
+        }
         Collections.sort(keyList);
         return keyList;
     }
 
     @Override
     public Object getValue(String key) {
-        return redisTemplate.opsForValue().get(key);
+        byte[] valueBytes = getRawValue(key);
+        if (valueBytes == null) {
+            return null;
+        }
+        return decodeCacheValue(key, valueBytes)
+                .orElseGet(() -> new String(valueBytes, java.nio.charset.StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 读取字符串类型键的原始字节
+     */
+    private byte[] getRawValue(String key) {
+        return redisTemplate.execute((RedisCallback<byte[]>) connection -> {
+            byte[] keyBytes = redisTemplate.getStringSerializer().serialize(key);
+            return keyBytes != null ? connection.stringCommands().get(keyBytes) : null;
+        });
+    }
+
+    /**
+     * 业务缓存的值以编解码器格式（可能压缩）存储，交由所属缓存服务按该缓存注册的编解码器解码
+     */
+    private Optional<Object> decodeCacheValue(String key, byte[] valueBytes) {
+        for (BaseCacheService cacheService : cacheServices) {
+            Optional<Object> value = cacheService.decodeRawValue(key, valueBytes);
+            if (value.isPresent()) {
+                return value;
+            }
+        }
+        return Optional.empty();
     }
 
     @Override
@@ -156,11 +229,19 @@ public class CacheServiceImpl implements CacheService {
      * 获取字符串类型的值
      */
     private String getStringValue(String key) {
-        byte[] valueBytes = redisTemplate.execute((RedisCallback<byte[]>) connection -> {
-            byte[] keyBytes = redisTemplate.getStringSerializer().serialize(key);
-            return keyBytes != null ? connection.stringCommands().get(keyBytes) : null;
-        });
-        return valueBytes != null ? new String(valueBytes, java.nio.charset.StandardCharsets.UTF_8) : "";
+        byte[] valueBytes = getRawValue(key);
+        if (valueBytes == null) {
+            return "";
+        }
+        Optional<Object> value = decodeCacheValue(key, valueBytes);
+        if (value.isPresent()) {
+            try {
+                return objectMapper.writeValueAsString(value.get());
+            } catch (JsonProcessingException e) {
+                log.warn("缓存值序列化失败, key={}", key, e);
+            }
+        }
+        return new String(valueBytes, java.nio.charset.StandardCharsets.UTF_8);
     }
 
     /**
@@ -236,10 +317,54 @@ public class CacheServiceImpl implements CacheService {
 
     @Override
     public void clearDb() {
-        Set<String> keys = redisTemplate.keys("*");
-        if (!keys.isEmpty()) {
-            redisTemplate.delete(keys);
+        // SCAN + UNLINK 分批删除，跳过缓存代数计数器，避免代数归零后旧代数被重新使用
+        List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        ScanOptions options = ScanOptions.scanOptions().count(SCAN_BATCH_SIZE).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                if (key.startsWith(CacheGenerationManager.GENERATION_KEY_PREFIX)) {
+                    continue;
+                }
+                batch.add(key);
+                if (batch.size() >= SCAN_BATCH_SIZE) {
+                    redisTemplate.unlink(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            redisTemplate.unlink(batch);
+        }
+
+        // 二级缓存已清空，同时清空本节点及其他节点的一级缓存，避免继续返回旧数据
+        Collection<String> cacheNames = cacheManager.getCacheNames();
+        for (String cacheName : cacheNames) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        cacheInvalidationManager.publishClear(cacheNames);
+    }
+
+    @Override
+    public Map<String, CacheSpec> getCacheSpecs() {
+        return cacheSpecManager.getSpecs();
+    }
+
+    @Override
+    public CacheSpec updateCacheSpec(String cacheName, CacheSpec changes) {
+        CacheSpec spec = cacheSpecManager.apply(cacheName, changes);
+        try {
+            configService.saveOrUpdateConfig(CacheSpecManager.CONFIG_KEY_PREFIX + cacheName,
+                    objectMapper.writeValueAsString(spec),
+                    "缓存规格-" + cacheName,
+                    "运行时调整的一级缓存规格，删除后各节点恢复启动时的规格");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("缓存规格序列化失败: " + cacheName, e);
         }
+        return spec;
     }
 
     /**
@@ -1,6 +1,9 @@
 package dev.illichitcat.system.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import dev.illichitcat.system.config.CachePenetrationProperties;
 import dev.illichitcat.system.config.ConfigCacheProperties;
 import dev.illichitcat.system.dao.mapper.ConfigMapper;
 import dev.illichitcat.system.model.entity.Config;
@@ -13,6 +16,7 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 
@@ -37,12 +41,12 @@ public class ConfigCacheServiceImpl extends BaseCacheService implements ConfigCa
     private ExecutorService virtualThreadExecutor;
 
     @Override
-    protected boolean isCacheEnabled() {
+    protected boolean isCacheDisabled() {
         return !cacheProperties.isEnabled();
     }
 
     @Override
-    protected boolean isCaffeineEnabled() {
+    protected boolean isCaffeineDisabled() {
         return !cacheProperties.getCaffeine().isEnabled();
     }
 
@@ -61,6 +65,24 @@ public class ConfigCacheServiceImpl extends BaseCacheService implements ConfigCa
         return cacheProperties.getConfigPrefix();
     }
 
+    @Override
+    protected CachePenetrationProperties getPenetrationProperties() {
+        return cacheProperties.getPenetration();
+    }
+
+    @Override
+    protected String getCacheNamespace() {
+        return "config";
+    }
+
+    @Override
+    protected Map<String, JavaType> getCacheValueTypes() {
+        TypeFactory types = objectMapper.getTypeFactory();
+        return Map.of(
+                "config", types.constructType(Config.class),
+                "configValue", types.constructType(String.class));
+    }
+
     @Override
     public Config getConfigFromCache(String configKey) {
         return getFromCacheWithRedis(configKey,
@@ -84,7 +106,7 @@ public class ConfigCacheServiceImpl extends BaseCacheService implements ConfigCa
     public String getConfigValueFromCache(String configKey) {
         return getFromCacheWithRedis(configKey,
                 "configValue",
-                prefix -> prefix + configKey,
+                prefix -> prefix + "value:" + configKey,
                 key -> {
                     LambdaQueryWrapper<Config> wrapper = new LambdaQueryWrapper<>();
                     wrapper.eq(Config::getConfigKey, key)
@@ -106,7 +128,7 @@ public class ConfigCacheServiceImpl extends BaseCacheService implements ConfigCa
     @Async
     @Override
     public void cacheConfig(String configKey, Config config) {
-        if (isCacheEnabled() || config == null) {
+        if (isCacheDisabled() || config == null) {
             return;
         }
 
@@ -126,7 +148,7 @@ public class ConfigCacheServiceImpl extends BaseCacheService implements ConfigCa
     @Async
     @Override
     public void cacheConfigValue(String configKey, String configValue) {
-        if (isCacheEnabled() || configValue == null) {
+        if (isCacheDisabled() || configValue == null) {
             return;
         }
 
@@ -176,6 +198,11 @@ public class ConfigCacheServiceImpl extends BaseCacheService implements ConfigCa
                     .eq(Config::getDelFlag, 0);
             List<Config> configList = configMapper.selectList(wrapper);
 
+            // 以全部启用的配置键重建布隆过滤器
+            List<String> configKeys = configList.stream().map(Config::getConfigKey).toList();
+            rebuildBloomFilter("config", configKeys);
+            rebuildBloomFilter("configValue", configKeys.stream().map(configKey -> "value:" + configKey).toList());
+
             if (configList.isEmpty()) {
                 log.info("没有配置需要预热缓存");
                 return;
@@ -1,7 +1,9 @@
 package dev.illichitcat.system.service.impl;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import dev.illichitcat.common.common.constant.SystemConstants;
+import dev.illichitcat.system.config.CachePenetrationProperties;
 import dev.illichitcat.system.config.DictCacheProperties;
 import dev.illichitcat.system.model.entity.Dict;
 import dev.illichitcat.system.model.entity.DictItem;
@@ -14,7 +16,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * 字典缓存服务实现
@@ -39,16 +45,13 @@ public class DictCacheServiceImpl extends BaseCacheService implements DictCacheS
     @Autowired
     private DictCacheProperties cacheProperties;
 
-    @Autowired
-    private ObjectMapper objectMapper;
-
     @Override
-    protected boolean isCacheEnabled() {
+    protected boolean isCacheDisabled() {
         return !cacheProperties.isEnabled();
     }
 
     @Override
-    protected boolean isCaffeineEnabled() {
+    protected boolean isCaffeineDisabled() {
         return !cacheProperties.getCaffeine().isEnabled();
     }
 
@@ -72,6 +75,25 @@ public class DictCacheServiceImpl extends BaseCacheService implements DictCacheS
         };
     }
 
+    @Override
+    protected CachePenetrationProperties getPenetrationProperties() {
+        return cacheProperties.getPenetration();
+    }
+
+    @Override
+    protected String getCacheNamespace() {
+        return "dict";
+    }
+
+    @Override
+    protected Map<String, JavaType> getCacheValueTypes() {
+        TypeFactory types = objectMapper.getTypeFactory();
+        return Map.of(
+                "dict", types.constructType(Dict.class),
+                "dictItem", types.constructType(DictItem.class),
+                "dictItems", types.constructCollectionType(List.class, DictItem.class));
+    }
+
     @Override
     public Dict getDictFromCache(Long id) {
         return getFromCache(id,
@@ -110,82 +132,81 @@ public class DictCacheServiceImpl extends BaseCacheService implements DictCacheS
 
     @Override
     public List<DictItem> getDictItemsFromCache(Long dictId) {
-        if (isCacheEnabled()) {
+        if (isCacheDisabled()) {
             return dictItemService.selectItemsByDictId(dictId);
         }
 
         // 1. 先查 Caffeine 一级缓存
-        List<DictItem> value = getFromCaffeine("dictItems", cacheProperties.getDictItemsPrefix() + dictId);
+        String cacheKey = cacheProperties.getDictItemsPrefix() + dictId;
+        List<DictItem> value = getFromCaffeine("dictItems", cacheKey);
+        Function<List<DictItem>, Void> cacheWriter = items -> {
+            cacheDictItems(dictId, items, true);
+            return null;
+        };
         if (value != null) {
             log.debug("Caffeine 命中: cacheName=dictItems, key={}", dictId);
+            refreshIfStale("dictItems", cacheKey, cacheKey, dictId, dictItemService::selectItemsByDictId, cacheWriter);
             return value;
         }
+        if (isKnownAbsent("dictItems", cacheKey)) {
+            return null;
+        }
 
         // 2. 未命中查 Redis 二级缓存
-        String rawValue = getFromRedisRaw(cacheProperties.getDictItemsPrefix() + dictId);
-        if (rawValue != null) {
+        List<DictItem> redisValue = getFromRedis("dictItems", cacheKey);
+        if (redisValue != null) {
             log.debug("Redis 命中: cacheName=dictItems, key={}", dictId);
-            try {
-                // 反序列化为 List<DictItem>
-                List<DictItem> items = objectMapper.readValue(rawValue,
-                        objectMapper.getTypeFactory().constructCollectionType(List.class, DictItem.class));
-                // 回填 Caffeine 缓存
-                putToCaffeine("dictItems", cacheProperties.getDictItemsPrefix() + dictId, items);
-                return items;
-            } catch (Exception e) {
-                log.error("反序列化 Redis 缓存失败, key={}", dictId, e);
-            }
+            // 回填 Caffeine 缓存
+            putToCaffeine("dictItems", cacheKey, redisValue);
+            return redisValue;
         }
 
-        // 3. 都未命中查数据库
-        log.debug("缓存未命中，查询数据库: cacheName=dictItems, key={}", dictId);
-        List<DictItem> dbValue = dictItemService.selectItemsByDictId(dictId);
-        if (dbValue != null) {
-            // 回填缓存
-            cacheDictItems(dictId, dbValue, true);
-        }
+        // 3. 都未命中查数据库并回填缓存（并发未命中合并为一次回源）
+        return loadFromDb("dictItems", cacheKey, cacheKey, dictId, dictItemService::selectItemsByDictId, cacheWriter);
+    }
 
-        return dbValue;
+    @Override
+    public Map<String, List<DictItem>> getDictItemsFromCache(Collection<String> dictCodes) {
+        return getAllFromCache(dictCodes,
+                "dictItems",
+                dictCode -> cacheProperties.getDictItemsPrefix() + "code:" + dictCode,
+                dictCode -> cacheProperties.getDictItemsPrefix() + "code:" + dictCode,
+                dictItemService::selectItemsByDictCodes);
     }
 
     @Override
     public List<DictItem> getDictItemsFromCache(String dictCode) {
-        if (isCacheEnabled()) {
+        if (isCacheDisabled()) {
             return dictItemService.selectItemsByDictCode(dictCode);
         }
 
         // 1. 先查 Caffeine 一级缓存
-        List<DictItem> value = getFromCaffeine("dictItems", cacheProperties.getDictItemsPrefix() + "code:" + dictCode);
+        String cacheKey = cacheProperties.getDictItemsPrefix() + "code:" + dictCode;
+        List<DictItem> value = getFromCaffeine("dictItems", cacheKey);
+        Function<List<DictItem>, Void> cacheWriter = items -> {
+            cacheDictItems(dictCode, items, true);
+            return null;
+        };
         if (value != null) {
             log.debug("Caffeine 命中: cacheName=dictItems, key={}", dictCode);
+            refreshIfStale("dictItems", cacheKey, cacheKey, dictCode, dictItemService::selectItemsByDictCode, cacheWriter);
             return value;
         }
+        if (isKnownAbsent("dictItems", cacheKey)) {
+            return null;
+        }
 
         // 2. 未命中查 Redis 二级缓存
-        String rawValue = getFromRedisRaw(cacheProperties.getDictItemsPrefix() + "code:" + dictCode);
-        if (rawValue != null) {
+        List<DictItem> redisValue = getFromRedis("dictItems", cacheKey);
+        if (redisValue != null) {
             log.debug("Redis 命中: cacheName=dictItems, key={}", dictCode);
-            try {
-                // 反序列化为 List<DictItem>
-                List<DictItem> items = objectMapper.readValue(rawValue,
-                        objectMapper.getTypeFactory().constructCollectionType(List.class, DictItem.class));
-                // 回填 Caffeine 缓存
-                putToCaffeine("dictItems", cacheProperties.getDictItemsPrefix() + "code:" + dictCode, items);
-                return items;
-            } catch (Exception e) {
-                log.error("反序列化 Redis 缓存失败, key={}", dictCode, e);
-            }
-        }
-
-        // 3. 都未命中查数据库
-        log.debug("缓存未命中，查询数据库: cacheName=dictItems, key={}", dictCode);
-        List<DictItem> dbValue = dictItemService.selectItemsByDictCode(dictCode);
-        if (dbValue != null) {
-            // 回填缓存
-            cacheDictItems(dictCode, dbValue, true);
+            // 回填 Caffeine 缓存
+            putToCaffeine("dictItems", cacheKey, redisValue);
+            return redisValue;
         }
 
-        return dbValue;
+        // 3. 都未命中查数据库并回填缓存（并发未命中合并为一次回源）
+        return loadFromDb("dictItems", cacheKey, cacheKey, dictCode, dictItemService::selectItemsByDictCode, cacheWriter);
     }
 
     @Override
@@ -207,8 +228,8 @@ public class DictCacheServiceImpl extends BaseCacheService implements DictCacheS
 
         // 写入 Redis 二级缓存
         if (isRedisEnabled() && !skipRedis) {
-            asyncPutToRedis(cacheProperties.getDictPrefix() + dict.getId(), dict);
-            asyncPutToRedis(cacheProperties.getDictPrefix() + "code:" + dict.getDictCode(), dict);
+            asyncPutToRedis("dict", cacheProperties.getDictPrefix() + dict.getId(), dict);
+            asyncPutToRedis("dict", cacheProperties.getDictPrefix() + "code:" + dict.getDictCode(), dict);
         }
 
         log.debug("缓存字典成功, dictId={}, dictCode={}", dict.getId(), dict.getDictCode());
@@ -225,7 +246,7 @@ public class DictCacheServiceImpl extends BaseCacheService implements DictCacheS
 
         // 写入 Redis 二级缓存
         if (isRedisEnabled()) {
-            asyncPutToRedis(cacheProperties.getDictItemPrefix() + item.getId(), item);
+            asyncPutToRedis("dictItem", cacheProperties.getDictItemPrefix() + item.getId(), item);
         }
 
         log.debug("缓存字典项成功, itemId={}", item.getId());
@@ -249,7 +270,7 @@ public class DictCacheServiceImpl extends BaseCacheService implements DictCacheS
 
         // 写入 Redis 二级缓存
         if (isRedisEnabled() && !skipRedis) {
-            asyncPutToRedis(cacheProperties.getDictItemsPrefix() + dictId, items);
+            asyncPutToRedis("dictItems", cacheProperties.getDictItemsPrefix() + dictId, items);
         }
 
         log.debug("缓存字典项列表成功, dictId={}, itemCount={}", dictId, items.size());
@@ -273,7 +294,7 @@ public class DictCacheServiceImpl extends BaseCacheService implements DictCacheS
 
         // 写入 Redis 二级缓存
         if (isRedisEnabled() && !skipRedis) {
-            asyncPutToRedis(cacheProperties.getDictItemsPrefix() + "code:" + dictCode, items);
+            asyncPutToRedis("dictItems", cacheProperties.getDictItemsPrefix() + "code:" + dictCode, items);
         }
 
         log.debug("缓存字典项列表成功, dictCode={}, itemCount={}", dictCode, items.size());
@@ -293,6 +314,20 @@ public class DictCacheServiceImpl extends BaseCacheService implements DictCacheS
         log.debug("清除字典缓存成功, dictCode={}", dictCode);
     }
 
+    @Override
+    public void evictDictCaches(Collection<Dict> dicts) {
+        List<CacheEviction> evictions = new ArrayList<>(dicts.size() * 4);
+        for (Dict dict : dicts) {
+            evictions.add(new CacheEviction("dict", prefix -> cacheProperties.getDictPrefix() + dict.getId()));
+            evictions.add(new CacheEviction("dict", prefix -> cacheProperties.getDictPrefix() + "code:" + dict.getDictCode()));
+            evictions.add(new CacheEviction("dictItems", prefix -> cacheProperties.getDictItemsPrefix() + dict.getId()));
+            evictions.add(new CacheEviction("dictItems",
+                    prefix -> cacheProperties.getDictItemsPrefix() + "code:" + dict.getDictCode()));
+        }
+        evictCaches(evictions);
+        log.debug("批量清除字典缓存成功, count={}", dicts.size());
+    }
+
     @Override
     public void evictDictItemCache(Long id) {
         evictCache("dictItem", prefix -> cacheProperties.getDictItemPrefix() + id);
@@ -318,12 +353,19 @@ public class DictCacheServiceImpl extends BaseCacheService implements DictCacheS
 
     @Override
     public void warmUpCache() {
-        if (isCacheEnabled()) {
+        if (isCacheDisabled()) {
             return;
         }
         log.info("开始预热字典缓存, source={}", SystemConstants.CacheSource.MANUAL);
 
         List<Dict> dictList = dictService.list();
+        List<String> dictKeys = new ArrayList<>(dictList.size() * 2);
+        for (Dict dict : dictList) {
+            dictKeys.add(cacheProperties.getDictPrefix() + dict.getId());
+            dictKeys.add(cacheProperties.getDictPrefix() + "code:" + dict.getDictCode());
+        }
+        rebuildBloomFilter("dict", dictKeys);
+
         for (Dict dict : dictList) {
             try {
                 cacheDict(dict);
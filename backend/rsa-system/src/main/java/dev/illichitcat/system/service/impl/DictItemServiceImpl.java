@@ -12,8 +12,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * 字典项服务实现类
@@ -65,6 +70,35 @@ public class DictItemServiceImpl extends ServiceImpl<DictItemMapper, DictItem> i
         return items;
     }
 
+    @Override
+    public Map<String, List<DictItem>> selectItemsByDictCodes(Collection<String> dictCodes) {
+        Map<String, List<DictItem>> result = new HashMap<>(dictCodes.size() * 2);
+        dictCodes.forEach(dictCode -> result.put(dictCode, new ArrayList<>()));
+
+        // 一次查询字典，一次查询全部字典项后按字典分组
+        LambdaQueryWrapper<Dict> dictQuery = new LambdaQueryWrapper<>();
+        dictQuery.select(Dict::getId, Dict::getDictCode)
+                .in(Dict::getDictCode, dictCodes);
+        Map<Long, String> dictCodeMap = dictMapper.selectList(dictQuery).stream()
+                .collect(Collectors.toMap(Dict::getId, Dict::getDictCode));
+        if (dictCodeMap.isEmpty()) {
+            return result;
+        }
+
+        LambdaQueryWrapper<DictItem> itemQuery = new LambdaQueryWrapper<>();
+        itemQuery.in(DictItem::getDictId, dictCodeMap.keySet())
+                .eq(DictItem::getStatus, 1)
+                .orderByAsc(DictItem::getSort);
+        List<DictItem> items = dictItemMapper.selectList(itemQuery);
+        for (DictItem item : items) {
+            result.get(dictCodeMap.get(item.getDictId())).add(item);
+        }
+
+        log.debug("从数据库批量查询字典项列表, dictCount={}, itemCount={}", dictCodes.size(), items.size());
+
+        return result;
+    }
+
     @Override
     public DictItem selectItemById(Long id) {
         return dictItemMapper.selectById(id);
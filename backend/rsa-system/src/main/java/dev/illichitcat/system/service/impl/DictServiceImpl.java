@@ -6,8 +6,10 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import dev.illichitcat.common.exception.BizException;
+import dev.illichitcat.common.utils.ExcelUtils;
 import dev.illichitcat.system.dao.mapper.DictItemMapper;
 import dev.illichitcat.system.dao.mapper.DictMapper;
+import dev.illichitcat.system.manager.ImportManager;
 import dev.illichitcat.system.model.dto.DictExcelDTO;
 import dev.illichitcat.system.model.entity.Dict;
 import dev.illichitcat.system.model.entity.DictItem;
@@ -17,11 +19,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.io.InputStream;
+import java.util.*;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
 
 /**
  * 字典服务实现类
@@ -42,6 +44,9 @@ public class DictServiceImpl extends ServiceImpl<DictMapper, Dict> implements Di
     @Autowired
     private DictCacheService dictCacheService;
 
+    @Autowired
+    private ImportManager importManager;
+
     @Override
     public IPage<Dict> selectDictList(Page<Dict> page, Dict dict) {
         LambdaQueryWrapper<Dict> queryWrapper = new LambdaQueryWrapper<>();
@@ -116,8 +121,8 @@ public class DictServiceImpl extends ServiceImpl<DictMapper, Dict> implements Di
         boolean result = dictMapper.insert(dict) > 0;
 
         if (result) {
-            // 清除缓存（新增后清除，下次访问时重新加载）
-            dictCacheService.evictDictCache(dict.getDictCode());
+            // 按ID与编码清除缓存（新增后清除，下次访问时重新加载）；清除会经失效广播把新键加入各节点的布隆过滤器
+            dictCacheService.evictDictCaches(List.of(dict));
             log.info("新增字典成功, dictId={}, dictCode={}", dict.getId(), dict.getDictCode());
         }
 
@@ -192,38 +197,58 @@ public class DictServiceImpl extends ServiceImpl<DictMapper, Dict> implements Di
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
-    public String importDicts(List<DictExcelDTO> dictExcelDTOList) {
-        log.info("导入字典数据开始, count={}", dictExcelDTOList.size());
+    public String importDicts(InputStream inputStream, LongConsumer progress) {
+        log.info("导入字典数据开始");
 
-        int successCount = 0;
-        int failCount = 0;
-        StringBuilder failMessages = new StringBuilder();
+        ImportResult result = new ImportResult();
+        ExcelUtils.importExcelInChunks(inputStream, DictExcelDTO.class, ImportManager.CHUNK_SIZE, (rows, firstRowNum) -> {
+            importDictChunk(rows, firstRowNum, result);
+            progress.accept(rows.size());
+        });
+
+        log.info("导入字典数据结束, success={}, fail={}", result.successCount, result.failCount);
 
-        for (int i = 0; i < dictExcelDTOList.size(); i++) {
-            DictExcelDTO excelDTO = dictExcelDTOList.get(i);
+        String resultStr = String.format("导入完成：成功%d条，失败%d条", result.successCount, result.failCount);
+        if (result.failCount > 0) {
+            resultStr += "。失败详情：" + result.failMessages;
+        }
+        return resultStr;
+    }
+
+    /**
+     * 导入一块字典数据
+     * <p>
+     * 字典编码用一次 IN 查询校验，字典批量写入
+     */
+    private void importDictChunk(List<DictExcelDTO> rows, int firstRowNum, ImportResult result) {
+        Set<String> existCodes = selectExistingCodes(rows);
+
+        List<Dict> dicts = new ArrayList<>(rows.size());
+        List<DictExcelDTO> accepted = new ArrayList<>(rows.size());
+        List<Integer> rowNums = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            DictExcelDTO excelDTO = rows.get(i);
             // Excel行号（从第2行开始，第1行是表头）
-            int rowNum = i + 2;
+            int rowNum = firstRowNum + i;
 
             try {
                 // 验证必填字段
                 if (excelDTO.getDictName() == null || excelDTO.getDictName().trim().isEmpty()) {
-                    failMessages.append(String.format("第%d行：字典名称不能为空；", rowNum));
-                    failCount++;
+                    result.failMessages.append(String.format("第%d行：字典名称不能为空；", rowNum));
+                    result.failCount++;
                     continue;
                 }
 
                 if (excelDTO.getDictCode() == null || excelDTO.getDictCode().trim().isEmpty()) {
-                    failMessages.append(String.format("第%d行：字典编码不能为空；", rowNum));
-                    failCount++;
+                    result.failMessages.append(String.format("第%d行：字典编码不能为空；", rowNum));
+                    result.failCount++;
                     continue;
                 }
 
-                // 检查字典编码是否已存在
-                Dict existDict = selectDictByCode(excelDTO.getDictCode());
-                if (existDict != null) {
-                    failMessages.append(String.format("第%d行：字典编码%s已存在；", rowNum, excelDTO.getDictCode()));
-                    failCount++;
+                // 检查字典编码是否已存在（含本文件中先出现的行）
+                if (!existCodes.add(excelDTO.getDictCode())) {
+                    result.failMessages.append(String.format("第%d行：字典编码%s已存在；", rowNum, excelDTO.getDictCode()));
+                    result.failCount++;
                     continue;
                 }
 
@@ -239,53 +264,86 @@ public class DictServiceImpl extends ServiceImpl<DictMapper, Dict> implements Di
                     dict.setStatus(1);
                 }
 
-                // 保存字典
-                if (this.save(dict)) {
-                    successCount++;
-                    log.info("成功导入字典, dictName={}, id={}", dict.getDictName(), dict.getId());
-                } else {
-                    failMessages.append(String.format("第%d行：保存字典失败；", rowNum));
-                    failCount++;
-                }
-
+                dicts.add(dict);
+                accepted.add(excelDTO);
+                rowNums.add(rowNum);
             } catch (Exception e) {
-                log.error("导入字典失败, row={}, dictName={}, error={}", rowNum, excelDTO.getDictName(), e.getMessage());
-                failMessages.append(String.format("第%d行：%s；", rowNum, e.getMessage()));
-                failCount++;
+                handleImportException(excelDTO, rowNum, e, result);
             }
         }
 
-        log.info("导入字典数据结束, success={}, fail={}", successCount, failCount);
+        int successCount = importManager.writeChunk(dicts,
+                batch -> this.saveBatch(batch, ImportManager.CHUNK_SIZE),
+                (index, e) -> handleImportException(accepted.get(index), rowNums.get(index), e, result));
+        result.successCount += successCount;
 
-        String result = String.format("导入完成：成功%d条，失败%d条", successCount, failCount);
-        if (failCount > 0) {
-            result += "。失败详情：" + failMessages;
+        // 清除可能存在的按编码查询的空值缓存
+        if (successCount > 0) {
+            dicts.forEach(dict -> dictCacheService.evictDictCache(dict.getDictCode()));
         }
+        log.info("导入字典数据块完成, firstRow={}, size={}, success={}", firstRowNum, rows.size(), result.successCount);
+    }
 
-        return result;
+    /**
+     * 用一次 IN 查询找出块内已存在的字典编码，比较时忽略大小写以与数据库排序规则一致
+     */
+    private Set<String> selectExistingCodes(List<DictExcelDTO> rows) {
+        Set<String> codes = rows.stream()
+                .map(DictExcelDTO::getDictCode)
+                .filter(code -> code != null && !code.trim().isEmpty())
+                .collect(Collectors.toSet());
+        Set<String> existCodes = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        if (!codes.isEmpty()) {
+            LambdaQueryWrapper<Dict> codeQuery = new LambdaQueryWrapper<>();
+            codeQuery.select(Dict::getDictCode).in(Dict::getDictCode, codes);
+            this.list(codeQuery).forEach(dict -> existCodes.add(dict.getDictCode()));
+        }
+        return existCodes;
+    }
+
+    /**
+     * 处理导入异常
+     */
+    private void handleImportException(DictExcelDTO excelDTO, int rowNum, Exception e, ImportResult result) {
+        log.error("导入字典失败, row={}, dictName={}, error={}", rowNum, excelDTO.getDictName(), e.getMessage());
+        result.failMessages.append(String.format("第%d行：%s；", rowNum, e.getMessage()));
+        result.failCount++;
     }
 
     @Override
     public boolean deleteDictsByIds(Long[] dictIds) {
         log.info("批量删除字典开始, dictIds={}, count={}", Arrays.toString(dictIds), dictIds.length);
+        List<Long> ids = Arrays.stream(dictIds).distinct().toList();
+        if (ids.isEmpty()) {
+            return false;
+        }
 
         try {
-            // 检查字典是否有关联数据
-            for (Long dictId : dictIds) {
-                // 检查字典是否有关联的字典项
-                List<DictItem> dictItems = dictItemMapper.selectList(new QueryWrapper<DictItem>().eq("dict_id", dictId));
-                if (!dictItems.isEmpty()) {
-                    Dict dict = this.getById(dictId);
-                    String dictName = dict != null ? dict.getDictName() : String.valueOf(dictId);
-                    log.warn("批量删除字典失败，字典有字典项, dictId={}, dictName={}", dictId, dictName);
-                    throw new BizException("字典 " + dictName + " 有字典项，无法删除");
-                }
+            // 一次查询检查所有字典是否有关联的字典项
+            List<DictItem> dictItems = dictItemMapper.selectList(new LambdaQueryWrapper<DictItem>()
+                    .select(DictItem::getDictId)
+                    .in(DictItem::getDictId, ids)
+                    .last("LIMIT 1"));
+            if (!dictItems.isEmpty()) {
+                Long dictId = dictItems.getFirst().getDictId();
+                Dict dict = this.getById(dictId);
+                String dictName = dict != null ? dict.getDictName() : String.valueOf(dictId);
+                log.warn("批量删除字典失败，字典有字典项, dictId={}, dictName={}", dictId, dictName);
+                throw new BizException("字典 " + dictName + " 有字典项，无法删除");
             }
 
+            // 查询字典编码用于清除缓存
+            List<Dict> dicts = dictMapper.selectBatchIds(ids);
+
             // 批量删除字典
-            int result = dictMapper.deleteBatchIds(Arrays.asList(dictIds));
+            int result = dictMapper.deleteBatchIds(ids);
 
-            log.info("批量删除字典结束, count={}, result={}", dictIds.length, result);
+            if (result > 0) {
+                // 一次批量清除所有受影响的缓存
+                dictCacheService.evictDictCaches(dicts);
+            }
+
+            log.info("批量删除字典结束, count={}, result={}", ids.size(), result);
             return result > 0;
         } catch (BizException e) {
             throw e;
@@ -294,4 +352,16 @@ public class DictServiceImpl extends ServiceImpl<DictMapper, Dict> implements Di
             return false;
         }
     }
+
+    /**
+     * 导入结果内部类
+     *
+     * @author Illichitcat
+     * @since 2026/10/17
+     */
+    private static class ImportResult {
+        int successCount = 0;
+        int failCount = 0;
+        StringBuilder failMessages = new StringBuilder();
+    }
 }
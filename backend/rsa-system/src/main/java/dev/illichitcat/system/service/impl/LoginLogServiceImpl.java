@@ -14,6 +14,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.function.Consumer;
 
 /**
  * 登录日志服务实现类
@@ -90,9 +91,10 @@ public class LoginLogServiceImpl extends ServiceImpl<LoginLogMapper, LoginLog> i
     }
 
     @Override
-    public java.util.List<LoginLog> exportLoginLogList(LoginLog loginLog, LocalDateTime startTime, LocalDateTime endTime) {
+    public void exportLoginLogList(LoginLog loginLog, LocalDateTime startTime, LocalDateTime endTime,
+                                   Consumer<LoginLog> consumer) {
         LambdaQueryWrapper<LoginLog> queryWrapper = buildQueryWrapper(loginLog, startTime, endTime);
-        return loginLogMapper.selectList(queryWrapper);
+        loginLogMapper.selectStream(queryWrapper, context -> consumer.accept(context.getResultObject()));
     }
 
     /**
@@ -1,24 +1,33 @@
 package dev.illichitcat.system.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import dev.illichitcat.common.common.constant.SystemConstants;
+import dev.illichitcat.system.config.CachePenetrationProperties;
 import dev.illichitcat.system.config.MenuCacheProperties;
 import dev.illichitcat.system.dao.mapper.MenuMapper;
 import dev.illichitcat.system.dao.mapper.RoleMenuMapper;
 import dev.illichitcat.system.dao.mapper.UserRoleMapper;
+import dev.illichitcat.system.manager.CacheMetricsManager;
+import dev.illichitcat.system.manager.RoleSetManager;
 import dev.illichitcat.system.model.entity.Menu;
+import dev.illichitcat.system.model.vo.MenuVO;
 import dev.illichitcat.system.service.BaseCacheService;
 import dev.illichitcat.system.service.MenuCacheService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 菜单缓存服务实现
  * 采用 Cache-Aside 模式 + Caffeine 一级缓存 + Redis 二级缓存 + 异步刷新
+ * 用户菜单按角色集合指纹缓存（见 {@link RoleSetManager}），持有相同角色组合的用户共享同一份菜单
  * 继承 BaseCacheService 消除重复代码
  *
  * @author Illichitcat
@@ -28,6 +37,9 @@ import java.util.List;
 @Service
 public class MenuCacheServiceImpl extends BaseCacheService implements MenuCacheService {
 
+    private static final String ROLE_MENU_TREE = "roleMenuTree";
+    private static final String ROLE_SET_MENU_TREE = "roleSetMenuTree";
+
     @Autowired
     private MenuMapper menuMapper;
 
@@ -41,16 +53,16 @@ public class MenuCacheServiceImpl extends BaseCacheService implements MenuCacheS
     private MenuCacheProperties cacheProperties;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private RoleSetManager roleSetManager;
 
     @Override
-    protected boolean isCacheEnabled() {
-        return cacheProperties.isEnabled();
+    protected boolean isCacheDisabled() {
+        return !cacheProperties.isEnabled();
     }
 
     @Override
-    protected boolean isCaffeineEnabled() {
-        return cacheProperties.getCaffeine().isEnabled();
+    protected boolean isCaffeineDisabled() {
+        return !cacheProperties.getCaffeine().isEnabled();
     }
 
     @Override
@@ -66,60 +78,119 @@ public class MenuCacheServiceImpl extends BaseCacheService implements MenuCacheS
     @Override
     protected String getRedisPrefixByCacheName(String cacheName) {
         return switch (cacheName) {
-            case "userMenus" -> cacheProperties.getUserMenusPrefix();
-            case "roleMenus" -> cacheProperties.getRoleMenusPrefix();
+            case "roleSetMenus" -> cacheProperties.getRoleSetMenusPrefix();
+            case "roleMenuList" -> cacheProperties.getRoleMenusPrefix();
             default -> "";
         };
     }
 
+    @Override
+    protected CachePenetrationProperties getPenetrationProperties() {
+        return cacheProperties.getPenetration();
+    }
+
+    @Override
+    protected String getCacheNamespace() {
+        return "menu";
+    }
+
+    @Override
+    protected Map<String, JavaType> getCacheValueTypes() {
+        TypeFactory types = objectMapper.getTypeFactory();
+        return Map.of(
+                "roleSetMenus", types.constructCollectionType(List.class, Menu.class),
+                "roleMenuList", types.constructCollectionType(List.class, Menu.class));
+    }
+
     @Override
     public List<Menu> getUserMenusFromCache(Long userId) {
-        if (!isCacheEnabled()) {
-            return selectMenusByUserIdFromDb(userId);
+        if (isCacheDisabled()) {
+            return selectMenusByRoleIdsFromDb(userRoleMapper.selectRoleIdsByUserId(userId));
+        }
+        String fingerprint = roleSetManager.fingerprintOfUser(userId);
+        if (fingerprint.isEmpty()) {
+            return List.of();
         }
-        return getMenusFromCache("userMenus", userId, this::selectMenusByUserIdFromDb, this::cacheUserMenus);
+        return getMenusFromCache("roleSetMenus", fingerprint,
+                key -> selectMenusByRoleIdsFromDb(roleSetManager.roleIds(key)), this::cacheRoleSetMenus);
     }
 
     @Override
     public List<Menu> getRoleMenusFromCache(Long roleId) {
-        if (!isCacheEnabled()) {
+        if (isCacheDisabled()) {
             return selectMenusByRoleIdFromDb(roleId);
         }
-        return getMenusFromCache("roleMenus", roleId, this::selectMenusByRoleIdFromDb, this::cacheRoleMenus);
+        return getMenusFromCache("roleMenuList", roleId, this::selectMenusByRoleIdFromDb, this::cacheRoleMenus);
     }
 
     @Override
-    public void cacheUserMenus(Long userId, List<Menu> menus) {
-        cacheData("userMenus", prefix -> cacheProperties.getMenuPrefix() + userId, menus);
-        log.debug("缓存用户菜单成功, userId={}, menuCount={}", userId, menus.size());
+    public void cacheRoleSetMenus(String fingerprint, List<Menu> menus) {
+        cacheData("roleSetMenus", prefix -> prefix + fingerprint, menus);
+        roleSetManager.track(fingerprint);
+        log.debug("缓存角色集合菜单成功, fingerprint={}, menuCount={}", fingerprint, menus.size());
     }
 
     @Override
     public void cacheRoleMenus(Long roleId, List<Menu> menus) {
-        cacheData("roleMenus", prefix -> cacheProperties.getMenuPrefix() + roleId, menus);
+        cacheData("roleMenuList", prefix -> prefix + roleId, menus);
         log.debug("缓存角色菜单成功, roleId={}, menuCount={}", roleId, menus.size());
     }
 
     @Override
-    public void evictUserMenusCache(Long userId) {
-        evictCache("userMenus", prefix -> cacheProperties.getMenuPrefix() + userId);
-        log.debug("清除用户菜单缓存成功, userId={}", userId);
+    public List<MenuVO> getRoleMenuTreeFromCache(Long roleId) {
+        return getMenuTree(ROLE_MENU_TREE, String.valueOf(roleId));
+    }
+
+    @Override
+    public void cacheRoleMenuTree(Long roleId, List<MenuVO> tree) {
+        putMenuTree(ROLE_MENU_TREE, String.valueOf(roleId), tree);
+    }
+
+    @Override
+    public List<MenuVO> getRoleSetMenuTreeFromCache(String fingerprint) {
+        return getMenuTree(ROLE_SET_MENU_TREE, fingerprint);
+    }
+
+    @Override
+    public void cacheRoleSetMenuTree(String fingerprint, List<MenuVO> tree) {
+        putMenuTree(ROLE_SET_MENU_TREE, fingerprint, tree);
+    }
+
+    @Override
+    public void evictRoleSetMenusCache(Long roleId) {
+        Set<String> fingerprints = roleSetManager.getFingerprintsContaining(roleId);
+        for (String fingerprint : fingerprints) {
+            evictCache("roleSetMenus", prefix -> prefix + fingerprint);
+        }
+        evictMenuTrees(ROLE_SET_MENU_TREE, fingerprints);
+        log.debug("清除角色集合菜单缓存成功, roleId={}, fingerprints={}", roleId, fingerprints);
     }
 
     @Override
     public void evictRoleMenusCache(Long roleId) {
-        evictCache("roleMenus", prefix -> cacheProperties.getMenuPrefix() + roleId);
+        evictCache("roleMenuList", prefix -> prefix + roleId);
+        evictMenuTrees(ROLE_MENU_TREE, List.of(String.valueOf(roleId)));
         log.debug("清除角色菜单缓存成功, roleId={}", roleId);
     }
 
     @Override
     public void evictAllMenuCache() {
-        evictAllCache("userMenus", "roleMenus");
+        evictAllCache("roleSetMenus", "roleMenuList");
+
+        // 菜单树依赖全部菜单数据（含补全的父菜单），随菜单缓存一起清空
+        List<String> treeCacheNames = List.of(ROLE_MENU_TREE, ROLE_SET_MENU_TREE);
+        for (String cacheName : treeCacheNames) {
+            org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        cacheInvalidationManager.publishClear(treeCacheNames);
     }
 
     @Override
     public void warmUpCache() {
-        if (!isCacheEnabled()) {
+        if (isCacheDisabled()) {
             return;
         }
         log.info("开始预热菜单缓存, source={}", SystemConstants.CacheSource.MANUAL);
@@ -135,26 +206,58 @@ public class MenuCacheServiceImpl extends BaseCacheService implements MenuCacheS
             }
         }
 
-        log.info("菜单缓存预热完成, 角色数={}, source={}", roleIds.size(), SystemConstants.CacheSource.MANUAL);
+        // 预热已使用过的角色集合菜单缓存，重启后登录的用户不再逐个回源
+        Set<String> fingerprints = roleSetManager.getFingerprints();
+        for (String fingerprint : fingerprints) {
+            try {
+                cacheRoleSetMenus(fingerprint, selectMenusByRoleIdsFromDb(roleSetManager.roleIds(fingerprint)));
+            } catch (Exception e) {
+                log.error("预热角色集合菜单缓存失败, fingerprint={}", fingerprint, e);
+            }
+        }
+
+        log.info("菜单缓存预热完成, 角色数={}, 角色集合数={}, source={}", roleIds.size(), fingerprints.size(),
+                SystemConstants.CacheSource.MANUAL);
     }
 
     /**
-     * 清除用户菜单缓存（当用户角色变更时调用）
+     * 读取菜单树缓存；菜单树只保存在 Caffeine 一级缓存中，不经过二级缓存
      */
-    public void evictUserMenusCacheByRoleIds(Long userId, List<Long> roleIds) {
-        if (userId == null || roleIds == null || roleIds.isEmpty()) {
+    private List<MenuVO> getMenuTree(String cacheName, String key) {
+        org.springframework.cache.Cache cache = cacheProperties.isEnabled() ? cacheManager.getCache(cacheName) : null;
+        if (cache == null) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        List<MenuVO> tree = cache.get(key, List.class);
+        cacheMetricsManager.recordGet(cacheName, CacheMetricsManager.Tier.CAFFEINE, tree != null);
+        return tree;
+    }
+
+    private void putMenuTree(String cacheName, String key, List<MenuVO> tree) {
+        org.springframework.cache.Cache cache = cacheProperties.isEnabled() ? cacheManager.getCache(cacheName) : null;
+        if (cache != null && tree != null) {
+            cache.put(key, tree);
+        }
+    }
+
+    /**
+     * 清除本节点及其他节点的菜单树缓存
+     */
+    private void evictMenuTrees(String cacheName, Collection<String> keys) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || keys.isEmpty()) {
             return;
         }
-        evictUserMenusCache(userId);
-        log.debug("清除用户菜单缓存成功, userId={}, roleIds={}", userId, roleIds);
+        keys.forEach(cache::evict);
+        cacheMetricsManager.recordEviction(cacheName, CacheMetricsManager.Tier.CAFFEINE);
+        cacheInvalidationManager.publishEvict(cacheName, keys);
     }
 
     /**
-     * 从数据库查询用户菜单（避免循环依赖）
+     * 从数据库查询角色集合菜单（避免循环依赖）
      */
-    private List<Menu> selectMenusByUserIdFromDb(Long userId) {
-        // 查询用户的角色ID列表
-        List<Long> roleIds = userRoleMapper.selectRoleIdsByUserId(userId);
+    private List<Menu> selectMenusByRoleIdsFromDb(List<Long> roleIds) {
         if (roleIds.isEmpty()) {
             return List.of();
         }
@@ -197,49 +300,43 @@ public class MenuCacheServiceImpl extends BaseCacheService implements MenuCacheS
      * 从缓存获取菜单（通用方法）
      *
      * @param cacheName     缓存名称
-     * @param id            ID
+     * @param id            ID（角色ID或角色集合指纹）
      * @param dbLoader      数据库加载器
      * @param cacheOperator 缓存操作器
+     * @param <K>           ID 类型
      * @return 菜单列表
      */
-    private List<Menu> getMenusFromCache(String cacheName, Long id,
-                                         java.util.function.Function<Long, List<Menu>> dbLoader,
-                                         java.util.function.BiConsumer<Long, List<Menu>> cacheOperator) {
+    private <K> List<Menu> getMenusFromCache(String cacheName, K id,
+                                             java.util.function.Function<K, List<Menu>> dbLoader,
+                                             java.util.function.BiConsumer<K, List<Menu>> cacheOperator) {
         // 1. 先查 Caffeine 一级缓存
-        List<Menu> value = getFromCaffeine(cacheName, cacheProperties.getMenuPrefix() + id);
+        String cacheKey = String.valueOf(id);
+        String redisKey = getRedisPrefixByCacheName(cacheName) + id;
+        java.util.function.Function<List<Menu>, Void> cacheWriter = menus -> {
+            cacheOperator.accept(id, menus);
+            return null;
+        };
+        List<Menu> value = getFromCaffeine(cacheName, cacheKey);
         if (value != null) {
             log.debug("Caffeine 命中: cacheName={}, key={}", cacheName, id);
+            refreshIfStale(cacheName, cacheKey, redisKey, id, dbLoader, cacheWriter);
             return value;
         }
+        if (isKnownAbsent(cacheName, cacheKey)) {
+            return null;
+        }
 
         // 2. 未命中查 Redis 二级缓存
-        String redisKey = cacheName.equals("userMenus") ?
-                cacheProperties.getUserMenusPrefix() + id :
-                cacheProperties.getRoleMenusPrefix() + id;
-        String rawValue = getFromRedisRaw(redisKey);
-        if (rawValue != null) {
+        List<Menu> redisValue = getFromRedis(cacheName, redisKey);
+        if (redisValue != null) {
             log.debug("Redis 命中: cacheName={}, key={}", cacheName, id);
-            try {
-                // 反序列化为 List<Menu>
-                List<Menu> menus = objectMapper.readValue(rawValue,
-                        objectMapper.getTypeFactory().constructCollectionType(List.class, Menu.class));
-                // 回填 Caffeine 缓存
-                putToCaffeine(cacheName, cacheProperties.getMenuPrefix() + id, menus);
-                return menus;
-            } catch (Exception e) {
-                log.error("反序列化 Redis 缓存失败, key={}", id, e);
-            }
-        }
-
-        // 3. 都未命中查数据库
-        log.debug("缓存未命中，查询数据库: cacheName={}, key={}", cacheName, id);
-        List<Menu> dbValue = dbLoader.apply(id);
-        if (dbValue != null) {
-            // 回填缓存
-            cacheOperator.accept(id, dbValue);
+            // 回填 Caffeine 缓存
+            putToCaffeine(cacheName, cacheKey, redisValue);
+            return redisValue;
         }
 
-        return dbValue;
+        // 3. 都未命中查数据库并回填缓存（并发未命中合并为一次回源）
+        return loadFromDb(cacheName, cacheKey, redisKey, id, dbLoader, cacheWriter);
     }
 
 }
\ No newline at end of file
@@ -4,9 +4,12 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import dev.illichitcat.common.exception.BizException;
+import dev.illichitcat.common.utils.ExcelUtils;
 import dev.illichitcat.system.dao.mapper.MenuMapper;
 import dev.illichitcat.system.dao.mapper.PermissionMapper;
 import dev.illichitcat.system.dao.mapper.RoleMenuMapper;
+import dev.illichitcat.system.manager.ImportManager;
+import dev.illichitcat.system.manager.RoleSetManager;
 import dev.illichitcat.system.model.dto.MenuExcelDTO;
 import dev.illichitcat.system.model.entity.Menu;
 import dev.illichitcat.system.model.entity.Permission;
@@ -18,8 +21,9 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -42,10 +46,16 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
     @Autowired
     private PermissionMapper permissionMapper;
 
+    @Autowired
+    private RoleSetManager roleSetManager;
+
     @Autowired
     @Lazy
     private dev.illichitcat.system.service.MenuCacheService menuCacheService;
 
+    @Autowired
+    private ImportManager importManager;
+
     @Override
     public List<Menu> selectMenuList(Menu menu) {
         LambdaQueryWrapper<Menu> queryWrapper = new LambdaQueryWrapper<>();
@@ -172,38 +182,40 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
 
     @Override
     public List<MenuVO> buildMenuTree(List<Menu> menus) {
-        List<MenuVO> menuVOList = menus.stream().map(menu -> {
-            MenuVO vo = new MenuVO();
-            BeanUtils.copyProperties(menu, vo);
-            return vo;
-        }).collect(Collectors.toList());
-
-        // 构建树形结构
-        List<MenuVO> tree = new ArrayList<>(menuVOList.size() / 4);
-        for (MenuVO menuVO : menuVOList) {
-            if (menuVO.getParentId() == null || menuVO.getParentId() == 0) {
-                tree.add(menuVO);
-                buildChildren(menuVO, menuVOList);
-            }
+        return MenuTreeBuilder.build(menus);
+    }
+
+    @Override
+    public List<MenuVO> selectMenuTreeByUserId(Long userId) {
+        String fingerprint = roleSetManager.fingerprintOfUser(userId);
+        if (fingerprint.isEmpty()) {
+            return List.of();
+        }
+        List<MenuVO> tree = menuCacheService.getRoleSetMenuTreeFromCache(fingerprint);
+        if (tree != null) {
+            return tree;
         }
 
-        // 对根菜单按 sort 字段排序
-        return tree.stream()
-                .sorted(Comparator.comparingInt(menu -> menu.getSort() != null ? menu.getSort() : 0))
-                .collect(Collectors.toList());
+        List<Long> roleIds = roleSetManager.roleIds(fingerprint);
+        List<List<MenuVO>> roleTrees = new ArrayList<>(roleIds.size());
+        for (Long roleId : roleIds) {
+            roleTrees.add(selectMenuTreeByRoleId(roleId));
+        }
+        tree = MenuTreeBuilder.merge(roleTrees);
+        menuCacheService.cacheRoleSetMenuTree(fingerprint, tree);
+        return tree;
     }
 
-    private void buildChildren(MenuVO parent, List<MenuVO> allMenus) {
-        List<MenuVO> children = allMenus.stream()
-                .filter(m -> parent.getId().equals(m.getParentId()))
-                .sorted(Comparator.comparingInt(menu -> menu.getSort() != null ? menu.getSort() : 0))
-                .collect(Collectors.toList());
-        if (!children.isEmpty()) {
-            parent.setChildren(children);
-            for (MenuVO child : children) {
-                buildChildren(child, allMenus);
-            }
+    /**
+     * 查询角色菜单树（含补全的父菜单），优先使用缓存
+     */
+    private List<MenuVO> selectMenuTreeByRoleId(Long roleId) {
+        List<MenuVO> tree = menuCacheService.getRoleMenuTreeFromCache(roleId);
+        if (tree == null) {
+            tree = MenuTreeBuilder.build(fillParentMenus(selectMenusByRoleId(roleId)));
+            menuCacheService.cacheRoleMenuTree(roleId, tree);
         }
+        return tree;
     }
 
     @Override
@@ -230,93 +242,102 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
-    public String importMenus(List<MenuExcelDTO> menuExcelDTOList) {
-        log.info("导入菜单数据开始, count={}", menuExcelDTOList.size());
+    public String importMenus(MultipartFile file) throws IOException {
+        log.info("导入菜单数据开始, file={}", file.getOriginalFilename());
 
-        int successCount = 0;
-        int failCount = 0;
-        StringBuilder failMessages = new StringBuilder();
-        Map<String, Long> menuNameToIdMap = new HashMap<>(menuExcelDTOList.size());
+        ImportResult result = new ImportResult();
+        ExcelUtils.importExcelInChunks(file, MenuExcelDTO.class, ImportManager.CHUNK_SIZE,
+                (rows, firstRowNum) -> importMenuChunk(rows, firstRowNum, result));
 
-        for (int i = 0; i < menuExcelDTOList.size(); i++) {
-            MenuExcelDTO excelDTO = menuExcelDTOList.get(i);
-            int rowNum = i + 2;
+        if (result.successCount > 0) {
+            menuCacheService.evictAllMenuCache();
+        }
+        log.info("导入菜单数据结束, success={}, fail={}", result.successCount, result.failCount);
+        return buildImportResult(result);
+    }
 
+    /**
+     * 导入一块菜单数据
+     * <p>
+     * 菜单名称、父菜单各用一次 IN 查询校验，菜单批量写入
+     */
+    private void importMenuChunk(List<MenuExcelDTO> rows, int firstRowNum, ImportResult result) {
+        Set<String> existNames = selectExistingNames(rows);
+        Set<Long> existParentIds = selectExistingParentIds(rows);
+
+        List<Menu> menus = new ArrayList<>(rows.size());
+        List<MenuExcelDTO> accepted = new ArrayList<>(rows.size());
+        List<Integer> rowNums = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            MenuExcelDTO excelDTO = rows.get(i);
+            int rowNum = firstRowNum + i;
             try {
-                if (validateMenuData(excelDTO, rowNum, failMessages)) {
+                if (excelDTO.getName() == null || excelDTO.getName().trim().isEmpty()) {
+                    result.failMessages.append(String.format("第%d行：菜单名称不能为空；", rowNum));
+                    result.failCount++;
                     continue;
                 }
-
-                if (checkMenuExists(excelDTO, rowNum, failMessages)) {
+                if (existNames.contains(excelDTO.getName())) {
+                    result.failMessages.append(String.format("第%d行：菜单名称%s已存在；", rowNum, excelDTO.getName()));
+                    result.failCount++;
                     continue;
                 }
 
-                Long parentId = validateParentMenu(excelDTO, rowNum, failMessages);
-                if (parentId == null) {
+                Long parentId = excelDTO.getParentId() == null ? 0L : excelDTO.getParentId();
+                if (parentId != 0 && !existParentIds.contains(parentId)) {
+                    result.failMessages.append(String.format("第%d行：父菜单ID %d 不存在；", rowNum, parentId));
+                    result.failCount++;
                     continue;
                 }
 
-                Menu menu = createMenuFromExcel(excelDTO, parentId);
-                if (saveMenu(menu, excelDTO, menuNameToIdMap)) {
-                    successCount++;
-                } else {
-                    failMessages.append(String.format("第%d行：保存菜单失败；", rowNum));
-                    failCount++;
-                }
+                existNames.add(excelDTO.getName());
+                menus.add(createMenuFromExcel(excelDTO, parentId));
+                accepted.add(excelDTO);
+                rowNums.add(rowNum);
             } catch (Exception e) {
-                handleImportException(e, excelDTO, rowNum, failMessages);
-                failCount++;
+                handleImportException(excelDTO, rowNum, e, result);
             }
         }
 
-        log.info("导入菜单数据结束, success={}, fail={}", successCount, failCount);
-        return buildImportResult(successCount, failCount, failMessages);
-    }
-
-    /**
-     * 验证菜单数据
-     */
-    private boolean validateMenuData(MenuExcelDTO excelDTO, int rowNum, StringBuilder failMessages) {
-        if (excelDTO.getName() == null || excelDTO.getName().trim().isEmpty()) {
-            failMessages.append(String.format("第%d行：菜单名称不能为空；", rowNum));
-            return true;
-        }
-        return false;
+        result.successCount += importManager.writeChunk(menus,
+                batch -> this.saveBatch(batch, ImportManager.CHUNK_SIZE),
+                (index, e) -> handleImportException(accepted.get(index), rowNums.get(index), e, result));
+        log.info("导入菜单数据块完成, firstRow={}, size={}, success={}", firstRowNum, rows.size(), result.successCount);
     }
 
     /**
-     * 检查菜单是否已存在
+     * 用一次 IN 查询找出块内已存在的菜单名称，比较时忽略大小写以与数据库排序规则一致
      */
-    private boolean checkMenuExists(MenuExcelDTO excelDTO, int rowNum, StringBuilder failMessages) {
-        LambdaQueryWrapper<Menu> nameQuery = new LambdaQueryWrapper<>();
-        nameQuery.eq(Menu::getName, excelDTO.getName());
-        Menu existMenu = this.getOne(nameQuery);
-
-        if (existMenu != null) {
-            failMessages.append(String.format("第%d行：菜单名称%s已存在；", rowNum, excelDTO.getName()));
-            return true;
+    private Set<String> selectExistingNames(List<MenuExcelDTO> rows) {
+        Set<String> names = rows.stream()
+                .map(MenuExcelDTO::getName)
+                .filter(name -> name != null && !name.trim().isEmpty())
+                .collect(Collectors.toSet());
+        Set<String> existNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        if (!names.isEmpty()) {
+            LambdaQueryWrapper<Menu> nameQuery = new LambdaQueryWrapper<>();
+            nameQuery.select(Menu::getName).in(Menu::getName, names);
+            this.list(nameQuery).forEach(menu -> existNames.add(menu.getName()));
         }
-        return false;
+        return existNames;
     }
 
     /**
-     * 验证父菜单
+     * 用一次 IN 查询找出块内引用且存在的父菜单ID
      */
-    private Long validateParentMenu(MenuExcelDTO excelDTO, int rowNum, StringBuilder failMessages) {
-        Long parentId = excelDTO.getParentId();
-        if (parentId == null) {
-            parentId = 0L;
-        }
-
-        if (parentId != 0) {
-            Menu parentMenu = this.getById(parentId);
-            if (parentMenu == null) {
-                failMessages.append(String.format("第%d行：父菜单ID %d 不存在；", rowNum, parentId));
-                return null;
-            }
+    private Set<Long> selectExistingParentIds(List<MenuExcelDTO> rows) {
+        Set<Long> parentIds = rows.stream()
+                .map(MenuExcelDTO::getParentId)
+                .filter(parentId -> parentId != null && parentId != 0)
+                .collect(Collectors.toSet());
+        if (parentIds.isEmpty()) {
+            return Set.of();
         }
-        return parentId;
+        LambdaQueryWrapper<Menu> parentQuery = new LambdaQueryWrapper<>();
+        parentQuery.select(Menu::getId).in(Menu::getId, parentIds);
+        return this.list(parentQuery).stream()
+                .map(Menu::getId)
+                .collect(Collectors.toSet());
     }
 
     /**
@@ -343,35 +364,24 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements Me
         return menu;
     }
 
-    /**
-     * 保存菜单
-     */
-    private boolean saveMenu(Menu menu, MenuExcelDTO excelDTO, Map<String, Long> menuNameToIdMap) {
-        if (this.save(menu)) {
-            menuNameToIdMap.put(excelDTO.getName(), menu.getId());
-            log.info("成功导入菜单, name={}, id={}", menu.getName(), menu.getId());
-            return true;
-        }
-        return false;
-    }
-
     /**
      * 处理导入异常
      */
-    private void handleImportException(Exception e, MenuExcelDTO excelDTO, int rowNum, StringBuilder failMessages) {
+    private void handleImportException(MenuExcelDTO excelDTO, int rowNum, Exception e, ImportResult result) {
         log.error("导入菜单失败, row={}, name={}, error={}", rowNum, excelDTO.getName(), e.getMessage());
-        failMessages.append(String.format("第%d行：%s；", rowNum, e.getMessage()));
+        result.failMessages.append(String.format("第%d行：%s；", rowNum, e.getMessage()));
+        result.failCount++;
     }
 
     /**
      * 构建导入结果
      */
-    private String buildImportResult(int successCount, int failCount, StringBuilder failMessages) {
-        String result = String.format("导入完成：成功%d条，失败%d条", successCount, failCount);
-        if (failCount > 0) {
-            result += "。失败详情：" + failMessages;
+    private String buildImportResult(ImportResult result) {
+        String resultStr = String.format("导入完成：成功%d条，失败%d条", result.successCount, result.failCount);
+        if (result.failCount > 0) {
+            resultStr += "。失败详情：" + result.failMessages;
         }
-        return result;
+        return resultStr;
     }
 
     @Override
@@ -0,0 +1,132 @@
+package dev.illichitcat.system.service.impl;
+
+import dev.illichitcat.system.model.entity.Menu;
+import dev.illichitcat.system.model.vo.MenuVO;
+import org.springframework.beans.BeanUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 菜单树构建器
+ * 菜单先整体按 sort 排序一次，再一次遍历按 parentId 分组，分组后的各级子菜单天然有序，不再逐层过滤、排序；
+ * 构建出的各级列表不可修改，树可以缓存并在用户之间共享，调用方不得修改节点
+ *
+ * @author Illichitcat
+ * @since 2026/10/17
+ */
+final class MenuTreeBuilder {
+
+    /**
+     * 菜单排序：按 sort 升序，相同时保持原有顺序
+     */
+    static final Comparator<MenuVO> ORDER = Comparator.comparingInt(menu -> menu.getSort() != null ? menu.getSort() : 0);
+
+    private MenuTreeBuilder() {
+    }
+
+    /**
+     * 构建菜单树：parentId 为空或 0 的菜单为根，父菜单不在列表中的菜单不出现在树中；重复的菜单只保留一个
+     *
+     * @param menus 菜单列表
+     * @return 根菜单列表（不可修改）
+     */
+    static List<MenuVO> build(Collection<Menu> menus) {
+        if (menus == null || menus.isEmpty()) {
+            return List.of();
+        }
+        List<MenuVO> nodes = new ArrayList<>(menus.size());
+        Set<Long> seen = new HashSet<>(menus.size() * 2);
+        for (Menu menu : menus) {
+            if (seen.add(menu.getId())) {
+                nodes.add(toVO(menu));
+            }
+        }
+        nodes.sort(ORDER);
+
+        List<MenuVO> roots = new ArrayList<>();
+        Map<Long, List<MenuVO>> childrenByParent = new HashMap<>(nodes.size() * 2);
+        for (MenuVO node : nodes) {
+            Long parentId = node.getParentId();
+            if (parentId == null || parentId == 0) {
+                roots.add(node);
+            } else {
+                childrenByParent.computeIfAbsent(parentId, id -> new ArrayList<>()).add(node);
+            }
+        }
+        for (MenuVO node : nodes) {
+            List<MenuVO> children = childrenByParent.get(node.getId());
+            if (children != null) {
+                node.setChildren(Collections.unmodifiableList(children));
+            }
+        }
+        return Collections.unmodifiableList(roots);
+    }
+
+    /**
+     * 合并多棵菜单树（如用户各角色的菜单树）：同一菜单只保留一个，子菜单递归合并；
+     * 只出现在一棵树中的子树直接复用，不复制节点
+     *
+     * @param trees 菜单树列表
+     * @return 合并后的根菜单列表（不可修改）
+     */
+    static List<MenuVO> merge(List<List<MenuVO>> trees) {
+        if (trees.isEmpty()) {
+            return List.of();
+        }
+        if (trees.size() == 1) {
+            return trees.getFirst();
+        }
+        return mergeLevel(trees);
+    }
+
+    private static List<MenuVO> mergeLevel(List<List<MenuVO>> levels) {
+        Map<Long, List<MenuVO>> nodesById = new LinkedHashMap<>();
+        for (List<MenuVO> level : levels) {
+            for (MenuVO node : level) {
+                nodesById.computeIfAbsent(node.getId(), id -> new ArrayList<>(2)).add(node);
+            }
+        }
+
+        List<MenuVO> merged = new ArrayList<>(nodesById.size());
+        for (List<MenuVO> sameMenu : nodesById.values()) {
+            if (sameMenu.size() == 1) {
+                merged.add(sameMenu.getFirst());
+                continue;
+            }
+            List<List<MenuVO>> childLevels = new ArrayList<>(sameMenu.size());
+            for (MenuVO node : sameMenu) {
+                if (node.getChildren() != null) {
+                    childLevels.add(node.getChildren());
+                }
+            }
+            MenuVO copy = copyOf(sameMenu.getFirst());
+            copy.setChildren(childLevels.isEmpty() ? null
+                    : childLevels.size() == 1 ? childLevels.getFirst() : mergeLevel(childLevels));
+            merged.add(copy);
+        }
+        // 各输入层级已有序，归并排序对有序段接近线性
+        merged.sort(ORDER);
+        return Collections.unmodifiableList(merged);
+    }
+
+    private static MenuVO toVO(Menu menu) {
+        MenuVO vo = new MenuVO();
+        BeanUtils.copyProperties(menu, vo);
+        return vo;
+    }
+
+    private static MenuVO copyOf(MenuVO source) {
+        MenuVO vo = new MenuVO();
+        BeanUtils.copyProperties(source, vo, "children");
+        return vo;
+    }
+}
\ No newline at end of file
@@ -15,9 +15,8 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 操作日志服务实现类
@@ -98,20 +97,18 @@ public class OperLogServiceImpl extends ServiceImpl<OperLogMapper, OperLog> impl
     }
 
     @Override
-    public List<OperLogExcelDTO> exportOperLogs(OperLog operLog, LocalDateTime startTime, LocalDateTime endTime) {
+    public void exportOperLogs(OperLog operLog, LocalDateTime startTime, LocalDateTime endTime,
+                               Consumer<OperLogExcelDTO> consumer) {
         log.info("导出操作日志: operLog={}, startTime={}, endTime={}", operLog, startTime, endTime);
         LambdaQueryWrapper<OperLog> queryWrapper = buildQueryWrapper(operLog, startTime, endTime);
-        List<OperLog> operLogList = operLogMapper.selectList(queryWrapper);
-
-        List<OperLogExcelDTO> dtoList = new ArrayList<>(operLogList.size());
-        for (OperLog log : operLogList) {
+        operLogMapper.selectStream(queryWrapper, context -> {
+            OperLog row = context.getResultObject();
             OperLogExcelDTO dto = new OperLogExcelDTO();
-            BeanUtils.copyProperties(log, dto);
-            dto.setBusinessTypeStr(convertBusinessType(log.getBusinessType()));
-            dto.setStatusStr(convertStatus(log.getStatus()));
-            dtoList.add(dto);
-        }
-        return dtoList;
+            BeanUtils.copyProperties(row, dto);
+            dto.setBusinessTypeStr(convertBusinessType(row.getBusinessType()));
+            dto.setStatusStr(convertStatus(row.getStatus()));
+            consumer.accept(dto);
+        });
     }
 
     /**
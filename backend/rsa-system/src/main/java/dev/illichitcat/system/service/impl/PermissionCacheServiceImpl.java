@@ -1,8 +1,12 @@
 package dev.illichitcat.system.service.impl;
 
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import dev.illichitcat.system.config.CachePenetrationProperties;
 import dev.illichitcat.system.config.PermissionCacheProperties;
 import dev.illichitcat.system.dao.mapper.PermissionMapper;
 import dev.illichitcat.system.dao.mapper.RolePermMapper;
+import dev.illichitcat.system.manager.RoleSetManager;
 import dev.illichitcat.system.model.entity.Permission;
 import dev.illichitcat.system.service.BaseCacheService;
 import dev.illichitcat.system.service.PermissionCacheService;
@@ -13,6 +17,8 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
@@ -20,6 +26,7 @@ import java.util.function.Function;
 /**
  * 权限缓存服务实现
  * 采用 Cache-Aside 模式 + Caffeine 一级缓存 + Redis 二级缓存 + 异步刷新
+ * 用户权限按角色集合指纹缓存（见 {@link RoleSetManager}），持有相同角色组合的用户共享同一份权限
  *
  * @author Illichitcat
  * @since 2025/12/25
@@ -40,13 +47,16 @@ public class PermissionCacheServiceImpl extends BaseCacheService implements Perm
     @Autowired
     private PermissionCacheProperties cacheProperties;
 
+    @Autowired
+    private RoleSetManager roleSetManager;
+
     @Override
-    protected boolean isCacheEnabled() {
+    protected boolean isCacheDisabled() {
         return !cacheProperties.isEnabled();
     }
 
     @Override
-    protected boolean isCaffeineEnabled() {
+    protected boolean isCaffeineDisabled() {
         return !cacheProperties.getCaffeine().isEnabled();
     }
 
@@ -63,35 +73,68 @@ public class PermissionCacheServiceImpl extends BaseCacheService implements Perm
     @Override
     protected String getRedisPrefixByCacheName(String cacheName) {
         return switch (cacheName) {
-            case "userPermissions" ->
-                    cacheProperties.getPermissionPrefix() + cacheProperties.getUserPermissionsPrefix();
-            case "userPerms" -> cacheProperties.getPermissionPrefix() + cacheProperties.getUserPermsPrefix();
+            case "roleSetPermissions" ->
+                    cacheProperties.getPermissionPrefix() + cacheProperties.getRoleSetPermissionsPrefix();
+            case "roleSetPerms" -> cacheProperties.getPermissionPrefix() + cacheProperties.getRoleSetPermsPrefix();
             case "rolePermissions" ->
                     cacheProperties.getPermissionPrefix() + cacheProperties.getRolePermissionsPrefix();
             default -> cacheProperties.getPermissionPrefix();
         };
     }
 
+    @Override
+    protected CachePenetrationProperties getPenetrationProperties() {
+        return cacheProperties.getPenetration();
+    }
+
+    @Override
+    protected String getCacheNamespace() {
+        return "permission";
+    }
+
+    @Override
+    protected Map<String, JavaType> getCacheValueTypes() {
+        TypeFactory types = objectMapper.getTypeFactory();
+        return Map.of(
+                "roleSetPermissions", types.constructCollectionType(List.class, Permission.class),
+                "roleSetPerms", types.constructCollectionType(List.class, String.class),
+                "rolePermissions", types.constructCollectionType(List.class, Permission.class));
+    }
+
     @Override
     public List<Permission> getUserPermissionsFromCache(Long userId) {
-        return getFromCache(userId,
-                "userPermissions",
-                prefix -> prefix + userId,
-                key -> permissionMapper.selectPermissionsByUserId(key),
+        if (isCacheDisabled()) {
+            return permissionMapper.selectPermissionsByUserId(userId);
+        }
+        String fingerprint = roleSetManager.fingerprintOfUser(userId);
+        if (fingerprint.isEmpty()) {
+            return List.of();
+        }
+        return getFromCache(fingerprint,
+                "roleSetPermissions",
+                prefix -> prefix + fingerprint,
+                key -> permissionMapper.selectPermissionsByRoleIds(roleSetManager.roleIds(key)),
                 permissions -> {
-                    cacheUserPermissions(userId, permissions);
+                    cacheRoleSetPermissions(fingerprint, permissions);
                     return null;
                 });
     }
 
     @Override
     public List<String> getUserPermsFromCache(Long userId) {
-        return getFromCache(userId,
-                "userPerms",
-                prefix -> prefix + userId,
-                key -> permissionMapper.selectPermsByUserId(key),
+        if (isCacheDisabled()) {
+            return permissionMapper.selectPermsByUserId(userId);
+        }
+        String fingerprint = roleSetManager.fingerprintOfUser(userId);
+        if (fingerprint.isEmpty()) {
+            return List.of();
+        }
+        return getFromCache(fingerprint,
+                "roleSetPerms",
+                prefix -> prefix + fingerprint,
+                key -> permissionMapper.selectPermsByRoleIds(roleSetManager.roleIds(key)),
                 perms -> {
-                    cacheUserPerms(userId, perms);
+                    cacheRoleSetPerms(fingerprint, perms);
                     return null;
                 });
     }
@@ -118,37 +161,37 @@ public class PermissionCacheServiceImpl extends BaseCacheService implements Perm
                                     Function<String, String> keyGenerator,
                                     Function<K, V> dbLoader,
                                     Function<V, Void> cacheWriter) {
-        if (isCacheEnabled()) {
+        if (isCacheDisabled()) {
             return dbLoader.apply(key);
         }
 
         // 1. 先查 Caffeine 一级缓存
-        V value = getFromCaffeine(cacheName, keyGenerator.apply(""));
+        String cacheKey = keyGenerator.apply("");
+        String redisKey = keyGenerator.apply(getRedisPrefixByCacheName(cacheName));
+        V value = getFromCaffeine(cacheName, cacheKey);
         if (value != null) {
             log.debug("Caffeine 命中: cacheName={}, key={}", cacheName, key);
+            refreshIfStale(cacheName, cacheKey, redisKey, key, dbLoader, cacheWriter);
             return value;
         }
 
-        // 2. 未命中查 Redis 二级缓存
-        List<Object> redisValue = getFromRedisAsList(keyGenerator.apply(getRedisPrefixByCacheName(cacheName)));
+        // 2. 已知不存在的键直接返回
+        if (isKnownAbsent(cacheName, cacheKey)) {
+            return null;
+        }
+
+        // 3. 未命中查 Redis 二级缓存
+        List<Object> redisValue = getFromRedis(cacheName, redisKey);
         if (redisValue != null && !redisValue.isEmpty()) {
             value = (V) redisValue;
             log.debug("Redis 命中: cacheName={}, key={}", cacheName, key);
             // 回填 Caffeine 缓存
-            putToCaffeine(cacheName, keyGenerator.apply(""), value);
+            putToCaffeine(cacheName, cacheKey, value);
             return value;
         }
 
-        // 3. 都未命中查数据库
-        log.debug("缓存未命中，从数据库加载: cacheName={}, key={}", cacheName, key);
-        value = dbLoader.apply(key);
-
-        // 4. 回填缓存
-        if (value != null) {
-            cacheWriter.apply(value);
-        }
-
-        return value;
+        // 4. 都未命中查数据库并回填缓存（并发未命中合并为一次回源）
+        return loadFromDb(cacheName, cacheKey, redisKey, key, dbLoader, cacheWriter);
     }
 
     /**
@@ -156,19 +199,19 @@ public class PermissionCacheServiceImpl extends BaseCacheService implements Perm
      */
     @Async
     @Override
-    public void cacheUserPermissions(Long userId, List<Permission> permissions) {
-        if (isCacheEnabled() || permissions == null) {
+    public void cacheRoleSetPermissions(String fingerprint, List<Permission> permissions) {
+        if (isCacheDisabled() || permissions == null) {
             return;
         }
 
         try {
-            String key = cacheProperties.getUserPermissionsPrefix() + userId;
-            // 写入 Caffeine 和 Redis
-            cacheData("userPermissions", prefix -> prefix + key, permissions);
+            // 写入 Caffeine 和 Redis，键与 getUserPermissionsFromCache 一致
+            cacheData("roleSetPermissions", prefix -> prefix + fingerprint, permissions);
+            roleSetManager.track(fingerprint);
 
-            log.debug("缓存用户权限: userId={}, count={}", userId, permissions.size());
+            log.debug("缓存角色集合权限: fingerprint={}, count={}", fingerprint, permissions.size());
         } catch (Exception e) {
-            log.error("缓存用户权限失败: userId={}", userId, e);
+            log.error("缓存角色集合权限失败: fingerprint={}", fingerprint, e);
         }
     }
 
@@ -177,19 +220,19 @@ public class PermissionCacheServiceImpl extends BaseCacheService implements Perm
      */
     @Async
     @Override
-    public void cacheUserPerms(Long userId, List<String> perms) {
-        if (isCacheEnabled() || perms == null) {
+    public void cacheRoleSetPerms(String fingerprint, List<String> perms) {
+        if (isCacheDisabled() || perms == null) {
             return;
         }
 
         try {
-            String key = cacheProperties.getUserPermsPrefix() + userId;
-            // 写入 Caffeine 和 Redis
-            cacheData("userPerms", prefix -> prefix + key, perms);
+            // 写入 Caffeine 和 Redis，键与 getUserPermsFromCache 一致
+            cacheData("roleSetPerms", prefix -> prefix + fingerprint, perms);
+            roleSetManager.track(fingerprint);
 
-            log.debug("缓存用户权限标识: userId={}, count={}", userId, perms.size());
+            log.debug("缓存角色集合权限标识: fingerprint={}, count={}", fingerprint, perms.size());
         } catch (Exception e) {
-            log.error("缓存用户权限标识失败: userId={}", userId, e);
+            log.error("缓存角色集合权限标识失败: fingerprint={}", fingerprint, e);
         }
     }
 
@@ -199,7 +242,7 @@ public class PermissionCacheServiceImpl extends BaseCacheService implements Perm
     @Async
     @Override
     public void cacheRolePermissions(Long roleId, List<Permission> permissions) {
-        if (isCacheEnabled() || permissions == null) {
+        if (isCacheDisabled() || permissions == null) {
             return;
         }
 
@@ -215,18 +258,13 @@ public class PermissionCacheServiceImpl extends BaseCacheService implements Perm
     }
 
     @Override
-    public void evictUserPermissionsCache(Long userId) {
-        String key = cacheProperties.getUserPermissionsPrefix() + userId;
-        evictCache("userPermissions", prefix -> prefix + key);
-
-        // 同时清除用户权限标识缓存
-        evictUserPermsCache(userId);
-    }
-
-    @Override
-    public void evictUserPermsCache(Long userId) {
-        String key = cacheProperties.getUserPermsPrefix() + userId;
-        evictCache("userPerms", prefix -> prefix + key);
+    public void evictRoleSetPermissionsCache(Long roleId) {
+        Set<String> fingerprints = roleSetManager.getFingerprintsContaining(roleId);
+        for (String fingerprint : fingerprints) {
+            evictCache("roleSetPermissions", prefix -> prefix + fingerprint);
+            evictCache("roleSetPerms", prefix -> prefix + fingerprint);
+        }
+        log.debug("清除角色集合权限缓存: roleId={}, fingerprints={}", roleId, fingerprints);
     }
 
     @Override
@@ -237,7 +275,7 @@ public class PermissionCacheServiceImpl extends BaseCacheService implements Perm
 
     @Override
     public void evictAllPermissionCache() {
-        evictAllCache("userPermissions", "userPerms", "rolePermissions");
+        evictAllCache("roleSetPermissions", "roleSetPerms", "rolePermissions");
     }
 
     @Override
@@ -274,7 +312,17 @@ public class PermissionCacheServiceImpl extends BaseCacheService implements Perm
             // 等待所有预热任务完成
             CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
 
-            log.info("权限缓存预热完成, 角色数={}", roleIds.size());
+            // 预热已使用过的角色集合权限标识缓存，重启后登录的用户不再逐个回源
+            Set<String> fingerprints = roleSetManager.getFingerprints();
+            for (String fingerprint : fingerprints) {
+                try {
+                    cacheRoleSetPerms(fingerprint, permissionMapper.selectPermsByRoleIds(roleSetManager.roleIds(fingerprint)));
+                } catch (Exception e) {
+                    log.error("预热角色集合权限缓存失败: fingerprint={}", fingerprint, e);
+                }
+            }
+
+            log.info("权限缓存预热完成, 角色数={}, 角色集合数={}", roleIds.size(), fingerprints.size());
         } catch (Exception e) {
             log.error("预热权限缓存失败", e);
         }
@@ -8,6 +8,7 @@ import dev.illichitcat.system.dao.mapper.MenuMapper;
 import dev.illichitcat.system.dao.mapper.PermissionMapper;
 import dev.illichitcat.system.dao.mapper.RolePermMapper;
 import dev.illichitcat.system.dao.mapper.UserRoleMapper;
+import dev.illichitcat.system.manager.PermissionBitsetManager;
 import dev.illichitcat.system.model.dto.PermissionExcelDTO;
 import dev.illichitcat.system.model.entity.Menu;
 import dev.illichitcat.system.model.entity.Permission;
@@ -57,6 +58,9 @@ public class PermissionServiceImpl extends ServiceImpl<PermissionMapper, Permiss
     @Lazy
     private PermissionCacheService permissionCacheService;
 
+    @Autowired
+    private PermissionBitsetManager permissionBitsetManager;
+
     @Override
     public List<Permission> selectPermissionList(Permission permission) {
         LambdaQueryWrapper<Permission> queryWrapper = new LambdaQueryWrapper<>();
@@ -131,6 +135,8 @@ public class PermissionServiceImpl extends ServiceImpl<PermissionMapper, Permiss
         if (result) {
             // 清除所有权限缓存
             permissionCacheService.evictAllPermissionCache();
+            // 权限标识可能变更，重建权限位图
+            permissionBitsetManager.reloadAll();
         }
         return result;
     }
@@ -1,16 +1,25 @@
 package dev.illichitcat.system.service.impl;
 
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import dev.illichitcat.common.common.constant.SystemConstants;
+import dev.illichitcat.system.config.CachePenetrationProperties;
 import dev.illichitcat.system.config.RoleCacheProperties;
 import dev.illichitcat.system.dao.mapper.RoleMapper;
+import dev.illichitcat.system.model.dto.UserRoleDetailDTO;
 import dev.illichitcat.system.model.entity.Role;
 import dev.illichitcat.system.service.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 角色缓存服务实现
@@ -42,13 +51,13 @@ public class RoleCacheServiceImpl extends BaseCacheService implements RoleCacheS
     private RoleCacheProperties cacheProperties;
 
     @Override
-    protected boolean isCacheEnabled() {
-        return cacheProperties.isEnabled();
+    protected boolean isCacheDisabled() {
+        return !cacheProperties.isEnabled();
     }
 
     @Override
-    protected boolean isCaffeineEnabled() {
-        return cacheProperties.getCaffeine().isEnabled();
+    protected boolean isCaffeineDisabled() {
+        return !cacheProperties.getCaffeine().isEnabled();
     }
 
     @Override
@@ -72,6 +81,26 @@ public class RoleCacheServiceImpl extends BaseCacheService implements RoleCacheS
         };
     }
 
+    @Override
+    protected CachePenetrationProperties getPenetrationProperties() {
+        return cacheProperties.getPenetration();
+    }
+
+    @Override
+    protected String getCacheNamespace() {
+        return "role";
+    }
+
+    @Override
+    protected Map<String, JavaType> getCacheValueTypes() {
+        TypeFactory types = objectMapper.getTypeFactory();
+        return Map.of(
+                "role", types.constructType(Role.class),
+                "rolePerms", types.constructCollectionType(List.class, Long.class),
+                "roleMenus", types.constructCollectionType(List.class, Long.class),
+                "userRoles", types.constructCollectionType(List.class, Role.class));
+    }
+
     @Override
     public Role getRoleFromCache(Long id) {
         return getFromCacheWithRedis(id,
@@ -125,13 +154,39 @@ public class RoleCacheServiceImpl extends BaseCacheService implements RoleCacheS
         return getFromCacheWithRedis(userId,
                 "userRoles",
                 prefix -> prefix + userId,
-                roleMapper::selectRolesByUserId,
+                id -> selectRolesByUserIds(List.of(id)).get(id),
                 roles -> {
                     cacheUserRoles(userId, roles);
                     return null;
                 });
     }
 
+    @Override
+    public Map<Long, List<Role>> getUserRolesFromCache(Collection<Long> userIds) {
+        return getAllFromCache(userIds,
+                "userRoles",
+                String::valueOf,
+                userId -> getRedisPrefixByCacheName("userRoles") + userId,
+                this::selectRolesByUserIds);
+    }
+
+    /**
+     * 批量查询用户角色：一次关联查询取回所有用户角色，按用户ID分组；没有角色的用户返回空列表
+     *
+     * @param userIds 用户ID集合
+     * @return 用户ID -> 角色列表
+     */
+    private Map<Long, List<Role>> selectRolesByUserIds(Collection<Long> userIds) {
+        Map<Long, List<Role>> result = new HashMap<>(userIds.size() * 2);
+        userIds.forEach(userId -> result.put(userId, new ArrayList<>()));
+        for (UserRoleDetailDTO row : roleMapper.selectUserRolesByUserIds(userIds)) {
+            Role role = new Role();
+            BeanUtils.copyProperties(row, role);
+            result.get(row.getUserId()).add(role);
+        }
+        return result;
+    }
+
     @Override
     public void cacheRole(Role role) {
         cacheRole(role, false);
@@ -141,7 +196,7 @@ public class RoleCacheServiceImpl extends BaseCacheService implements RoleCacheS
      * 缓存角色
      */
     private void cacheRole(Role role, boolean skipRedis) {
-        if (!isCacheEnabled() || role == null) {
+        if (isCacheDisabled() || role == null) {
             return;
         }
 
@@ -151,8 +206,8 @@ public class RoleCacheServiceImpl extends BaseCacheService implements RoleCacheS
 
         // 写入 Redis 二级缓存
         if (isRedisEnabled() && !skipRedis) {
-            asyncPutToRedis(getRedisPrefixByCacheName("role") + role.getId(), role);
-            asyncPutToRedis(getRedisPrefixByCacheName("role") + "code:" + role.getCode(), role);
+            asyncPutToRedis("role", getRedisPrefixByCacheName("role") + role.getId(), role);
+            asyncPutToRedis("role", getRedisPrefixByCacheName("role") + "code:" + role.getCode(), role);
         }
 
         log.debug("缓存角色成功, roleId={}, roleCode={}", role.getId(), role.getCode());
@@ -160,7 +215,7 @@ public class RoleCacheServiceImpl extends BaseCacheService implements RoleCacheS
 
     @Override
     public void cacheRolePerms(Long roleId, List<Long> permIds) {
-        if (!isCacheEnabled() || roleId == null || permIds == null) {
+        if (isCacheDisabled() || roleId == null || permIds == null) {
             return;
         }
 
@@ -172,7 +227,7 @@ public class RoleCacheServiceImpl extends BaseCacheService implements RoleCacheS
 
     @Override
     public void cacheRoleMenus(Long roleId, List<Long> menuIds) {
-        if (!isCacheEnabled() || roleId == null || menuIds == null) {
+        if (isCacheDisabled() || roleId == null || menuIds == null) {
             return;
         }
 
@@ -184,7 +239,7 @@ public class RoleCacheServiceImpl extends BaseCacheService implements RoleCacheS
 
     @Override
     public void cacheUserRoles(Long userId, List<Role> roles) {
-        if (!isCacheEnabled() || userId == null || roles == null) {
+        if (isCacheDisabled() || userId == null || roles == null) {
             return;
         }
 
@@ -206,6 +261,19 @@ public class RoleCacheServiceImpl extends BaseCacheService implements RoleCacheS
         log.info("清除角色缓存成功, roleCode={}", roleCode);
     }
 
+    @Override
+    public void evictRoleCaches(Collection<Role> roles) {
+        List<CacheEviction> evictions = new ArrayList<>(roles.size() * 4);
+        for (Role role : roles) {
+            evictions.add(new CacheEviction("role", prefix -> prefix + role.getId()));
+            evictions.add(new CacheEviction("role", prefix -> prefix + "code:" + role.getCode()));
+            evictions.add(new CacheEviction("rolePerms", prefix -> prefix + role.getId()));
+            evictions.add(new CacheEviction("roleMenus", prefix -> prefix + role.getId()));
+        }
+        evictCaches(evictions);
+        log.info("批量清除角色缓存成功, count={}", roles.size());
+    }
+
     @Override
     public void evictRolePermsCache(Long roleId) {
         evictCache("rolePerms", prefix -> prefix + roleId);
@@ -238,6 +306,13 @@ public class RoleCacheServiceImpl extends BaseCacheService implements RoleCacheS
         log.info("开始预热角色缓存, source={}", SystemConstants.CacheSource.MANUAL);
 
         List<Role> roleList = roleService.list();
+        List<String> roleKeys = new ArrayList<>(roleList.size() * 2);
+        for (Role role : roleList) {
+            roleKeys.add(String.valueOf(role.getId()));
+            roleKeys.add("code:" + role.getCode());
+        }
+        rebuildBloomFilter("role", roleKeys);
+
         for (Role role : roleList) {
             try {
                 cacheRole(role);
@@ -1,8 +1,10 @@
 package dev.illichitcat.system.service.impl;
 
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import dev.illichitcat.common.utils.TransactionUtils;
 import dev.illichitcat.system.dao.mapper.RoleMenuMapper;
 import dev.illichitcat.system.model.entity.RoleMenu;
+import dev.illichitcat.system.service.MenuCacheService;
 import dev.illichitcat.system.service.RoleCacheService;
 import dev.illichitcat.system.service.RoleMenuService;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +31,9 @@ public class RoleMenuServiceImpl extends ServiceImpl<RoleMenuMapper, RoleMenu> i
     @Autowired
     private RoleCacheService roleCacheService;
 
+    @Autowired
+    private MenuCacheService menuCacheService;
+
     @Override
     public List<Long> selectMenuIdsByRoleId(Long roleId) {
         return roleCacheService.getRoleMenusFromCache(roleId);
@@ -51,11 +56,18 @@ public class RoleMenuServiceImpl extends ServiceImpl<RoleMenuMapper, RoleMenu> i
             }
             boolean result = this.saveBatch(roleMenus);
             if (result) {
-                // 保存成功后，缓存角色菜单
-                roleCacheService.cacheRoleMenus(roleId, menuIds);
+                // 事务提交后再缓存角色菜单，避免回滚时缓存中留下未提交的数据
+                TransactionUtils.afterCommit(() -> {
+                    roleCacheService.cacheRoleMenus(roleId, menuIds);
+                    evictMenuCache(roleId);
+                });
             }
             return result;
         }
+        TransactionUtils.afterCommit(() -> {
+            roleCacheService.evictRoleMenusCache(roleId);
+            evictMenuCache(roleId);
+        });
         return true;
     }
 
@@ -64,8 +76,11 @@ public class RoleMenuServiceImpl extends ServiceImpl<RoleMenuMapper, RoleMenu> i
         log.info("删除角色菜单关联: roleId={}", roleId);
         boolean result = roleMenuMapper.deleteByRoleId(roleId) >= 0;
         if (result) {
-            // 删除成功后，清除缓存
-            roleCacheService.evictRoleMenusCache(roleId);
+            // 删除成功且事务提交后，清除缓存
+            TransactionUtils.afterCommit(() -> {
+                roleCacheService.evictRoleMenusCache(roleId);
+                evictMenuCache(roleId);
+            });
         }
         return result;
     }
@@ -75,4 +90,14 @@ public class RoleMenuServiceImpl extends ServiceImpl<RoleMenuMapper, RoleMenu> i
         log.info("删除角色菜单关联: menuId={}", menuId);
         return roleMenuMapper.deleteByMenuId(menuId) >= 0;
     }
+
+    /**
+     * 清除角色菜单缓存及包含该角色的角色集合菜单缓存
+     *
+     * @param roleId 角色ID
+     */
+    private void evictMenuCache(Long roleId) {
+        menuCacheService.evictRoleMenusCache(roleId);
+        menuCacheService.evictRoleSetMenusCache(roleId);
+    }
 }
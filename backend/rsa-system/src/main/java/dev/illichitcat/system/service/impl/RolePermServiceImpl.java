@@ -1,8 +1,11 @@
 package dev.illichitcat.system.service.impl;
 
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import dev.illichitcat.common.utils.TransactionUtils;
 import dev.illichitcat.system.dao.mapper.RolePermMapper;
+import dev.illichitcat.system.manager.PermissionBitsetManager;
 import dev.illichitcat.system.model.entity.RolePerm;
+import dev.illichitcat.system.service.PermissionCacheService;
 import dev.illichitcat.system.service.RoleCacheService;
 import dev.illichitcat.system.service.RolePermService;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +32,12 @@ public class RolePermServiceImpl extends ServiceImpl<RolePermMapper, RolePerm> i
     @Autowired
     private RoleCacheService roleCacheService;
 
+    @Autowired
+    private PermissionBitsetManager permissionBitsetManager;
+
+    @Autowired
+    private PermissionCacheService permissionCacheService;
+
     /**
      * 根据角色ID查询权限ID列表
      *
@@ -64,11 +73,18 @@ public class RolePermServiceImpl extends ServiceImpl<RolePermMapper, RolePerm> i
             }
             boolean result = this.saveBatch(rolePerms);
             if (result) {
-                // 保存成功后，缓存角色权限
-                roleCacheService.cacheRolePerms(roleId, permIds);
+                // 事务提交后缓存角色权限并刷新权限，避免并发请求在提交前读到旧数据回填缓存
+                TransactionUtils.afterCommit(() -> {
+                    roleCacheService.cacheRolePerms(roleId, permIds);
+                    refreshRolePermissions(roleId);
+                });
             }
             return result;
         }
+        TransactionUtils.afterCommit(() -> {
+            roleCacheService.evictRolePermsCache(roleId);
+            refreshRolePermissions(roleId);
+        });
         return true;
     }
 
@@ -83,8 +99,11 @@ public class RolePermServiceImpl extends ServiceImpl<RolePermMapper, RolePerm> i
         log.info("删除角色权限关联: roleId={}", roleId);
         boolean result = rolePermMapper.deleteByRoleId(roleId) >= 0;
         if (result) {
-            // 删除成功后，清除缓存
-            roleCacheService.evictRolePermsCache(roleId);
+            // 删除成功后（处于事务中时在提交后），清除缓存
+            TransactionUtils.afterCommit(() -> {
+                roleCacheService.evictRolePermsCache(roleId);
+                refreshRolePermissions(roleId);
+            });
         }
         return result;
     }
@@ -98,6 +117,22 @@ public class RolePermServiceImpl extends ServiceImpl<RolePermMapper, RolePerm> i
     @Override
     public boolean deleteByPermId(Long permId) {
         log.info("删除角色权限关联: permId={}", permId);
-        return rolePermMapper.deleteByPermId(permId) >= 0;
+        boolean result = rolePermMapper.deleteByPermId(permId) >= 0;
+        if (result) {
+            // 涉及角色不确定，重建全部权限位图
+            TransactionUtils.afterCommit(permissionBitsetManager::reloadAll);
+        }
+        return result;
+    }
+
+    /**
+     * 刷新角色权限位图，清除角色权限缓存及包含该角色的角色集合权限缓存
+     *
+     * @param roleId 角色ID
+     */
+    private void refreshRolePermissions(Long roleId) {
+        permissionBitsetManager.refreshRole(roleId);
+        permissionCacheService.evictRolePermissionsCache(roleId);
+        permissionCacheService.evictRoleSetPermissionsCache(roleId);
     }
-}
\ No newline at end of file
+}
@@ -6,15 +6,20 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import dev.illichitcat.common.exception.BizException;
+import dev.illichitcat.common.utils.ExcelUtils;
+import dev.illichitcat.common.utils.TransactionUtils;
 import dev.illichitcat.system.dao.mapper.RoleMapper;
 import dev.illichitcat.system.dao.mapper.RoleMenuMapper;
 import dev.illichitcat.system.dao.mapper.RolePermMapper;
 import dev.illichitcat.system.dao.mapper.UserRoleMapper;
+import dev.illichitcat.system.manager.ImportManager;
 import dev.illichitcat.system.manager.RoleManager;
 import dev.illichitcat.system.model.dto.RoleExcelDTO;
 import dev.illichitcat.system.model.entity.Menu;
 import dev.illichitcat.system.model.entity.Permission;
 import dev.illichitcat.system.model.entity.Role;
+import dev.illichitcat.system.model.entity.RoleMenu;
+import dev.illichitcat.system.model.entity.RolePerm;
 import dev.illichitcat.system.model.entity.UserRole;
 import dev.illichitcat.system.service.*;
 import lombok.extern.slf4j.Slf4j;
@@ -22,10 +27,11 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.io.IOException;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -68,6 +74,9 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
     @Autowired
     private UserRoleMapper userRoleMapper;
 
+    @Autowired
+    private ImportManager importManager;
+
     @Override
     public IPage<Role> selectRoleList(Page<Role> page, Role role) {
         LambdaQueryWrapper<Role> queryWrapper = new LambdaQueryWrapper<>();
@@ -94,7 +103,9 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
         log.info("新增角色: {}", role.getName());
         boolean result = roleMapper.insert(role) > 0;
         if (result) {
-            // 新增角色后，缓存该角色
+            // 新增角色后先清除其缓存键：本节点与其他节点（经失效广播）都会把新键加入布隆过滤器，避免被误拦截
+            roleCacheService.evictRoleCaches(List.of(role));
+            // 再缓存该角色
             roleCacheService.cacheRole(role);
         }
         return result;
@@ -141,6 +152,11 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
         return roleManager.selectRolesByUserId(userId);
     }
 
+    @Override
+    public Map<Long, List<Role>> selectRolesByUserIds(Collection<Long> userIds) {
+        return roleManager.selectRolesByUserIds(userIds);
+    }
+
     @Override
     public List<RoleExcelDTO> exportRoles(List<Long> roleIds) {
         log.info("导出角色数据开始, roleIds={}", roleIds);
@@ -181,52 +197,67 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
-    public String importRoles(List<RoleExcelDTO> roleExcelDTOList) {
-        log.info("导入角色数据开始, count={}", roleExcelDTOList.size());
+    public String importRoles(MultipartFile file) throws IOException {
+        log.info("导入角色数据开始, file={}", file.getOriginalFilename());
 
         ImportResult result = new ImportResult();
-
-        for (int i = 0; i < roleExcelDTOList.size(); i++) {
-            RoleExcelDTO excelDTO = roleExcelDTOList.get(i);
-            int rowNum = i + 2;
-
-            try {
-                processRoleImport(excelDTO, rowNum, result);
-            } catch (Exception e) {
-                handleImportException(excelDTO, rowNum, e, result);
-            }
-        }
+        ExcelUtils.importExcelInChunks(file, RoleExcelDTO.class, ImportManager.CHUNK_SIZE,
+                (rows, firstRowNum) -> importRoleChunk(rows, firstRowNum, result));
 
         log.info("导入角色数据结束, success={}, fail={}", result.successCount, result.failCount);
         return buildImportResult(result);
     }
 
     /**
-     * 处理单个角色导入
+     * 导入一块角色数据
+     * <p>
+     * 角色编码、权限标识、菜单ID各用一次 IN 查询校验或解析，角色与权限、菜单关联批量写入
      */
-    private void processRoleImport(RoleExcelDTO excelDTO, int rowNum, ImportResult result) {
-        // 验证必填字段
-        if (!validateRoleFields(excelDTO, rowNum, result)) {
-            return;
-        }
+    private void importRoleChunk(List<RoleExcelDTO> rows, int firstRowNum, ImportResult result) {
+        Set<String> existCodes = selectExistingCodes(rows);
+        Map<String, Long> permIdByPerm = resolvePermissionIds(rows);
+        Set<Long> existMenuIds = resolveMenuIds(rows);
+
+        List<Role> roles = new ArrayList<>(rows.size());
+        List<RoleExcelDTO> accepted = new ArrayList<>(rows.size());
+        List<Integer> rowNums = new ArrayList<>(rows.size());
+        Map<Role, List<Long>> permIdsByRole = new IdentityHashMap<>(rows.size());
+        Map<Role, List<Long>> menuIdsByRole = new IdentityHashMap<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            RoleExcelDTO excelDTO = rows.get(i);
+            int rowNum = firstRowNum + i;
+            try {
+                if (!validateRoleFields(excelDTO, rowNum, result)) {
+                    continue;
+                }
+                if (!existCodes.add(excelDTO.getCode())) {
+                    result.failMessages.append(String.format("第%d行：角色编码%s已存在；", rowNum, excelDTO.getCode()));
+                    result.failCount++;
+                    continue;
+                }
 
-        // 检查角色编码是否已存在
-        if (!checkRoleCodeExists(excelDTO, rowNum, result)) {
-            return;
+                Role role = createRoleFromExcelDTO(excelDTO);
+                roles.add(role);
+                accepted.add(excelDTO);
+                rowNums.add(rowNum);
+                permIdsByRole.put(role, splitValues(excelDTO.getPermissions()).stream()
+                        .map(permIdByPerm::get)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .toList());
+                menuIdsByRole.put(role, parseMenuIds(excelDTO.getMenuIds()).stream()
+                        .filter(existMenuIds::contains)
+                        .distinct()
+                        .toList());
+            } catch (Exception e) {
+                handleImportException(excelDTO, rowNum, e, result);
+            }
         }
 
-        // 创建并保存角色
-        Role role = createRoleFromExcelDTO(excelDTO);
-        if (this.save(role)) {
-            // 处理权限和菜单关联
-            processRoleAssociations(role, excelDTO);
-            result.successCount++;
-            log.info("成功导入角色, name={}, id={}", role.getName(), role.getId());
-        } else {
-            result.failMessages.append(String.format("第%d行：保存角色失败；", rowNum));
-            result.failCount++;
-        }
+        result.successCount += importManager.writeChunk(roles,
+                batch -> saveRolesWithAssociations(batch, permIdsByRole, menuIdsByRole),
+                (index, e) -> handleImportException(accepted.get(index), rowNums.get(index), e, result));
+        log.info("导入角色数据块完成, firstRow={}, size={}, success={}", firstRowNum, rows.size(), result.successCount);
     }
 
     /**
@@ -249,18 +280,20 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
     }
 
     /**
-     * 检查角色编码是否已存在
+     * 用一次 IN 查询找出块内已存在的角色编码，比较时忽略大小写以与数据库排序规则一致
      */
-    private boolean checkRoleCodeExists(RoleExcelDTO excelDTO, int rowNum, ImportResult result) {
-        LambdaQueryWrapper<Role> codeQuery = new LambdaQueryWrapper<>();
-        codeQuery.eq(Role::getCode, excelDTO.getCode());
-        Role existRole = this.getOne(codeQuery);
-        if (existRole != null) {
-            result.failMessages.append(String.format("第%d行：角色编码%s已存在；", rowNum, excelDTO.getCode()));
-            result.failCount++;
-            return false;
+    private Set<String> selectExistingCodes(List<RoleExcelDTO> rows) {
+        Set<String> codes = rows.stream()
+                .map(RoleExcelDTO::getCode)
+                .filter(code -> code != null && !code.trim().isEmpty())
+                .collect(Collectors.toSet());
+        Set<String> existCodes = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        if (!codes.isEmpty()) {
+            LambdaQueryWrapper<Role> codeQuery = new LambdaQueryWrapper<>();
+            codeQuery.select(Role::getCode).in(Role::getCode, codes);
+            this.list(codeQuery).forEach(role -> existCodes.add(role.getCode()));
         }
-        return true;
+        return existCodes;
     }
 
     /**
@@ -282,83 +315,97 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
     }
 
     /**
-     * 处理角色关联（权限和菜单）
+     * 批量保存角色及其权限、菜单关联
+     * <p>
+     * 新角色没有任何已缓存的数据，权限位图等均在首次访问时加载，这里无需刷新缓存
      */
-    private void processRoleAssociations(Role role, RoleExcelDTO excelDTO) {
-        // 处理权限关联
-        processPermissionAssociations(role.getId(), excelDTO.getPermissions());
-
-        // 处理菜单关联
-        processMenuAssociations(role.getId(), excelDTO.getMenuIds());
-    }
-
-    /**
-     * 处理权限关联
-     */
-    private void processPermissionAssociations(Long roleId, String permissions) {
-        if (permissions != null && !permissions.trim().isEmpty()) {
-            List<Long> permIds = resolvePermissionIds(permissions);
-            if (!permIds.isEmpty()) {
-                rolePermService.saveRolePerms(roleId, permIds);
+    private void saveRolesWithAssociations(List<Role> roles, Map<Role, List<Long>> permIdsByRole,
+                                           Map<Role, List<Long>> menuIdsByRole) {
+        this.saveBatch(roles, ImportManager.CHUNK_SIZE);
+
+        List<RolePerm> rolePerms = new ArrayList<>();
+        List<RoleMenu> roleMenus = new ArrayList<>();
+        for (Role role : roles) {
+            for (Long permId : permIdsByRole.getOrDefault(role, List.of())) {
+                RolePerm rolePerm = new RolePerm();
+                rolePerm.setRoleId(role.getId());
+                rolePerm.setPermId(permId);
+                rolePerms.add(rolePerm);
             }
+            for (Long menuId : menuIdsByRole.getOrDefault(role, List.of())) {
+                RoleMenu roleMenu = new RoleMenu();
+                roleMenu.setRoleId(role.getId());
+                roleMenu.setMenuId(menuId);
+                roleMenus.add(roleMenu);
+            }
+        }
+        if (!rolePerms.isEmpty()) {
+            rolePermService.saveBatch(rolePerms, ImportManager.CHUNK_SIZE);
+        }
+        if (!roleMenus.isEmpty()) {
+            roleMenuService.saveBatch(roleMenus, ImportManager.CHUNK_SIZE);
         }
     }
 
     /**
-     * 解析权限ID列表
+     * 一次查询解析块内出现的全部权限标识
      */
-    private List<Long> resolvePermissionIds(String permissions) {
-        String[] permArray = permissions.split(",");
-        List<Long> permIds = new ArrayList<>(permArray.length);
-
-        for (String perm : permArray) {
-            perm = perm.trim();
-            LambdaQueryWrapper<Permission> permQuery = new LambdaQueryWrapper<>();
-            permQuery.eq(Permission::getPerm, perm);
-            Permission permission = permissionService.getOne(permQuery);
-            if (permission != null) {
-                permIds.add(permission.getId());
-            }
+    private Map<String, Long> resolvePermissionIds(List<RoleExcelDTO> rows) {
+        Set<String> perms = rows.stream()
+                .flatMap(row -> splitValues(row.getPermissions()).stream())
+                .collect(Collectors.toSet());
+        if (perms.isEmpty()) {
+            return Map.of();
         }
-
-        return permIds;
+        LambdaQueryWrapper<Permission> permQuery = new LambdaQueryWrapper<>();
+        permQuery.in(Permission::getPerm, perms);
+        return permissionService.list(permQuery).stream()
+                .collect(Collectors.toMap(Permission::getPerm, Permission::getId, (a, b) -> a));
     }
 
     /**
-     * 处理菜单关联
+     * 一次查询找出块内引用且存在的菜单ID
      */
-    private void processMenuAssociations(Long roleId, String menuIds) {
-        if (menuIds != null && !menuIds.trim().isEmpty()) {
-            List<Long> ids = resolveMenuIds(menuIds);
-            if (!ids.isEmpty()) {
-                roleMenuService.saveRoleMenus(roleId, ids);
-            }
+    private Set<Long> resolveMenuIds(List<RoleExcelDTO> rows) {
+        Set<Long> menuIds = rows.stream()
+                .flatMap(row -> parseMenuIds(row.getMenuIds()).stream())
+                .collect(Collectors.toSet());
+        if (menuIds.isEmpty()) {
+            return Set.of();
         }
+        return menuService.listByIds(menuIds).stream()
+                .map(Menu::getId)
+                .collect(Collectors.toSet());
     }
 
     /**
-     * 解析菜单ID列表
+     * 解析菜单ID列表，无效的菜单ID忽略
      */
-    private List<Long> resolveMenuIds(String menuIds) {
-        String[] menuIdArray = menuIds.split(",");
-        List<Long> ids = new ArrayList<>(menuIdArray.length);
-
-        for (String menuIdStr : menuIdArray) {
+    private List<Long> parseMenuIds(String menuIds) {
+        List<Long> ids = new ArrayList<>();
+        for (String menuIdStr : splitValues(menuIds)) {
             try {
-                Long menuId = Long.valueOf(menuIdStr.trim());
-                // 验证菜单是否存在
-                Menu menu = menuService.getById(menuId);
-                if (menu != null) {
-                    ids.add(menuId);
-                }
+                ids.add(Long.valueOf(menuIdStr));
             } catch (NumberFormatException e) {
                 log.warn("无效的菜单ID: {}", menuIdStr);
             }
         }
-
         return ids;
     }
 
+    /**
+     * 拆分逗号分隔的单元格内容
+     */
+    private List<String> splitValues(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .toList();
+    }
+
     /**
      * 处理导入异常
      */
@@ -380,48 +427,50 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public boolean deleteRolesByIds(Long[] roleIds) {
         log.info("批量删除角色开始, roleIds={}, count={}", Arrays.toString(roleIds), roleIds.length);
+        List<Long> ids = Arrays.stream(roleIds).distinct().toList();
+        if (ids.isEmpty()) {
+            return false;
+        }
 
         try {
-            // 检查角色是否有关联数据
-            for (Long roleId : roleIds) {
-                // 检查角色是否分配给用户
-                List<UserRole> userRoles = userRoleMapper.selectList(new QueryWrapper<UserRole>().eq("role_id", roleId));
-                if (!userRoles.isEmpty()) {
-                    Role role = this.getById(roleId);
-                    String roleName = role != null ? role.getName() : String.valueOf(roleId);
-                    log.warn("批量删除角色失败，角色已分配给用户, roleId={}, roleName={}", roleId, roleName);
-                    throw new BizException("角色 " + roleName + " 已分配给用户，无法删除");
-                }
+            // 一次查询检查所有角色是否分配给用户
+            List<UserRole> assigned = userRoleMapper.selectList(new LambdaQueryWrapper<UserRole>()
+                    .select(UserRole::getRoleId)
+                    .in(UserRole::getRoleId, ids)
+                    .last("LIMIT 1"));
+            if (!assigned.isEmpty()) {
+                Long roleId = assigned.getFirst().getRoleId();
+                Role role = this.getById(roleId);
+                String roleName = role != null ? role.getName() : String.valueOf(roleId);
+                log.warn("批量删除角色失败，角色已分配给用户, roleId={}, roleName={}", roleId, roleName);
+                throw new BizException("角色 " + roleName + " 已分配给用户，无法删除");
             }
 
-            // 删除角色关联的权限
-            for (Long roleId : roleIds) {
-                rolePermMapper.deleteByRoleId(roleId);
-            }
+            // 查询角色编码用于清除缓存
+            List<Role> roles = roleMapper.selectBatchIds(ids);
 
-            // 删除角色关联的菜单
-            for (Long roleId : roleIds) {
-                roleMenuMapper.deleteByRoleId(roleId);
-            }
+            // 按角色集合一次删除关联的权限与菜单
+            rolePermMapper.delete(new LambdaQueryWrapper<RolePerm>().in(RolePerm::getRoleId, ids));
+            roleMenuMapper.delete(new LambdaQueryWrapper<RoleMenu>().in(RoleMenu::getRoleId, ids));
 
             // 批量删除角色
-            int result = roleMapper.deleteBatchIds(Arrays.asList(roleIds));
+            int result = roleMapper.deleteBatchIds(ids);
 
             if (result > 0) {
-                // 批量删除角色后，清除缓存
-                for (Long roleId : roleIds) {
-                    roleCacheService.evictRoleCache(roleId);
-                }
+                // 事务提交后再一次批量清除所有受影响的缓存，避免提交前的并发读取回填旧数据
+                TransactionUtils.afterCommit(() -> roleCacheService.evictRoleCaches(roles));
             }
 
-            log.info("批量删除角色结束, count={}, result={}", roleIds.length, result);
+            log.info("批量删除角色结束, count={}, result={}", ids.size(), result);
             return result > 0;
         } catch (BizException e) {
             throw e;
         } catch (Exception e) {
             log.error("批量删除角色失败", e);
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return false;
         }
     }
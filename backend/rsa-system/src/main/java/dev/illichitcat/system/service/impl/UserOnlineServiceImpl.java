@@ -6,8 +6,11 @@ import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import dev.illichitcat.common.common.constant.JwtConstants;
 import dev.illichitcat.common.utils.JwtUtil;
 import dev.illichitcat.system.dao.mapper.UserOnlineMapper;
+import dev.illichitcat.system.manager.TokenCacheManager;
+import dev.illichitcat.system.manager.UserOnlineAccessManager;
 import dev.illichitcat.system.model.dto.UserOnlineDTO;
 import dev.illichitcat.system.model.entity.UserOnline;
 import dev.illichitcat.system.service.UserOnlineService;
@@ -34,9 +37,11 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class UserOnlineServiceImpl extends ServiceImpl<UserOnlineMapper, UserOnline> implements UserOnlineService {
 
-    private static final String ONLINE_USER_PREFIX = "online:user:";
+    private static final String ONLINE_USER_PREFIX = JwtConstants.ONLINE_USER_REDIS_PREFIX;
     private final StringRedisTemplate stringRedisTemplate;
     private final JwtUtil jwtUtil;
+    private final UserOnlineAccessManager userOnlineAccessManager;
+    private final TokenCacheManager tokenCacheManager;
 
     @Override
     public Page<UserOnlineDTO> selectOnlineUserPage(Page<UserOnline> page, String username, String ip) {
@@ -79,17 +84,15 @@ public class UserOnlineServiceImpl extends ServiceImpl<UserOnlineMapper, UserOnl
             // 从Redis删除会话信息
             stringRedisTemplate.delete(ONLINE_USER_PREFIX + sessionId);
 
-            // 获取并删除对应的token，让用户强制下线
-            String token = stringRedisTemplate.opsForValue().get("session_token:" + sessionId);
+            // 获取并删除对应的token（含session-token映射及反向索引），让用户强制下线
+            String token = unbindSessionToken(sessionId);
             if (token != null) {
                 // 通过token获取用户ID
                 Long userId = jwtUtil.getUserIdFromToken(token);
                 if (userId != null) {
-                    // 删除用户的token，让用户强制下线
-                    stringRedisTemplate.delete("user_token:" + userId);
+                    // 删除用户的token并在集群内吊销，让用户强制下线
+                    tokenCacheManager.revokeUserToken(userId);
                 }
-                // 删除session-token映射
-                stringRedisTemplate.delete("session_token:" + sessionId);
                 log.info("踢出会话成功: {}, 已删除对应token", sessionId);
             } else {
                 log.info("踢出会话成功: {}, 未找到对应token", sessionId);
@@ -113,21 +116,19 @@ public class UserOnlineServiceImpl extends ServiceImpl<UserOnlineMapper, UserOnl
                 // 删除在线用户Redis记录
                 stringRedisTemplate.delete(ONLINE_USER_PREFIX + sessionId);
 
-                // 获取并删除对应的token
-                String token = stringRedisTemplate.opsForValue().get("session_token:" + sessionId);
+                // 获取并删除对应的token（含session-token映射及反向索引）
+                String token = unbindSessionToken(sessionId);
                 if (token != null) {
                     try {
                         // 通过token获取用户ID
                         Long userId = jwtUtil.getUserIdFromToken(token);
                         if (userId != null) {
-                            // 删除用户的token，让用户强制下线
-                            stringRedisTemplate.delete("user_token:" + userId);
+                            // 删除用户的token并在集群内吊销，让用户强制下线
+                            tokenCacheManager.revokeUserToken(userId);
                         }
                     } catch (Exception e) {
                         log.warn("解析token失败，sessionId: {}", sessionId, e);
                     }
-                    // 删除session-token映射
-                    stringRedisTemplate.delete("session_token:" + sessionId);
                 }
             }
 
@@ -142,8 +143,8 @@ public class UserOnlineServiceImpl extends ServiceImpl<UserOnlineMapper, UserOnl
     @Override
     public boolean kickoutByUserId(Long userId) {
         try {
-            // 直接删除用户的token，让用户强制下线
-            stringRedisTemplate.delete("user_token:" + userId);
+            // 直接删除用户的token并在集群内吊销，让用户强制下线
+            tokenCacheManager.revokeUserToken(userId);
 
             LambdaQueryWrapper<UserOnline> wrapper = new LambdaQueryWrapper<>();
             wrapper.eq(UserOnline::getUserId, userId);
@@ -158,9 +159,9 @@ public class UserOnlineServiceImpl extends ServiceImpl<UserOnlineMapper, UserOnl
                     .map(UserOnline::getId)
                     .toList();
 
-            // 删除所有相关的session-token映射
+            // 删除所有相关的session-token映射及反向索引
             for (String sessionId : sessionIds) {
-                stringRedisTemplate.delete("session_token:" + sessionId);
+                unbindSessionToken(sessionId);
                 stringRedisTemplate.delete(ONLINE_USER_PREFIX + sessionId);
             }
 
@@ -200,11 +201,15 @@ public class UserOnlineServiceImpl extends ServiceImpl<UserOnlineMapper, UserOnl
                 // 批量删除旧会话的 Redis 记录
                 for (String oldSessionId : oldSessionIds) {
                     stringRedisTemplate.delete(ONLINE_USER_PREFIX + oldSessionId);
-                    String oldToken = stringRedisTemplate.opsForValue().get("session_token:" + oldSessionId);
+                    String oldToken = unbindSessionToken(oldSessionId);
                     if (oldToken != null) {
-                        // 删除旧会话的 token
-                        stringRedisTemplate.delete("user_token:" + userOnline.getUserId());
-                        stringRedisTemplate.delete("session_token:" + oldSessionId);
+                        // 吊销旧会话的 token；登录流程中 user_token 已被新token替换，此时不能删除
+                        String currentToken = stringRedisTemplate.opsForValue().get("user_token:" + userOnline.getUserId());
+                        if (oldToken.equals(currentToken)) {
+                            tokenCacheManager.revokeUserToken(userOnline.getUserId());
+                        } else {
+                            tokenCacheManager.evictToken(oldToken);
+                        }
                     }
                 }
 
@@ -231,16 +236,74 @@ public class UserOnlineServiceImpl extends ServiceImpl<UserOnlineMapper, UserOnl
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
-    public boolean updateLastAccessTime(String sessionId) {
-        try {
-            // 更新数据库
-            baseMapper.updateLastTime(sessionId, LocalDateTime.now());
+    public void bindSessionToken(String sessionId, String token) {
+        if (sessionId == null || token == null) {
+            return;
+        }
+        stringRedisTemplate.opsForValue().set(JwtConstants.SESSION_TOKEN_REDIS_PREFIX + sessionId, token,
+                JwtConstants.SESSION_MAPPING_EXPIRE_HOURS, TimeUnit.HOURS);
+        stringRedisTemplate.opsForValue().set(JwtConstants.TOKEN_SESSION_REDIS_PREFIX + jwtUtil.getTokenFingerprint(token),
+                sessionId, JwtConstants.SESSION_MAPPING_EXPIRE_HOURS, TimeUnit.HOURS);
+    }
+
+    @Override
+    public String getSessionIdByToken(String token, Long userId) {
+        if (token == null) {
+            return null;
+        }
+
+        String indexKey = JwtConstants.TOKEN_SESSION_REDIS_PREFIX + jwtUtil.getTokenFingerprint(token);
+        String sessionId = stringRedisTemplate.opsForValue().get(indexKey);
+        if (sessionId != null) {
+            // 空串为未命中占位
+            return sessionId.isEmpty() ? null : sessionId;
+        }
+
+        if (userId == null) {
+            return null;
+        }
 
-            // 更新Redis过期时间
-            String redisKey = ONLINE_USER_PREFIX + sessionId;
-            stringRedisTemplate.expire(redisKey, 24, TimeUnit.HOURS);
+        // 迁移路径：反向索引缺失时，仅在该用户自身的会话中匹配，而不是扫描全部 session_token
+        LambdaQueryWrapper<UserOnline> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(UserOnline::getUserId, userId);
+        wrapper.select(UserOnline::getId);
+        for (UserOnline session : this.list(wrapper)) {
+            String storedToken = stringRedisTemplate.opsForValue().get(JwtConstants.SESSION_TOKEN_REDIS_PREFIX + session.getId());
+            if (token.equals(storedToken)) {
+                stringRedisTemplate.opsForValue().set(indexKey, session.getId(),
+                        JwtConstants.SESSION_MAPPING_EXPIRE_HOURS, TimeUnit.HOURS);
+                log.debug("回填 token_session 反向索引: sessionId={}, userId={}", session.getId(), userId);
+                return session.getId();
+            }
+        }
 
+        // 写入短期占位，避免无会话的token每次请求都回源数据库
+        stringRedisTemplate.opsForValue().set(indexKey, "",
+                JwtConstants.TOKEN_SESSION_MISS_EXPIRE_MINUTES, TimeUnit.MINUTES);
+        return null;
+    }
+
+    /**
+     * 解除会话与token的绑定，同时删除反向索引
+     *
+     * @param sessionId 会话ID
+     * @return 会话绑定的token，不存在时返回 null
+     */
+    private String unbindSessionToken(String sessionId) {
+        String sessionKey = JwtConstants.SESSION_TOKEN_REDIS_PREFIX + sessionId;
+        String token = stringRedisTemplate.opsForValue().get(sessionKey);
+        if (token != null) {
+            stringRedisTemplate.delete(JwtConstants.TOKEN_SESSION_REDIS_PREFIX + jwtUtil.getTokenFingerprint(token));
+            stringRedisTemplate.delete(sessionKey);
+        }
+        return token;
+    }
+
+    @Override
+    public boolean updateLastAccessTime(String sessionId) {
+        try {
+            // 写入合并缓冲区，由后台定时批量刷新数据库及Redis过期时间
+            userOnlineAccessManager.recordAccess(sessionId, LocalDateTime.now());
             return true;
         } catch (Exception e) {
             log.error("更新最后访问时间失败: {}", sessionId, e);
@@ -295,8 +358,8 @@ public class UserOnlineServiceImpl extends ServiceImpl<UserOnlineMapper, UserOnl
                             // 验证这个token是否属于当前会话
                             Long tokenUserId = jwtUtil.getUserIdFromToken(userToken);
                             if (tokenUserId != null && tokenUserId.equals(session.getUserId())) {
-                                // 恢复 session_token 映射
-                                stringRedisTemplate.opsForValue().set("session_token:" + session.getId(), userToken, 24, TimeUnit.HOURS);
+                                // 恢复 session_token 映射及反向索引
+                                bindSessionToken(session.getId(), userToken);
                                 log.debug("恢复 session_token 映射: sessionId={}, userId={}", session.getId(), session.getUserId());
                                 continue; // 跳过这个会话，不删除
                             }
@@ -306,6 +369,11 @@ public class UserOnlineServiceImpl extends ServiceImpl<UserOnlineMapper, UserOnl
                     // 如果 token 存在但验证失败，标记为无效
                     if (token != null && !jwtUtil.validateToken(token)) {
                         invalidSessionIds.add(session.getId());
+                    } else if (token != null) {
+                        // 迁移：为升级前创建的会话补建反向索引
+                        stringRedisTemplate.opsForValue().setIfAbsent(
+                                JwtConstants.TOKEN_SESSION_REDIS_PREFIX + jwtUtil.getTokenFingerprint(token),
+                                session.getId(), JwtConstants.SESSION_MAPPING_EXPIRE_HOURS, TimeUnit.HOURS);
                     }
                 } catch (Exception e) {
                     log.warn("检查会话失败: sessionId={}, userId={}", session.getId(), session.getUserId(), e);
@@ -322,7 +390,7 @@ public class UserOnlineServiceImpl extends ServiceImpl<UserOnlineMapper, UserOnl
                 // 从Redis删除相关记录
                 for (String sessionId : invalidSessionIds) {
                     stringRedisTemplate.delete(ONLINE_USER_PREFIX + sessionId);
-                    stringRedisTemplate.delete("session_token:" + sessionId);
+                    unbindSessionToken(sessionId);
                 }
 
                 invalidCount = invalidSessionIds.size();
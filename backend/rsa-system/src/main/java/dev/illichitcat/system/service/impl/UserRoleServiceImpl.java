@@ -2,7 +2,9 @@ package dev.illichitcat.system.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import dev.illichitcat.common.utils.TransactionUtils;
 import dev.illichitcat.system.dao.mapper.UserRoleMapper;
+import dev.illichitcat.system.manager.PermissionBitsetManager;
 import dev.illichitcat.system.model.entity.UserRole;
 import dev.illichitcat.system.service.RoleCacheService;
 import dev.illichitcat.system.service.UserRoleService;
@@ -30,6 +32,9 @@ public class UserRoleServiceImpl extends ServiceImpl<UserRoleMapper, UserRole> i
     @Autowired
     private RoleCacheService roleCacheService;
 
+    @Autowired
+    private PermissionBitsetManager permissionBitsetManager;
+
     @Override
     public List<Long> selectRoleIdsByUserId(Long userId) {
         return userRoleMapper.selectList(new LambdaQueryWrapper<UserRole>().eq(UserRole::getUserId, userId))
@@ -55,8 +60,8 @@ public class UserRoleServiceImpl extends ServiceImpl<UserRoleMapper, UserRole> i
             }
         }
 
-        // 清除用户角色缓存
-        roleCacheService.evictUserRolesCache(userId);
+        // 事务提交后清除用户角色缓存，避免并发请求在提交前读到旧角色回填缓存
+        TransactionUtils.afterCommit(() -> evictUserRoles(userId));
 
         return true;
     }
@@ -66,9 +71,19 @@ public class UserRoleServiceImpl extends ServiceImpl<UserRoleMapper, UserRole> i
         log.info("删除用户角色关联: userId={}", userId);
         boolean result = userRoleMapper.delete(new LambdaQueryWrapper<UserRole>().eq(UserRole::getUserId, userId)) >= 0;
         if (result) {
-            // 清除用户角色缓存
-            roleCacheService.evictUserRolesCache(userId);
+            // 清除用户角色缓存（处于事务中时在提交后）
+            TransactionUtils.afterCommit(() -> evictUserRoles(userId));
         }
         return result;
     }
+
+    /**
+     * 清除用户角色缓存及用户权限位图
+     *
+     * @param userId 用户ID
+     */
+    private void evictUserRoles(Long userId) {
+        roleCacheService.evictUserRolesCache(userId);
+        permissionBitsetManager.evictUser(userId);
+    }
 }
\ No newline at end of file
@@ -1,13 +1,17 @@
 package dev.illichitcat.system.service.impl;
 
+import cn.hutool.core.collection.ListUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import dev.illichitcat.common.exception.BizException;
+import dev.illichitcat.common.utils.ExcelUtils;
 import dev.illichitcat.common.utils.SecurePasswordGenerator;
 import dev.illichitcat.system.dao.mapper.UserMapper;
 import dev.illichitcat.system.dao.mapper.UserRoleMapper;
+import dev.illichitcat.system.manager.ImportManager;
+import dev.illichitcat.system.manager.TokenCacheManager;
 import dev.illichitcat.system.model.dto.UserExcelDTO;
 import dev.illichitcat.system.model.entity.File;
 import dev.illichitcat.system.model.entity.Role;
@@ -23,12 +27,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.io.InputStream;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 
 /**
@@ -41,12 +45,20 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements UserService {
 
+    /**
+     * 导出时批量解析用户角色的分块大小
+     */
+    private static final int ROLE_RESOLVE_CHUNK_SIZE = 1000;
+
     @Autowired
     private StringRedisTemplate redisTemplate;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TokenCacheManager tokenCacheManager;
+
     @Autowired
     private RoleService roleService;
 
@@ -59,6 +71,9 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
     @Autowired
     private FileService fileService;
 
+    @Autowired
+    private ImportManager importManager;
+
     @Override
     public IPage<User> selectUserList(IPage<User> page, User user) {
         QueryWrapper<User> queryWrapper = new QueryWrapper<>();
@@ -142,25 +157,30 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
     @Override
     public boolean deleteUsersByIds(Long[] userIds) {
         log.info("批量删除用户开始, userIds={}, count={}", Arrays.toString(userIds), userIds.length);
+        List<Long> ids = Arrays.stream(userIds).distinct().toList();
+        if (ids.isEmpty()) {
+            return false;
+        }
 
-        // 检查用户是否有关联数据
-        for (Long userId : userIds) {
-            List<UserRole> userRoles = userRoleMapper.selectList(new QueryWrapper<UserRole>().eq("user_id", userId));
-            if (!userRoles.isEmpty()) {
-                User user = this.getById(userId);
-                String username = user != null ? user.getUsername() : String.valueOf(userId);
-                log.warn("批量删除用户失败，用户有关联的角色数据, userId={}, username={}", userId, username);
-                throw new BizException("用户 " + username + " 已分配角色，无法删除");
-            }
+        // 一次查询检查所有用户是否有关联角色
+        List<UserRole> assigned = userRoleMapper.selectList(new LambdaQueryWrapper<UserRole>()
+                .select(UserRole::getUserId)
+                .in(UserRole::getUserId, ids)
+                .last("LIMIT 1"));
+        if (!assigned.isEmpty()) {
+            Long userId = assigned.getFirst().getUserId();
+            User user = this.getById(userId);
+            String username = user != null ? user.getUsername() : String.valueOf(userId);
+            log.warn("批量删除用户失败，用户有关联的角色数据, userId={}, username={}", userId, username);
+            throw new BizException("用户 " + username + " 已分配角色，无法删除");
         }
 
-        List<Long> ids = new ArrayList<>(Arrays.asList(userIds));
         boolean result = this.removeBatchByIds(ids);
 
         // 清除总用户数缓存
         clearTotalUserCountCache();
 
-        log.info("批量删除用户结束, count={}, result={}", userIds.length, result);
+        log.info("批量删除用户结束, count={}, result={}", ids.size(), result);
         return result;
     }
 
@@ -198,6 +218,15 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         boolean result = this.updateById(updateUser);
         log.info("重置用户密码结束, userId={}, result={}", userId, result);
 
+        if (result) {
+            // 重置密码后使当前登录失效（集群内同步吊销）
+            try {
+                tokenCacheManager.revokeUserToken(userId);
+            } catch (Exception e) {
+                log.warn("吊销用户token失败, userId={}, error={}", userId, e.getMessage());
+            }
+        }
+
         if (!result) {
             throw new RuntimeException("重置密码失败");
         }
@@ -225,13 +254,12 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         log.info("修改用户密码结束, userId={}, result={}", userId, result);
 
         if (result) {
-            // 清除用户的token和权限缓存，使其当前登录失效
+            // 清除用户的token，使其当前登录失效（集群内同步吊销）
             try {
-                redisTemplate.delete("user_token:" + userId);
-                redisTemplate.delete("user_perms:" + userId);
-                log.info("已清除用户token和权限缓存, userId={}", userId);
+                tokenCacheManager.revokeUserToken(userId);
+                log.info("已清除用户token, userId={}", userId);
             } catch (Exception e) {
-                log.warn("清除用户token和权限缓存失败, userId={}, error={}", userId, e.getMessage());
+                log.warn("清除用户token失败, userId={}, error={}", userId, e.getMessage());
             }
         }
 
@@ -249,23 +277,29 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         queryWrapper.orderByAsc("id");
 
         List<User> userList = this.list(queryWrapper);
-        List<UserExcelDTO> excelDTOList = new ArrayList<>();
+        List<UserExcelDTO> excelDTOList = new ArrayList<>(userList.size());
 
-        for (User user : userList) {
-            UserExcelDTO dto = new UserExcelDTO();
-            BeanUtils.copyProperties(user, dto);
+        // 按块批量解析用户角色：每块一次关联查询，避免逐个用户查询，也避免超长 IN 列表
+        for (List<User> chunk : ListUtil.partition(userList, ROLE_RESOLVE_CHUNK_SIZE)) {
+            Map<Long, List<Role>> userRolesMap = roleService.selectRolesByUserIds(
+                    chunk.stream().map(User::getId).toList());
 
-            // 获取用户角色编码
-            List<Role> roles = roleService.selectRolesByUserId(user.getId());
-            String roleCodes = roles.stream()
-                    .map(Role::getCode)
-                    .collect(Collectors.joining(","));
-            dto.setRoleCodes(roleCodes);
+            for (User user : chunk) {
+                UserExcelDTO dto = new UserExcelDTO();
+                BeanUtils.copyProperties(user, dto);
 
-            // 导出时不包含密码
-            dto.setPassword(null);
+                // 获取用户角色编码
+                List<Role> roles = userRolesMap.getOrDefault(user.getId(), List.of());
+                String roleCodes = roles.stream()
+                        .map(Role::getCode)
+                        .collect(Collectors.joining(","));
+                dto.setRoleCodes(roleCodes);
 
-            excelDTOList.add(dto);
+                // 导出时不包含密码
+                dto.setPassword(null);
+
+                excelDTOList.add(dto);
+            }
         }
 
         log.info("导出用户数据结束, count={}", excelDTOList.size());
@@ -273,113 +307,147 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
-    public String importUsers(List<UserExcelDTO> userExcelDTOList) {
-        log.info("导入用户数据开始, count={}", userExcelDTOList.size());
+    public String importUsers(InputStream inputStream, LongConsumer progress) {
+        log.info("导入用户数据开始");
 
         ImportResult result = new ImportResult();
+        ExcelUtils.importExcelInChunks(inputStream, UserExcelDTO.class, ImportManager.CHUNK_SIZE, (rows, firstRowNum) -> {
+            importUserChunk(rows, firstRowNum, result);
+            progress.accept(rows.size());
+        });
 
-        for (int i = 0; i < userExcelDTOList.size(); i++) {
-            UserExcelDTO excelDTO = userExcelDTOList.get(i);
-            int rowNum = i + 2;
-
-            try {
-                processUserImport(excelDTO, rowNum, result);
-            } catch (Exception e) {
-                handleImportException(excelDTO, rowNum, e, result);
-            }
+        if (result.successCount > 0) {
+            clearTotalUserCountCache();
         }
-
         log.info("导入用户数据结束, success={}, fail={}", result.successCount, result.failCount);
         return buildImportResult(result);
     }
 
     /**
-     * 处理单个用户导入
+     * 导入一块用户数据
+     * <p>
+     * 账号、邮箱各用一次 IN 查询校验是否已存在，角色编码一次查询解析，密码在虚拟线程上并行哈希，
+     * 用户与用户角色关联批量写入
      */
-    private void processUserImport(UserExcelDTO excelDTO, int rowNum, ImportResult result) {
-        // 验证必填字段
-        if (!validateUsername(excelDTO, rowNum, result)) {
-            return;
-        }
-
-        // 检查用户名是否已存在
-        if (!checkUsernameExists(excelDTO, rowNum, result)) {
-            return;
+    private void importUserChunk(List<UserExcelDTO> rows, int firstRowNum, ImportResult result) {
+        Set<String> existUsernames = selectExistingValues(rows, UserExcelDTO::getUsername, "username", User::getUsername);
+        Set<String> existEmails = selectExistingValues(rows, UserExcelDTO::getEmail, "email", User::getEmail);
+        Map<String, Long> roleIdByCode = resolveRoleIdsByCode(rows);
+
+        List<UserExcelDTO> accepted = new ArrayList<>(rows.size());
+        List<Integer> rowNums = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            UserExcelDTO excelDTO = rows.get(i);
+            int rowNum = firstRowNum + i;
+            try {
+                if (validateUserRow(excelDTO, rowNum, existUsernames, existEmails, result)) {
+                    accepted.add(excelDTO);
+                    rowNums.add(rowNum);
+                }
+            } catch (Exception e) {
+                handleImportException(excelDTO, rowNum, e, result);
+            }
         }
 
-        // 检查邮箱是否已存在
-        if (!checkEmailExists(excelDTO, rowNum, result)) {
-            return;
+        List<String> encodedPasswords = importManager.parallelMap(accepted, excelDTO -> {
+            String password = excelDTO.getPassword();
+            return passwordEncoder.encode(password == null || password.trim().isEmpty() ? "123456" : password);
+        });
+
+        List<User> users = new ArrayList<>(accepted.size());
+        Map<User, List<Long>> roleIdsByUser = new IdentityHashMap<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            User user = createUserFromExcelDTO(accepted.get(i), encodedPasswords.get(i));
+            users.add(user);
+            roleIdsByUser.put(user, resolveRoleIds(accepted.get(i).getRoleCodes(), roleIdByCode));
         }
 
-        // 创建并保存用户
-        User user = createUserFromExcelDTO(excelDTO);
-        if (this.save(user)) {
-            processRoleAssignment(user, excelDTO);
-            result.successCount++;
-            log.info("成功导入用户, username={}, id={}", user.getUsername(), user.getId());
-        } else {
-            result.failMessages.append(String.format("第%d行：保存用户失败；", rowNum));
-            result.failCount++;
-        }
+        result.successCount += importManager.writeChunk(users,
+                batch -> saveUsersWithRoles(batch, roleIdsByUser),
+                (index, e) -> handleImportException(accepted.get(index), rowNums.get(index), e, result));
+        log.info("导入用户数据块完成, firstRow={}, size={}, success={}", firstRowNum, rows.size(), result.successCount);
     }
 
     /**
-     * 验证用户名
+     * 校验单行用户数据，通过时登记账号和邮箱，使同一文件内后出现的重复行同样被拒绝
      */
-    private boolean validateUsername(UserExcelDTO excelDTO, int rowNum, ImportResult result) {
+    private boolean validateUserRow(UserExcelDTO excelDTO, int rowNum, Set<String> existUsernames,
+                                    Set<String> existEmails, ImportResult result) {
         if (excelDTO.getUsername() == null || excelDTO.getUsername().trim().isEmpty()) {
             result.failMessages.append(String.format("第%d行：登录账号不能为空；", rowNum));
             result.failCount++;
             return false;
         }
-        return true;
-    }
 
-    /**
-     * 检查用户名是否已存在
-     */
-    private boolean checkUsernameExists(UserExcelDTO excelDTO, int rowNum, ImportResult result) {
-        User existUser = selectUserByUsername(excelDTO.getUsername());
-        if (existUser != null) {
+        if (existUsernames.contains(excelDTO.getUsername())) {
             result.failMessages.append(String.format("第%d行：登录账号%s已存在；", rowNum, excelDTO.getUsername()));
             result.failCount++;
             return false;
         }
+
+        boolean hasEmail = excelDTO.getEmail() != null && !excelDTO.getEmail().trim().isEmpty();
+        if (hasEmail && existEmails.contains(excelDTO.getEmail())) {
+            result.failMessages.append(String.format("第%d行：邮箱%s已存在；", rowNum, excelDTO.getEmail()));
+            result.failCount++;
+            return false;
+        }
+
+        existUsernames.add(excelDTO.getUsername());
+        if (hasEmail) {
+            existEmails.add(excelDTO.getEmail());
+        }
         return true;
     }
 
     /**
-     * 检查邮箱是否已存在
+     * 用一次 IN 查询找出块内某唯一列在库中已存在的值，比较时忽略大小写以与数据库排序规则一致
      */
-    private boolean checkEmailExists(UserExcelDTO excelDTO, int rowNum, ImportResult result) {
-        if (excelDTO.getEmail() != null && !excelDTO.getEmail().trim().isEmpty()) {
-            QueryWrapper<User> emailQuery = new QueryWrapper<>();
-            emailQuery.eq("email", excelDTO.getEmail());
-            User existEmailUser = this.getOne(emailQuery);
-            if (existEmailUser != null) {
-                result.failMessages.append(String.format("第%d行：邮箱%s已存在；", rowNum, excelDTO.getEmail()));
-                result.failCount++;
-                return false;
-            }
+    private Set<String> selectExistingValues(List<UserExcelDTO> rows, Function<UserExcelDTO, String> getter,
+                                             String column, Function<User, String> entityGetter) {
+        Set<String> values = rows.stream()
+                .map(getter)
+                .filter(value -> value != null && !value.trim().isEmpty())
+                .collect(Collectors.toSet());
+        Set<String> existValues = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        if (values.isEmpty()) {
+            return existValues;
         }
-        return true;
+        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select(column).in(column, values);
+        this.list(queryWrapper).stream()
+                .map(entityGetter)
+                .filter(Objects::nonNull)
+                .forEach(existValues::add);
+        return existValues;
+    }
+
+    /**
+     * 一次查询解析块内出现的全部角色编码
+     */
+    private Map<String, Long> resolveRoleIdsByCode(List<UserExcelDTO> rows) {
+        Set<String> roleCodes = rows.stream()
+                .map(UserExcelDTO::getRoleCodes)
+                .filter(codes -> codes != null && !codes.trim().isEmpty())
+                .flatMap(codes -> Arrays.stream(codes.split(",")))
+                .map(String::trim)
+                .filter(code -> !code.isEmpty())
+                .collect(Collectors.toSet());
+        if (roleCodes.isEmpty()) {
+            return Map.of();
+        }
+        QueryWrapper<Role> roleQuery = new QueryWrapper<>();
+        roleQuery.in("code", roleCodes);
+        return roleService.list(roleQuery).stream()
+                .collect(Collectors.toMap(Role::getCode, Role::getId, (a, b) -> a));
     }
 
     /**
      * 从ExcelDTO创建用户对象
      */
-    private User createUserFromExcelDTO(UserExcelDTO excelDTO) {
+    private User createUserFromExcelDTO(UserExcelDTO excelDTO, String encodedPassword) {
         User user = new User();
         BeanUtils.copyProperties(excelDTO, user);
-
-        // 处理密码
-        String password = excelDTO.getPassword();
-        if (password == null || password.trim().isEmpty()) {
-            password = "123456";
-        }
-        user.setPassword(passwordEncoder.encode(password));
+        user.setPassword(encodedPassword);
 
         // 设置默认状态
         if (user.getStatus() == null) {
@@ -390,37 +458,38 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
     }
 
     /**
-     * 处理角色关联
+     * 批量保存用户及其角色关联
      */
-    private void processRoleAssignment(User user, UserExcelDTO excelDTO) {
-        if (excelDTO.getRoleCodes() == null || excelDTO.getRoleCodes().trim().isEmpty()) {
-            return;
+    private void saveUsersWithRoles(List<User> users, Map<User, List<Long>> roleIdsByUser) {
+        this.saveBatch(users, ImportManager.CHUNK_SIZE);
+
+        List<UserRole> userRoles = new ArrayList<>();
+        for (User user : users) {
+            for (Long roleId : roleIdsByUser.getOrDefault(user, List.of())) {
+                UserRole userRole = new UserRole();
+                userRole.setUserId(user.getId());
+                userRole.setRoleId(roleId);
+                userRoles.add(userRole);
+            }
         }
-
-        List<Long> roleIds = resolveRoleIds(excelDTO.getRoleCodes());
-        if (!roleIds.isEmpty()) {
-            userRoleService.assignRolesToUser(user.getId(), roleIds);
+        if (!userRoles.isEmpty()) {
+            userRoleService.saveBatch(userRoles, ImportManager.CHUNK_SIZE);
         }
     }
 
     /**
-     * 解析角色ID列表
+     * 解析角色ID列表，未知的角色编码忽略
      */
-    private List<Long> resolveRoleIds(String roleCodes) {
-        String[] roleCodeArray = roleCodes.split(",");
-        List<Long> roleIds = new ArrayList<>(roleCodeArray.length);
-
-        for (String roleCode : roleCodeArray) {
-            roleCode = roleCode.trim();
-            QueryWrapper<Role> roleQuery = new QueryWrapper<>();
-            roleQuery.eq("code", roleCode);
-            Role role = roleService.getOne(roleQuery);
-            if (role != null) {
-                roleIds.add(role.getId());
-            }
+    private List<Long> resolveRoleIds(String roleCodes, Map<String, Long> roleIdByCode) {
+        if (roleCodes == null || roleCodes.trim().isEmpty()) {
+            return List.of();
         }
-
-        return roleIds;
+        return Arrays.stream(roleCodes.split(","))
+                .map(String::trim)
+                .map(roleIdByCode::get)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
     }
 
     /**
@@ -7,7 +7,7 @@ import {
   ThunderboltOutlined,
 } from '@ant-design/icons';
 import { cacheApi } from '@/services/cache';
-import type { CacheInfo, CommandStat } from '@/types';
+import type { CacheInfo, CacheStat, CommandStat } from '@/types';
 
 const CacheMonitor: React.FC = () => {
   const [cacheInfo, setCacheInfo] = useState<CacheInfo | null>(null);
@@ -72,6 +72,72 @@ const CacheMonitor: React.FC = () => {
 
   const commandData = cacheInfo?.commandStats || [];
 
+  const cacheStatColumns = [
+    {
+      title: '缓存名称',
+      dataIndex: 'name',
+      key: 'name',
+    },
+    {
+      title: '综合命中率',
+      dataIndex: 'hitRate',
+      key: 'hitRate',
+      render: (hitRate: number) => `${(hitRate * 100).toFixed(2)}%`,
+    },
+    {
+      title: '本地命中/未命中',
+      key: 'caffeine',
+      render: (_: unknown, record: CacheStat) =>
+        `${record.caffeineHits.toLocaleString()} / ${record.caffeineMisses.toLocaleString()}`,
+    },
+    {
+      title: 'Redis命中/未命中',
+      key: 'redis',
+      render: (_: unknown, record: CacheStat) =>
+        `${record.redisHits.toLocaleString()} / ${record.redisMisses.toLocaleString()}`,
+    },
+    {
+      title: '拦截不存在',
+      dataIndex: 'absentHits',
+      key: 'absentHits',
+      render: (absentHits: number) => absentHits.toLocaleString(),
+    },
+    {
+      title: '数据库加载(失败)',
+      key: 'loads',
+      render: (_: unknown, record: CacheStat) =>
+        `${record.loads.toLocaleString()} (${record.loadFailures.toLocaleString()})`,
+    },
+    {
+      title: '平均加载耗时(毫秒)',
+      dataIndex: 'loadAvgMillis',
+      key: 'loadAvgMillis',
+      render: (loadAvgMillis: number) => loadAvgMillis.toFixed(2),
+    },
+    {
+      title: '清除次数',
+      dataIndex: 'evictions',
+      key: 'evictions',
+      render: (evictions: number) => evictions.toLocaleString(),
+    },
+    {
+      title: '本地条目数',
+      dataIndex: 'size',
+      key: 'size',
+      render: (size: number) => size.toLocaleString(),
+    },
+    {
+      title: '占用/预算(KB)',
+      key: 'weight',
+      render: (_: unknown, record: CacheStat) =>
+        record.maximumWeight > 0
+          ? `${(record.weightedSize / 1024).toFixed(1)} / ${(record.maximumWeight / 1024).toFixed(0)}`
+          : '-',
+    },
+  ];
+
+  const cacheStatData = cacheInfo?.cacheStats || [];
+
   // 计算内存使用率
   const memoryUsage = cacheInfo?.info
     ? (parseFloat(cacheInfo.info.used_memory || '0') /
@@ -295,6 +361,16 @@ const CacheMonitor: React.FC = () => {
         </Descriptions>
       </Card>
 
+      <Card title="业务缓存分级统计" style={{ marginTop: '16px' }} loading={loading}>
+        <Table
+          columns={cacheStatColumns}
+          dataSource={cacheStatData}
+          rowKey="name"
+          size="small"
+          pagination={false}
+        />
+      </Card>
+
       <Card title="命令执行统计" style={{ marginTop: '16px' }} loading={loading}>
         <Table
           columns={commandColumns}
@@ -29,11 +29,13 @@ import {
   createDictItem,
   deleteDict,
   deleteDictItem,
+  exportDict,
   getDictItemList,
   getDictList,
   updateDict,
   updateDictItem,
 } from '@/services/dict.ts';
+import { saveDataJobResult, waitForDataJob } from '@/services/dataJob.ts';
 import type { Dict, DictItem, DictQuery } from '@/types';
 import dayjs from 'dayjs';
 
@@ -130,32 +132,16 @@ const DictPage: React.FC = () => {
   };
 
   const handleExport = async () => {
+    const hide = message.loading('正在导出字典数据...', 0);
     try {
-      const response = await fetch('/api/system/dict/export', {
-        method: 'POST',
-        headers: {
-          'Content-Type': 'application/json',
-          Authorization: `Bearer ${localStorage.getItem('token')}`,
-        },
-        body: JSON.stringify(selectedRowKeys.length > 0 ? selectedRowKeys : null),
-      });
-
-      if (response.ok) {
-        const blob = await response.blob();
-        const url = window.URL.createObjectURL(blob);
-        const a = document.createElement('a');
-        a.href = url;
-        a.download = `字典数据_${new Date().toLocaleDateString()}.xlsx`;
-        document.body.appendChild(a);
-        a.click();
-        window.URL.revokeObjectURL(url);
-        document.body.removeChild(a);
-        message.success('导出成功');
-      } else {
-        message.error('导出失败');
-      }
-    } catch {
-      message.error('导出失败');
+      const jobId = await exportDict(selectedRowKeys.length > 0 ? (selectedRowKeys as number[]) : null);
+      const job = await waitForDataJob(jobId);
+      await saveDataJobResult(job);
+      message.success(job.message || '导出成功');
+    } catch (error: any) {
+      message.error(error.message || '导出失败');
+    } finally {
+      hide();
     }
   };
 
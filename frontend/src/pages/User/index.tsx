@@ -37,6 +37,7 @@ import {
   changePassword,
   createUser,
   deleteUser,
+  exportUser,
   getUserList,
   getUserRoles,
   importUser,
@@ -44,6 +45,7 @@ import {
   updateUser,
   downloadUserTemplate,
 } from '@/services/user.ts';
+import { saveDataJobResult, waitForDataJob } from '@/services/dataJob.ts';
 import { getRoleList } from '@/services/role.ts';
 import type { Role, User, UserQuery } from '@/types';
 import dayjs from 'dayjs';
@@ -180,32 +182,16 @@ const UserManagement: React.FC = () => {
   };
 
   const handleExport = async () => {
+    const hide = message.loading('正在导出用户数据...', 0);
     try {
-      const response = await fetch('/api/user/export', {
-        method: 'POST',
-        headers: {
-          'Content-Type': 'application/json',
-          Authorization: `Bearer ${localStorage.getItem('token')}`,
-        },
-        body: JSON.stringify(selectedRowKeys.length > 0 ? selectedRowKeys : null),
-      });
-
-      if (response.ok) {
-        const blob = await response.blob();
-        const url = window.URL.createObjectURL(blob);
-        const a = document.createElement('a');
-        a.href = url;
-        a.download = `用户数据_${new Date().toLocaleDateString()}.xlsx`;
-        document.body.appendChild(a);
-        a.click();
-        window.URL.revokeObjectURL(url);
-        document.body.removeChild(a);
-        message.success('导出成功');
-      } else {
-        message.error('导出失败');
-      }
-    } catch {
-      message.error('导出失败');
+      const jobId = await exportUser(selectedRowKeys.length > 0 ? (selectedRowKeys as number[]) : null);
+      const job = await waitForDataJob(jobId);
+      await saveDataJobResult(job);
+      message.success(job.message || '导出成功');
+    } catch (error: any) {
+      message.error(error.message || '导出失败');
+    } finally {
+      hide();
     }
   };
 
@@ -234,8 +220,9 @@ const UserManagement: React.FC = () => {
 
     setImporting(true);
     try {
-      const result = await importUser(importFileList[0].originFileObj);
-      message.success(result || '导入成功');
+      const jobId = await importUser(importFileList[0].originFileObj);
+      const job = await waitForDataJob(jobId);
+      message.success(job.message || '导入成功');
       setImportModalVisible(false);
       setImportFileList([]);
       await fetchData(pagination.current, pagination.pageSize, searchParams);
@@ -338,6 +325,17 @@ const UserManagement: React.FC = () => {
     { title: '昵称', dataIndex: 'nickname', key: 'nickname' },
     { title: '邮箱', dataIndex: 'email', key: 'email' },
     { title: '手机号', dataIndex: 'phone', key: 'phone' },
+    {
+      title: '角色',
+      dataIndex: 'roles',
+      key: 'roles',
+      render: (roles?: Role[]) =>
+        roles?.map((role) => (
+          <Tag key={role.id} color="blue">
+            {role.name}
+          </Tag>
+        )),
+    },
     {
       title: '状态',
       dataIndex: 'status',
@@ -0,0 +1,49 @@
+import request from '../utils/request';
+import type { DataJob } from '@/types';
+
+const POLL_INTERVAL = 1000;
+
+export const getDataJob = (jobId: string): Promise<DataJob> => {
+  return request.get(`/system/data-job/${jobId}`);
+};
+
+export const downloadDataJob = (jobId: string): Promise<Blob> => {
+  return request.get(`/system/data-job/${jobId}/download`, {
+    responseType: 'blob',
+  });
+};
+
+/**
+ * 轮询任务状态直到结束，成功时返回任务信息，失败时抛出任务的错误信息
+ */
+export const waitForDataJob = async (
+  jobId: string,
+  onProgress?: (job: DataJob) => void,
+): Promise<DataJob> => {
+  for (;;) {
+    const job = await getDataJob(jobId);
+    if (job.status === 'SUCCESS') {
+      return job;
+    }
+    if (job.status === 'FAILED') {
+      throw new Error(job.message || '任务执行失败');
+    }
+    onProgress?.(job);
+    await new Promise((resolve) => setTimeout(resolve, POLL_INTERVAL));
+  }
+};
+
+/**
+ * 下载已完成导出任务的结果文件
+ */
+export const saveDataJobResult = async (job: DataJob): Promise<void> => {
+  const blob = await downloadDataJob(job.jobId);
+  const url = window.URL.createObjectURL(blob);
+  const a = document.createElement('a');
+  a.href = url;
+  a.download = job.fileName || `${job.name}.xlsx`;
+  document.body.appendChild(a);
+  a.click();
+  window.URL.revokeObjectURL(url);
+  document.body.removeChild(a);
+};
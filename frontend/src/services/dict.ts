@@ -17,6 +17,10 @@ export const getDictItemsByCode = (dictCode: string): Promise<DictItem[]> => {
   return request.get(`/system/dict/code/${dictCode}/items`);
 };
 
+export const getDictItemsByCodes = (dictCodes: string[]): Promise<Record<string, DictItem[]>> => {
+  return request.get('/system/dict/items', { params: { codes: dictCodes.join(',') } });
+};
+
 export const createDict = (data: Partial<Dict>): Promise<void> => {
   return request.post('/system/dict', data);
 };
@@ -49,6 +53,10 @@ export const batchDeleteDict = (ids: number[]): Promise<void> => {
   return request.delete('/system/dict/batch', { data: ids });
 };
 
+export const exportDict = (ids: number[] | null): Promise<string> => {
+  return request.post('/system/dict/export', ids);
+};
+
 export const importDict = (file: File): Promise<string> => {
   const formData = new FormData();
   formData.append('file', file);
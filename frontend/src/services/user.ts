@@ -41,6 +41,10 @@ export const getUserRoles = (userId: number): Promise<Role[]> => {
   return request.get(`/user/assign-role/user/${userId}`);
 };
 
+export const exportUser = (ids: number[] | null): Promise<string> => {
+  return request.post('/user/export', ids);
+};
+
 export const importUser = (file: File): Promise<string> => {
   const formData = new FormData();
   formData.append('file', file);
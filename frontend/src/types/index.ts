@@ -29,6 +29,7 @@ export interface User {
   phone?: string;
   avatar?: string;
   status: number;
+  roles?: Role[];
   delFlag?: number;
   createTime?: string;
   updateTime?: string;
@@ -393,6 +394,7 @@ export interface CacheInfo {
   };
   dbSize: number;
   commandStats: CommandStat[];
+  cacheStats?: CacheStat[];
 }
 
 export interface CommandStat {
@@ -402,9 +404,43 @@ export interface CommandStat {
   usecPerCall: number;
 }
 
+export interface CacheStat {
+  name: string;
+  caffeineHits: number;
+  caffeineMisses: number;
+  redisHits: number;
+  redisMisses: number;
+  absentHits: number;
+  loads: number;
+  loadFailures: number;
+  loadAvgMillis: number;
+  evictions: number;
+  size: number;
+  weightedSize: number;
+  maximumWeight: number;
+  hitRate: number;
+}
+
 export interface CacheKeyInfo {
   key: string;
   type: string;
   size: number;
   ttl: number;
 }
+
+// 后台导入导出任务
+export type DataJobStatus = 'PENDING' | 'RUNNING' | 'SUCCESS' | 'FAILED';
+
+export interface DataJob {
+  jobId: string;
+  name: string;
+  type: 'IMPORT' | 'EXPORT';
+  status: DataJobStatus;
+  userId: number;
+  processed: number;
+  total?: number;
+  message?: string;
+  fileName?: string;
+  createTime?: string;
+  finishTime?: string;
+}